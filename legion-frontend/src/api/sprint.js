@@ -24,4 +24,11 @@ export const sprintAPI = {
     const response = await apiClient.patch(`/sprints/${id}/status`, { status });
     return response.data;
   },
+
+  // Complete sprint and carry unfinished tasks over (ADMIN/MANAGER)
+  // data: { targetSprintId } or { newSprintName, newSprintStartDate, newSprintEndDate }; empty sends them to backlog
+  completeSprint: async (id, data = {}) => {
+    const response = await apiClient.post(`/sprints/${id}/complete`, data);
+    return response.data;
+  },
 };
\ No newline at end of file
@@ -53,6 +53,16 @@ export const taskAPI = {
     return response.data;
   },
 
+  // Move task between two neighbours on the board (optionally into a new status column)
+  rankTask: async (id, { status, previousTaskId, nextTaskId }) => {
+    const response = await apiClient.patch(`/tasks/${id}/rank`, {
+      status,
+      previousTaskId,
+      nextTaskId,
+    });
+    return response.data;
+  },
+
   // Update task (title, description, priority)
   updateTask: async (id, data) => {
     const response = await apiClient.put(`/tasks/${id}`, {
@@ -0,0 +1,171 @@
+package com.legion.benchmark;
+
+import com.legion.seed.DataSeeder;
+import com.legion.seed.SeedPlan;
+import com.legion.seed.SeedResult;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Task writes in one project from several threads, each thread in its own sprint, with
+ * the ETag counters bumped the way ContentVersions did before and after V6.
+ *
+ * <p>Under {@code project}, every write bumps the project row first and holds its lock
+ * until commit, so the writers queue behind each other whatever sprint they are in.
+ * Under {@code sprint}, each write bumps only its sprint's counter and the writers run
+ * side by side. {@link #projectEtag} measures the read side: the single counter against
+ * the project, backlog and sprint counters combined.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentVersionsBenchmark {
+
+    private static final Map<String, String> BUMPS = Map.of(
+            "project", "UPDATE project SET content_version = content_version + 1 WHERE id = ?",
+            // Same statement as SprintRepository.bumpContentVersions
+            "sprint", "UPDATE sprint SET content_version = content_version + 1 WHERE id IN " +
+                    "(SELECT id FROM sprint WHERE id = ? ORDER BY id FOR UPDATE)");
+
+    private static final Map<String, String> ETAGS = Map.of(
+            "project", "SELECT content_version FROM project WHERE id = ? AND workspace_id = ?",
+            // Same statement as ProjectRepository.findContentVersions
+            "sprint", "SELECT p.content_version || '.' || COALESCE(b.content_version, 0) || '.' || " +
+                    "(SELECT COALESCE(SUM(s.content_version), 0) FROM sprint s WHERE s.project_id = p.id) " +
+                    "FROM project p LEFT JOIN project_backlog b ON b.project_id = p.id " +
+                    "WHERE p.id = ? AND p.workspace_id = ?");
+
+    private static final String UPDATE_TASK =
+            "UPDATE task SET status = 'IN_PROGRESS', updated_at = LOCALTIMESTAMP WHERE workspace_id = ? AND id = ?";
+
+    @Param({"project", "sprint"})
+    private String counter;
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+    private long workspaceId;
+    private long projectId;
+    // One task per sprint of the project, with its sprint
+    private List<long[]> tasks;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("shardIdBase", "0"))
+                .load()
+                .migrate();
+
+        SeedResult seeded = new DataSeeder(dataSource).seed(new SeedPlan(1, 1, 10, 1, 8, 20_000));
+        workspaceId = seeded.workspaceIds().getFirst();
+
+        tasks = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT DISTINCT ON (sprint_id) project_id, sprint_id, id FROM task " +
+                             "WHERE workspace_id = ? AND sprint_id IS NOT NULL ORDER BY sprint_id, id")) {
+            statement.setLong(1, workspaceId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    projectId = rs.getLong(1);
+                    tasks.add(new long[]{rs.getLong(2), rs.getLong(3)});
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        postgres.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private Connection connection;
+        private long sprintId;
+        private long taskId;
+
+        @Setup(Level.Trial)
+        public void setUp(ContentVersionsBenchmark benchmark) throws SQLException {
+            long[] task = benchmark.tasks.get(benchmark.threads.getAndIncrement() % benchmark.tasks.size());
+            sprintId = task[0];
+            taskId = task[1];
+            connection = benchmark.dataSource.getConnection();
+            connection.setAutoCommit(false);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int taskWriteContended(Writer writer) throws SQLException {
+        Connection connection = writer.connection;
+        try (PreparedStatement bump = connection.prepareStatement(BUMPS.get(counter));
+             PreparedStatement update = connection.prepareStatement(UPDATE_TASK)) {
+            bump.setLong(1, "project".equals(counter) ? projectId : writer.sprintId);
+            bump.executeUpdate();
+
+            update.setLong(1, workspaceId);
+            update.setLong(2, writer.taskId);
+            int updated = update.executeUpdate();
+            connection.commit();
+            return updated;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String projectEtag(Writer reader) throws SQLException {
+        try (PreparedStatement statement = reader.connection.prepareStatement(ETAGS.get(counter))) {
+            statement.setLong(1, projectId);
+            statement.setLong(2, workspaceId);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                String etag = rs.getString(1);
+                reader.connection.commit();
+                return etag;
+            }
+        }
+    }
+}
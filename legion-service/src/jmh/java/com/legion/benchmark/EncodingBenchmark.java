@@ -0,0 +1,141 @@
+package com.legion.benchmark;
+
+import com.legion.task.Task;
+import com.legion.task.TaskColumns;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodings a task list can be sent in, as negotiated by the TaskController list endpoints.
+ *
+ * <p>Scores are the serialization CPU per response. Each result also carries the
+ * {@link Payload} counters {@code bytes} and {@code responses} as secondary metrics in
+ * jmh-result.json; {@code bytes / responses} is the payload size of that encoding,
+ * which doesn't vary between runs.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({"1000", "20000"})
+    private int tasks;
+
+    private JsonMapper jsonMapper;
+    private CBORMapper cborMapper;
+    private SmileMapper smileMapper;
+    private List<Task> taskList;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().findAndAddModules().build();
+        cborMapper = CBORMapper.builder().findAndAddModules().build();
+        smileMapper = SmileMapper.builder().findAndAddModules().build();
+        taskList = Fixtures.tasks(tasks);
+    }
+
+    /**
+     * Bytes written, reported with each score. JMH sums the counters over iterations
+     * and threads alike, so their ratio stays the size of one response.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long bytes;
+        public long responses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            responses = 0;
+        }
+
+        byte[] record(byte[] body) {
+            bytes += body.length;
+            responses++;
+            return body;
+        }
+    }
+
+    @Benchmark
+    public byte[] json(Payload payload) {
+        return payload.record(encodeJson());
+    }
+
+    @Benchmark
+    public byte[] jsonGzip(Payload payload) {
+        return payload.record(gzip(encodeJson()));
+    }
+
+    @Benchmark
+    public byte[] columnar(Payload payload) {
+        return payload.record(encodeColumnar());
+    }
+
+    @Benchmark
+    public byte[] columnarGzip(Payload payload) {
+        return payload.record(gzip(encodeColumnar()));
+    }
+
+    @Benchmark
+    public byte[] cbor(Payload payload) {
+        return payload.record(encodeCbor());
+    }
+
+    @Benchmark
+    public byte[] cborGzip(Payload payload) {
+        return payload.record(gzip(encodeCbor()));
+    }
+
+    @Benchmark
+    public byte[] smile(Payload payload) {
+        return payload.record(smileMapper.writeValueAsBytes(taskList));
+    }
+
+    private byte[] encodeJson() {
+        return jsonMapper.writeValueAsBytes(taskList);
+    }
+
+    private byte[] encodeColumnar() {
+        return jsonMapper.writeValueAsBytes(TaskColumns.of(taskList));
+    }
+
+    private byte[] encodeCbor() {
+        return cborMapper.writeValueAsBytes(taskList);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
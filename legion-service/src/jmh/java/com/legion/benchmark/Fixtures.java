@@ -0,0 +1,86 @@
+package com.legion.benchmark;
+
+import com.legion.auth.JwtUtil;
+import com.legion.project.Project;
+import com.legion.sprint.Sprint;
+import com.legion.sprint.SprintStatus;
+import com.legion.task.Priority;
+import com.legion.task.Task;
+import com.legion.task.TaskStatus;
+import com.legion.user.User;
+import com.legion.workspace.Workspace;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Objects shared by the benchmarks, built the way the running service has them.
+ */
+final class Fixtures {
+
+    static final String EMAIL = "bench@legion.dev";
+    static final long WORKSPACE_ID = 1L;
+
+    private Fixtures() {
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-benchmark-secret-benchmark-secret");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3_600_000L);
+        return jwtUtil;
+    }
+
+    static User user() {
+        User user = new User(EMAIL, "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbench", "Bench Mark");
+        user.setId(1L);
+        return user;
+    }
+
+    static Sprint sprint(Project project) {
+        Sprint sprint = new Sprint("Sprint 1", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 19), SprintStatus.ACTIVE);
+        sprint.setId(1L);
+        sprint.setProject(project);
+        return sprint;
+    }
+
+    static Project project() {
+        Workspace workspace = new Workspace("Bench", "bench");
+        workspace.setId(WORKSPACE_ID);
+        Project project = new Project("Benchmark", "BEN", "Project used by the benchmarks");
+        project.setId(1L);
+        project.setWorkspace(workspace);
+        return project;
+    }
+
+    static List<Task> tasks(int count) {
+        User user = user();
+        Project project = project();
+        Sprint sprint = sprint(project);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 10, 9, 30);
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setWorkspaceId(WORKSPACE_ID);
+            task.setProject(project);
+            task.setSprint(sprint);
+            task.setTitle("Task " + i + " with a title of typical length");
+            task.setDescription("A description long enough to look like a real one, with a few sentences of text.");
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setPriority(Priority.values()[i % Priority.values().length]);
+            task.setReporter(user);
+            task.setAssignee(user);
+            task.setTaskNumber(i);
+            task.setRank(String.format("0|%06d:", i));
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
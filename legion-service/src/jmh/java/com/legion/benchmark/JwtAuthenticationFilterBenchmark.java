@@ -0,0 +1,94 @@
+package com.legion.benchmark;
+
+import com.legion.auth.JwtAuthenticationFilter;
+import com.legion.auth.JwtUtil;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.common.shard.ShardContext;
+import com.legion.common.shard.ShardDirectory;
+import com.legion.config.OperatorConfig;
+import com.legion.user.Role;
+import com.legion.user.UserRepository;
+import com.legion.workspace.WorkspaceMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * A full pass through the JWT filter with repositories answering from memory,
+ * so the numbers are token, context and metrics cost without the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = Fixtures.jwtUtil();
+        token = jwtUtil.generateToken(Fixtures.EMAIL);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(Fixtures.user()));
+
+        WorkspaceMemberRepository memberRepository = Mockito.mock(WorkspaceMemberRepository.class);
+        when(memberRepository.findRoleByUserIdAndWorkspaceId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(Role.DEVELOPER));
+
+        ShardDirectory shardDirectory = Mockito.mock(ShardDirectory.class);
+        when(shardDirectory.shardFor(anyLong())).thenReturn(ShardContext.DIRECTORY);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userRepository, memberRepository, new OperatorConfig(),
+                new LegionMetrics(new SimpleMeterRegistry(), shardDirectory));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticateWithWorkspace() throws Exception {
+        return run(true);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticateWithoutWorkspace() throws Exception {
+        return run(false);
+    }
+
+    private MockHttpServletResponse run(boolean withWorkspace) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        if (withWorkspace) {
+            request.addHeader("X-Workspace-Id", String.valueOf(Fixtures.WORKSPACE_ID));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
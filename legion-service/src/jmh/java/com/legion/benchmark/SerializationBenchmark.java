@@ -0,0 +1,60 @@
+package com.legion.benchmark;
+
+import com.legion.sprint.Sprint;
+import com.legion.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the task and sprint payloads the controllers return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int tasks;
+
+    private JsonMapper jsonMapper;
+    private List<Task> taskList;
+    private Sprint sprint;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().findAndAddModules().build();
+        taskList = Fixtures.tasks(tasks);
+        sprint = taskList.getFirst().getSprint();
+    }
+
+    @Benchmark
+    public byte[] taskList() {
+        return jsonMapper.writeValueAsBytes(taskList);
+    }
+
+    @Benchmark
+    public byte[] singleTask() {
+        return jsonMapper.writeValueAsBytes(taskList.getFirst());
+    }
+
+    @Benchmark
+    public byte[] sprint() {
+        return jsonMapper.writeValueAsBytes(sprint);
+    }
+}
@@ -0,0 +1,297 @@
+package com.legion.benchmark;
+
+import com.legion.seed.DataSeeder;
+import com.legion.seed.SeedPlan;
+import com.legion.seed.SeedResult;
+import com.legion.task.LexoRank;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statements TaskService.moveTasks issues to move tasks into another project's
+ * backlog, against an embedded Postgres seeded by {@link DataSeeder}: lock the target
+ * project, read the tasks' keys and ranks, read the target columns' last ranks, then
+ * per chunk of 1000 record redirects and renumber, and finally write the new ranks.
+ *
+ * <p>Each iteration moves {@code tasks} tasks out of the workspace's largest project
+ * in one transaction and rolls it back afterwards, so every iteration starts from the
+ * same data. Ids are bound as arrays where TaskRepository expands an IN list; the plans
+ * are the same.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TaskMoveBenchmark {
+
+    private static final int CHUNK = 1000;
+
+    private static final String LOCK_PROJECT = "SELECT id FROM project WHERE id = ? FOR UPDATE";
+
+    // TaskRepository.findNumberRefsByIdIn
+    private static final String NUMBER_REFS =
+            "SELECT id, project_id, task_number FROM task WHERE workspace_id = ? AND id = ANY(?) " +
+                    "ORDER BY project_id, task_number";
+
+    // TaskRepository.findRankRefsByIdIn
+    private static final String RANK_REFS =
+            "SELECT id, status, rank FROM task WHERE workspace_id = ? AND id = ANY(?)";
+
+    // TaskRepository.findMaxRankInBacklogColumn
+    private static final String MAX_RANK =
+            "SELECT MAX(rank) FROM task WHERE workspace_id = ? AND project_id = ? AND sprint_id IS NULL AND status = ?";
+
+    // TaskRepository.findMaxTaskNumber
+    private static final String MAX_TASK_NUMBER =
+            "SELECT GREATEST(" +
+                    "(SELECT COALESCE(MAX(task_number), 0) FROM task WHERE workspace_id = ? AND project_id = ?), " +
+                    "(SELECT COALESCE(MAX(old_task_number), 0) FROM task_key_redirect WHERE old_project_id = ?))";
+
+    // TaskKeyRedirectRepository.recordCurrentKeys
+    private static final String RECORD_KEYS =
+            "INSERT INTO task_key_redirect (workspace_id, old_project_id, old_task_number, task_id, created_at) " +
+                    "SELECT workspace_id, project_id, task_number, id, LOCALTIMESTAMP FROM task " +
+                    "WHERE workspace_id = ? AND id = ANY(?) " +
+                    "ON CONFLICT (old_project_id, old_task_number) DO UPDATE SET task_id = EXCLUDED.task_id";
+
+    // TaskRepository.moveToProjectBacklog
+    private static final String MOVE_TO_BACKLOG =
+            "UPDATE task t SET project_id = ?, sprint_id = NULL, task_number = m.new_number, updated_at = LOCALTIMESTAMP " +
+                    "FROM (SELECT id, ? + ROW_NUMBER() OVER (ORDER BY project_id, task_number) AS new_number " +
+                    "FROM task WHERE workspace_id = ? AND id = ANY(?)) m " +
+                    "WHERE t.workspace_id = ? AND t.id = m.id";
+
+    // TaskRepository.updateRanks
+    private static final String UPDATE_RANKS =
+            "UPDATE task t SET rank = r.rank " +
+                    "FROM unnest(CAST(? AS BIGINT[]), CAST(? AS VARCHAR[])) AS r(id, rank) " +
+                    "WHERE t.workspace_id = ? AND t.id = r.id";
+
+    private static final Comparator<RankRef> BOARD_ORDER = Comparator
+            .comparing(RankRef::rank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(RankRef::id);
+
+    @Param({"1000", "10000"})
+    private int tasks;
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+    private long workspaceId;
+    private long targetProjectId;
+    private List<Long> taskIds;
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("shardIdBase", "0"))
+                .load()
+                .migrate();
+
+        SeedResult seeded = new DataSeeder(dataSource).seed(new SeedPlan(1, 1, 10, 3, 4, 60_000));
+        workspaceId = seeded.workspaceIds().getFirst();
+
+        try (Connection setup = dataSource.getConnection(); Statement statement = setup.createStatement()) {
+            // The first project is the largest one; tasks move out of it into the last one
+            long sourceProjectId = queryLong(statement, "SELECT MIN(id) FROM project WHERE workspace_id = " + workspaceId);
+            targetProjectId = queryLong(statement, "SELECT MAX(id) FROM project WHERE workspace_id = " + workspaceId);
+
+            taskIds = new ArrayList<>(tasks);
+            try (ResultSet rs = statement.executeQuery("SELECT id FROM task WHERE workspace_id = " + workspaceId +
+                    " AND project_id = " + sourceProjectId + " ORDER BY task_number LIMIT " + tasks)) {
+                while (rs.next()) {
+                    taskIds.add(rs.getLong(1));
+                }
+            }
+        }
+        if (taskIds.size() < tasks) {
+            throw new IllegalStateException("Seeded project holds only " + taskIds.size() + " tasks");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void begin() throws SQLException {
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void rollback() throws SQLException {
+        connection.rollback();
+        connection.close();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        postgres.close();
+    }
+
+    /**
+     * Returns the number of tasks moved.
+     */
+    @Benchmark
+    public int moveToBacklog() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_PROJECT)) {
+            statement.setLong(1, targetProjectId);
+            statement.executeQuery().close();
+        }
+
+        List<Long> ordered = new ArrayList<>(tasks);
+        List<RankRef> rankRefs = new ArrayList<>(tasks);
+        for (List<Long> chunk : chunks(taskIds)) {
+            try (PreparedStatement statement = connection.prepareStatement(NUMBER_REFS)) {
+                statement.setLong(1, workspaceId);
+                statement.setArray(2, ids(chunk));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        ordered.add(rs.getLong(1));
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(RANK_REFS)) {
+                statement.setLong(1, workspaceId);
+                statement.setArray(2, ids(chunk));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        rankRefs.add(new RankRef(rs.getLong(1), rs.getString(2), rs.getString(3)));
+                    }
+                }
+            }
+        }
+
+        Map<Long, String> newRanks = appendRanks(rankRefs);
+
+        int base;
+        try (PreparedStatement statement = connection.prepareStatement(MAX_TASK_NUMBER)) {
+            statement.setLong(1, workspaceId);
+            statement.setLong(2, targetProjectId);
+            statement.setLong(3, targetProjectId);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                base = rs.getInt(1);
+            }
+        }
+
+        int moved = 0;
+        for (List<Long> chunk : chunks(ordered)) {
+            Array chunkIds = ids(chunk);
+            try (PreparedStatement statement = connection.prepareStatement(RECORD_KEYS)) {
+                statement.setLong(1, workspaceId);
+                statement.setArray(2, chunkIds);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(MOVE_TO_BACKLOG)) {
+                statement.setLong(1, targetProjectId);
+                statement.setInt(2, base);
+                statement.setLong(3, workspaceId);
+                statement.setArray(4, chunkIds);
+                statement.setLong(5, workspaceId);
+                moved += statement.executeUpdate();
+            }
+            base += chunk.size();
+        }
+
+        List<Map.Entry<Long, String>> entries = new ArrayList<>(newRanks.entrySet());
+        for (List<Map.Entry<Long, String>> chunk : chunks(entries)) {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_RANKS)) {
+                statement.setArray(1, connection.createArrayOf("bigint",
+                        chunk.stream().map(Map.Entry::getKey).toArray()));
+                statement.setArray(2, connection.createArrayOf("varchar",
+                        chunk.stream().map(Map.Entry::getValue).toArray()));
+                statement.setLong(3, workspaceId);
+                statement.executeUpdate();
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Same ranking as TaskRankAppender: per status column, after the target's last
+     * rank, in the tasks' previous board order.
+     */
+    private Map<Long, String> appendRanks(List<RankRef> refs) throws SQLException {
+        Map<String, List<RankRef>> columns = new HashMap<>();
+        for (RankRef ref : refs) {
+            columns.computeIfAbsent(ref.status(), status -> new ArrayList<>()).add(ref);
+        }
+
+        Map<Long, String> newRanks = new HashMap<>();
+        for (Map.Entry<String, List<RankRef>> column : columns.entrySet()) {
+            List<RankRef> rows = column.getValue();
+            rows.sort(BOARD_ORDER);
+
+            String last;
+            try (PreparedStatement statement = connection.prepareStatement(MAX_RANK)) {
+                statement.setLong(1, workspaceId);
+                statement.setLong(2, targetProjectId);
+                statement.setString(3, column.getKey());
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    last = rs.getString(1);
+                }
+            }
+
+            List<String> spread = LexoRank.spreadAfter(last, rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                newRanks.put(rows.get(i).id(), spread.get(i));
+            }
+        }
+        return newRanks;
+    }
+
+    private Array ids(List<Long> ids) throws SQLException {
+        return connection.createArrayOf("bigint", ids.toArray());
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += CHUNK) {
+            chunks.add(items.subList(i, Math.min(i + CHUNK, items.size())));
+        }
+        return chunks;
+    }
+
+    private record RankRef(long id, String status, String rank) {
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.legion.benchmark;
+
+import com.legion.seed.DataSeeder;
+import com.legion.seed.SeedPlan;
+import com.legion.seed.SeedResult;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statements TaskService issues to create a task, against an embedded Postgres
+ * migrated with the service's own Flyway scripts: read the next task number, read
+ * the column's last rank, insert. Run with several threads, concurrent creates in
+ * one project collide on the unique task number just as they do in production and
+ * the failed attempts are counted.
+ *
+ * <p>The workspace is filled by {@link DataSeeder} first, so the lookups run against
+ * a project of realistic size rather than an empty table.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskNumberAllocationBenchmark {
+
+    // Same statement as TaskRepository.findMaxTaskNumber
+    private static final String MAX_TASK_NUMBER =
+            "SELECT GREATEST(" +
+                    "(SELECT COALESCE(MAX(task_number), 0) FROM task WHERE workspace_id = ? AND project_id = ?), " +
+                    "(SELECT COALESCE(MAX(old_task_number), 0) FROM task_key_redirect WHERE old_project_id = ?))";
+
+    // Same statement as TaskRepository.findMaxRankInBacklogColumn
+    private static final String MAX_RANK =
+            "SELECT MAX(rank) FROM task WHERE workspace_id = ? AND project_id = ? AND sprint_id IS NULL AND status = ?";
+
+    private static final String INSERT_TASK =
+            "INSERT INTO task (workspace_id, project_id, title, status, priority, reporter_id, task_number, rank, " +
+                    "created_at, updated_at) VALUES (?, ?, ?, 'BACKLOG', 'MEDIUM', ?, ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)";
+
+    @Param({"0", "100000"})
+    private long existingTasks;
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+    private long workspaceId;
+    private long projectId;
+    private long userId;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("shardIdBase", "0"))
+                .load()
+                .migrate();
+
+        SeedResult seeded = new DataSeeder(dataSource).seed(new SeedPlan(1, 1, 10, 4, 6, existingTasks));
+        workspaceId = seeded.workspaceIds().getFirst();
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            // The first project is the largest one
+            projectId = queryLong(statement, "SELECT MIN(id) FROM project WHERE workspace_id = " + workspaceId);
+            userId = queryLong(statement, "SELECT MIN(user_id) FROM workspace_member WHERE workspace_id = " + workspaceId);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        postgres.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean allocateSingleWriter() throws SQLException {
+        return allocate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean allocateContended() throws SQLException {
+        return allocate();
+    }
+
+    /**
+     * One creation attempt. Returns false when another writer took the number first,
+     * which TaskService would retry.
+     */
+    private boolean allocate() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int next = queryInt(connection, MAX_TASK_NUMBER, workspaceId, projectId, projectId) + 1;
+                String rank;
+                try (PreparedStatement statement = connection.prepareStatement(MAX_RANK)) {
+                    statement.setLong(1, workspaceId);
+                    statement.setLong(2, projectId);
+                    statement.setString(3, "BACKLOG");
+                    try (ResultSet rs = statement.executeQuery()) {
+                        rs.next();
+                        rank = rs.getString(1);
+                    }
+                }
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_TASK)) {
+                    statement.setLong(1, workspaceId);
+                    statement.setLong(2, projectId);
+                    statement.setString(3, "Benchmark task");
+                    statement.setLong(4, userId);
+                    statement.setInt(5, next);
+                    statement.setString(6, rank == null ? "0|000000:" : rank + "0");
+                    statement.executeUpdate();
+                }
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                // 23505: unique violation on the task number, the case TaskService retries
+                if ("23505".equals(e.getSQLState())) {
+                    return false;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static int queryInt(Connection connection, String sql, long... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setLong(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.legion.benchmark;
+
+import com.legion.seed.DataSeeder;
+import com.legion.seed.SeedPlan;
+import com.legion.seed.SeedResult;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workspace-scoped task reads and single-row writes against the hash-partitioned
+ * task table and against an unpartitioned copy indexed as V2 left it.
+ *
+ * <p>Both tables hold the same rows, seeded by {@link DataSeeder} across many
+ * workspaces. The {@code unpartitioned} statements are the ones the repositories
+ * issued before V3, reaching the workspace through project; the {@code partitioned}
+ * ones are today's, which filter on workspace_id so Postgres prunes to one partition.
+ * {@link #updateRowWithoutPartitionKey} shows what a write by id alone costs on the
+ * partitioned table, which is why Task maps workspace_id as its partition key.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPartitioningBenchmark {
+
+    private static final String COPY_UNPARTITIONED = """
+            CREATE TABLE task_unpartitioned (LIKE task INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+            INSERT INTO task_unpartitioned SELECT * FROM task;
+            ALTER TABLE task_unpartitioned ADD PRIMARY KEY (id);
+            ALTER TABLE task_unpartitioned ADD UNIQUE (project_id, task_number);
+            CREATE INDEX ON task_unpartitioned (sprint_id, status, rank);
+            CREATE INDEX ON task_unpartitioned (project_id, status);
+            CREATE INDEX ON task_unpartitioned (project_id, status, rank) WHERE sprint_id IS NULL;
+            CREATE INDEX ON task_unpartitioned (assignee_id, project_id) WHERE assignee_id IS NOT NULL;
+            ANALYZE task_unpartitioned;
+            """;
+
+    // Each statement takes the workspace id first, then its own parameter.
+    // "? > 0" stands in for a parameter the statement has no use for.
+    private static final Map<String, Map<String, String>> STATEMENTS = Map.of(
+            "unpartitioned", Map.of(
+                    "projectList", "SELECT t.* FROM task_unpartitioned t WHERE ? > 0 AND t.project_id = ?",
+                    "sprintBoard", "SELECT t.* FROM task_unpartitioned t WHERE ? > 0 AND t.sprint_id = ? " +
+                            "ORDER BY t.status, t.rank",
+                    "sprintStatusCounts", "SELECT t.status, COUNT(*) FROM task_unpartitioned t " +
+                            "WHERE ? > 0 AND t.sprint_id = ? GROUP BY t.status",
+                    "assigneeTasks", "SELECT t.* FROM task_unpartitioned t JOIN project p ON p.id = t.project_id " +
+                            "WHERE p.workspace_id = ? AND t.assignee_id = ?",
+                    "workspaceCount", "SELECT COUNT(*) FROM task_unpartitioned t JOIN project p ON p.id = t.project_id " +
+                            "WHERE p.workspace_id = ? AND ? > 0",
+                    "updateRow", "UPDATE task_unpartitioned SET rank = rank WHERE ? > 0 AND id = ?",
+                    "updateRowById", "UPDATE task_unpartitioned SET rank = rank WHERE ? > 0 AND id = ?"),
+            "partitioned", Map.of(
+                    "projectList", "SELECT t.* FROM task t WHERE t.workspace_id = ? AND t.project_id = ?",
+                    "sprintBoard", "SELECT t.* FROM task t WHERE t.workspace_id = ? AND t.sprint_id = ? " +
+                            "ORDER BY t.status, t.rank",
+                    "sprintStatusCounts", "SELECT t.status, COUNT(*) FROM task t " +
+                            "WHERE t.workspace_id = ? AND t.sprint_id = ? GROUP BY t.status",
+                    "assigneeTasks", "SELECT t.* FROM task t WHERE t.workspace_id = ? AND t.assignee_id = ?",
+                    "workspaceCount", "SELECT COUNT(*) FROM task t WHERE t.workspace_id = ? AND ? > 0",
+                    "updateRow", "UPDATE task SET rank = rank WHERE workspace_id = ? AND id = ?",
+                    "updateRowById", "UPDATE task SET rank = rank WHERE ? > 0 AND id = ?"));
+
+    @Param({"unpartitioned", "partitioned"})
+    private String layout;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private List<Target> targets;
+    private Map<String, PreparedStatement> statements;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("shardIdBase", "0"))
+                .load()
+                .migrate();
+
+        SeedResult seeded = new DataSeeder(dataSource).seed(SeedPlan.typicalWorkspaces(1, 300));
+
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(COPY_UNPARTITIONED);
+        }
+
+        targets = new ArrayList<>(seeded.workspaceIds().size());
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT p.id, s.id, " +
+                        "(SELECT MIN(user_id) FROM workspace_member m WHERE m.workspace_id = p.workspace_id), " +
+                        "(SELECT MIN(t.id) FROM task t WHERE t.workspace_id = p.workspace_id AND t.project_id = p.id) " +
+                        "FROM project p JOIN sprint s ON s.project_id = p.id AND s.status = 'ACTIVE' " +
+                        "WHERE p.workspace_id = ? ORDER BY p.id LIMIT 1")) {
+            for (Long workspaceId : seeded.workspaceIds()) {
+                statement.setLong(1, workspaceId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    targets.add(new Target(workspaceId, rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+                }
+            }
+        }
+
+        statements = new HashMap<>();
+        for (Map.Entry<String, String> entry : STATEMENTS.get(layout).entrySet()) {
+            statements.put(entry.getKey(), connection.prepareStatement(entry.getValue()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int projectList() throws SQLException {
+        Target target = target();
+        return rows("projectList", target.workspaceId(), target.projectId());
+    }
+
+    @Benchmark
+    public int sprintBoard() throws SQLException {
+        Target target = target();
+        return rows("sprintBoard", target.workspaceId(), target.sprintId());
+    }
+
+    @Benchmark
+    public int sprintStatusCounts() throws SQLException {
+        Target target = target();
+        return rows("sprintStatusCounts", target.workspaceId(), target.sprintId());
+    }
+
+    @Benchmark
+    public int assigneeTasks() throws SQLException {
+        Target target = target();
+        return rows("assigneeTasks", target.workspaceId(), target.assigneeId());
+    }
+
+    @Benchmark
+    public int workspaceCount() throws SQLException {
+        Target target = target();
+        return rows("workspaceCount", target.workspaceId(), 1);
+    }
+
+    @Benchmark
+    public int updateRow() throws SQLException {
+        Target target = target();
+        return update("updateRow", target.workspaceId(), target.taskId());
+    }
+
+    @Benchmark
+    public int updateRowWithoutPartitionKey() throws SQLException {
+        Target target = target();
+        return update("updateRowById", target.workspaceId(), target.taskId());
+    }
+
+    private Target target() {
+        return targets.get(ThreadLocalRandom.current().nextInt(targets.size()));
+    }
+
+    private int rows(String name, long workspaceId, long param) throws SQLException {
+        PreparedStatement statement = statements.get(name);
+        statement.setLong(1, workspaceId);
+        statement.setLong(2, param);
+        int rows = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private int update(String name, long workspaceId, long taskId) throws SQLException {
+        PreparedStatement statement = statements.get(name);
+        statement.setLong(1, workspaceId);
+        statement.setLong(2, taskId);
+        return statement.executeUpdate();
+    }
+
+    private record Target(long workspaceId, long projectId, long sprintId, long assigneeId, long taskId) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.legion.benchmark;
+
+import com.legion.common.context.RequestContext;
+import com.legion.common.context.WorkspaceContextHelper;
+import com.legion.user.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The workspace checks every service method makes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkspaceContextBenchmark {
+
+    private final Long workspaceId = Fixtures.WORKSPACE_ID;
+
+    private RequestContext.Scope scope;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scope = RequestContext.bind(new RequestContext(1L, workspaceId, Role.DEVELOPER));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scope.close();
+    }
+
+    @Benchmark
+    public Long requireWorkspaceId() {
+        return WorkspaceContextHelper.requireWorkspaceId();
+    }
+
+    @Benchmark
+    public void validateWorkspace() {
+        WorkspaceContextHelper.validateWorkspace(workspaceId);
+    }
+
+    /**
+     * Cost of carrying the context into a task handed to another thread.
+     */
+    @Benchmark
+    public Runnable wrapForExecutor() {
+        return RequestContext.wrap(() -> { });
+    }
+}
@@ -0,0 +1,37 @@
+package com.legion.loadtest;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds a large workspace, replays the traffic mix against it and fails the build
+ * when a latency, throughput or error-rate SLO from loadtest.properties is missed.
+ *
+ * <p>Run with {@code mvn -Ploadtest verify}; the report lands in target/loadtest-report.json.</p>
+ */
+class LegionServiceLoadTest {
+
+	@Test
+	void trafficMixMeetsSlos() throws Exception {
+		LoadTestConfig config = new LoadTestConfig();
+		LoadReport report;
+		try (LoadTestEnvironment env = new LoadTestEnvironment(config)) {
+			report = new LoadDriver(env, config).run();
+		}
+
+		Path output = Path.of("target", "loadtest-report.json");
+		Files.createDirectories(output.getParent());
+		JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build()
+				.writeValue(output.toFile(), report.toMap());
+
+		List<String> violations = report.violations(config);
+		assertTrue(violations.isEmpty(), "SLO violations:\n" + String.join("\n", violations));
+	}
+}
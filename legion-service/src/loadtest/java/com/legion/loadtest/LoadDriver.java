@@ -0,0 +1,197 @@
+package com.legion.loadtest;
+
+import com.legion.seed.DataSeeder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop virtual users replaying the configured traffic mix over HTTP.
+ *
+ * <p>Each user logs in as its own seeded member, then repeatedly picks an operation
+ * by weight and issues it as soon as the previous one returns. A board load is the
+ * two requests the board page makes: the project's sprints and the active sprint's tasks.</p>
+ */
+final class LoadDriver {
+
+    // Mostly forward moves, as on a real board
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "IN_PROGRESS", "REVIEW", "DONE"};
+
+    private final LoadTestEnvironment env;
+    private final LoadTestConfig config;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final List<Long> createdTaskIds = new CopyOnWriteArrayList<>();
+    private final int users;
+
+    private volatile boolean running;
+
+    LoadDriver(LoadTestEnvironment env, LoadTestConfig config) {
+        this(env, config, config.getInt("users"));
+    }
+
+    LoadDriver(LoadTestEnvironment env, LoadTestConfig config, int users) {
+        this.env = env;
+        this.config = config;
+        this.users = users;
+    }
+
+    LoadReport run() throws Exception {
+        Map<Operation, Integer> mix = config.mix();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        LoadReport report = new LoadReport();
+
+        running = true;
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                int member = u % env.memberIds.size();
+                SplittableRandom random = new SplittableRandom(config.getLong("seed") * 31 + u);
+                workers.add(executor.submit(() -> {
+                    userLoop(member, random, mix, totalWeight, report);
+                    return null;
+                }));
+            }
+
+            TimeUnit.SECONDS.sleep(config.getLong("warmup.seconds"));
+            report.reset();
+            long start = System.nanoTime();
+            TimeUnit.SECONDS.sleep(config.getLong("duration.seconds"));
+            report.finish(System.nanoTime() - start);
+            running = false;
+
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return report;
+    }
+
+    private void userLoop(int member, SplittableRandom random, Map<Operation, Integer> mix, int totalWeight,
+                          LoadReport report) throws Exception {
+        String token = login(member, report);
+        while (running) {
+            Operation operation = pick(random, mix, totalWeight);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = switch (operation) {
+                    case LOGIN -> login(member, null) != null;
+                    case BOARD -> board(token, random);
+                    case CREATE_TASK -> createTask(token, member, random);
+                    case STATUS_CHANGE -> changeStatus(token, random);
+                    case MEMBERS -> ok(send(token, get("/api/workspaces/" + env.workspaceId + "/members")));
+                };
+            } catch (IOException | IllegalStateException e) {
+                // Timeouts, resets and failed logins count against the error rate, not the run
+                ok = false;
+            }
+            report.record(operation, System.nanoTime() - start, ok);
+        }
+    }
+
+    private String login(int member, LoadReport report) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = send(null, post("/api/auth/login",
+                Map.of("email", env.email(member), "password", DataSeeder.PASSWORD)));
+        if (report != null) {
+            report.record(Operation.LOGIN, System.nanoTime() - start, ok(response));
+        }
+        if (!ok(response)) {
+            throw new IllegalStateException("Login failed for " + env.email(member) + ": " + response.statusCode());
+        }
+        return jsonMapper.readTree(response.body()).get("token").asString();
+    }
+
+    private boolean board(String token, SplittableRandom random) throws Exception {
+        int project = random.nextInt(env.projectIds.size());
+        boolean sprints = ok(send(token, get("/api/sprints/project/" + env.projectIds.get(project))));
+        boolean tasks = env.activeSprintIds.isEmpty()
+                || ok(send(token, get("/api/tasks/sprint/" + env.activeSprintIds.get(project))));
+        return sprints && tasks;
+    }
+
+    private boolean createTask(String token, int member, SplittableRandom random) throws Exception {
+        Long projectId = env.projectIds.get(random.nextInt(env.projectIds.size()));
+        HttpResponse<String> response = send(token, post("/api/tasks", Map.of(
+                "projectId", projectId,
+                "reporterId", env.memberIds.get(member),
+                "title", "Load test task",
+                "status", "BACKLOG",
+                "priority", "MEDIUM"
+        )));
+        if (!ok(response)) {
+            return false;
+        }
+        JsonNode created = jsonMapper.readTree(response.body());
+        createdTaskIds.add(created.get("id").asLong());
+        return true;
+    }
+
+    private boolean changeStatus(String token, SplittableRandom random) throws Exception {
+        List<Long> pool = !createdTaskIds.isEmpty() && random.nextBoolean() ? createdTaskIds : env.boardTaskIds;
+        if (pool.isEmpty()) {
+            return true;
+        }
+        Long taskId = pool.get(random.nextInt(pool.size()));
+        return ok(send(token, patch("/api/tasks/" + taskId + "/status", Map.of("status", STATUSES[random.nextInt(STATUSES.length)]))));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(env.baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Object body) {
+        return HttpRequest.newBuilder(URI.create(env.baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)));
+    }
+
+    private HttpRequest.Builder patch(String path, Object body) {
+        return HttpRequest.newBuilder(URI.create(env.baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)));
+    }
+
+    private HttpResponse<String> send(String token, HttpRequest.Builder request) throws Exception {
+        request.timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token)
+                    .header("X-Workspace-Id", String.valueOf(env.workspaceId));
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static Operation pick(SplittableRandom random, Map<Operation, Integer> mix, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty traffic mix");
+    }
+}
@@ -0,0 +1,130 @@
+package com.legion.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per operation, and the SLO check over them.
+ */
+final class LoadReport {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> results = new EnumMap<>(Operation.class);
+    private long elapsedNanos;
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_LATENCY_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long nanos, boolean ok) {
+        recorders.get(operation).recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+        if (!ok) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far, at the end of the warmup.
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        recorders.forEach((operation, recorder) -> results.put(operation, recorder.getIntervalHistogram()));
+    }
+
+    long totalRequests() {
+        return results.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    double throughput() {
+        return totalRequests() / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * SLOs the run missed, as readable messages. Empty when all are met.
+     */
+    List<String> violations(LoadTestConfig config) {
+        List<String> violations = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = results.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            for (double percentile : new double[]{50, 99, 99.9}) {
+                String key = "slo." + operation.key + "." + label(percentile);
+                Double limitMs = config.getOptionalDouble(key);
+                double actualMs = millis(histogram.getValueAtPercentile(percentile));
+                if (limitMs != null && actualMs > limitMs) {
+                    violations.add(String.format("%s: %.1f ms > %.1f ms", key, actualMs, limitMs));
+                }
+            }
+        }
+
+        Double minThroughput = config.getOptionalDouble("slo.throughput.min");
+        if (minThroughput != null && throughput() < minThroughput) {
+            violations.add(String.format("slo.throughput.min: %.1f req/s < %.1f req/s", throughput(), minThroughput));
+        }
+        Double maxErrorRate = config.getOptionalDouble("slo.error.rate.max");
+        double errorRate = totalRequests() == 0 ? 0 : (double) totalErrors() / totalRequests();
+        if (maxErrorRate != null && errorRate > maxErrorRate) {
+            violations.add(String.format("slo.error.rate.max: %.4f > %.4f", errorRate, maxErrorRate));
+        }
+        return violations;
+    }
+
+    /**
+     * The report as written to target/loadtest-report.json.
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        results.forEach((operation, histogram) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", histogram.getTotalCount());
+            stats.put("errors", errors.get(operation).sum());
+            stats.put("throughput", histogram.getTotalCount() / (elapsedNanos / 1e9));
+            stats.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            stats.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            stats.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            stats.put("maxMs", millis(histogram.getMaxValue()));
+            operations.put(operation.key, stats);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", elapsedNanos / 1e9);
+        report.put("requests", totalRequests());
+        report.put("errors", totalErrors());
+        report.put("throughput", throughput());
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static String label(double percentile) {
+        return percentile == 50 ? "p50" : percentile == 99 ? "p99" : "p999";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,59 @@
+package com.legion.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * loadtest.properties with system property overrides.
+ */
+final class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    LoadTestConfig() {
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.getProperties().forEach((key, value) -> {
+            if (properties.containsKey(key)) {
+                properties.put(key, value);
+            }
+        });
+    }
+
+    long getLong(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("Missing load test setting " + key);
+        }
+        return Long.parseLong(value.trim());
+    }
+
+    int getInt(String key) {
+        return (int) getLong(key);
+    }
+
+    Double getOptionalDouble(String key) {
+        String value = properties.getProperty(key);
+        return value == null ? null : Double.valueOf(value.trim());
+    }
+
+    Map<Operation, Integer> mix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            String value = properties.getProperty("mix." + operation.key);
+            if (value != null && Integer.parseInt(value.trim()) > 0) {
+                mix.put(operation, Integer.parseInt(value.trim()));
+            }
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,106 @@
+package com.legion.loadtest;
+
+import com.legion.LegionServiceApplication;
+import com.legion.seed.DataSeeder;
+import com.legion.seed.SeedPlan;
+import com.legion.seed.SeedResult;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An embedded Postgres, the service booted against it on a random port, and a seeded workspace.
+ */
+final class LoadTestEnvironment implements AutoCloseable {
+
+    final String baseUrl;
+    final long workspaceId;
+    final String emailDomain;
+    final List<Long> memberIds = new ArrayList<>();
+    final List<Long> projectIds = new ArrayList<>();
+    final List<Long> activeSprintIds = new ArrayList<>();
+    final List<Long> boardTaskIds = new ArrayList<>();
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    LoadTestEnvironment(LoadTestConfig config, String... serviceProperties) throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+
+        // Flyway creates the schema while the service boots; seeding comes after
+        context = new SpringApplicationBuilder(LegionServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + jdbcUrl,
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false"
+                )
+                .properties(serviceProperties)
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        DataSource dataSource = postgres.getPostgresDatabase();
+        long seed = config.getLong("seed");
+        SeedResult seeded = new DataSeeder(dataSource).seed(new SeedPlan(
+                seed,
+                1,
+                config.getInt("seed.members"),
+                config.getInt("seed.projects"),
+                config.getInt("seed.sprints"),
+                config.getLong("seed.tasks")
+        ));
+        workspaceId = seeded.workspaceIds().getFirst();
+        emailDomain = "seed-" + seed + "-0.test";
+
+        try (Connection connection = dataSource.getConnection()) {
+            load(connection, "SELECT user_id FROM workspace_member WHERE workspace_id = ? ORDER BY user_id", memberIds);
+            load(connection, "SELECT id FROM project WHERE workspace_id = ? ORDER BY id", projectIds);
+            load(connection, "SELECT s.id FROM sprint s JOIN project p ON p.id = s.project_id " +
+                    "WHERE p.workspace_id = ? AND s.status = 'ACTIVE' ORDER BY p.id", activeSprintIds);
+            load(connection, "SELECT t.id FROM task t JOIN sprint s ON s.id = t.sprint_id " +
+                    "WHERE t.workspace_id = ? AND s.status = 'ACTIVE' ORDER BY t.id LIMIT 20000", boardTaskIds);
+        }
+    }
+
+    /**
+     * Login email of the n-th seeded member.
+     */
+    String email(int member) {
+        return "user" + member + "@" + emailDomain;
+    }
+
+    /**
+     * A bean from the running service, for reading its metrics after a run.
+     */
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void load(Connection connection, String sql, List<Long> into) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, workspaceId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    into.add(rs.getLong(1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.legion.loadtest;
+
+/**
+ * The user actions the load test replays, named as in loadtest.properties.
+ */
+enum Operation {
+
+    LOGIN("login"),
+    BOARD("board"),
+    CREATE_TASK("create_task"),
+    STATUS_CHANGE("status_change"),
+    MEMBERS("members");
+
+    final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+}
@@ -0,0 +1,68 @@
+package com.legion.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the traffic mix with more users than Tomcat has threads, once on platform
+ * threads and once on virtual threads, and compares the two.
+ *
+ * <p>Both reports and the number of pinned virtual threads go to
+ * target/loadtest-threading.json. Virtual threads must keep at least
+ * {@code slo.threading.throughput.ratio.min} of the platform-thread throughput
+ * and stay within the error-rate gate.</p>
+ */
+class ThreadingModeLoadTest {
+
+	@Test
+	void virtualThreadsKeepUpWithPlatformThreads() throws Exception {
+		LoadTestConfig config = new LoadTestConfig();
+		Map<String, Object> comparison = new LinkedHashMap<>();
+
+		LoadReport platform = run(config, false, comparison);
+		LoadReport virtual = run(config, true, comparison);
+
+		double ratio = virtual.throughput() / platform.throughput();
+		comparison.put("throughputRatio", ratio);
+
+		Path output = Path.of("target", "loadtest-threading.json");
+		Files.createDirectories(output.getParent());
+		JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build()
+				.writeValue(output.toFile(), comparison);
+
+		double minRatio = config.getOptionalDouble("slo.threading.throughput.ratio.min");
+		assertTrue(ratio >= minRatio, String.format(
+				"Virtual threads reached %.1f req/s against %.1f req/s on platform threads",
+				virtual.throughput(), platform.throughput()));
+
+		double maxErrorRate = config.getOptionalDouble("slo.error.rate.max");
+		double errorRate = (double) virtual.totalErrors() / virtual.totalRequests();
+		assertTrue(errorRate <= maxErrorRate, String.format("Virtual thread error rate %.4f", errorRate));
+	}
+
+	private LoadReport run(LoadTestConfig config, boolean virtualThreads, Map<String, Object> comparison) throws Exception {
+		String mode = virtualThreads ? "virtual" : "platform";
+		try (LoadTestEnvironment env = new LoadTestEnvironment(config,
+				"spring.threads.virtual.enabled=" + virtualThreads,
+				"server.tomcat.threads.max=" + config.getInt("threading.tomcat.threads.max"))) {
+			LoadReport report = new LoadDriver(env, config, config.getInt("threading.users")).run();
+
+			Map<String, Object> result = new LinkedHashMap<>(report.toMap());
+			result.put("pinnedThreads", env.bean(MeterRegistry.class).find("legion.vthread.pinned").timers().stream()
+					.mapToLong(Timer::count)
+					.sum());
+			comparison.put(mode, result);
+			return report;
+		}
+	}
+}
@@ -4,9 +4,14 @@ import com.legion.auth.dto.AuthResponse;
 import com.legion.auth.dto.LoginRequest;
 import com.legion.auth.dto.RegisterRequest;
 import com.legion.auth.dto.UserDto;
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
 import com.legion.common.exception.DuplicateResourceException;
 import com.legion.common.exception.InvalidOperationException;
 import com.legion.common.exception.UnauthorizedException;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.common.shard.DirectorySync;
+import com.legion.common.shard.ShardContext;
 import com.legion.invitation.Invitation;
 import com.legion.invitation.InvitationService;
 import com.legion.user.User;
@@ -32,17 +37,26 @@ public class AuthService {
     private final InvitationService invitationService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final DirectorySync directorySync;
+    private final ResponseCache responseCache;
+    private final LegionMetrics metrics;
 
     public AuthService(UserRepository userRepository,
                        WorkspaceMemberRepository workspaceMemberRepository,
                        InvitationService invitationService,
                        PasswordEncoder passwordEncoder,
-                       JwtUtil jwtUtil) {
+                       JwtUtil jwtUtil,
+                       DirectorySync directorySync,
+                       ResponseCache responseCache,
+                       LegionMetrics metrics) {
         this.userRepository = userRepository;
         this.workspaceMemberRepository = workspaceMemberRepository;
         this.invitationService = invitationService;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.directorySync = directorySync;
+        this.responseCache = responseCache;
+        this.metrics = metrics;
     }
 
     @Transactional
@@ -57,7 +71,7 @@ public class AuthService {
 
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(hashPassword(request.getPassword()));
         user.setFullName(request.getFullName());
 
         user = userRepository.save(user);
@@ -73,6 +87,7 @@ public class AuthService {
     public AuthResponse acceptInvitation(String token, String email, String password, String fullName) {
 
         log.info("Processing invitation acceptance email={} token={}", email, token);
+        ShardContext.useDirectoryForCurrentTransaction();
 
         Invitation invitation = invitationService.getInvitationByToken(token);
 
@@ -108,7 +123,7 @@ public class AuthService {
 
             user = new User();
             user.setEmail(email);
-            user.setPassword(passwordEncoder.encode(password));
+            user.setPassword(hashPassword(password));
             user.setFullName(fullName);
             user = userRepository.save(user);
         }
@@ -123,6 +138,8 @@ public class AuthService {
         WorkspaceMember member =
                 new WorkspaceMember(user, invitation.getWorkspace(), invitation.getRole());
         workspaceMemberRepository.save(member);
+        directorySync.syncAfterCommit(invitation.getWorkspace().getId());
+        responseCache.invalidateAfterCommit(invitation.getWorkspace().getId(), CacheScope.MEMBERS);
 
         invitationService.markInvitationAsUsed(invitation.getId());
         log.info("Invitation marked as used id={}", invitation.getId());
@@ -139,18 +156,29 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     log.warn("Login failed: user not found email={}", request.getEmail());
+                    metrics.count("legion.auth.login", "outcome", "unknown_user");
                     return new InvalidOperationException("Invalid email or password");
                 });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        boolean matches = metrics.time("legion.auth.password.hash",
+                () -> passwordEncoder.matches(request.getPassword(), user.getPassword()), "operation", "matches");
+        if (!matches) {
             log.warn("Login failed: invalid password email={}", request.getEmail());
+            metrics.count("legion.auth.login", "outcome", "bad_password");
             throw new InvalidOperationException("Invalid email or password");
         }
 
         log.info("Login successful email={}", user.getEmail());
+        metrics.count("legion.auth.login", "outcome", "success");
 
         String token = jwtUtil.generateToken(user.getEmail());
 
         return new AuthResponse(token, UserDto.fromUser(user));
     }
+
+    // BCrypt is deliberately slow; timing it shows when the work factor starts to hurt
+    private String hashPassword(String rawPassword) {
+        return metrics.time("legion.auth.password.hash", () -> passwordEncoder.encode(rawPassword),
+                "operation", "encode");
+    }
 }
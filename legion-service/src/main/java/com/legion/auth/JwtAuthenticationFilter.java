@@ -1,6 +1,11 @@
 package com.legion.auth;
 
-import com.legion.common.context.WorkspaceContext;
+import com.legion.common.context.RequestContext;
+import com.legion.common.jfr.JwtVerificationEvent;
+import com.legion.common.jfr.MembershipResolutionEvent;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.common.profiler.RequestProfile;
+import com.legion.config.OperatorConfig;
 import com.legion.user.Role;
 import com.legion.user.User;
 import com.legion.user.UserRepository;
@@ -12,14 +17,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * JWT Authentication Filter.
@@ -32,13 +41,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final OperatorConfig operatorConfig;
+    private final LegionMetrics metrics;
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil,
                                    UserRepository userRepository,
-                                   WorkspaceMemberRepository workspaceMemberRepository) {
+                                   WorkspaceMemberRepository workspaceMemberRepository,
+                                   OperatorConfig operatorConfig,
+                                   LegionMetrics metrics) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.workspaceMemberRepository = workspaceMemberRepository;
+        this.operatorConfig = operatorConfig;
+        this.metrics = metrics;
     }
 
     @Override
@@ -46,52 +61,84 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        try {
-            String authHeader = request.getHeader("Authorization");
-            String workspaceIdHeader = request.getHeader("X-Workspace-Id");
+        long authStart = System.nanoTime();
+        RequestContext context = authenticate(request);
 
-            String token = extractToken(authHeader);
+        try (RequestContext.Scope ignored = RequestContext.bind(context)) {
+            RequestProfile.recordAuth(System.nanoTime() - authStart);
 
-            if (token == null) {
-                log.debug("No JWT token found for request {}", request.getRequestURI());
-                filterChain.doFilter(request, response);
-                return;
-            }
+            filterChain.doFilter(request, response);
+        }
+    }
 
-            String username = jwtUtil.extractUsername(token);
+    /**
+     * Populates the security context from the request's token, if it has a valid one.
+     *
+     * @return request context to bind for the rest of the chain, or null when not authenticated
+     */
+    private RequestContext authenticate(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        String workspaceIdHeader = request.getHeader("X-Workspace-Id");
 
-            if (username == null) {
-                log.warn("JWT token does not contain a username");
-                filterChain.doFilter(request, response);
-                return;
-            }
+        String token = extractToken(authHeader);
 
-            if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                log.debug("Security context already populated for user={}", username);
-                filterChain.doFilter(request, response);
-                return;
-            }
+        if (token == null) {
+            log.debug("No JWT token found for request {}", request.getRequestURI());
+            return null;
+        }
 
-            User user = userRepository.findByEmail(username).orElse(null);
+        String username = verify("parse", () -> jwtUtil.extractUsername(token),
+                subject -> subject != null);
 
-            if (user == null) {
-                log.warn("JWT authentication failed: user not found for email={}", username);
-                filterChain.doFilter(request, response);
-                return;
-            }
+        if (username == null) {
+            log.warn("JWT token does not contain a username");
+            metrics.count("legion.auth.jwt", "outcome", "invalid");
+            return null;
+        }
 
-            if (!jwtUtil.validateToken(token, username)) {
-                log.warn("Invalid JWT token for email={}", username);
-                filterChain.doFilter(request, response);
-                return;
-            }
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            log.debug("Security context already populated for user={}", username);
+            return null;
+        }
 
-            authenticateUser(user, workspaceIdHeader);
+        User user = userRepository.findByEmail(username).orElse(null);
 
-            filterChain.doFilter(request, response);
+        if (user == null) {
+            log.warn("JWT authentication failed: user not found for email={}", username);
+            metrics.count("legion.auth.jwt", "outcome", "unknown_user");
+            return null;
+        }
+
+        boolean valid = metrics.time("legion.auth.jwt.validate",
+                () -> verify("validate", () -> jwtUtil.validateToken(token, username), Boolean::booleanValue));
+        if (!valid) {
+            log.warn("Invalid JWT token for email={}", username);
+            metrics.count("legion.auth.jwt", "outcome", "invalid");
+            return null;
+        }
 
+        RequestContext context = authenticateUser(user, workspaceIdHeader);
+        metrics.count("legion.auth.jwt", "outcome", "authenticated");
+
+        if (context.hasWorkspace()) {
+            request.setAttribute(LegionMetrics.WORKSPACE_TIER_ATTRIBUTE, metrics.workspaceTier(context.workspaceId()));
+        }
+        return context;
+    }
+
+    private <T> T verify(String stage, Supplier<T> check, Predicate<T> accepted) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            T result = check.get();
+            event.outcome = accepted.test(result) ? "accepted" : "rejected";
+            return result;
+        } catch (RuntimeException e) {
+            event.outcome = "error";
+            throw e;
         } finally {
-            WorkspaceContext.clear();
+            event.stage = stage;
+            event.commit();
         }
     }
 
@@ -102,32 +149,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private void authenticateUser(User user, String workspaceIdHeader) {
+    private RequestContext authenticateUser(User user, String workspaceIdHeader) {
         if (workspaceIdHeader == null || workspaceIdHeader.isEmpty()) {
             log.debug(
                     "No workspace header provided, authenticating user={} without workspace",
                     user.getEmail()
             );
-            authenticateWithoutRole(user);
-            return;
+            return authenticateWithoutRole(user);
         }
 
         try {
             Long workspaceId = Long.parseLong(workspaceIdHeader);
-            authenticateWithWorkspace(user, workspaceId);
+            return authenticateWithWorkspace(user, workspaceId);
         } catch (NumberFormatException e) {
             log.warn("Invalid workspace id header value={}", workspaceIdHeader);
-            authenticateWithoutRole(user);
+            return authenticateWithoutRole(user);
         }
     }
 
-    private void authenticateWithWorkspace(User user, Long workspaceId) {
-        Optional<Role> roleOpt = workspaceMemberRepository
-                .findRoleByUserIdAndWorkspaceId(user.getId(), workspaceId);
+    private RequestContext authenticateWithWorkspace(User user, Long workspaceId) {
+        MembershipResolutionEvent event = new MembershipResolutionEvent();
+        event.begin();
+        Optional<Role> roleOpt = metrics.time("legion.auth.membership.check", () -> workspaceMemberRepository
+                .findRoleByUserIdAndWorkspaceId(user.getId(), workspaceId));
+        event.workspaceId = workspaceId;
+        event.member = roleOpt.isPresent();
+        event.commit();
 
         if (roleOpt.isPresent()) {
-            WorkspaceContext.setWorkspaceId(workspaceId);
-
             log.info(
                     "Authenticated user={} in workspaceId={} with role={}",
                     user.getEmail(),
@@ -139,32 +188,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     new UsernamePasswordAuthenticationToken(
                             user,
                             null,
-                            Collections.singletonList(
-                                    new SimpleGrantedAuthority("ROLE_" + roleOpt.get().name())
-                            )
+                            authorities(user, roleOpt.get())
                     );
 
             SecurityContextHolder.getContext().setAuthentication(authToken);
+            return new RequestContext(user.getId(), workspaceId, roleOpt.get());
         } else {
             log.warn(
                     "User={} does not belong to workspaceId={}, authenticating without role",
                     user.getEmail(),
                     workspaceId
             );
-            authenticateWithoutRole(user);
+            return authenticateWithoutRole(user);
         }
     }
 
-    private void authenticateWithoutRole(User user) {
+    private RequestContext authenticateWithoutRole(User user) {
         log.debug("Authenticated user={} without workspace context", user.getEmail());
 
         UsernamePasswordAuthenticationToken authToken =
                 new UsernamePasswordAuthenticationToken(
                         user,
                         null,
-                        Collections.emptyList()
+                        authorities(user, null)
                 );
 
         SecurityContextHolder.getContext().setAuthentication(authToken);
+        return RequestContext.user(user.getId());
+    }
+
+    /**
+     * The workspace role, if any, plus ROLE_OPERATOR for accounts listed in legion.operators.
+     */
+    private List<GrantedAuthority> authorities(User user, Role role) {
+        List<GrantedAuthority> authorities = new ArrayList<>(2);
+        if (role != null) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        }
+        if (operatorConfig.getEmails().stream().anyMatch(email -> email.equalsIgnoreCase(user.getEmail()))) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_OPERATOR"));
+        }
+        return authorities;
     }
 }
@@ -0,0 +1,62 @@
+package com.legion.batch;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * REST controller for running several API calls in one round trip.
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchController.class);
+
+    private final BatchService batchService;
+
+    public BatchController(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    /**
+     * Runs the listed sub-requests against the regular endpoints, in order, with this
+     * request's authentication and workspace. Always answers 200; each item carries its
+     * own status and body.
+     */
+    @PostMapping
+    public ResponseEntity<BatchResponse> execute(@RequestBody BatchRequest request,
+                                                 HttpServletRequest httpRequest,
+                                                 HttpServletResponse httpResponse) {
+        log.info("POST /api/batch items={} transactional={}",
+                request.getRequests() != null ? request.getRequests().size() : 0, request.isTransactional());
+        return ResponseEntity.ok(batchService.execute(request, httpRequest, httpResponse));
+    }
+
+    @Setter @Getter
+    public static class BatchRequest {
+        // All items in one transaction, rolled back if any item fails
+        private boolean transactional;
+        private List<BatchItem> requests;
+    }
+
+    @Setter @Getter
+    public static class BatchItem {
+        // Echoed back in the item's result
+        private String id;
+        private String method;
+        private String path;
+        private JsonNode body;
+    }
+}
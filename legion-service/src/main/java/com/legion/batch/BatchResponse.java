@@ -0,0 +1,28 @@
+package com.legion.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch: one result per item, in request order.
+ *
+ * <p>{@code committed} is only meaningful for transactional batches: false means
+ * the transaction was rolled back and none of the items' writes were kept.</p>
+ */
+@Setter
+@Getter
+public class BatchResponse {
+
+    private boolean transactional;
+    private boolean committed;
+    private List<ItemResult> responses = new ArrayList<>();
+
+    /**
+     * @param body the item's JSON response, or null if it had none
+     */
+    public record ItemResult(String id, int status, Object body) {
+    }
+}
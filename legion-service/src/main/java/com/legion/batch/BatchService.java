@@ -0,0 +1,261 @@
+package com.legion.batch;
+
+import com.legion.common.exception.InvalidOperationException;
+import com.legion.config.BatchConfig;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletRequestWrapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the items of a batch by forwarding each one through the servlet container to the
+ * regular endpoints.
+ *
+ * <p>A forward goes through Spring Security's URL rules and the full MVC stack, so an item
+ * behaves exactly like the same call made on its own. The batch request was already
+ * authenticated, so the JWT filter and the other once-per-request filters do not run
+ * again for its items.</p>
+ *
+ * <p>In a plain batch, consecutive GET items are independent of one another and run side
+ * by side on the fan-out executor; any other item waits for everything before it. A
+ * transactional batch runs all items one after another on this thread inside one
+ * transaction, and stops and rolls back at the first item answering 4xx or 5xx. Its
+ * items should stay within the workspace's own data, since the transaction holds a
+ * single connection to the workspace's shard.</p>
+ */
+@Service
+public class BatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchService.class);
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+
+    // Result for items not run because an earlier item of a transactional batch failed
+    private static final int SC_FAILED_DEPENDENCY = 424;
+
+    private final BatchConfig batchConfig;
+    private final AsyncTaskExecutor fanOutExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+
+    public BatchService(BatchConfig batchConfig,
+                        @Qualifier("fanOutExecutor") AsyncTaskExecutor fanOutExecutor,
+                        PlatformTransactionManager transactionManager,
+                        JsonMapper jsonMapper) {
+        this.batchConfig = batchConfig;
+        this.fanOutExecutor = fanOutExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+    }
+
+    public BatchResponse execute(BatchController.BatchRequest request,
+                                 HttpServletRequest httpRequest,
+                                 HttpServletResponse httpResponse) {
+        List<BatchController.BatchItem> items = validate(request);
+        HttpServletRequest containerRequest = unwrap(httpRequest);
+
+        BatchResponse response = new BatchResponse();
+        response.setTransactional(request.isTransactional());
+
+        if (request.isTransactional()) {
+            runInTransaction(items, containerRequest, httpResponse, response);
+        } else {
+            runInOrder(items, containerRequest, httpResponse, response);
+            response.setCommitted(true);
+        }
+        return response;
+    }
+
+    private void runInOrder(List<BatchController.BatchItem> items, HttpServletRequest containerRequest,
+                            HttpServletResponse httpResponse, BatchResponse response) {
+        int i = 0;
+        while (i < items.size()) {
+            int reads = i;
+            while (batchConfig.isParallelReads() && reads < items.size()
+                    && "GET".equals(items.get(reads).getMethod())) {
+                reads++;
+            }
+
+            if (reads - i > 1) {
+                response.getResponses().addAll(runConcurrently(items.subList(i, reads), containerRequest, httpResponse));
+                i = reads;
+            } else {
+                response.getResponses().add(dispatch(items.get(i), containerRequest, httpResponse));
+                i++;
+            }
+        }
+    }
+
+    private List<BatchResponse.ItemResult> runConcurrently(List<BatchController.BatchItem> reads,
+                                                           HttpServletRequest containerRequest,
+                                                           HttpServletResponse httpResponse) {
+        List<Future<BatchResponse.ItemResult>> futures = new ArrayList<>();
+        for (BatchController.BatchItem item : reads) {
+            // The request context travels with the executor's task decorator, the security context here
+            futures.add(fanOutExecutor.submit(new DelegatingSecurityContextCallable<>(
+                    () -> dispatch(item, containerRequest, httpResponse))));
+        }
+
+        List<BatchResponse.ItemResult> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                log.warn("Batch item id={} failed", reads.get(i).getId(), e.getCause());
+                results.add(new BatchResponse.ItemResult(reads.get(i).getId(),
+                        HttpServletResponse.SC_INTERNAL_SERVER_ERROR, null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for batch items", e);
+            }
+        }
+        return results;
+    }
+
+    private void runInTransaction(List<BatchController.BatchItem> items, HttpServletRequest containerRequest,
+                                  HttpServletResponse httpResponse, BatchResponse response) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (BatchController.BatchItem item : items) {
+                    if (status.isRollbackOnly()) {
+                        response.getResponses().add(new BatchResponse.ItemResult(item.getId(), SC_FAILED_DEPENDENCY, null));
+                        continue;
+                    }
+                    BatchResponse.ItemResult result = dispatch(item, containerRequest, httpResponse);
+                    response.getResponses().add(result);
+                    if (result.status() >= 400) {
+                        log.info("Rolling back batch at item id={} status={}", item.getId(), result.status());
+                        status.setRollbackOnly();
+                    }
+                }
+                response.setCommitted(!status.isRollbackOnly());
+            });
+        } catch (TransactionException e) {
+            // An item's service marked the transaction rollback-only but still answered 2xx
+            log.warn("Batch transaction did not commit", e);
+            response.setCommitted(false);
+        }
+    }
+
+    private BatchResponse.ItemResult dispatch(BatchController.BatchItem item, HttpServletRequest containerRequest,
+                                              HttpServletResponse httpResponse) {
+        byte[] body = item.getBody() != null ? jsonMapper.writeValueAsBytes(item.getBody()) : new byte[0];
+        BatchSubRequest subRequest = new BatchSubRequest(containerRequest, item.getMethod(), body);
+        BatchSubResponse subResponse = new BatchSubResponse(httpResponse);
+
+        RequestDispatcher dispatcher = containerRequest.getServletContext().getRequestDispatcher(item.getPath());
+        try {
+            dispatcher.forward(subRequest, subResponse);
+        } catch (ServletException | IOException e) {
+            log.warn("Batch item id={} {} {} failed", item.getId(), item.getMethod(), item.getPath(), e);
+            return new BatchResponse.ItemResult(item.getId(), HttpServletResponse.SC_INTERNAL_SERVER_ERROR, null);
+        }
+
+        return new BatchResponse.ItemResult(item.getId(), subResponse.status(), parse(subResponse.body()));
+    }
+
+    private Object parse(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return jsonMapper.readTree(body);
+        } catch (JacksonException e) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private List<BatchController.BatchItem> validate(BatchController.BatchRequest request) {
+        List<BatchController.BatchItem> items = request.getRequests();
+        if (items == null || items.isEmpty()) {
+            throw new InvalidOperationException("A batch needs at least one request");
+        }
+        if (items.size() > batchConfig.getMaxRequests()) {
+            throw new InvalidOperationException("A batch can hold at most " + batchConfig.getMaxRequests() + " requests");
+        }
+        for (BatchController.BatchItem item : items) {
+            if (item.getMethod() == null || !METHODS.contains(item.getMethod().toUpperCase())) {
+                throw new InvalidOperationException("Unsupported method in batch item " + item.getId());
+            }
+            item.setMethod(item.getMethod().toUpperCase());
+            item.setPath(apiPath(item));
+        }
+        return items;
+    }
+
+    /**
+     * The item's path, normalized and checked to name an /api/ endpoint other than the
+     * batch endpoint itself. The container resolves dot segments and strips path
+     * parameters when it forwards, so a path holding any of them, or an empty segment, is
+     * refused outright rather than trusted to resolve to what the prefix check saw.
+     */
+    private static String apiPath(BatchController.BatchItem item) {
+        String invalid = "Batch item " + item.getId() + " must target an /api/ endpoint";
+        if (item.getPath() == null) {
+            throw new InvalidOperationException(invalid);
+        }
+
+        URI uri;
+        try {
+            uri = new URI(item.getPath());
+        } catch (URISyntaxException e) {
+            throw new InvalidOperationException(invalid);
+        }
+        if (uri.isAbsolute() || uri.getRawAuthority() != null || uri.getRawFragment() != null
+                || uri.getPath() == null || !uri.getPath().startsWith("/")) {
+            throw new InvalidOperationException(invalid);
+        }
+
+        // Decoded, so %2e%2e counts as a dot segment too
+        String[] segments = uri.getPath().substring(1).split("/", -1);
+        for (String segment : segments) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..") || segment.contains(";")) {
+                throw new InvalidOperationException(invalid);
+            }
+        }
+        if (segments.length < 2 || !segments[0].equals("api") || segments[1].equals("batch")) {
+            throw new InvalidOperationException(invalid);
+        }
+
+        URI normalized = uri.normalize();
+        return normalized.getRawQuery() != null
+                ? normalized.getRawPath() + "?" + normalized.getRawQuery()
+                : normalized.getRawPath();
+    }
+
+    /**
+     * The container's own request under any filter wrappers. The container re-wraps the
+     * innermost request on every forward, so sharing a filter's wrapper between items
+     * dispatched concurrently would let them overwrite each other's paths.
+     */
+    private static HttpServletRequest unwrap(HttpServletRequest request) {
+        ServletRequest inner = request;
+        while (inner instanceof ServletRequestWrapper wrapper) {
+            inner = wrapper.getRequest();
+        }
+        return (HttpServletRequest) inner;
+    }
+}
@@ -0,0 +1,171 @@
+package com.legion.batch;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One item of a batch, presented to the dispatcher as a request of its own.
+ *
+ * <p>Method, body and content headers come from the item; everything else, including
+ * the Authorization and X-Workspace-Id headers, from the batch request. Attributes set
+ * while handling the item stay on the item so that items dispatched side by side do
+ * not see each other's handler mapping results.</p>
+ */
+class BatchSubRequest extends HttpServletRequestWrapper {
+
+    private static final Object REMOVED = new Object();
+
+    private final String method;
+    private final byte[] body;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    /**
+     * @param containerRequest the servlet container's own request, unwrapped, so that
+     *                         dispatching items concurrently does not share any wrapper
+     */
+    BatchSubRequest(HttpServletRequest containerRequest, String method, byte[] body) {
+        super(containerRequest);
+        this.method = method;
+        this.body = body;
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.FORWARD;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getContentType() {
+        return body.length > 0 ? "application/json" : null;
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if ("Content-Type".equalsIgnoreCase(name)) {
+            return getContentType();
+        }
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            return String.valueOf(body.length);
+        }
+        if ("Accept".equalsIgnoreCase(name)) {
+            return "application/json";
+        }
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if ("Content-Type".equalsIgnoreCase(name) || "Content-Length".equalsIgnoreCase(name)
+                || "Accept".equalsIgnoreCase(name)) {
+            String value = getHeader(name);
+            return value != null ? Collections.enumeration(Set.of(value)) : Collections.emptyEnumeration();
+        }
+        return super.getHeaders(name);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        Object value = attributes.get(name);
+        if (value == REMOVED) {
+            return null;
+        }
+        return value != null ? value : super.getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        Set<String> names = new HashSet<>(Collections.list(super.getAttributeNames()));
+        attributes.forEach((name, value) -> {
+            if (value == REMOVED) {
+                names.remove(name);
+            } else {
+                names.add(name);
+            }
+        });
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            removeAttribute(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.put(name, REMOVED);
+    }
+}
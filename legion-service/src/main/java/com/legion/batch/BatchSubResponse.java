@@ -0,0 +1,151 @@
+package com.legion.batch;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Collects the status and body of one batch item instead of writing them to the client.
+ */
+class BatchSubResponse extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private int status = SC_OK;
+    private PrintWriter writer;
+
+    BatchSubResponse(HttpServletResponse batchResponse) {
+        super(batchResponse);
+    }
+
+    int status() {
+        return status;
+    }
+
+    byte[] body() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.toByteArray();
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        status = sc;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int sc) {
+        status = sc;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        status = sc;
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        status = SC_FOUND;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        status = SC_OK;
+    }
+
+    @Override
+    public void resetBuffer() {
+        body.reset();
+    }
+
+    @Override
+    public void flushBuffer() {
+    }
+
+    // Headers belong to the batch response as a whole; an item only reports status and body
+    @Override
+    public void setHeader(String name, String value) {
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+    }
+
+    @Override
+    public void setContentType(String type) {
+    }
+
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                body.write(b, off, len);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,31 @@
+package com.legion.bootstrap;
+
+import com.legion.user.User;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the frontend's startup data.
+ */
+@RestController
+@RequestMapping("/api/bootstrap")
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+
+    public BootstrapController(BootstrapService bootstrapService) {
+        this.bootstrapService = bootstrapService;
+    }
+
+    /**
+     * Current user, their workspaces and, with X-Workspace-Id, the workspace's projects,
+     * active sprints and the user's tasks. Answers 200 with whatever parts succeeded.
+     */
+    @GetMapping
+    public ResponseEntity<BootstrapResponse> bootstrap(@AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(bootstrapService.bootstrap(currentUser));
+    }
+}
@@ -0,0 +1,76 @@
+package com.legion.bootstrap;
+
+import com.legion.project.Project;
+import com.legion.sprint.Sprint;
+import com.legion.sprint.SprintStatus;
+import com.legion.task.Priority;
+import com.legion.task.Task;
+import com.legion.task.TaskStatus;
+import com.legion.user.Role;
+import com.legion.user.User;
+import com.legion.workspace.WorkspaceMember;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the frontend needs for its first render.
+ *
+ * <p>Parts that failed or timed out are null and listed in {@code errors} by name, with
+ * "Failed", "Timed out" or "Interrupted" as the reason.
+ * Workspace parts are null without an X-Workspace-Id header. The lists hold summaries
+ * rather than entities since each part is loaded in its own transaction on its own thread.</p>
+ */
+@Setter
+@Getter
+public class BootstrapResponse {
+
+    private User user;
+    private List<WorkspaceSummary> workspaces;
+    private List<ProjectSummary> projects;
+    private List<SprintSummary> activeSprints;
+    private List<TaskSummary> myTasks;
+    private Map<String, String> errors = new LinkedHashMap<>();
+
+    public BootstrapResponse(User user) {
+        this.user = user;
+    }
+
+    public record WorkspaceSummary(Long id, String name, String slug, Role role) {
+
+        static WorkspaceSummary of(WorkspaceMember member) {
+            return new WorkspaceSummary(member.getWorkspace().getId(), member.getWorkspace().getName(),
+                    member.getWorkspace().getSlug(), member.getRole());
+        }
+    }
+
+    public record ProjectSummary(Long id, String key, String name) {
+
+        static ProjectSummary of(Project project) {
+            return new ProjectSummary(project.getId(), project.getKey(), project.getName());
+        }
+    }
+
+    public record SprintSummary(Long id, Long projectId, String name, SprintStatus status,
+                                LocalDate startDate, LocalDate endDate) {
+
+        static SprintSummary of(Sprint sprint) {
+            return new SprintSummary(sprint.getId(), sprint.getProject().getId(), sprint.getName(),
+                    sprint.getStatus(), sprint.getStartDate(), sprint.getEndDate());
+        }
+    }
+
+    public record TaskSummary(Long id, String key, String title, TaskStatus status, Priority priority,
+                              Long projectId, Long sprintId) {
+
+        static TaskSummary of(Task task) {
+            return new TaskSummary(task.getId(), task.getProject().getKey() + "-" + task.getTaskNumber(),
+                    task.getTitle(), task.getStatus(), task.getPriority(), task.getProject().getId(),
+                    task.getSprint() != null ? task.getSprint().getId() : null);
+        }
+    }
+}
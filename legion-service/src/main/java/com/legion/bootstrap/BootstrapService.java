@@ -0,0 +1,145 @@
+package com.legion.bootstrap;
+
+import com.legion.common.context.RequestContext;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.config.BootstrapConfig;
+import com.legion.project.ProjectService;
+import com.legion.sprint.SprintService;
+import com.legion.task.TaskService;
+import com.legion.user.User;
+import com.legion.workspace.WorkspaceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads the parts of {@link BootstrapResponse} concurrently.
+ *
+ * <p>Each part runs on the fan-out executor with the caller's request and security
+ * contexts, so replica routing keeps the user's reads on the primary after their writes.
+ * It runs in its own read-only transaction and is mapped to summaries before that
+ * transaction ends.
+ * All parts share one deadline of {@code legion.bootstrap.part-timeout-ms}; a part that
+ * misses it or fails is cancelled, logged and reported in the response's errors with a
+ * fixed reason per outcome; failure details stay in the log.</p>
+ */
+@Service
+public class BootstrapService {
+
+    private static final Logger log = LoggerFactory.getLogger(BootstrapService.class);
+
+    private final WorkspaceService workspaceService;
+    private final ProjectService projectService;
+    private final SprintService sprintService;
+    private final TaskService taskService;
+    private final AsyncTaskExecutor fanOutExecutor;
+    private final TransactionTemplate readOnly;
+    private final BootstrapConfig bootstrapConfig;
+    private final LegionMetrics metrics;
+
+    public BootstrapService(WorkspaceService workspaceService,
+                            ProjectService projectService,
+                            SprintService sprintService,
+                            TaskService taskService,
+                            @Qualifier("fanOutExecutor") AsyncTaskExecutor fanOutExecutor,
+                            PlatformTransactionManager transactionManager,
+                            BootstrapConfig bootstrapConfig,
+                            LegionMetrics metrics) {
+        this.workspaceService = workspaceService;
+        this.projectService = projectService;
+        this.sprintService = sprintService;
+        this.taskService = taskService;
+        this.fanOutExecutor = fanOutExecutor;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.bootstrapConfig = bootstrapConfig;
+        this.metrics = metrics;
+    }
+
+    public BootstrapResponse bootstrap(User user) {
+        log.debug("Bootstrapping userId={} workspaceId={}", user.getId(), RequestContext.currentWorkspaceId());
+
+        BootstrapResponse response = new BootstrapResponse(user);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(bootstrapConfig.getPartTimeoutMs());
+
+        Part<?> workspaces = start("workspaces",
+                () -> workspaceService.getUserWorkspaces(user.getId()),
+                BootstrapResponse.WorkspaceSummary::of, response::setWorkspaces);
+
+        List<Part<?>> parts = RequestContext.currentWorkspaceId() == null
+                ? List.of(workspaces)
+                : List.of(
+                        workspaces,
+                        start("projects", projectService::getProjectsInCurrentWorkspace,
+                                BootstrapResponse.ProjectSummary::of, response::setProjects),
+                        start("activeSprints", sprintService::getActiveSprintsInCurrentWorkspace,
+                                BootstrapResponse.SprintSummary::of, response::setActiveSprints),
+                        start("myTasks", () -> taskService.getTasksByAssignee(user.getId()),
+                                BootstrapResponse.TaskSummary::of, response::setMyTasks)
+                );
+
+        for (Part<?> part : parts) {
+            part.await(deadline, response);
+        }
+        return response;
+    }
+
+    private <E, S> Part<S> start(String name, Supplier<List<E>> query, Function<E, S> summary,
+                                 Consumer<List<S>> into) {
+        // The request context travels with the executor's task decorator, the security context here
+        Future<List<S>> future = fanOutExecutor.submit(new DelegatingSecurityContextCallable<>(() ->
+                readOnly.execute(status -> query.get().stream().map(summary).toList())));
+        return new Part<>(name, future, into);
+    }
+
+    private final class Part<S> {
+
+        private final String name;
+        private final Future<List<S>> future;
+        private final Consumer<List<S>> into;
+
+        private Part(String name, Future<List<S>> future, Consumer<List<S>> into) {
+            this.name = name;
+            this.future = future;
+            this.into = into;
+        }
+
+        void await(long deadline, BootstrapResponse response) {
+            String outcome = "ok";
+            try {
+                into.accept(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                outcome = "timeout";
+                log.warn("Bootstrap part={} timed out after {}ms", name, bootstrapConfig.getPartTimeoutMs());
+                response.getErrors().put(name, "Timed out");
+            } catch (ExecutionException e) {
+                outcome = "error";
+                // The cause may carry SQL or internal details; it only goes to the log
+                log.warn("Bootstrap part={} failed", name, e.getCause());
+                response.getErrors().put(name, "Failed");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                outcome = "interrupted";
+                log.warn("Bootstrap part={} interrupted", name);
+                response.getErrors().put(name, "Interrupted");
+            }
+            metrics.count("legion.bootstrap.part", "part", name, "outcome", outcome);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.legion.common.cache;
+
+/**
+ * What a cached response depends on. A write invalidates every cached response of
+ * its workspace in the scopes it touches.
+ */
+public enum CacheScope {
+
+    // Project rows of a workspace
+    PROJECTS,
+
+    // Sprint rows of a workspace's projects
+    SPRINTS,
+
+    // Workspace memberships and their users
+    MEMBERS
+}
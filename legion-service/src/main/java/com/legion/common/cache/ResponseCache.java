@@ -0,0 +1,266 @@
+package com.legion.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.legion.common.context.RequestContext;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.config.ReplicaConfig;
+import com.legion.config.ResponseCacheConfig;
+import com.legion.user.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized, gzip-compressed responses of workspace-scoped list endpoints.
+ *
+ * <p>Entries are keyed by workspace, endpoint, request URI with query, caller role and
+ * the workspace's current version of the endpoint's {@link CacheScope}. Writes bump
+ * that version once they commit, so later reads miss and entries from older versions
+ * are simply never asked for again. Caffeine's W-TinyLFU policy evicts by compressed
+ * size.</p>
+ *
+ * <p>Versions are per instance. Other instances serve their entries until
+ * {@code legion.response-cache.ttl-ms} runs out, except on endpoints that key their
+ * entries by the ETag of their database counters too. With read replicas, responses
+ * built within {@code legion.datasource.max-lag-ms} of an invalidation are served but
+ * not cached, since a replica may not have the write yet.</p>
+ */
+@Component
+public class ResponseCache {
+
+    // Rough per-entry cost of key and bookkeeping, so tiny bodies still count
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final ResponseCacheConfig config;
+    private final ReplicaConfig replicaConfig;
+    private final JsonMapper jsonMapper;
+    private final LegionMetrics metrics;
+    private final Cache<Key, byte[]> cache;
+    private final Map<ScopeKey, ScopeVersion> versions = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpointStats = new ConcurrentHashMap<>();
+
+    public ResponseCache(ResponseCacheConfig config,
+                         ReplicaConfig replicaConfig,
+                         JsonMapper jsonMapper,
+                         LegionMetrics metrics,
+                         MeterRegistry meterRegistry) {
+        this.config = config;
+        this.replicaConfig = replicaConfig;
+        this.jsonMapper = jsonMapper;
+        this.metrics = metrics;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxBytes())
+                .weigher((Key key, byte[] body) -> body.length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterWrite(Duration.ofMillis(config.getTtlMs()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responses");
+    }
+
+    /**
+     * Returns the cached response of this request, or serializes {@code body} and caches it.
+     * Failures in {@code body} propagate and leave nothing cached.
+     *
+     * @param endpoint name the hit ratio is reported under
+     */
+    public ResponseEntity<byte[]> get(HttpServletRequest request, String endpoint, CacheScope scope,
+                                      Supplier<?> body) {
+        return get(request, endpoint, scope, null, body);
+    }
+
+    /**
+     * Like {@link #get(HttpServletRequest, String, CacheScope, Supplier)} for an endpoint
+     * answering with an ETag from {@link com.legion.project.ContentVersions}. Keying by
+     * that ETag means a body cached here is never sent with the ETag of a version written
+     * through another instance, which would turn into stale 304s.
+     *
+     * @param etag the ETag the response goes out with, or null
+     */
+    public ResponseEntity<byte[]> get(HttpServletRequest request, String endpoint, CacheScope scope,
+                                      String etag, Supplier<?> body) {
+        RequestContext context = RequestContext.current();
+        if (!config.isEnabled() || context == null || !context.hasWorkspace()) {
+            return respond(request, serialize(body.get()), null);
+        }
+
+        ScopeVersion version = versions.getOrDefault(new ScopeKey(context.workspaceId(), scope), ScopeVersion.INITIAL);
+        Key key = new Key(context.workspaceId(), endpoint, uri(request), context.role(), version.version(), etag);
+
+        byte[] cached = cache.getIfPresent(key);
+        if (cached != null) {
+            record(endpoint, true);
+            return respond(request, null, cached);
+        }
+
+        record(endpoint, false);
+        byte[] json = serialize(body.get());
+        byte[] compressed = gzip(json);
+        if (settled(version)) {
+            cache.put(key, compressed);
+        }
+        return respond(request, json, compressed);
+    }
+
+    /**
+     * Invalidates the workspace's cached responses in the given scopes once the current
+     * transaction commits, or right away outside one. Invalidating before the commit
+     * would let a concurrent read cache the old rows under the new version.
+     */
+    public void invalidateAfterCommit(Long workspaceId, CacheScope... scopes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(workspaceId, scopes);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(workspaceId, scopes);
+            }
+        });
+    }
+
+    public void invalidate(Long workspaceId, CacheScope... scopes) {
+        for (CacheScope scope : scopes) {
+            long now = System.currentTimeMillis();
+            versions.merge(new ScopeKey(workspaceId, scope), new ScopeVersion(1, now),
+                    (current, bump) -> new ScopeVersion(current.version() + 1, now));
+        }
+    }
+
+    /**
+     * Hits and misses per endpoint since startup, with entry count and compressed size.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> byEndpoint = new TreeMap<>();
+        endpointStats.forEach((endpoint, stats) -> {
+            long hits = stats.hits.sum();
+            long misses = stats.misses.sum();
+            long total = hits + misses;
+            byEndpoint.put(endpoint, Map.of(
+                    "hits", hits,
+                    "misses", misses,
+                    "hitRatio", total == 0 ? 0.0 : (double) hits / total
+            ));
+        });
+
+        long bytes = cache.asMap().values().stream().mapToLong(body -> body.length).sum();
+        return Map.of(
+                "enabled", config.isEnabled(),
+                "entries", cache.estimatedSize(),
+                "compressedBytes", bytes,
+                "evictions", cache.stats().evictionCount(),
+                "endpoints", byEndpoint
+        );
+    }
+
+    private boolean settled(ScopeVersion version) {
+        return replicaConfig.getReplicas().isEmpty()
+                || System.currentTimeMillis() - version.changedAt() >= replicaConfig.getMaxLagMs();
+    }
+
+    private void record(String endpoint, boolean hit) {
+        EndpointStats stats = endpointStats.computeIfAbsent(endpoint, name -> new EndpointStats());
+        (hit ? stats.hits : stats.misses).increment();
+        metrics.count("legion.response.cache", "endpoint", endpoint, "outcome", hit ? "hit" : "miss");
+    }
+
+    private byte[] serialize(Object body) {
+        return jsonMapper.writeValueAsBytes(body);
+    }
+
+    /**
+     * Sends gzip as is when the client takes it. Forwarded requests, such as batch
+     * items, always get plain JSON because their caller reads the body itself.
+     */
+    private static ResponseEntity<byte[]> respond(HttpServletRequest request, byte[] json, byte[] compressed) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        boolean sendGzip = compressed != null
+                && request.getDispatcherType() == DispatcherType.REQUEST
+                && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (sendGzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(compressed);
+        }
+        return response.body(json != null ? json : gunzip(compressed));
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = tokens.length > 1 && tokens[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            return !refused;
+        }
+        return false;
+    }
+
+    private static String uri(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Key(Long workspaceId, String endpoint, String uri, Role role, long version, String etag) {
+    }
+
+    private record ScopeKey(Long workspaceId, CacheScope scope) {
+    }
+
+    private record ScopeVersion(long version, long changedAt) {
+        static final ScopeVersion INITIAL = new ScopeVersion(0, 0);
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
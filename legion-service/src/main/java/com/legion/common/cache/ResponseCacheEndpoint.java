@@ -0,0 +1,26 @@
+package com.legion.common.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/responsecache} shows per-endpoint hit ratios and the cache's size.
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheEndpoint(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return responseCache.stats();
+    }
+}
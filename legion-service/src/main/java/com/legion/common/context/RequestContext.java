@@ -0,0 +1,124 @@
+package com.legion.common.context;
+
+import com.legion.user.Role;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Who a request is acting as: the authenticated user, the workspace from the
+ * X-Workspace-Id header and the user's role in it.
+ *
+ * <p>A context is bound for a scope rather than set and cleared: {@link #bind} returns
+ * a {@link Scope} that restores the previous context when closed, and {@link #run} and
+ * {@link #call} do the same around a block. Work handed to another thread takes the
+ * caller's context along through {@link #wrap}; executors do that for every task with
+ * {@link RequestContextTaskDecorator}.</p>
+ *
+ * <p>This follows {@code ScopedValue} semantics so the holder below can become one
+ * once it is out of preview. Until then it is a thread local that is never left set
+ * after its scope ends.</p>
+ */
+public record RequestContext(Long userId, Long workspaceId, Role role) {
+
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Context without a workspace, for users that did not send one or are not members.
+     */
+    public static RequestContext user(Long userId) {
+        return new RequestContext(userId, null, null);
+    }
+
+    /**
+     * Gets the context bound to the current scope.
+     *
+     * @return context or null outside an authenticated request
+     */
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the workspace of the current scope.
+     *
+     * @return workspace ID or null if not set
+     */
+    public static Long currentWorkspaceId() {
+        RequestContext context = CURRENT.get();
+        return context != null ? context.workspaceId : null;
+    }
+
+    public boolean hasWorkspace() {
+        return workspaceId != null;
+    }
+
+    /**
+     * Binds a context until the returned scope is closed. Use with try-with-resources.
+     */
+    public static Scope bind(RequestContext context) {
+        RequestContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Runs work with the given context bound.
+     */
+    public static void run(RequestContext context, Runnable work) {
+        try (Scope ignored = bind(context)) {
+            work.run();
+        }
+    }
+
+    /**
+     * Calls work with the given context bound.
+     */
+    public static <T> T call(RequestContext context, Supplier<T> work) {
+        try (Scope ignored = bind(context)) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Wraps work to run with the caller's context, wherever it ends up running.
+     */
+    public static Runnable wrap(Runnable work) {
+        RequestContext context = CURRENT.get();
+        if (context == null) {
+            return work;
+        }
+        return () -> run(context, work);
+    }
+
+    /**
+     * Wraps work to be called with the caller's context, for fan-out to other threads.
+     */
+    public static <T> Callable<T> wrap(Callable<T> work) {
+        RequestContext context = CURRENT.get();
+        if (context == null) {
+            return work;
+        }
+        return () -> {
+            try (Scope ignored = bind(context)) {
+                return work.call();
+            }
+        };
+    }
+
+    /**
+     * A bound context. Closing it restores the one bound before.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
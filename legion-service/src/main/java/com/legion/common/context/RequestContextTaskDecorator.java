@@ -0,0 +1,14 @@
+package com.legion.common.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Runs executor tasks with the request context of the thread that submitted them.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return RequestContext.wrap(runnable);
+    }
+}
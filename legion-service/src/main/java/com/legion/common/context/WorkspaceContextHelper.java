@@ -3,7 +3,7 @@ package com.legion.common.context;
 import com.legion.common.exception.UnauthorizedException;
 
 /**
- * Helper methods for workspace context validation.
+ * Helper methods for workspace context validation, on top of {@link RequestContext}.
  */
 public final class WorkspaceContextHelper {
 
@@ -17,7 +17,7 @@ public final class WorkspaceContextHelper {
      * @throws UnauthorizedException if no workspace context
      */
     public static Long requireWorkspaceId() {
-        Long workspaceId = WorkspaceContext.getWorkspaceId();
+        Long workspaceId = RequestContext.currentWorkspaceId();
         if (workspaceId == null) {
             throw new UnauthorizedException("Workspace context required. Include X-Workspace-Id header.");
         }
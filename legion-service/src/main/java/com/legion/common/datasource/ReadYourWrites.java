@@ -0,0 +1,36 @@
+package com.legion.common.datasource;
+
+import com.legion.config.ReplicaConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so their next reads see their own changes.
+ * Those reads go to the primary until the window has passed.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final Map<Long, Long> primaryUntil = new ConcurrentHashMap<>();
+    private final ReplicaConfig replicaConfig;
+
+    public ReadYourWrites(ReplicaConfig replicaConfig) {
+        this.replicaConfig = replicaConfig;
+    }
+
+    public void recordWrite(Long userId) {
+        primaryUntil.put(userId, System.currentTimeMillis() + replicaConfig.getReadYourWritesWindowMs());
+    }
+
+    public boolean requiresPrimary(Long userId) {
+        Long until = primaryUntil.get(userId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        primaryUntil.values().removeIf(until -> until <= now);
+    }
+}
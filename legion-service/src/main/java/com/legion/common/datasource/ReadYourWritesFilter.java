@@ -0,0 +1,55 @@
+package com.legion.common.datasource;
+
+import com.legion.user.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Marks the authenticated user as a recent writer after any non-GET request.
+ * Runs after JwtAuthenticationFilter so the user is known.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Long userId = null;
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User user) {
+                userId = user.getId();
+                // Also covers reads issued while this request is still running
+                readYourWrites.recordWrite(userId);
+            }
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Restart the window once the write has committed
+            if (userId != null) {
+                readYourWrites.recordWrite(userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.legion.common.datasource;
+
+import com.legion.config.ReplicaConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures how far each replica is behind the primary and takes lagging or
+ * unreachable replicas out of rotation until they catch up.
+ */
+@Component
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // A replica that has replayed everything it received is current even if the primary is idle,
+    // in which case the last replay timestamp only tells how long ago the last write happened
+    private static final String LAG_SQL =
+            "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END::BIGINT";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReadYourWrites readYourWrites;
+    private final ReplicaConfig replicaConfig;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource,
+                             ReadYourWrites readYourWrites,
+                             ReplicaConfig replicaConfig) {
+        this.routingDataSource = routingDataSource;
+        this.readYourWrites = readYourWrites;
+        this.replicaConfig = replicaConfig;
+    }
+
+    @Scheduled(fixedDelayString = "${legion.datasource.lag-check-interval-ms:1000}")
+    public void check() {
+        for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+            boolean wasHealthy = replica.isHealthy();
+            try {
+                Long lagMs = new JdbcTemplate(replica.dataSource()).queryForObject(LAG_SQL, Long.class);
+                long lag = lagMs != null ? lagMs : 0;
+                boolean healthy = lag <= replicaConfig.getMaxLagMs();
+                replica.update(healthy, lag);
+
+                if (healthy != wasHealthy) {
+                    log.info("Replica {} is {} (lagMs={})", replica.name(), healthy ? "back in rotation" : "lagging", lag);
+                }
+            } catch (RuntimeException e) {
+                replica.update(false, -1);
+                if (wasHealthy) {
+                    log.warn("Replica {} is unreachable, routing its reads to the primary", replica.name(), e);
+                }
+            }
+        }
+
+        readYourWrites.evictExpired();
+    }
+}
@@ -0,0 +1,120 @@
+package com.legion.common.datasource;
+
+import com.legion.user.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy read replica and everything else to the primary.
+ *
+ * <p>A read goes to the primary instead when no replica is within the lag limit, or when the
+ * current user wrote recently (see {@link ReadYourWrites}). Replica health is kept up to date
+ * by {@link ReplicaLagMonitor}. Must sit behind a lazy connection proxy so the read-only flag
+ * is set before a database is chosen.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary,
+                                    List<HikariDataSource> replicaDataSources,
+                                    ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource dataSource : replicaDataSources) {
+            Replica replica = new Replica(dataSource.getPoolName(), dataSource);
+            replicas.add(replica);
+            targets.put(replica.name(), dataSource);
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+
+        Long userId = currentUserId();
+        if (userId != null && readYourWrites.requiresPrimary(userId)) {
+            return PRIMARY;
+        }
+
+        List<Replica> healthy = replicas.stream().filter(Replica::isHealthy).toList();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size())).name();
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource().close());
+    }
+
+    /**
+     * A replica and its last measured state. Starts unhealthy until the first lag check.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMs = -1;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagMs() {
+            return lagMs;
+        }
+
+        void update(boolean healthy, long lagMs) {
+            this.healthy = healthy;
+            this.lagMs = lagMs;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.legion.common.jfr;
+
+import com.legion.config.JfrConfig;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Keeps a rolling flight recording running with the Legion events enabled, and
+ * dumps it to a file on demand.
+ */
+@Component
+public class FlightRecorderService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private final JfrConfig jfrConfig;
+
+    private Recording recording;
+
+    public FlightRecorderService(JfrConfig jfrConfig) {
+        this.jfrConfig = jfrConfig;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException, ParseException {
+        if (!jfrConfig.isEnabled()) {
+            return;
+        }
+
+        recording = new Recording(Configuration.getConfiguration(jfrConfig.getSettings()));
+        recording.setName("legion");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(jfrConfig.getMaxAgeMinutes()));
+        recording.setMaxSize(jfrConfig.getMaxSizeMb() * 1024L * 1024L);
+        recording.enable(JwtVerificationEvent.class);
+        recording.enable(MembershipResolutionEvent.class);
+        recording.enable(TaskNumberAllocationEvent.class);
+        recording.enable(RepositoryCallEvent.class);
+        recording.start();
+
+        log.info("Flight recording started settings={} maxAgeMinutes={} maxSizeMb={}",
+                jfrConfig.getSettings(), jfrConfig.getMaxAgeMinutes(), jfrConfig.getMaxSizeMb());
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Writes what the recording holds so far to a new temporary file. The caller owns the file.
+     */
+    public Path dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is disabled");
+        }
+        Path file = Files.createTempFile("legion-", ".jfr");
+        recording.dump(file);
+        log.info("Flight recording dumped to file={} bytes={}", file, Files.size(file));
+        return file;
+    }
+
+    @Override
+    public void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.legion.common.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@code GET /actuator/jfr} streams the current flight recording as a .jfr file,
+ * ready for JDK Mission Control or {@code jfr print}.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecorderService flightRecorderService;
+
+    public FlightRecordingEndpoint(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource recording() {
+        if (!flightRecorderService.isRecording()) {
+            return null;
+        }
+        try {
+            Path file = flightRecorderService.dump();
+            // The dump is a one-off copy; remove it once the response has read it
+            return new FileSystemResource(file) {
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    return new FilterInputStream(Files.newInputStream(file)) {
+                        @Override
+                        public void close() throws IOException {
+                            super.close();
+                            Files.deleteIfExists(file);
+                        }
+                    };
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
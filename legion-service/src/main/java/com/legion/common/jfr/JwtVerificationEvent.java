@@ -0,0 +1,21 @@
+package com.legion.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("legion.JwtVerification")
+@Label("JWT Verification")
+@Category({"Legion", "Auth"})
+@Description("Parsing and validating the bearer token of a request")
+public class JwtVerificationEvent extends Event {
+
+    @Label("Stage")
+    @Description("parse: signature check and subject extraction, validate: subject and expiry check")
+    public String stage;
+
+    @Label("Outcome")
+    public String outcome;
+}
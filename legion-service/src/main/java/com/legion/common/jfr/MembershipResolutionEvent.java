@@ -0,0 +1,20 @@
+package com.legion.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("legion.MembershipResolution")
+@Label("Membership Resolution")
+@Category({"Legion", "Auth"})
+@Description("Looking up the caller's role in the workspace named by X-Workspace-Id")
+public class MembershipResolutionEvent extends Event {
+
+    @Label("Workspace Id")
+    public long workspaceId;
+
+    @Label("Member")
+    public boolean member;
+}
@@ -0,0 +1,26 @@
+package com.legion.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("legion.RepositoryCall")
+@Label("Repository Call")
+@Category({"Legion", "Persistence"})
+@Description("A Spring Data repository method call and the rows it returned or changed")
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
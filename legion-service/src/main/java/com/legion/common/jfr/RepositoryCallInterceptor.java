@@ -0,0 +1,72 @@
+package com.legion.common.jfr;
+
+import com.legion.common.profiler.RequestProfile;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits a {@link RepositoryCallEvent} around every repository method, and adds the
+ * call to the current {@link RequestProfile} when the request is being profiled.
+ *
+ * <p>Rows are what the call returned: the size of a collection or page, one for a
+ * present entity or Optional, or the update count of a modifying query. Count and
+ * exists queries read a single row.</p>
+ */
+public class RepositoryCallInterceptor implements MethodInterceptor {
+
+    private final String repository;
+
+    public RepositoryCallInterceptor(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        boolean profiled = RequestProfile.isActive();
+        if (!event.isEnabled() && !profiled) {
+            return invocation.proceed();
+        }
+
+        String method = invocation.getMethod().getName();
+        long start = System.nanoTime();
+        event.begin();
+        try {
+            Object result = invocation.proceed();
+            event.rows = rowsOf(method, result);
+            return result;
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.end();
+            if (profiled) {
+                RequestProfile.recordRepositoryCall(repository, method, event.rows, System.nanoTime() - start);
+            }
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = method;
+                event.commit();
+            }
+        }
+    }
+
+    static long rowsOf(String method, Object result) {
+        if (method.startsWith("count") || method.startsWith("exists")) {
+            return 1;
+        }
+        return switch (result) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            // Modifying queries return how many rows they changed
+            case Number count -> count.longValue();
+            default -> 1;
+        };
+    }
+}
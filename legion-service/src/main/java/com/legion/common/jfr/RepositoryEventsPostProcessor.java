@@ -0,0 +1,22 @@
+package com.legion.common.jfr;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a {@link RepositoryCallInterceptor} to every Spring Data repository proxy.
+ */
+@Component
+public class RepositoryEventsPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, information) ->
+                            proxyFactory.addAdvice(new RepositoryCallInterceptor(information.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,26 @@
+package com.legion.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("legion.TaskNumberAllocation")
+@Label("Task Number Allocation")
+@Category({"Legion", "Tasks"})
+@Description("One attempt to allocate the next task number in a project and insert the task")
+public class TaskNumberAllocationEvent extends Event {
+
+    @Label("Project Id")
+    public long projectId;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Task Number")
+    public int taskNumber;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,124 @@
+package com.legion.common.jfr;
+
+import com.legion.config.ThreadingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Turns the JVM's virtual thread pinning events into metrics while requests run on
+ * virtual threads.
+ *
+ * <p>A virtual thread that blocks inside {@code synchronized} or a native frame keeps its
+ * carrier thread, so a few of them stalling on JDBC can starve every other request.
+ * Each pinned block longer than the threshold is timed as {@code legion.vthread.pinned},
+ * tagged with the innermost non-JDK frame so the offending lock can be found, and the
+ * first one from each frame is logged with its stack.</p>
+ */
+@Component
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final ThreadingConfig threadingConfig;
+    private final MeterRegistry meterRegistry;
+    private final boolean virtualThreads;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(ThreadingConfig threadingConfig,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.threadingConfig = threadingConfig;
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!virtualThreads || !threadingConfig.isPinningMonitor()) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(threadingConfig.getPinnedThresholdMs()))
+                .withStackTrace();
+        stream.enable("jdk.VirtualThreadSubmitFailed");
+        stream.onEvent("jdk.VirtualThreadPinned", this::pinned);
+        stream.onEvent("jdk.VirtualThreadSubmitFailed", event -> Counter.builder("legion.vthread.submit.failed")
+                .register(meterRegistry)
+                .increment());
+        stream.startAsync();
+
+        log.info("Virtual thread pinning monitor started thresholdMs={}", threadingConfig.getPinnedThresholdMs());
+    }
+
+    private void pinned(RecordedEvent event) {
+        String site = site(event.getStackTrace());
+        Timer.builder("legion.vthread.pinned")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (loggedSites.add(site)) {
+            log.warn("Virtual thread pinned site={} durationMs={} stack=\n{}",
+                    site, event.getDuration().toMillis(), describe(event.getStackTrace()));
+        }
+    }
+
+    /**
+     * Innermost frame outside the JDK, which is where the blocking lock was taken.
+     */
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "  <no stack>";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.legion.common.metrics;
+
+import com.legion.common.context.RequestContext;
+import com.legion.common.shard.ShardDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Records service metrics tagged with the current endpoint and workspace tier.
+ *
+ * <p>The endpoint is the matched route pattern, e.g. {@code GET /api/tasks/{id}}, or
+ * {@code none} outside a request. The tier is the shard the workspace lives on, which
+ * is what separates workspaces operationally; {@code none} without a workspace.
+ * Both stay low-cardinality so they are safe as Prometheus labels.</p>
+ *
+ * <p>Latency histograms and SLO buckets are configured per meter under
+ * {@code management.metrics.distribution}.</p>
+ */
+@Component
+public class LegionMetrics {
+
+    public static final String WORKSPACE_TIER_ATTRIBUTE = LegionMetrics.class.getName() + ".workspaceTier";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final ShardDirectory shardDirectory;
+
+    public LegionMetrics(MeterRegistry meterRegistry, ShardDirectory shardDirectory) {
+        this.meterRegistry = meterRegistry;
+        this.shardDirectory = shardDirectory;
+    }
+
+    public <T> T time(String name, Supplier<T> work, String... tags) {
+        return timer(name, tags).record(work);
+    }
+
+    public void time(String name, Runnable work, String... tags) {
+        timer(name, tags).record(work);
+    }
+
+    public Timer timer(String name, String... tags) {
+        return Timer.builder(name)
+                .tags(requestTags().and(tags))
+                .register(meterRegistry);
+    }
+
+    public void count(String name, String... tags) {
+        Counter.builder(name)
+                .tags(requestTags().and(tags))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records how many rows a list call returned and hands the list back.
+     */
+    public <C extends Collection<?>> C rows(String operation, C rows) {
+        DistributionSummary.builder("legion.list.rows")
+                .baseUnit("rows")
+                .tags(requestTags().and("operation", operation))
+                .register(meterRegistry)
+                .record(rows.size());
+        return rows;
+    }
+
+    /**
+     * Tier of a workspace, for callers that tag meters or requests themselves.
+     */
+    public String workspaceTier(Long workspaceId) {
+        return workspaceId != null ? shardDirectory.shardFor(workspaceId) : NONE;
+    }
+
+    private Tags requestTags() {
+        HttpServletRequest request = currentRequest();
+        String endpoint = NONE;
+        String tier = null;
+
+        if (request != null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                endpoint = request.getMethod() + " " + pattern;
+            }
+            tier = (String) request.getAttribute(WORKSPACE_TIER_ATTRIBUTE);
+        }
+        if (tier == null) {
+            tier = workspaceTier(RequestContext.currentWorkspaceId());
+        }
+
+        return Tags.of("endpoint", endpoint, "workspace.tier", tier);
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.legion.common.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the workspace tier to {@code http.server.requests}.
+ *
+ * <p>The tier comes from a request attribute set during authentication, because the
+ * workspace context is already cleared when the observation stops.</p>
+ */
+@Component
+public class WorkspaceTierObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object tier = context.getCarrier().getAttribute(LegionMetrics.WORKSPACE_TIER_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context)
+                .and("workspace.tier", tier != null ? tier.toString() : "none");
+    }
+}
@@ -0,0 +1,19 @@
+package com.legion.common.profiler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Marks the point where filters are done and the controller starts.
+ */
+@Component
+public class RequestPhaseInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestProfile.markHandlerStart();
+        return true;
+    }
+}
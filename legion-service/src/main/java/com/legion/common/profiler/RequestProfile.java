@@ -0,0 +1,83 @@
+package com.legion.common.profiler;
+
+import com.legion.common.context.RequestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Phase timestamps of the request running on the current thread.
+ *
+ * <p>Components along the request path mark what they know: the JWT filter its own
+ * time, the handler interceptor when the controller starts, the response body advice
+ * when serialization starts, and the repository interceptor each repository call.
+ * Every method is a no-op when the request is not being profiled.</p>
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_REPOSITORY_CALLS = 100;
+
+    final long startNanos = System.nanoTime();
+    long authNanos;
+    Long workspaceId;
+    long handlerStartNanos;
+    long serializationStartNanos;
+    final List<RepositoryCall> repositoryCalls = new ArrayList<>();
+    int droppedRepositoryCalls;
+
+    private RequestProfile() {
+    }
+
+    static RequestProfile begin() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static void recordAuth(long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.authNanos += nanos;
+            profile.workspaceId = RequestContext.currentWorkspaceId();
+        }
+    }
+
+    public static void markHandlerStart() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null && profile.handlerStartNanos == 0) {
+            profile.handlerStartNanos = System.nanoTime();
+        }
+    }
+
+    public static void markSerializationStart() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null && profile.serializationStartNanos == 0) {
+            profile.serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    public static void recordRepositoryCall(String repository, String method, long rows, long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return;
+        }
+        if (profile.repositoryCalls.size() < MAX_REPOSITORY_CALLS) {
+            profile.repositoryCalls.add(new RepositoryCall(repository + "." + method, rows, nanos / 1000));
+        } else {
+            profile.droppedRepositoryCalls++;
+        }
+    }
+
+    public record RepositoryCall(String method, long rows, long micros) {
+    }
+}
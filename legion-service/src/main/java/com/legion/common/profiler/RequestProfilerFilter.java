@@ -0,0 +1,122 @@
+package com.legion.common.profiler;
+
+import com.legion.common.sql.SqlBudgetFilter;
+import com.legion.common.sql.SqlStats;
+import com.legion.config.ProfilerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Profiles sampled requests and keeps a breakdown of the ones slower than
+ * {@code legion.profiler.threshold-ms} in {@link SlowRequestLog}.
+ *
+ * <p>A fast request costs a thread-local, a few {@code System.nanoTime()} calls and
+ * one comparison. That bookkeeping is itself timed as {@code legion.profiler.overhead}
+ * so its cost can be watched in production; building a trace only happens for slow
+ * requests.</p>
+ *
+ * <p>Runs outside {@link SqlBudgetFilter} so the request's SQL snapshot is available
+ * once the chain returns.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RequestProfilerFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestProfilerFilter.class);
+
+    private final ProfilerConfig profilerConfig;
+    private final SlowRequestLog slowRequestLog;
+    private final Timer overhead;
+
+    public RequestProfilerFilter(ProfilerConfig profilerConfig,
+                                 SlowRequestLog slowRequestLog,
+                                 MeterRegistry meterRegistry) {
+        this.profilerConfig = profilerConfig;
+        this.slowRequestLog = slowRequestLog;
+        this.overhead = Timer.builder("legion.profiler.overhead")
+                .description("Time the request profiler spends on its own bookkeeping")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !profilerConfig.isEnabled()
+                || ThreadLocalRandom.current().nextDouble() >= profilerConfig.getSampleRate();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        long setupStart = System.nanoTime();
+        RequestProfile profile = RequestProfile.begin();
+        long setupNanos = System.nanoTime() - setupStart;
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long finishStart = System.nanoTime();
+            RequestProfile.end();
+
+            long totalNanos = finishStart - profile.startNanos;
+            if (totalNanos >= TimeUnit.MILLISECONDS.toNanos(profilerConfig.getThresholdMs())) {
+                SlowRequestTrace trace = trace(request, response, profile, finishStart);
+                slowRequestLog.add(trace);
+                log.warn("Slow request endpoint={} totalMs={} sqlMs={} statements={}",
+                        trace.endpoint(), trace.totalMicros() / 1000, trace.sqlMicros() / 1000, trace.statements());
+            }
+
+            overhead.record(setupNanos + System.nanoTime() - finishStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static SlowRequestTrace trace(HttpServletRequest request, HttpServletResponse response,
+                                          RequestProfile profile, long endNanos) {
+        long start = profile.startNanos;
+        long handlerStart = profile.handlerStartNanos != 0 ? profile.handlerStartNanos : endNanos;
+        long serializationStart = profile.serializationStartNanos != 0 ? profile.serializationStartNanos : endNanos;
+
+        SqlStats.Snapshot sql = (SqlStats.Snapshot) request.getAttribute(SqlBudgetFilter.SNAPSHOT_ATTRIBUTE);
+        List<SlowRequestTrace.Statement> statements = sql == null ? List.of() : sql.traces().stream()
+                .map(statement -> new SlowRequestTrace.Statement(statement.getSql(), statement.getBinds(),
+                        statement.getRows(), statement.getNanos() / 1000))
+                .toList();
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return new SlowRequestTrace(
+                Instant.now(),
+                request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"),
+                request.getRequestURI(),
+                response.getStatus(),
+                profile.workspaceId,
+                (endNanos - start) / 1000,
+                (handlerStart - start) / 1000,
+                profile.authNanos / 1000,
+                (Math.max(serializationStart, handlerStart) - handlerStart) / 1000,
+                sql != null ? sql.nanos() / 1000 : 0,
+                (endNanos - Math.max(serializationStart, handlerStart)) / 1000,
+                sql != null ? sql.statements() : 0,
+                statements,
+                List.copyOf(profile.repositoryCalls)
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.legion.common.profiler;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowrequests} lists the latest slow request traces, newest first.
+ * {@code DELETE} clears them.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestEndpoint(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @ReadOperation
+    public List<SlowRequestTrace> traces() {
+        return slowRequestLog.recent();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowRequestLog.clear();
+    }
+}
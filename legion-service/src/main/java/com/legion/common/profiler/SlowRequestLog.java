@@ -0,0 +1,43 @@
+package com.legion.common.profiler;
+
+import com.legion.config.ProfilerConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The most recent slow request traces, in a fixed-size ring.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final SlowRequestTrace[] ring;
+    private long written;
+
+    public SlowRequestLog(ProfilerConfig profilerConfig) {
+        this.ring = new SlowRequestTrace[Math.max(1, profilerConfig.getCapacity())];
+    }
+
+    public synchronized void add(SlowRequestTrace trace) {
+        ring[(int) (written++ % ring.length)] = trace;
+    }
+
+    /**
+     * Traces currently held, newest first.
+     */
+    public synchronized List<SlowRequestTrace> recent() {
+        int held = (int) Math.min(written, ring.length);
+        List<SlowRequestTrace> traces = new ArrayList<>(held);
+        for (int i = 1; i <= held; i++) {
+            traces.add(ring[(int) ((written - i) % ring.length)]);
+        }
+        return traces;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        written = 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.legion.common.profiler;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Where the time of one slow request went. Durations are in microseconds.
+ *
+ * <p>{@code filtersMicros} covers everything before the controller, including
+ * {@code authMicros} spent in JWT authentication. {@code handlerMicros} is the
+ * controller and services, which includes {@code sqlMicros}. {@code serializationMicros}
+ * is writing the response body.</p>
+ */
+public record SlowRequestTrace(
+        Instant at,
+        String endpoint,
+        String uri,
+        int status,
+        Long workspaceId,
+        long totalMicros,
+        long filtersMicros,
+        long authMicros,
+        long handlerMicros,
+        long sqlMicros,
+        long serializationMicros,
+        int statements,
+        List<Statement> sql,
+        List<RequestProfile.RepositoryCall> repositoryCalls
+) {
+
+    public record Statement(String sql, int binds, long rows, long micros) {
+    }
+}
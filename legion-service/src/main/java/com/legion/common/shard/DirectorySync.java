@@ -0,0 +1,102 @@
+package com.legion.common.shard;
+
+import com.legion.config.ShardingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Keeps a shard's copy of directory rows in line with the directory.
+ *
+ * <p>Shards hold read copies of the workspace row, its memberships and the member
+ * users, so shard transactions can check membership and satisfy foreign keys
+ * without leaving the shard. The directory stays the source of truth; this copies
+ * a workspace's rows over after they change there.</p>
+ */
+@Component
+public class DirectorySync {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectorySync.class);
+
+    private final ShardDirectory shardDirectory;
+    private final ShardRoutingDataSource shardRoutingDataSource;
+    private final ShardingConfig shardingConfig;
+
+    public DirectorySync(ShardDirectory shardDirectory,
+                         ShardRoutingDataSource shardRoutingDataSource,
+                         ShardingConfig shardingConfig) {
+        this.shardDirectory = shardDirectory;
+        this.shardRoutingDataSource = shardRoutingDataSource;
+        this.shardingConfig = shardingConfig;
+    }
+
+    /**
+     * Syncs the workspace's directory rows to its shard once the current transaction commits.
+     */
+    public void syncAfterCommit(Long workspaceId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sync(workspaceId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    sync(workspaceId);
+                } catch (RuntimeException e) {
+                    log.error("Failed to sync directory rows of workspaceId={}", workspaceId, e);
+                }
+            }
+        });
+    }
+
+    public void sync(Long workspaceId) {
+        String shard = shardDirectory.shardFor(workspaceId);
+        if (ShardContext.DIRECTORY.equals(shard)) {
+            return;
+        }
+        copyTo(workspaceId, shardRoutingDataSource.getShardDataSource(shard));
+    }
+
+    /**
+     * Replaces the target's copy of the workspace, its members and their users in one transaction.
+     */
+    void copyTo(Long workspaceId, DataSource target) {
+        DataSource directory = shardRoutingDataSource.getShardDataSource(ShardContext.DIRECTORY);
+        Object[] args = {workspaceId};
+        int batchSize = shardingConfig.getCopyBatchSize();
+
+        try (Connection from = directory.getConnection(); Connection to = target.getConnection()) {
+            to.setAutoCommit(false);
+            try {
+                try (PreparedStatement delete = to.prepareStatement(
+                        "DELETE FROM workspace_member WHERE workspace_id = ?")) {
+                    delete.setLong(1, workspaceId);
+                    delete.executeUpdate();
+                }
+
+                ShardRowCopier.copy(from, to, "users",
+                        "id IN (SELECT user_id FROM workspace_member WHERE workspace_id = ?)", args, true, batchSize);
+                ShardRowCopier.copy(from, to, "workspace", "id = ?", args, true, batchSize);
+                long members = ShardRowCopier.copy(from, to, "workspace_member",
+                        "workspace_id = ?", args, false, batchSize);
+
+                to.commit();
+                log.debug("Synced workspaceId={} with {} members", workspaceId, members);
+            } catch (SQLException | RuntimeException e) {
+                to.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to sync directory rows of workspace " + workspaceId, e);
+        }
+    }
+}
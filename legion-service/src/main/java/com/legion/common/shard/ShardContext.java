@@ -0,0 +1,81 @@
+package com.legion.common.shard;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-local override of the shard chosen by {@link ShardRoutingDataSource}.
+ *
+ * <p>Without an override, work runs on the shard of the workspace in
+ * {@code RequestContext}, or on the directory when there is none. Background
+ * threads and directory-owned tables (users, workspaces, memberships, invitations)
+ * set the shard explicitly.</p>
+ */
+public final class ShardContext {
+
+    public static final String DIRECTORY = "directory";
+
+    private static final ThreadLocal<String> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Gets the shard forced for this thread, or null to follow the workspace context.
+     */
+    public static String getShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Runs work on the given shard, restoring the previous override afterwards.
+     */
+    public static void runOn(String shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Calls work on the given shard, restoring the previous override afterwards.
+     */
+    public static <T> T callOn(String shard, Supplier<T> work) {
+        String previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Pins the current transaction to the directory until it completes.
+     * Must be called before the transaction's first statement.
+     */
+    public static void useDirectoryForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("No active transaction to pin to the directory");
+        }
+
+        String previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(DIRECTORY);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                restore(previous);
+            }
+        });
+    }
+
+    private static void restore(String previous) {
+        if (previous == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(previous);
+        }
+    }
+}
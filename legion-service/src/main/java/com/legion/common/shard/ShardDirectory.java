@@ -0,0 +1,111 @@
+package com.legion.common.shard;
+
+import com.legion.config.ShardingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cached map of workspace id to the shard holding its data, read from the
+ * workspace_shard table in the directory database.
+ *
+ * <p>Every instance reloads the map on a fixed interval, so a placement change
+ * is seen everywhere within {@code legion.sharding.refresh-interval-ms}.</p>
+ */
+@Component
+public class ShardDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardDirectory.class);
+
+    private final JdbcTemplate directory;
+    private final ShardingConfig shardingConfig;
+    private final ReentrantLock placementsLock = new ReentrantLock();
+
+    private volatile Map<Long, Placement> placements;
+
+    public ShardDirectory(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                          ShardingConfig shardingConfig) {
+        this.directory = new JdbcTemplate(primaryDataSource);
+        this.shardingConfig = shardingConfig;
+    }
+
+    public String shardFor(Long workspaceId) {
+        Placement placement = placement(workspaceId);
+        return placement != null ? placement.shard() : ShardContext.DIRECTORY;
+    }
+
+    /**
+     * True while the workspace is being copied to another shard and must not be written.
+     */
+    public boolean isReadOnly(Long workspaceId) {
+        Placement placement = placement(workspaceId);
+        return placement != null && placement.readOnly();
+    }
+
+    public List<String> allShards() {
+        List<String> shards = new ArrayList<>();
+        shards.add(ShardContext.DIRECTORY);
+        shards.addAll(shardingConfig.getShards().keySet());
+        return shards;
+    }
+
+    /**
+     * Records where a workspace lives and reloads the local cache.
+     */
+    public void place(Long workspaceId, String shard, boolean readOnly) {
+        directory.update(
+                "INSERT INTO workspace_shard (workspace_id, shard, read_only, updated_at) " +
+                        "VALUES (?, ?, ?, LOCALTIMESTAMP) ON CONFLICT (workspace_id) " +
+                        "DO UPDATE SET shard = EXCLUDED.shard, read_only = EXCLUDED.read_only, updated_at = LOCALTIMESTAMP",
+                workspaceId, shard, readOnly);
+        log.info("Placed workspaceId={} on shard={} readOnly={}", workspaceId, shard, readOnly);
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${legion.sharding.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (shardingConfig.getShards().isEmpty()) {
+            return;
+        }
+
+        Map<Long, Placement> loaded = new HashMap<>();
+        directory.query("SELECT workspace_id, shard, read_only FROM workspace_shard", rs -> {
+            loaded.put(rs.getLong("workspace_id"),
+                    new Placement(rs.getString("shard"), rs.getBoolean("read_only")));
+        });
+        placements = loaded;
+        log.debug("Loaded {} workspace shard placements", loaded.size());
+    }
+
+    private Placement placement(Long workspaceId) {
+        if (shardingConfig.getShards().isEmpty()) {
+            return null;
+        }
+        if (placements == null) {
+            // A lock rather than synchronized: refresh() queries the directory, and blocking
+            // inside a monitor pins a virtual thread to its carrier
+            placementsLock.lock();
+            try {
+                if (placements == null) {
+                    refresh();
+                }
+            } finally {
+                placementsLock.unlock();
+            }
+        }
+        return placements.get(workspaceId);
+    }
+
+    private record Placement(String shard, boolean readOnly) {
+    }
+}
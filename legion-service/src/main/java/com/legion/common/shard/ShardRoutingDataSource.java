@@ -0,0 +1,98 @@
+package com.legion.common.shard;
+
+import com.legion.common.context.RequestContext;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks the database for a connection: the {@link ShardContext} override if set,
+ * otherwise the shard of the current workspace, otherwise the directory.
+ *
+ * <p>Connections for a workspace that is being moved are handed out read-only,
+ * so writes fail until the move has finished. That holds under a {@link ShardContext}
+ * override too, such as a job worker pinned to the shard its job was recorded on.
+ * A worker pinned to a shard the workspace has since left gets read-only connections
+ * as well: the source's rows are about to be removed, so its writes would be lost.</p>
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final HikariDataSource directoryPrimary;
+    private final Map<String, HikariDataSource> shards;
+    private final ShardDirectory shardDirectory;
+
+    /**
+     * @param directory        what directory work runs on, including any read replicas
+     * @param directoryPrimary the directory primary itself, for tools that copy rows
+     * @param shards           the other shards by name
+     */
+    public ShardRoutingDataSource(DataSource directory,
+                                  HikariDataSource directoryPrimary,
+                                  Map<String, HikariDataSource> shards,
+                                  ShardDirectory shardDirectory) {
+        this.directoryPrimary = directoryPrimary;
+        this.shards = shards;
+        this.shardDirectory = shardDirectory;
+
+        Map<Object, Object> targets = new HashMap<>(shards);
+        targets.put(ShardContext.DIRECTORY, directory);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(directory);
+        setLenientFallback(false);
+    }
+
+    /**
+     * The writable database of a shard, bypassing routing.
+     */
+    public HikariDataSource getShardDataSource(String shard) {
+        if (ShardContext.DIRECTORY.equals(shard)) {
+            return directoryPrimary;
+        }
+        HikariDataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = ShardContext.getShard();
+        if (shard != null) {
+            return shard;
+        }
+        Long workspaceId = RequestContext.currentWorkspaceId();
+        return workspaceId != null ? shardDirectory.shardFor(workspaceId) : ShardContext.DIRECTORY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+
+        Long workspaceId = RequestContext.currentWorkspaceId();
+        if (workspaceId != null && !isWritable(workspaceId, ShardContext.getShard())) {
+            connection.setReadOnly(true);
+        }
+        return connection;
+    }
+
+    private boolean isWritable(Long workspaceId, String override) {
+        if (shardDirectory.isReadOnly(workspaceId)) {
+            return false;
+        }
+        // Directory overrides also serve directory-owned tables of workspaces living elsewhere
+        return override == null
+                || ShardContext.DIRECTORY.equals(override)
+                || override.equals(shardDirectory.shardFor(workspaceId));
+    }
+
+    @Override
+    public void close() {
+        shards.values().forEach(HikariDataSource::close);
+    }
+}
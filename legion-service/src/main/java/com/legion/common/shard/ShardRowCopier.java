@@ -0,0 +1,88 @@
+package com.legion.common.shard;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copies rows of one table between two databases with the same schema.
+ * Rows keep their ids, which are unique across shards.
+ */
+final class ShardRowCopier {
+
+    private ShardRowCopier() {
+    }
+
+    /**
+     * Copies the rows matching {@code where} and returns how many were read.
+     *
+     * @param upsert overwrite existing rows with the same id instead of skipping them
+     */
+    static long copy(Connection source, Connection target, String table, String where,
+                     Object[] args, boolean upsert, int batchSize) throws SQLException {
+
+        boolean sourceAutoCommit = source.getAutoCommit();
+        // Postgres only streams with a fetch size inside a transaction
+        source.setAutoCommit(false);
+
+        try (PreparedStatement select = source.prepareStatement("SELECT * FROM " + table + " WHERE " + where)) {
+            select.setFetchSize(batchSize);
+            for (int i = 0; i < args.length; i++) {
+                select.setObject(i + 1, args[i]);
+            }
+
+            try (ResultSet rows = select.executeQuery()) {
+                ResultSetMetaData meta = rows.getMetaData();
+                int columns = meta.getColumnCount();
+
+                List<String> names = new ArrayList<>(columns);
+                for (int i = 1; i <= columns; i++) {
+                    names.add('"' + meta.getColumnName(i) + '"');
+                }
+
+                try (PreparedStatement insert = target.prepareStatement(insertSql(table, names, upsert))) {
+                    long copied = 0;
+                    while (rows.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            insert.setObject(i, rows.getObject(i));
+                        }
+                        insert.addBatch();
+
+                        if (++copied % batchSize == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                    return copied;
+                }
+            }
+        } finally {
+            source.commit();
+            source.setAutoCommit(sourceAutoCommit);
+        }
+    }
+
+    private static String insertSql(String table, List<String> names, boolean upsert) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", names)).append(") VALUES (")
+                .append(String.join(", ", Collections.nCopies(names.size(), "?")))
+                .append(")");
+
+        if (!upsert) {
+            return sql.append(" ON CONFLICT DO NOTHING").toString();
+        }
+
+        List<String> updates = new ArrayList<>();
+        for (String name : names) {
+            if (!name.equals("\"id\"")) {
+                updates.add(name + " = EXCLUDED." + name);
+            }
+        }
+        return sql.append(" ON CONFLICT (id) DO UPDATE SET ").append(String.join(", ", updates)).toString();
+    }
+}
@@ -0,0 +1,189 @@
+package com.legion.common.shard;
+
+import com.legion.common.exception.InvalidOperationException;
+import com.legion.config.ShardingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Moves one workspace's data to another shard.
+ *
+ * <p>The workspace is made read-only and every instance is given time to notice.
+ * Its rows are then copied with their ids unchanged, the placement is switched to
+ * the target in one update, and once every instance routes there the rows are
+ * removed from the source. Reads keep working throughout; writes fail while the
+ * copy runs.</p>
+ *
+ * <p>Jobs are pinned to the shard they were recorded on, so a job still running
+ * after the switch would write to the source. A move therefore waits for the
+ * workspace's pending and running jobs to finish before starting, and gives up if
+ * one was submitted just before the workspace turned read-only.</p>
+ */
+@Component
+public class WorkspaceShardMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceShardMigrator.class);
+
+    private final ShardDirectory shardDirectory;
+    private final ShardRoutingDataSource shardRoutingDataSource;
+    private final DirectorySync directorySync;
+    private final ShardingConfig shardingConfig;
+
+    public WorkspaceShardMigrator(ShardDirectory shardDirectory,
+                                  ShardRoutingDataSource shardRoutingDataSource,
+                                  DirectorySync directorySync,
+                                  ShardingConfig shardingConfig) {
+        this.shardDirectory = shardDirectory;
+        this.shardRoutingDataSource = shardRoutingDataSource;
+        this.directorySync = directorySync;
+        this.shardingConfig = shardingConfig;
+    }
+
+    public void move(Long workspaceId, String targetShard) {
+        String sourceShard = shardDirectory.shardFor(workspaceId);
+        if (sourceShard.equals(targetShard)) {
+            throw new InvalidOperationException("Workspace " + workspaceId + " is already on shard " + targetShard);
+        }
+
+        DataSource source = shardRoutingDataSource.getShardDataSource(sourceShard);
+        DataSource target = shardRoutingDataSource.getShardDataSource(targetShard);
+
+        Integer exists = new JdbcTemplate(shardRoutingDataSource.getShardDataSource(ShardContext.DIRECTORY))
+                .queryForObject("SELECT COUNT(*) FROM workspace WHERE id = ?", Integer.class, workspaceId);
+        if (exists == null || exists == 0) {
+            throw new InvalidOperationException("Workspace " + workspaceId + " does not exist");
+        }
+
+        log.info("Moving workspaceId={} from shard={} to shard={}", workspaceId, sourceShard, targetShard);
+
+        awaitJobs(workspaceId, source);
+
+        shardDirectory.place(workspaceId, sourceShard, true);
+        awaitRefresh();
+
+        // New jobs can no longer be recorded; one recorded before every instance saw the flag could
+        long unfinished = countUnfinishedJobs(workspaceId, source);
+        if (unfinished > 0) {
+            log.warn("Job submitted for workspaceId={} while it turned read-only, not moving it", workspaceId);
+            shardDirectory.place(workspaceId, sourceShard, false);
+            throw new InvalidOperationException("Workspace " + workspaceId + " has " + unfinished +
+                    " unfinished jobs. Try the move again once they are done.");
+        }
+
+        try {
+            if (!ShardContext.DIRECTORY.equals(targetShard)) {
+                directorySync.copyTo(workspaceId, target);
+            }
+            copyWorkspaceData(workspaceId, source, target);
+        } catch (RuntimeException e) {
+            log.error("Copy of workspaceId={} to shard={} failed, leaving it on shard={}",
+                    workspaceId, targetShard, sourceShard, e);
+            shardDirectory.place(workspaceId, sourceShard, false);
+            throw e;
+        }
+
+        shardDirectory.place(workspaceId, targetShard, false);
+        awaitRefresh();
+
+        removeWorkspaceData(workspaceId, source, !ShardContext.DIRECTORY.equals(sourceShard));
+        log.info("Moved workspaceId={} to shard={}", workspaceId, targetShard);
+    }
+
+    private void copyWorkspaceData(Long workspaceId, DataSource source, DataSource target) {
+        int batchSize = shardingConfig.getCopyBatchSize();
+        Object[] one = {workspaceId};
+        Object[] two = {workspaceId, workspaceId};
+
+        try (Connection from = source.getConnection(); Connection to = target.getConnection()) {
+            to.setAutoCommit(true);
+
+            // Reporters and assignees who have since left the workspace
+            ShardRowCopier.copy(from, to, "users",
+                    "id IN (SELECT reporter_id FROM task WHERE workspace_id = ? " +
+                            "UNION SELECT assignee_id FROM task WHERE workspace_id = ?)", two, false, batchSize);
+            ShardRowCopier.copy(from, to, "project", "workspace_id = ?", one, false, batchSize);
+            ShardRowCopier.copy(from, to, "project_backlog",
+                    "project_id IN (SELECT id FROM project WHERE workspace_id = ?)", one, false, batchSize);
+            ShardRowCopier.copy(from, to, "sprint",
+                    "project_id IN (SELECT id FROM project WHERE workspace_id = ?)", one, false, batchSize);
+            ShardRowCopier.copy(from, to, "sprint_completion",
+                    "sprint_id IN (SELECT s.id FROM sprint s JOIN project p ON p.id = s.project_id " +
+                            "WHERE p.workspace_id = ?)", one, false, batchSize);
+            long tasks = ShardRowCopier.copy(from, to, "task", "workspace_id = ?", one, false, batchSize);
+            ShardRowCopier.copy(from, to, "task_key_redirect", "workspace_id = ?", one, false, batchSize);
+            ShardRowCopier.copy(from, to, "job", "workspace_id = ?", one, false, batchSize);
+
+            log.info("Copied workspaceId={} with {} tasks", workspaceId, tasks);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to copy workspace " + workspaceId, e);
+        }
+    }
+
+    private void removeWorkspaceData(Long workspaceId, DataSource source, boolean includeDirectoryCopies) {
+        JdbcTemplate jdbc = new JdbcTemplate(source);
+        int chunkSize = shardingConfig.getCopyBatchSize();
+
+        jdbc.update("DELETE FROM task_key_redirect WHERE workspace_id = ?", workspaceId);
+        int deleted;
+        do {
+            deleted = jdbc.update("DELETE FROM task WHERE workspace_id = ? AND id IN " +
+                    "(SELECT id FROM task WHERE workspace_id = ? LIMIT ?)", workspaceId, workspaceId, chunkSize);
+        } while (deleted > 0);
+        jdbc.update("DELETE FROM sprint_completion WHERE sprint_id IN (SELECT s.id FROM sprint s " +
+                "JOIN project p ON p.id = s.project_id WHERE p.workspace_id = ?)", workspaceId);
+        jdbc.update("DELETE FROM sprint WHERE project_id IN (SELECT id FROM project WHERE workspace_id = ?)",
+                workspaceId);
+        jdbc.update("DELETE FROM project_backlog WHERE project_id IN (SELECT id FROM project WHERE workspace_id = ?)",
+                workspaceId);
+        jdbc.update("DELETE FROM project WHERE workspace_id = ?", workspaceId);
+        jdbc.update("DELETE FROM job WHERE workspace_id = ?", workspaceId);
+
+        if (includeDirectoryCopies) {
+            jdbc.update("DELETE FROM workspace_member WHERE workspace_id = ?", workspaceId);
+            jdbc.update("DELETE FROM workspace WHERE id = ?", workspaceId);
+        }
+    }
+
+    /**
+     * Waits for the workspace's pending and running jobs, polling once per refresh interval.
+     */
+    private void awaitJobs(Long workspaceId, DataSource source) {
+        long deadline = System.currentTimeMillis() + shardingConfig.getJobDrainTimeoutMs();
+        long unfinished;
+        while ((unfinished = countUnfinishedJobs(workspaceId, source)) > 0) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new InvalidOperationException("Workspace " + workspaceId + " still has " + unfinished +
+                        " unfinished jobs after " + shardingConfig.getJobDrainTimeoutMs() + " ms");
+            }
+            log.info("Waiting for {} unfinished jobs of workspaceId={}", unfinished, workspaceId);
+            sleep(shardingConfig.getRefreshIntervalMs());
+        }
+    }
+
+    private long countUnfinishedJobs(Long workspaceId, DataSource source) {
+        Long count = new JdbcTemplate(source).queryForObject(
+                "SELECT COUNT(*) FROM job WHERE workspace_id = ? AND status IN ('PENDING', 'RUNNING')",
+                Long.class, workspaceId);
+        return count != null ? count : 0;
+    }
+
+    // Gives every instance one refresh cycle, plus a margin, to pick up a placement change
+    private void awaitRefresh() {
+        sleep(shardingConfig.getRefreshIntervalMs() * 2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving a workspace between shards", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.legion.common.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command line entry point for moving a workspace between shards:
+ *
+ * <pre>
+ * java -jar legion-service.jar --spring.main.web-application-type=none \
+ *      --move-workspace=42 --to-shard=shard-2
+ * </pre>
+ *
+ * <p>Does nothing unless {@code --move-workspace} is given. Exits once the move is done.</p>
+ */
+@Component
+public class WorkspaceShardMoveRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceShardMoveRunner.class);
+
+    private final WorkspaceShardMigrator migrator;
+    private final ConfigurableApplicationContext context;
+
+    public WorkspaceShardMoveRunner(WorkspaceShardMigrator migrator, ConfigurableApplicationContext context) {
+        this.migrator = migrator;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("move-workspace")) {
+            return;
+        }
+        if (!args.containsOption("to-shard")) {
+            throw new IllegalArgumentException("--to-shard is required with --move-workspace");
+        }
+
+        Long workspaceId = Long.valueOf(args.getOptionValues("move-workspace").getFirst());
+        String targetShard = args.getOptionValues("to-shard").getFirst();
+
+        int exitCode = 0;
+        try {
+            migrator.move(workspaceId, targetShard);
+        } catch (RuntimeException e) {
+            log.error("Moving workspaceId={} to shard={} failed", workspaceId, targetShard, e);
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
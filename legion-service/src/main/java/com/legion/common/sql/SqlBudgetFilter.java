@@ -0,0 +1,108 @@
+package com.legion.common.sql;
+
+import com.legion.config.SqlStatsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opens a {@link SqlStats} capture around every request and reports requests that
+ * issue more statements than their endpoint's budget, or repeat one statement shape
+ * often enough to look like an N+1.
+ *
+ * <p>Statement counts are recorded per endpoint as the {@code legion.sql.statements}
+ * summary, with {@code legion.sql.budget.exceeded} and {@code legion.sql.n_plus_one}
+ * counters alongside.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    // The request's snapshot, for filters further out such as the slow-request profiler
+    public static final String SNAPSHOT_ATTRIBUTE = SqlBudgetFilter.class.getName() + ".snapshot";
+
+    private final SqlStatsConfig sqlStatsConfig;
+    private final MeterRegistry meterRegistry;
+
+    public SqlBudgetFilter(SqlStatsConfig sqlStatsConfig, MeterRegistry meterRegistry) {
+        this.sqlStatsConfig = sqlStatsConfig;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !sqlStatsConfig.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStats.begin(sqlStatsConfig.getTraceLimit());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStats stats = SqlStats.end();
+            if (stats != null) {
+                SqlStats.Snapshot snapshot = stats.snapshot();
+                request.setAttribute(SNAPSHOT_ATTRIBUTE, snapshot);
+                report(endpointOf(request), snapshot);
+            }
+        }
+    }
+
+    private void report(String endpoint, SqlStats.Snapshot snapshot) {
+        if (snapshot.statements() == 0) {
+            return;
+        }
+
+        DistributionSummary.builder("legion.sql.statements")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(snapshot.statements());
+
+        int budget = sqlStatsConfig.getBudgets().getOrDefault(endpoint, sqlStatsConfig.getDefaultBudget());
+        if (snapshot.statements() > budget) {
+            Counter.builder("legion.sql.budget.exceeded")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("SQL budget exceeded endpoint={} statements={} budget={} rows={} timeMs={}",
+                    endpoint, snapshot.statements(), budget, snapshot.rows(), snapshot.nanos() / 1_000_000);
+        }
+
+        List<Map.Entry<String, Integer>> repeated = snapshot.repeatedShapes(sqlStatsConfig.getRepeatedQueryThreshold());
+        if (!repeated.isEmpty()) {
+            Counter.builder("legion.sql.n_plus_one")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            Map.Entry<String, Integer> worst = repeated.getFirst();
+            log.warn("Possible N+1 endpoint={} repeats={} sql={}", endpoint, worst.getValue(), worst.getKey());
+        }
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmatched paths share one tag so raw URLs cannot blow up metric cardinality
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+}
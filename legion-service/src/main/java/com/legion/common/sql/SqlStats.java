@@ -0,0 +1,182 @@
+package com.legion.common.sql;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Statement, row and time counts for the work done on one thread, usually one HTTP request.
+ *
+ * <p>Filled in by {@link SqlStatsDataSource} while a capture is open. Statements are also
+ * grouped by shape, their SQL with literals and IN lists collapsed, so the same query
+ * repeated for every row of a list (an N+1) shows up as one shape with a high count.</p>
+ *
+ * <p>The first statements of a capture are also kept individually, with their bind
+ * count, time and rows, so a slow request can be explained statement by statement.</p>
+ */
+public final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern IN_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern STRING = Pattern.compile("'[^']*'");
+
+    private static final int DEFAULT_TRACE_LIMIT = 100;
+
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private final List<StatementTrace> traces = new ArrayList<>();
+    private final int traceLimit;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private SqlStats(int traceLimit) {
+        this.traceLimit = traceLimit;
+    }
+
+    /**
+     * Runs work with a fresh capture and returns what it issued. Intended for tests:
+     * <pre>
+     * SqlStats.Snapshot sql = SqlStats.capture(() -> taskService.getTasksByProject(projectId));
+     * sql.assertStatementsAtMost(3);
+     * </pre>
+     */
+    public static Snapshot capture(Runnable work) {
+        return capture(() -> {
+            work.run();
+            return null;
+        }).snapshot();
+    }
+
+    /**
+     * Calls work with a fresh capture and returns its result with what it issued.
+     */
+    public static <T> Captured<T> capture(Supplier<T> work) {
+        SqlStats previous = CURRENT.get();
+        SqlStats stats = new SqlStats(DEFAULT_TRACE_LIMIT);
+        CURRENT.set(stats);
+        try {
+            T result = work.get();
+            return new Captured<>(result, stats.snapshot());
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    static void begin(int traceLimit) {
+        CURRENT.set(new SqlStats(traceLimit));
+    }
+
+    static SqlStats end() {
+        SqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Records an executed statement. Returns its trace, to attribute rows to, or null
+     * once the trace limit is reached.
+     */
+    StatementTrace recordStatement(String sql, int binds, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql != null) {
+            shapes.merge(shapeOf(sql), 1, Integer::sum);
+        }
+        if (traces.size() >= traceLimit) {
+            return null;
+        }
+        StatementTrace trace = new StatementTrace(sql, binds, elapsedNanos);
+        traces.add(trace);
+        return trace;
+    }
+
+    void recordRows(StatementTrace trace, long count) {
+        rows += count;
+        if (trace != null) {
+            trace.rows += count;
+        }
+    }
+
+    Snapshot snapshot() {
+        List<StatementTrace> copies = traces.stream().map(StatementTrace::copy).toList();
+        return new Snapshot(statements, rows, nanos, Map.copyOf(shapes), copies);
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING.matcher(sql).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("?...");
+    }
+
+    /**
+     * What one capture issued.
+     */
+    public record Snapshot(int statements, long rows, long nanos, Map<String, Integer> shapes,
+                           List<StatementTrace> traces) {
+
+        /**
+         * Shapes issued at least {@code threshold} times, most repeated first.
+         */
+        public List<Map.Entry<String, Integer>> repeatedShapes(int threshold) {
+            return shapes.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .toList();
+        }
+
+        public void assertStatementsAtMost(int max) {
+            if (statements > max) {
+                throw new AssertionError("Expected at most " + max + " statements but got " + statements + ": " + shapes);
+            }
+        }
+
+        public void assertNoRepeatedShapes(int threshold) {
+            List<Map.Entry<String, Integer>> repeated = repeatedShapes(threshold);
+            if (!repeated.isEmpty()) {
+                throw new AssertionError("Statements repeated " + threshold + " or more times: " + repeated);
+            }
+        }
+    }
+
+    public record Captured<T>(T result, Snapshot snapshot) {
+    }
+
+    /**
+     * One executed statement. Rows keep counting while its result set is read.
+     */
+    @Getter
+    public static final class StatementTrace {
+
+        private final String sql;
+        private final int binds;
+        private final long nanos;
+        private long rows;
+
+        StatementTrace(String sql, int binds, long nanos) {
+            this.sql = sql;
+            this.binds = binds;
+            this.nanos = nanos;
+        }
+
+        private StatementTrace copy() {
+            StatementTrace copy = new StatementTrace(sql, binds, nanos);
+            copy.rows = rows;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.legion.common.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections so every statement executed on a thread with an open
+ * {@link SqlStats} capture is counted and timed, along with the rows it read or wrote.
+ * Threads without a capture pay one thread-local lookup per call.
+ */
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+    public SqlStatsDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> wrapStatement((Statement) result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> wrapStatement((Statement) result, CallableStatement.class, (String) args[0]);
+                        case "createStatement" -> wrapStatement((Statement) result, Statement.class, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    private static Statement wrapStatement(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        InvocationHandler handler = new InvocationHandler() {
+
+            // Parameters bound since the last execute, over all batch entries
+            private int binds;
+            private SqlStats.StatementTrace lastTrace;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (!name.startsWith("execute")) {
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        binds++;
+                    }
+                    Object result = SqlStatsDataSource.invoke(statement, method, args);
+                    return name.equals("getResultSet") ? wrapResultSet((ResultSet) result, lastTrace) : result;
+                }
+
+                SqlStats stats = SqlStats.current();
+                if (stats == null) {
+                    binds = 0;
+                    Object result = SqlStatsDataSource.invoke(statement, method, args);
+                    return name.equals("executeQuery") ? wrapResultSet((ResultSet) result, null) : result;
+                }
+
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                Object result = SqlStatsDataSource.invoke(statement, method, args);
+                SqlStats.StatementTrace trace = stats.recordStatement(sql, binds, System.nanoTime() - start);
+                lastTrace = trace;
+                binds = 0;
+
+                if (result instanceof ResultSet resultSet) {
+                    return wrapResultSet(resultSet, trace);
+                }
+                if (result instanceof Integer count && count > 0) {
+                    stats.recordRows(trace, count);
+                } else if (result instanceof Long count && count > 0) {
+                    stats.recordRows(trace, count);
+                } else if (result instanceof int[] counts) {
+                    for (int count : counts) {
+                        stats.recordRows(trace, Math.max(count, 0));
+                    }
+                }
+                return result;
+            }
+        };
+        return (Statement) Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet, SqlStats.StatementTrace trace) {
+        if (resultSet == null) {
+            return null;
+        }
+        return (ResultSet) Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        SqlStats stats = SqlStats.current();
+                        if (stats != null) {
+                            stats.recordRows(trace, 1);
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
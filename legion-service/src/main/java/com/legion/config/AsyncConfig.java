@@ -0,0 +1,69 @@
+package com.legion.config;
+
+import com.legion.common.context.RequestContextTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for background work.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Carries the request context into executor tasks. Boot's own task executors pick it up too.
+     */
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return new RequestContextTaskDecorator();
+    }
+
+    /**
+     * Executor for tracked background jobs (bulk deletes, project clones).
+     *
+     * <p>With {@code spring.threads.virtual.enabled} each job gets its own virtual thread,
+     * still capped at the configured pool size since every job holds a connection.</p>
+     */
+    @Bean(name = "jobExecutor")
+    public TaskExecutor jobExecutor(JobConfig jobConfig,
+                                    TaskDecorator requestContextTaskDecorator,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("legion-job-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(jobConfig.getPoolSize());
+            executor.setTaskTerminationTimeout(30_000);
+            executor.setTaskDecorator(requestContextTaskDecorator);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobConfig.getPoolSize());
+        executor.setMaxPoolSize(jobConfig.getPoolSize());
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("legion-job-");
+        executor.setTaskDecorator(requestContextTaskDecorator);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for running a request's independent queries side by side. One virtual
+     * thread per query; the connection pool limits how many reach the database at once.
+     */
+    @Bean(name = "fanOutExecutor")
+    public AsyncTaskExecutor fanOutExecutor(TaskDecorator requestContextTaskDecorator) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("legion-fanout-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(requestContextTaskDecorator);
+        return executor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.batch")
+public class BatchConfig {
+
+    // Most sub-requests accepted in one POST /api/batch
+    private int maxRequests = 50;
+
+    // Run runs of consecutive GET items side by side in non-transactional batches
+    private boolean parallelReads = true;
+}
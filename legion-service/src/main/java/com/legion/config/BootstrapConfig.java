@@ -0,0 +1,16 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.bootstrap")
+public class BootstrapConfig {
+
+    // How long /api/bootstrap waits for each part before answering without it
+    private long partTimeoutMs = 2000;
+}
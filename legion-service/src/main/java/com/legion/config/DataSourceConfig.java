@@ -0,0 +1,114 @@
+package com.legion.config;
+
+import com.legion.common.datasource.ReadYourWrites;
+import com.legion.common.datasource.ReplicaRoutingDataSource;
+import com.legion.common.sql.SqlStatsDataSource;
+import com.legion.common.shard.ShardDirectory;
+import com.legion.common.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Directory database, its read replicas, and workspace shards.
+ *
+ * <p>The application sees a single DataSource. Connections are fetched lazily, on the
+ * first statement of a transaction, so the routers already know the transaction's
+ * workspace and whether it is read-only when they pick a database.</p>
+ */
+@Configuration
+public class DataSourceConfig {
+
+    // Rows created on shard N get ids from N * SHARD_ID_RANGE upwards
+    private static final long SHARD_ID_RANGE = 1_000_000_000_000L;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaConfig replicaConfig,
+                                                             ReadYourWrites readYourWrites) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaConfig.getReplicas().size(); i++) {
+            ReplicaConfig.Replica replica = replicaConfig.getReplicas().get(i);
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("legion-replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites);
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                         HikariDataSource primaryDataSource,
+                                                         ShardingConfig shardingConfig,
+                                                         ShardDirectory shardDirectory) {
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        shardingConfig.getShards().forEach((name, shard) -> {
+            if (shard.getIndex() < 1) {
+                throw new IllegalStateException("Shard " + name + " needs an index of 1 or more");
+            }
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("legion-shard-" + name);
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.put(name, dataSource);
+        });
+        return new ShardRoutingDataSource(replicaRoutingDataSource, primaryDataSource, shards, shardDirectory);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource, SqlStatsConfig sqlStatsConfig) {
+        DataSource lazy = new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        return sqlStatsConfig.isEnabled() ? new SqlStatsDataSource(lazy) : lazy;
+    }
+
+    /**
+     * Migrates the directory, then every shard with its own id range.
+     */
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardingConfig shardingConfig,
+                                                          ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> {
+            flyway.migrate();
+
+            shardingConfig.getShards().forEach((name, shard) -> {
+                Map<String, String> placeholders = new LinkedHashMap<>(flyway.getConfiguration().getPlaceholders());
+                placeholders.put("shardIdBase", String.valueOf(shard.getIndex() * SHARD_ID_RANGE));
+
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shardRoutingDataSource.getShardDataSource(name))
+                        .placeholders(placeholders)
+                        .load()
+                        .migrate();
+            });
+        };
+    }
+}
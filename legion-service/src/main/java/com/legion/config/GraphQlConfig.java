@@ -0,0 +1,28 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.graphql")
+public class GraphQlConfig {
+
+    // Deepest field nesting a query may have
+    private int maxDepth = 10;
+
+    // Highest complexity a query may have: one point per field, children of list fields counted listFactor times
+    private int maxComplexity = 20000;
+
+    // Assumed size of a list field when estimating complexity
+    private int listFactor = 10;
+
+    // Accept Apollo persisted query hashes for the queries below; other hashes are never stored
+    private boolean persistedQueries = true;
+
+    // Queries known up front, registered under the sha256 of their text
+    private String persistedQueryLocations = "classpath:graphql/persisted/*.graphql";
+}
@@ -0,0 +1,76 @@
+package com.legion.config;
+
+import com.legion.graphql.PersistedQueryInterceptor;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Limits and persisted queries for the GraphQL endpoint. Boot registers the
+ * instrumentation and interceptor beans with the GraphQL engine.
+ */
+@Configuration
+public class GraphQlExecutionConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphQlExecutionConfig.class);
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(GraphQlConfig graphQlConfig) {
+        return new MaxQueryDepthInstrumentation(graphQlConfig.getMaxDepth());
+    }
+
+    /**
+     * Rejects queries whose estimated size is too large before any data is fetched.
+     * A list field costs its children's complexity times the configured list factor.
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(GraphQlConfig graphQlConfig) {
+        return new MaxQueryComplexityInstrumentation(graphQlConfig.getMaxComplexity(), (environment, childComplexity) -> {
+            boolean list = GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()) instanceof GraphQLList;
+            return 1 + (list ? childComplexity * graphQlConfig.getListFactor() : childComplexity);
+        });
+    }
+
+    /**
+     * Persisted queries are only the ones in {@code legion.graphql.persisted-query-locations};
+     * clients cannot register more.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "legion.graphql", name = "persisted-queries", matchIfMissing = true)
+    public PersistedQueryInterceptor persistedQueryInterceptor(GraphQlConfig graphQlConfig,
+                                                               ResourcePatternResolver resourceResolver) throws IOException {
+        Map<String, String> known = new HashMap<>();
+        for (Resource resource : resourceResolver.getResources(graphQlConfig.getPersistedQueryLocations())) {
+            String query = resource.getContentAsString(StandardCharsets.UTF_8);
+            known.put(sha256(query), query);
+        }
+        log.info("Loaded {} persisted GraphQL queries", known.size());
+
+        return new PersistedQueryInterceptor(known);
+    }
+
+    private static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
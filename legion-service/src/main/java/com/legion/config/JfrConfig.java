@@ -0,0 +1,25 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.jfr")
+public class JfrConfig {
+
+    // Keep a flight recording running for the lifetime of the service
+    private boolean enabled = true;
+
+    // Built-in JFR settings to record with, "default" or "profile"
+    private String settings = "default";
+
+    // Oldest data kept in the rolling recording
+    private int maxAgeMinutes = 30;
+
+    // Size cap of the rolling recording
+    private int maxSizeMb = 250;
+}
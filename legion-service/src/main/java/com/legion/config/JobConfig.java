@@ -0,0 +1,31 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.jobs")
+public class JobConfig {
+
+    // Background job worker threads
+    private int poolSize = 2;
+
+    // Rows removed per statement when purging projects and workspaces
+    private int deleteChunkSize = 5000;
+
+    // Task numbers copied per statement when cloning a project
+    private int cloneChunkSize = 5000;
+
+    // Clones of projects with more tasks than this run as a background job
+    private int cloneAsyncThreshold = 10000;
+
+    // How often this instance renews the lease of its jobs and sweeps for abandoned ones
+    private long heartbeatIntervalMs = 60000;
+
+    // Unfinished jobs whose lease was not renewed for this long are marked failed
+    private long leaseMs = 300000;
+}
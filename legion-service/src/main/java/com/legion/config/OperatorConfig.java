@@ -0,0 +1,20 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.operators")
+public class OperatorConfig {
+
+    // Accounts granted ROLE_OPERATOR, which the actuator endpoints other than health and
+    // prometheus require. Those dump the whole process and every tenant's requests.
+    private List<String> emails = new ArrayList<>();
+}
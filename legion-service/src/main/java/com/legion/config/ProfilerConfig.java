@@ -0,0 +1,25 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.profiler")
+public class ProfilerConfig {
+
+    // Time request phases and keep traces of slow requests
+    private boolean enabled = true;
+
+    // Requests slower than this are kept as slow traces
+    private long thresholdMs = 500;
+
+    // Fraction of requests profiled, between 0 and 1
+    private double sampleRate = 1.0;
+
+    // Slow traces kept in memory; the oldest is dropped first
+    private int capacity = 50;
+}
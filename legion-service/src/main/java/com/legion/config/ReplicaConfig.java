@@ -0,0 +1,37 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.datasource")
+public class ReplicaConfig {
+
+    // Read replicas for read-only transactions. Empty means everything runs on the primary.
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replicas further behind the primary than this are skipped until they catch up
+    private long maxLagMs = 1000;
+
+    // How often replica lag is measured
+    private long lagCheckIntervalMs = 1000;
+
+    // After a user's write, that user's reads stay on the primary for this long
+    private long readYourWritesWindowMs = 5000;
+
+    @Setter
+    @Getter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
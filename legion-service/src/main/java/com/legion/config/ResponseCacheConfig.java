@@ -0,0 +1,22 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.response-cache")
+public class ResponseCacheConfig {
+
+    // Serve cached list responses; off means every call serializes afresh
+    private boolean enabled = true;
+
+    // Compressed bytes held at once; the least valuable entries are evicted past this
+    private long maxBytes = 64L * 1024 * 1024;
+
+    // Longest an entry is served. Bounds how long other instances serve a list after a write here.
+    private long ttlMs = 30000;
+}
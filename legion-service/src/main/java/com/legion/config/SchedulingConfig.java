@@ -0,0 +1,12 @@
+package com.legion.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled maintenance jobs such as the task rank rebalancer.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.legion.config;
 
 import com.legion.auth.JwtAuthenticationFilter;
+import com.legion.common.datasource.ReadYourWritesFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -23,11 +24,14 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ReadYourWritesFilter readYourWritesFilter;
     private final CorsConfigurationSource corsConfigurationSource;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          ReadYourWritesFilter readYourWritesFilter,
                           CorsConfigurationSource corsConfigurationSource) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.readYourWritesFilter = readYourWritesFilter;
         this.corsConfigurationSource = corsConfigurationSource;
     }
 
@@ -45,6 +49,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/invitations/token/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        // Scraped by Prometheus, which has no user token
+                        .requestMatchers("/actuator/prometheus").permitAll()
+                        // Process dumps and every tenant's request traces; see legion.operators
+                        .requestMatchers("/actuator/**").hasRole("OPERATOR")
 
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
@@ -54,7 +62,8 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
 
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(readYourWritesFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,39 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.sharding")
+public class ShardingConfig {
+
+    // Extra databases holding workspace data, by shard name. The main datasource is the "directory" shard.
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    // How often each instance reloads the workspace to shard map
+    private long refreshIntervalMs = 5000;
+
+    // Rows per batch when copying a workspace between shards
+    private int copyBatchSize = 5000;
+
+    // How long a move waits for the workspace's pending and running jobs to finish before giving up
+    private long jobDrainTimeoutMs = 300000;
+
+    @Setter
+    @Getter
+    public static class Shard {
+        // Stable, unique and at least 1. Decides the id range of rows created on this shard.
+        private int index;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
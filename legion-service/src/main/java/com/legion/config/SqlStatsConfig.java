@@ -0,0 +1,31 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.sql-stats")
+public class SqlStatsConfig {
+
+    // Count statements, rows and time per request
+    private boolean enabled = true;
+
+    // Statements a request may issue before it is reported
+    private int defaultBudget = 25;
+
+    // Budgets for specific endpoints, keyed like "GET /api/tasks/{id}"
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    // The same statement shape this many times in one request is reported as a possible N+1
+    private int repeatedQueryThreshold = 5;
+
+    // Statements per request kept individually for slow-request traces
+    private int traceLimit = 100;
+}
@@ -8,11 +8,25 @@ import lombok.Setter;
 @Setter
 @Getter
 @Configuration
-@ConfigurationProperties(prefix = "leion.task")
+@ConfigurationProperties(prefix = "legion.task")
 public class TaskConfig {
 
     private int creationRetryAttempts = 3;
     private long creationRetryDelayMs = 50;
 
+    // Board columns with a rank longer than this get respaced by the rebalancer
+    private int rankRebalanceLength = 24;
+
+    // Upper bound on tasks moved between projects in one request
+    private int moveMaxTasks = 10000;
+
+    // Upper bound on ids or keys in one multi-get
+    private int multiGetMaxTasks = 100;
+
+    // How long a project key to id mapping is trusted; keys are reused after a project is deleted
+    private long projectKeyCacheTtlMs = 300000;
+
+    // Project key mappings held at once, across workspaces
+    private long projectKeyCacheMaxEntries = 100000;
 
 }
@@ -0,0 +1,19 @@
+package com.legion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "legion.threads")
+public class ThreadingConfig {
+
+    // Report virtual threads that block while pinned to their carrier
+    private boolean pinningMonitor = true;
+
+    // Pinned blocking shorter than this is not reported
+    private long pinnedThresholdMs = 20;
+}
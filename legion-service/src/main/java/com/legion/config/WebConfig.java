@@ -0,0 +1,36 @@
+package com.legion.config;
+
+import com.legion.common.profiler.RequestPhaseInterceptor;
+import com.legion.task.TaskListConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RequestPhaseInterceptor requestPhaseInterceptor;
+
+    public WebConfig(RequestPhaseInterceptor requestPhaseInterceptor) {
+        this.requestPhaseInterceptor = requestPhaseInterceptor;
+    }
+
+    // Binary encodings of task lists, chosen with Accept: application/cbor or application/x-jackson-smile
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter() {
+        return new TaskListConverters.Cbor();
+    }
+
+    @Bean
+    public JacksonSmileHttpMessageConverter smileHttpMessageConverter() {
+        return new TaskListConverters.Smile();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestPhaseInterceptor);
+    }
+}
@@ -0,0 +1,206 @@
+package com.legion.graphql;
+
+import com.legion.common.context.WorkspaceContextHelper;
+import com.legion.common.exception.InvalidOperationException;
+import com.legion.project.Project;
+import com.legion.project.ProjectRepository;
+import com.legion.project.ProjectService;
+import com.legion.sprint.Sprint;
+import com.legion.sprint.SprintRepository;
+import com.legion.sprint.SprintService;
+import com.legion.sprint.SprintStatus;
+import com.legion.task.Task;
+import com.legion.task.TaskRepository;
+import com.legion.task.TaskService;
+import com.legion.user.User;
+import com.legion.user.UserRepository;
+import com.legion.workspace.Workspace;
+import com.legion.workspace.WorkspaceMember;
+import com.legion.workspace.WorkspaceMemberRepository;
+import com.legion.workspace.WorkspaceService;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL read API, see graphql/schema.graphqls.
+ *
+ * <p>Root fields go through the services, which check the resource belongs to the
+ * current workspace. Everything reachable from a root stays inside that workspace.
+ * Relations are loaded with {@link BatchMapping}s: each one becomes a DataLoader, so
+ * e.g. the assignees of every task in a response are fetched with one {@code IN (...)}
+ * query rather than one query per task. Lazy associations are only read for their ids,
+ * which does not initialize them.</p>
+ */
+@Controller
+public class GraphQlController {
+
+    private final WorkspaceService workspaceService;
+    private final ProjectService projectService;
+    private final SprintService sprintService;
+    private final TaskService taskService;
+    private final UserRepository userRepository;
+    private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final ProjectRepository projectRepository;
+    private final SprintRepository sprintRepository;
+    private final TaskRepository taskRepository;
+
+    public GraphQlController(WorkspaceService workspaceService,
+                             ProjectService projectService,
+                             SprintService sprintService,
+                             TaskService taskService,
+                             UserRepository userRepository,
+                             WorkspaceMemberRepository workspaceMemberRepository,
+                             ProjectRepository projectRepository,
+                             SprintRepository sprintRepository,
+                             TaskRepository taskRepository) {
+        this.workspaceService = workspaceService;
+        this.projectService = projectService;
+        this.sprintService = sprintService;
+        this.taskService = taskService;
+        this.userRepository = userRepository;
+        this.workspaceMemberRepository = workspaceMemberRepository;
+        this.projectRepository = projectRepository;
+        this.sprintRepository = sprintRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    @QueryMapping
+    public User me(@AuthenticationPrincipal User currentUser) {
+        return currentUser;
+    }
+
+    @QueryMapping
+    public Workspace workspace(@Argument Long id) {
+        WorkspaceContextHelper.validateWorkspace(id);
+        return workspaceService.getWorkspaceById(id);
+    }
+
+    @QueryMapping
+    public Project project(@Argument Long id) {
+        return projectService.getProjectById(id);
+    }
+
+    @QueryMapping
+    public Sprint sprint(@Argument Long id) {
+        return sprintService.getSprintById(id);
+    }
+
+    @QueryMapping
+    public Task task(@Argument Long id, @Argument String key) {
+        if ((id == null) == (key == null)) {
+            throw new InvalidOperationException("Pass exactly one of id or key");
+        }
+        return id != null ? taskService.getTaskById(id) : taskService.getTaskByKey(key);
+    }
+
+    @SchemaMapping
+    public List<WorkspaceMember> members(Workspace workspace) {
+        return workspaceMemberRepository.findByWorkspaceId(workspace.getId());
+    }
+
+    @SchemaMapping
+    public List<Project> projects(Workspace workspace) {
+        return projectRepository.findByWorkspaceId(workspace.getId());
+    }
+
+    @BatchMapping(typeName = "Member", field = "user")
+    public Map<WorkspaceMember, User> memberUser(List<WorkspaceMember> members) {
+        return byReference(members, member -> member.getUser().getId(), userRepository::findAllById, User::getId);
+    }
+
+    @BatchMapping
+    public Map<Project, List<Sprint>> sprints(List<Project> projects) {
+        Map<Long, List<Sprint>> byProject = sprintRepository.findByProjectIdIn(ids(projects, Project::getId)).stream()
+                .collect(Collectors.groupingBy(sprint -> sprint.getProject().getId()));
+        return toMap(projects, project -> byProject.getOrDefault(project.getId(), List.of()));
+    }
+
+    @BatchMapping
+    public Map<Project, Sprint> activeSprint(List<Project> projects) {
+        Map<Long, Sprint> byProject = sprintRepository
+                .findByProjectIdInAndStatus(ids(projects, Project::getId), SprintStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(sprint -> sprint.getProject().getId(), Function.identity(), (a, b) -> a));
+        return toMap(projects, project -> byProject.get(project.getId()));
+    }
+
+    @BatchMapping(typeName = "Sprint", field = "project")
+    public Map<Sprint, Project> sprintProject(List<Sprint> sprints) {
+        return byReference(sprints, sprint -> sprint.getProject().getId(), projectRepository::findAllById, Project::getId);
+    }
+
+    @BatchMapping(typeName = "Sprint", field = "tasks")
+    public Map<Sprint, List<Task>> sprintTasks(List<Sprint> sprints) {
+        Long workspaceId = WorkspaceContextHelper.requireWorkspaceId();
+        Map<Long, List<Task>> bySprint = taskRepository
+                .findByWorkspaceIdAndSprintIdInOrderByStatusAscRankAsc(workspaceId, ids(sprints, Sprint::getId)).stream()
+                .collect(Collectors.groupingBy(task -> task.getSprint().getId()));
+        return toMap(sprints, sprint -> bySprint.getOrDefault(sprint.getId(), List.of()));
+    }
+
+    @BatchMapping(typeName = "Task", field = "project")
+    public Map<Task, Project> taskProject(List<Task> tasks) {
+        return byReference(tasks, task -> task.getProject().getId(), projectRepository::findAllById, Project::getId);
+    }
+
+    @BatchMapping(typeName = "Task", field = "key")
+    public Map<Task, String> taskKey(List<Task> tasks) {
+        Map<Task, Project> projects = taskProject(tasks);
+        return toMap(tasks, task -> projects.get(task).getKey() + "-" + task.getTaskNumber());
+    }
+
+    @BatchMapping(typeName = "Task", field = "sprint")
+    public Map<Task, Sprint> taskSprint(List<Task> tasks) {
+        return byReference(tasks, task -> task.getSprint() != null ? task.getSprint().getId() : null,
+                sprintRepository::findAllById, Sprint::getId);
+    }
+
+    @BatchMapping(typeName = "Task", field = "assignee")
+    public Map<Task, User> taskAssignee(List<Task> tasks) {
+        return byReference(tasks, task -> task.getAssignee() != null ? task.getAssignee().getId() : null,
+                userRepository::findAllById, User::getId);
+    }
+
+    @BatchMapping(typeName = "Task", field = "reporter")
+    public Map<Task, User> taskReporter(List<Task> tasks) {
+        return byReference(tasks, task -> task.getReporter().getId(), userRepository::findAllById, User::getId);
+    }
+
+    /**
+     * Resolves a to-one reference for a batch of sources with a single lookup by id.
+     */
+    private static <S, T> Map<S, T> byReference(List<S> sources, Function<S, Long> reference,
+                                                Function<Collection<Long>, List<T>> lookup,
+                                                Function<T, Long> id) {
+        Map<Long, T> loaded = lookup.apply(ids(sources, reference)).stream()
+                .collect(Collectors.toMap(id, Function.identity()));
+        return toMap(sources, source -> {
+            Long target = reference.apply(source);
+            return target != null ? loaded.get(target) : null;
+        });
+    }
+
+    private static <S> List<Long> ids(List<S> sources, Function<S, Long> id) {
+        return sources.stream().map(id).filter(Objects::nonNull).distinct().toList();
+    }
+
+    // HashMap rather than Collectors.toMap, which rejects null values
+    private static <S, T> Map<S, T> toMap(List<S> sources, Function<S, T> value) {
+        Map<S, T> result = new HashMap<>();
+        for (S source : sources) {
+            result.put(source, value.apply(source));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package com.legion.graphql;
+
+import com.legion.common.exception.DuplicateResourceException;
+import com.legion.common.exception.InvalidOperationException;
+import com.legion.common.exception.ResourceNotFoundException;
+import com.legion.common.exception.UnauthorizedException;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps service exceptions to GraphQL errors the way GlobalExceptionHandler maps them to HTTP statuses.
+ * Anything else falls through to Spring's default, which hides the message.
+ */
+@Component
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        ErrorType errorType = switch (ex) {
+            case ResourceNotFoundException e -> ErrorType.NOT_FOUND;
+            case UnauthorizedException e -> ErrorType.FORBIDDEN;
+            case InvalidOperationException e -> ErrorType.BAD_REQUEST;
+            case DuplicateResourceException e -> ErrorType.BAD_REQUEST;
+            default -> null;
+        };
+        if (errorType == null) {
+            return null;
+        }
+        return GraphqlErrorBuilder.newError(env)
+                .errorType(errorType)
+                .message(ex.getMessage())
+                .build();
+    }
+}
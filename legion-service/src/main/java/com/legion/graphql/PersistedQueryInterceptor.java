@@ -0,0 +1,63 @@
+package com.legion.graphql;
+
+import graphql.ExecutionResult;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Apollo automatic persisted queries, limited to the queries shipped with the service.
+ *
+ * <p>A request whose {@code extensions.persistedQuery.sha256Hash} names a known query runs
+ * that query. An unknown hash sent with query text runs the text like any other request,
+ * and nothing is remembered, so clients cannot grow the set of stored queries. An unknown
+ * hash without text gets PersistedQueryNotFound, on which Apollo clients resend the text.</p>
+ */
+public class PersistedQueryInterceptor implements WebGraphQlInterceptor {
+
+    private final Map<String, String> queries;
+
+    /**
+     * @param queries query text by the hex sha256 of that text
+     */
+    public PersistedQueryInterceptor(Map<String, String> queries) {
+        this.queries = Map.copyOf(queries);
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        String hash = persistedQueryHash(request.getExtensions());
+        if (hash == null) {
+            return chain.next(request);
+        }
+
+        String query = queries.get(hash);
+        if (query != null) {
+            request.configureExecutionInput((input, builder) -> builder.query(query).build());
+            return chain.next(request);
+        }
+        if (StringUtils.hasText(request.getDocument())) {
+            return chain.next(request);
+        }
+
+        ExecutionResult notFound = ExecutionResult.newExecutionResult()
+                .addError(new PersistedQueryNotFound(hash))
+                .build();
+        return Mono.just(new WebGraphQlResponse(
+                new DefaultExecutionGraphQlResponse(request.toExecutionInput(), notFound)));
+    }
+
+    private static String persistedQueryHash(Map<String, Object> extensions) {
+        if (extensions != null && extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof String hash) {
+            return hash;
+        }
+        return null;
+    }
+}
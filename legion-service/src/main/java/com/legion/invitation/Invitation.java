@@ -20,11 +20,7 @@ import java.util.UUID;
 @Setter
 @Getter
 @Entity
-@Table(name = "invitation", indexes = {
-        @Index(name = "idx_invitation_token", columnList = "token"),
-        @Index(name = "idx_invitation_email", columnList = "email"),
-        @Index(name = "idx_invitation_workspace", columnList = "workspace_id")
-})
+@Table(name = "invitation")
 public class Invitation {
 
     @Id
@@ -1,6 +1,9 @@
 package com.legion.invitation;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +19,8 @@ public interface InvitationRepository extends JpaRepository<Invitation, Long> {
     List<Invitation> findByEmail(String email);
 
     boolean existsByEmailAndWorkspaceIdAndUsedFalse(String email, Long workspaceId);
+
+    @Modifying
+    @Query("DELETE FROM Invitation i WHERE i.workspace.id = :workspaceId")
+    int bulkDeleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
 }
\ No newline at end of file
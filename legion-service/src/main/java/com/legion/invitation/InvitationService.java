@@ -4,6 +4,8 @@ import com.legion.common.exception.DuplicateResourceException;
 import com.legion.common.exception.InvalidOperationException;
 import com.legion.common.exception.ResourceNotFoundException;
 import com.legion.common.exception.UnauthorizedException;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.common.shard.ShardContext;
 import com.legion.user.Role;
 import com.legion.user.User;
 import com.legion.workspace.Workspace;
@@ -28,13 +30,16 @@ public class InvitationService {
     private final InvitationRepository invitationRepository;
     private final WorkspaceRepository workspaceRepository;
     private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final LegionMetrics metrics;
 
     public InvitationService(InvitationRepository invitationRepository,
                              WorkspaceRepository workspaceRepository,
-                             WorkspaceMemberRepository workspaceMemberRepository) {
+                             WorkspaceMemberRepository workspaceMemberRepository,
+                             LegionMetrics metrics) {
         this.invitationRepository = invitationRepository;
         this.workspaceRepository = workspaceRepository;
         this.workspaceMemberRepository = workspaceMemberRepository;
+        this.metrics = metrics;
     }
 
     @Transactional
@@ -48,6 +53,9 @@ public class InvitationService {
                 invitedBy.getEmail()
         );
 
+        // Invitations are directory rows, never copied to shards
+        ShardContext.useDirectoryForCurrentTransaction();
+
         Workspace workspace = workspaceRepository.findById(workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Workspace", workspaceId));
 
@@ -100,19 +108,23 @@ public class InvitationService {
 
         log.debug("Validating invitation token={}", token);
 
-        Invitation invitation = invitationRepository.findByToken(token)
+        Invitation invitation = ShardContext.callOn(ShardContext.DIRECTORY,
+                        () -> invitationRepository.findByToken(token))
                 .orElseThrow(() -> new ResourceNotFoundException("Invitation", "token", token));
 
         if (invitation.isUsed()) {
             log.warn("Invitation already used id={}", invitation.getId());
+            metrics.count("legion.invitation.lookup", "outcome", "used");
             throw new InvalidOperationException("This invitation has already been used");
         }
 
         if (invitation.isExpired()) {
             log.warn("Invitation expired id={}", invitation.getId());
+            metrics.count("legion.invitation.lookup", "outcome", "expired");
             throw new InvalidOperationException("This invitation has expired");
         }
 
+        metrics.count("legion.invitation.lookup", "outcome", "valid");
         return invitation;
     }
 
@@ -120,6 +132,7 @@ public class InvitationService {
     public void markInvitationAsUsed(Long invitationId) {
 
         log.info("Marking invitation as used id={}", invitationId);
+        ShardContext.useDirectoryForCurrentTransaction();
 
         Invitation invitation = invitationRepository.findById(invitationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Invitation", invitationId));
@@ -128,10 +141,12 @@ public class InvitationService {
         invitationRepository.save(invitation);
     }
 
+    @Transactional(readOnly = true)
     public List<Invitation> getWorkspaceInvitations(Long workspaceId) {
 
         log.debug("Fetching invitations for workspaceId={}", workspaceId);
+        ShardContext.useDirectoryForCurrentTransaction();
 
-        return invitationRepository.findByWorkspaceId(workspaceId);
+        return metrics.rows("invitations.by_workspace", invitationRepository.findByWorkspaceId(workspaceId));
     }
 }
@@ -0,0 +1,82 @@
+package com.legion.job;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A long-running background operation, such as deleting a large project.
+ *
+ * <p>Workspace and target are stored as plain ids rather than relations so the
+ * job record outlives the data it operates on.</p>
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "job")
+public class Job {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "workspace_id", nullable = false)
+    private Long workspaceId;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "requested_by_id")
+    private Long requestedById;
+
+    // Progress in rows (or other units of work) handled so far
+    @Column(name = "total_items", nullable = false)
+    private long totalItems;
+
+    @Column(name = "processed_items", nullable = false)
+    private long processedItems;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public Job() {}
+
+    public Job(JobType type, Long workspaceId, Long targetId, Long requestedById) {
+        this.type = type;
+        this.status = JobStatus.PENDING;
+        this.workspaceId = workspaceId;
+        this.targetId = targetId;
+        this.requestedById = requestedById;
+    }
+}
@@ -0,0 +1,34 @@
+package com.legion.job;
+
+import com.legion.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for polling background jobs.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private static final Logger log = LoggerFactory.getLogger(JobController.class);
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * Get a job's status and progress.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Job> getJob(@PathVariable Long id,
+                                      @AuthenticationPrincipal User currentUser) {
+        log.debug("GET /api/jobs/{}", id);
+        return ResponseEntity.ok(jobService.getJob(id, currentUser));
+    }
+}
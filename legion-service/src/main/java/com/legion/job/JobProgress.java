@@ -0,0 +1,14 @@
+package com.legion.job;
+
+/**
+ * Progress handle passed to running job work.
+ * Each call is committed immediately so pollers see it.
+ */
+public interface JobProgress {
+
+    Long jobId();
+
+    void setTotal(long total);
+
+    void advance(long processed);
+}
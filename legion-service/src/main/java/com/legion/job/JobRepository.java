@@ -0,0 +1,70 @@
+package com.legion.job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    // Check for an unfinished job on the same target
+    boolean existsByTypeAndTargetIdAndStatusIn(JobType type, Long targetId, Collection<JobStatus> statuses);
+
+    // Kinds of job unfinished on a project, or on its workspace, in one lookup
+    @Query("SELECT DISTINCT j.type FROM Job j WHERE j.status IN :statuses AND " +
+            "((j.type <> :workspaceType AND j.targetId = :projectId) " +
+            "OR (j.type = :workspaceType AND j.targetId = :workspaceId))")
+    List<JobType> findTypesOnProject(@Param("workspaceId") Long workspaceId,
+                                     @Param("projectId") Long projectId,
+                                     @Param("workspaceType") JobType workspaceType,
+                                     @Param("statuses") Collection<JobStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.updatedAt = :now WHERE j.id = :id")
+    int updateStatus(@Param("id") Long id,
+                     @Param("status") JobStatus status,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.totalItems = :total, j.updatedAt = :now WHERE j.id = :id")
+    int updateTotal(@Param("id") Long id,
+                    @Param("total") long total,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.processedItems = j.processedItems + :delta, j.updatedAt = :now WHERE j.id = :id")
+    int addProcessed(@Param("id") Long id,
+                     @Param("delta") long delta,
+                     @Param("now") LocalDateTime now);
+
+    // Lease renewal of the jobs an instance is running or about to run
+    @Modifying
+    @Query("UPDATE Job j SET j.updatedAt = :now WHERE j.id IN :ids AND j.status IN :statuses")
+    int renew(@Param("ids") Collection<Long> ids,
+              @Param("statuses") Collection<JobStatus> statuses,
+              @Param("now") LocalDateTime now);
+
+    // Unfinished jobs whose lease ran out: the instance running them is gone
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :failed, j.error = :error, j.updatedAt = :now, j.finishedAt = :now " +
+            "WHERE j.status IN :statuses AND j.updatedAt < :expiredBefore")
+    int failExpired(@Param("statuses") Collection<JobStatus> statuses,
+                    @Param("expiredBefore") LocalDateTime expiredBefore,
+                    @Param("failed") JobStatus failed,
+                    @Param("error") String error,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.error = :error, " +
+            "j.updatedAt = :now, j.finishedAt = :now WHERE j.id = :id")
+    int finish(@Param("id") Long id,
+               @Param("status") JobStatus status,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+}
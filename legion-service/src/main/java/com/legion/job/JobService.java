@@ -0,0 +1,229 @@
+package com.legion.job;
+
+import com.legion.common.context.WorkspaceContextHelper;
+import com.legion.common.exception.InvalidOperationException;
+import com.legion.common.exception.ResourceNotFoundException;
+import com.legion.common.shard.ShardContext;
+import com.legion.common.shard.ShardDirectory;
+import com.legion.config.JobConfig;
+import com.legion.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Runs long operations in the background and tracks their progress.
+ *
+ * <p>Job bookkeeping is written in its own transactions so progress is visible
+ * while the work runs. Work submitted inside a transaction starts only after
+ * that transaction commits.</p>
+ *
+ * <p>Unfinished jobs hold a lease on their target, kept in updated_at. The instance
+ * that accepted a job renews it until the job finishes; a job whose lease runs out was
+ * left behind by an instance that stopped, and is marked failed.</p>
+ */
+@Service
+public class JobService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    private static final List<JobStatus> UNFINISHED = List.of(JobStatus.PENDING, JobStatus.RUNNING);
+
+    private final JobRepository jobRepository;
+    private final TaskExecutor jobExecutor;
+    private final TransactionTemplate bookkeeping;
+    private final ShardDirectory shardDirectory;
+    private final JobConfig jobConfig;
+
+    // Unfinished jobs accepted by this instance, by id, with the shard they are recorded on
+    private final Map<Long, String> leases = new ConcurrentHashMap<>();
+
+    public JobService(JobRepository jobRepository,
+                      @Qualifier("jobExecutor") TaskExecutor jobExecutor,
+                      PlatformTransactionManager transactionManager,
+                      ShardDirectory shardDirectory,
+                      JobConfig jobConfig) {
+        this.jobRepository = jobRepository;
+        this.jobExecutor = jobExecutor;
+        this.shardDirectory = shardDirectory;
+        this.jobConfig = jobConfig;
+        this.bookkeeping = new TransactionTemplate(transactionManager);
+        this.bookkeeping.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records a new job and schedules its work on the job executor.
+     *
+     * @throws InvalidOperationException if the same kind of job is already running on the target
+     */
+    public Job submit(JobType type, Long workspaceId, Long targetId, User requestedBy, JobWork work) {
+        log.info("Submitting job type={} targetId={} workspaceId={}", type, targetId, workspaceId);
+
+        Job job = bookkeeping.execute(status -> {
+            if (jobRepository.existsByTypeAndTargetIdAndStatusIn(type, targetId, UNFINISHED)) {
+                log.warn("Job type={} already in progress for targetId={}", type, targetId);
+                throw new InvalidOperationException("This operation is already in progress");
+            }
+            Long requestedById = requestedBy != null ? requestedBy.getId() : null;
+            return jobRepository.save(new Job(type, workspaceId, targetId, requestedById));
+        });
+
+        // The worker inherits the request context, but jobs also start outside requests and under
+        // a shard override, so it is pinned to the shard the job was recorded on
+        String shard = ShardContext.getShard() != null ? ShardContext.getShard() : shardDirectory.shardFor(workspaceId);
+
+        Long jobId = job.getId();
+        leases.put(jobId, shard);
+        Runnable dispatch = () -> jobExecutor.execute(() -> ShardContext.runOn(shard, () -> run(jobId, work)));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        finish(jobId, JobStatus.FAILED, "Cancelled: submitting transaction rolled back");
+                    }
+                }
+            });
+        } else {
+            dispatch.run();
+        }
+
+        return job;
+    }
+
+    /**
+     * Whether a job of the type is still pending or running on the target.
+     */
+    public boolean inProgress(JobType type, Long targetId) {
+        return jobRepository.existsByTypeAndTargetIdAndStatusIn(type, targetId, UNFINISHED);
+    }
+
+    /**
+     * Types of the jobs still pending or running on a project, including a delete of its workspace.
+     */
+    public Set<JobType> inProgressOnProject(Long workspaceId, Long projectId) {
+        List<JobType> types = jobRepository.findTypesOnProject(workspaceId, projectId,
+                JobType.WORKSPACE_DELETE, UNFINISHED);
+        return types.isEmpty() ? Set.of() : EnumSet.copyOf(types);
+    }
+
+    /**
+     * Gets a job visible to the current user: either one they started,
+     * or one belonging to the current workspace.
+     */
+    public Job getJob(Long jobId, User currentUser) {
+        log.debug("Fetching job id={}", jobId);
+
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", jobId));
+
+        if (currentUser == null || !currentUser.getId().equals(job.getRequestedById())) {
+            WorkspaceContextHelper.validateWorkspace(job.getWorkspaceId());
+        }
+        return job;
+    }
+
+    private void run(Long jobId, JobWork work) {
+        log.info("Job id={} started", jobId);
+        bookkeeping.executeWithoutResult(status ->
+                jobRepository.updateStatus(jobId, JobStatus.RUNNING, LocalDateTime.now()));
+
+        try {
+            work.run(new TrackedProgress(jobId));
+            finish(jobId, JobStatus.COMPLETED, null);
+            log.info("Job id={} completed", jobId);
+        } catch (RuntimeException e) {
+            log.error("Job id={} failed", jobId, e);
+            finish(jobId, JobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(Long jobId, JobStatus status, String error) {
+        bookkeeping.executeWithoutResult(tx ->
+                jobRepository.finish(jobId, status, error, LocalDateTime.now()));
+        leases.remove(jobId);
+    }
+
+    /**
+     * Renews the leases of this instance's jobs, then fails unfinished jobs whose lease
+     * ran out. Runs on every shard, first right after startup.
+     */
+    @Scheduled(fixedDelayString = "${legion.jobs.heartbeat-interval-ms:60000}")
+    public void maintainLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiredBefore = now.minus(Duration.ofMillis(jobConfig.getLeaseMs()));
+        Map<String, List<Long>> ownedByShard = leases.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+        for (String shard : shardDirectory.allShards()) {
+            List<Long> owned = ownedByShard.getOrDefault(shard, List.of());
+            try {
+                ShardContext.runOn(shard, () -> bookkeeping.executeWithoutResult(status -> {
+                    if (!owned.isEmpty()) {
+                        jobRepository.renew(owned, UNFINISHED, now);
+                    }
+                    int failed = jobRepository.failExpired(UNFINISHED, expiredBefore, JobStatus.FAILED,
+                            "Abandoned: the instance running it stopped before it finished", now);
+                    if (failed > 0) {
+                        log.warn("Marked {} abandoned jobs as failed on shard={}", failed, shard);
+                    }
+                }));
+            } catch (RuntimeException e) {
+                log.error("Failed to maintain job leases on shard={}", shard, e);
+            }
+        }
+    }
+
+    private final class TrackedProgress implements JobProgress {
+
+        private final Long jobId;
+
+        private TrackedProgress(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        @Override
+        public Long jobId() {
+            return jobId;
+        }
+
+        @Override
+        public void setTotal(long total) {
+            bookkeeping.executeWithoutResult(status ->
+                    jobRepository.updateTotal(jobId, total, LocalDateTime.now()));
+        }
+
+        @Override
+        public void advance(long processed) {
+            if (processed <= 0) {
+                return;
+            }
+            bookkeeping.executeWithoutResult(status ->
+                    jobRepository.addProcessed(jobId, processed, LocalDateTime.now()));
+        }
+    }
+}
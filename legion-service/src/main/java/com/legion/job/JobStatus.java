@@ -0,0 +1,8 @@
+package com.legion.job;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
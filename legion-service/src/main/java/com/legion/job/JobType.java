@@ -0,0 +1,7 @@
+package com.legion.job;
+
+public enum JobType {
+    PROJECT_DELETE,
+    WORKSPACE_DELETE,
+    PROJECT_CLONE
+}
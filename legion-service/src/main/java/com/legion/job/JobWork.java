@@ -0,0 +1,10 @@
+package com.legion.job;
+
+/**
+ * The body of a background job.
+ */
+@FunctionalInterface
+public interface JobWork {
+
+    void run(JobProgress progress);
+}
@@ -0,0 +1,173 @@
+package com.legion.project;
+
+import com.legion.common.context.RequestContext;
+import com.legion.sprint.SprintRepository;
+import com.legion.task.Task;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Change counters behind the ETags of the collection endpoints.
+ *
+ * <p>A sprint's counter covers the sprint's task list, a project's backlog counter the
+ * tasks in no sprint, and the project's own counter its list of sprints. A project's
+ * task and sprint lists are tagged with all three: its own counter, its backlog's and
+ * the sum of its sprints'. Every write that changes what those lists return bumps the
+ * counters in its own transaction, so a client's ETag matches exactly when the list it
+ * holds is still current, on every instance.</p>
+ *
+ * <p>Counters only grow, and a sprint only leaves a project with a bump of the project's
+ * own counter, so a project's ETag never comes back to an earlier value. Task writes
+ * only bump the sprint or backlog holding the task, so writers in different sprints of
+ * one project do not queue on the project row.</p>
+ *
+ * <p>Bump before writing any task rows. Every writer then locks the counters first, the
+ * backlogs before the sprints and each in id order, and concurrent writers queue there
+ * instead of deadlocking. The backlog row doubles as the project's task number lock:
+ * everything that hands out new numbers in a project bumps it before reading the
+ * highest number.</p>
+ */
+@Component
+public class ContentVersions {
+
+    private final ProjectRepository projectRepository;
+    private final SprintRepository sprintRepository;
+
+    public ContentVersions(ProjectRepository projectRepository, SprintRepository sprintRepository) {
+        this.projectRepository = projectRepository;
+        this.sprintRepository = sprintRepository;
+    }
+
+    /**
+     * The project's sprint list is about to gain or lose sprints, or tasks land anywhere in it.
+     */
+    public void projectChanged(Long projectId) {
+        projectRepository.bumpContentVersions(List.of(projectId));
+    }
+
+    /**
+     * The project itself changed. Its tasks and sprints embed it, so every list goes stale.
+     */
+    public void projectDetailsChanged(Long projectId) {
+        projectRepository.bumpContentVersions(List.of(projectId));
+        sprintRepository.bumpContentVersionsByProjectId(projectId);
+    }
+
+    /**
+     * Tasks in the project's backlog are about to change, or tasks are joining it.
+     */
+    public void backlogChanged(Long projectId) {
+        projectRepository.bumpBacklogVersions(List.of(projectId));
+    }
+
+    /**
+     * Tasks of a project are moving in or out of the given sprints, or the sprints
+     * themselves change. Null ids stand for the backlog.
+     */
+    public void sprintsChanged(Long projectId, Long... sprintIds) {
+        if (Arrays.stream(sprintIds).anyMatch(Objects::isNull)) {
+            backlogChanged(projectId);
+        }
+
+        List<Long> ids = Arrays.stream(sprintIds).filter(Objects::nonNull).distinct().toList();
+        if (!ids.isEmpty()) {
+            sprintRepository.bumpContentVersions(ids);
+        }
+    }
+
+    /**
+     * The task is about to change in place.
+     */
+    public void taskChanged(Task task) {
+        sprintsChanged(task.getProject().getId(), task.getSprint() != null ? task.getSprint().getId() : null);
+    }
+
+    /**
+     * The given tasks are about to change; bumps whichever backlogs and sprints hold them now.
+     */
+    public void tasksChanged(Long workspaceId, Collection<Long> taskIds) {
+        projectRepository.bumpBacklogVersionsOfTasks(workspaceId, taskIds);
+        sprintRepository.bumpContentVersionsOfTasks(workspaceId, taskIds);
+    }
+
+    /**
+     * ETag of a project's task and sprint lists in the current workspace. Reading it
+     * takes no locks.
+     *
+     * @return empty if the project is not in the current workspace
+     */
+    public Optional<String> projectEtag(Long projectId) {
+        Long workspaceId = RequestContext.currentWorkspaceId();
+        if (workspaceId == null) {
+            return Optional.empty();
+        }
+        return projectRepository.findContentVersions(projectId, workspaceId)
+                .map(versions -> etag("project", projectId, versions));
+    }
+
+    /**
+     * ETag of a sprint's task list in the current workspace.
+     *
+     * @return empty if the sprint is not in the current workspace
+     */
+    public Optional<String> sprintEtag(Long sprintId) {
+        Long workspaceId = RequestContext.currentWorkspaceId();
+        if (workspaceId == null) {
+            return Optional.empty();
+        }
+        return sprintRepository.findContentVersion(sprintId, workspaceId)
+                .map(version -> etag("sprint", sprintId, version));
+    }
+
+    /**
+     * Answers a conditional GET. If the client's If-None-Match still matches, responds
+     * 304 without calling {@code response}; otherwise returns its response with the ETag set.
+     *
+     * <p>Look the ETag up before loading the body: a write landing in between then
+     * costs the client one extra refetch rather than a stale 304 later.</p>
+     *
+     * <p>The same list can be sent as JSON, columnar JSON, CBOR or Smile. Clients asking
+     * for anything but plain JSON get the Accept header folded into the ETag, so each
+     * representation has its own.</p>
+     */
+    public static <T> ResponseEntity<T> conditionalGet(WebRequest request, Optional<String> etag,
+                                                       Supplier<ResponseEntity<T>> response) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse servletResponse = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (servletResponse != null) {
+                servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        etag = etag.map(value -> forRepresentation(value, accept));
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            // Status and ETag header are already on the response
+            return null;
+        }
+        // checkNotModified has set the ETag header when there is one
+        return response.get();
+    }
+
+    private static String etag(String kind, Long id, Object version) {
+        return "\"" + kind + "-" + id + "-" + version + "\"";
+    }
+
+    private static String forRepresentation(String etag, String accept) {
+        if (accept == null || accept.isBlank() || accept.equals("*/*") || accept.equals("application/json")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + Integer.toHexString(accept.hashCode()) + "\"";
+    }
+}
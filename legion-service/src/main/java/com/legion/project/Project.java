@@ -16,11 +16,7 @@ import java.util.List;
 @Getter
 @Entity
 @Table(name = "project",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"workspace_id", "key"}),
-        indexes = {
-                @Index(name = "idx_project_workspace", columnList = "workspace_id"),
-                @Index(name = "idx_project_key", columnList = "key")
-        })
+        uniqueConstraints = @UniqueConstraint(columnNames = {"workspace_id", "key"}))
 public class Project {
 
     // Getters and Setters
@@ -41,17 +37,23 @@ public class Project {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // No cascade: deleting a project goes through ProjectPurger's bulk statements
     @JsonIgnore
-    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "project")
     private List<Task> tasks = new ArrayList<>();
 
     @JsonIgnore
-    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "project")
     private List<Sprint> sprints = new ArrayList<>();
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Bumped by ContentVersions with bulk updates only, never written through the entity
+    @JsonIgnore
+    @Column(name = "content_version", nullable = false, insertable = false, updatable = false)
+    private long contentVersion;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,106 @@
+package com.legion.project;
+
+import com.legion.config.JobConfig;
+import com.legion.job.JobProgress;
+import com.legion.sprint.SprintRepository;
+import com.legion.sprint.SprintStatus;
+import com.legion.task.TaskRepository;
+import com.legion.task.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Copies sprints and tasks between projects inside Postgres with INSERT ... SELECT.
+ *
+ * <p>Sprints are copied in one statement and remember their source sprint, which
+ * lets task copies remap sprint ids with a join. Tasks are copied in ranges of
+ * task numbers, so numbering is preserved and large projects can be copied in
+ * several short transactions.</p>
+ */
+@Component
+public class ProjectCloner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectCloner.class);
+
+    private final SprintRepository sprintRepository;
+    private final TaskRepository taskRepository;
+    private final ContentVersions contentVersions;
+    private final JobConfig jobConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectCloner(SprintRepository sprintRepository,
+                         TaskRepository taskRepository,
+                         ContentVersions contentVersions,
+                         JobConfig jobConfig,
+                         TransactionTemplate transactionTemplate) {
+        this.sprintRepository = sprintRepository;
+        this.taskRepository = taskRepository;
+        this.contentVersions = contentVersions;
+        this.jobConfig = jobConfig;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public int copySprints(Long sourceId, Long targetId, boolean copyStatuses) {
+        contentVersions.projectChanged(targetId);
+        int copied = sprintRepository.copySprints(sourceId, targetId, copyStatuses, SprintStatus.PLANNING.name());
+        log.info("Copied {} sprints from projectId={} to projectId={}", copied, sourceId, targetId);
+        return copied;
+    }
+
+    /**
+     * Copies all tasks in the caller's transaction.
+     */
+    public int copyTasks(Long workspaceId, Long sourceId, Long targetId, CloneOptions options, Long reporterId) {
+        int maxNumber = taskRepository.findMaxTaskNumber(workspaceId, sourceId);
+        int copied = copyRange(workspaceId, sourceId, targetId, 0, maxNumber, options, reporterId);
+        log.info("Copied {} tasks from projectId={} to projectId={}", copied, sourceId, targetId);
+        return copied;
+    }
+
+    /**
+     * Copies all tasks in chunks, one transaction per chunk, reporting progress.
+     */
+    public void copyTasks(Long workspaceId, Long sourceId, Long targetId, CloneOptions options, Long reporterId,
+                          JobProgress progress) {
+        progress.setTotal(taskRepository.countByWorkspaceIdAndProjectId(workspaceId, sourceId));
+
+        int maxNumber = taskRepository.findMaxTaskNumber(workspaceId, sourceId);
+        int chunkSize = jobConfig.getCloneChunkSize();
+
+        for (int after = 0; after < maxNumber; after += chunkSize) {
+            int from = after;
+            int upTo = Math.min(after + chunkSize, maxNumber);
+            int copied = transactionTemplate.execute(status ->
+                    copyRange(workspaceId, sourceId, targetId, from, upTo, options, reporterId));
+            progress.advance(copied);
+        }
+
+        log.info("Copied tasks from projectId={} to projectId={} in chunks of {}", sourceId, targetId, chunkSize);
+    }
+
+    private int copyRange(Long workspaceId, Long sourceId, Long targetId, int afterNumber, int upToNumber,
+                          CloneOptions options, Long reporterId) {
+        // Background chunks land in a project that is already visible
+        contentVersions.projectChanged(targetId);
+        return taskRepository.copyTaskRange(
+                workspaceId,
+                sourceId,
+                targetId,
+                afterNumber,
+                upToNumber,
+                options.copyStatuses(),
+                TaskStatus.BACKLOG.name(),
+                options.copyAssignees(),
+                reporterId
+        );
+    }
+
+    /**
+     * What to carry over from the source project.
+     */
+    public record CloneOptions(boolean includeSprints, boolean includeTasks,
+                               boolean copyAssignees, boolean copyStatuses) {
+    }
+}
@@ -1,10 +1,16 @@
 package com.legion.project;
 
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
+import com.legion.job.Job;
+import com.legion.user.User;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import lombok.Getter;
@@ -19,9 +25,11 @@ public class ProjectController {
     private static final Logger log = LoggerFactory.getLogger(ProjectController.class);
 
     private final ProjectService projectService;
+    private final ResponseCache responseCache;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ResponseCache responseCache) {
         this.projectService = projectService;
+        this.responseCache = responseCache;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -60,19 +68,75 @@ public class ProjectController {
     }
 
     @GetMapping("/workspace/{workspaceId}")
-    public ResponseEntity<List<Project>> getProjectsByWorkspace(@PathVariable Long workspaceId) {
+    public ResponseEntity<byte[]> getProjectsByWorkspace(@PathVariable Long workspaceId,
+                                                         HttpServletRequest request) {
 
         log.debug("Fetching projects for workspaceId={}", workspaceId);
 
-        List<Project> projects = projectService.getProjectsInCurrentWorkspace();
+        return responseCache.get(request, "projects.by_workspace", CacheScope.PROJECTS, () -> {
+            List<Project> projects = projectService.getProjectsInCurrentWorkspace();
+
+            log.info(
+                    "Fetched {} projects for workspaceId={}",
+                    projects.size(),
+                    workspaceId
+            );
+
+            return projects;
+        });
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<CloneProjectResponse> cloneProject(@PathVariable Long id,
+                                                             @RequestBody CloneProjectRequest request,
+                                                             @AuthenticationPrincipal User currentUser) {
+
+        log.info(
+                "Project clone attempt sourceId={} key={}",
+                id,
+                request.getKey()
+        );
+
+        ProjectService.CloneResult result = projectService.cloneProject(
+                id,
+                request.getName(),
+                request.getKey(),
+                request.getDescription(),
+                new ProjectCloner.CloneOptions(
+                        request.isIncludeSprints(),
+                        request.isIncludeTasks(),
+                        request.isCopyAssignees(),
+                        request.isCopyStatuses()
+                ),
+                currentUser
+        );
 
         log.info(
-                "Fetched {} projects for workspaceId={}",
-                projects.size(),
-                workspaceId
+                "Project cloned sourceId={} newId={} background={}",
+                id,
+                result.project().getId(),
+                result.job() != null
         );
 
-        return ResponseEntity.ok(projects);
+        CloneProjectResponse response = new CloneProjectResponse(result.project(), result.job());
+        HttpStatus status = result.job() != null ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+
+        return new ResponseEntity<>(response, status);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Job> deleteProject(@PathVariable Long id,
+                                             @AuthenticationPrincipal User currentUser) {
+
+        log.info("Project deletion requested id={}", id);
+
+        Job job = projectService.deleteProject(id, currentUser);
+
+        log.info("Project deletion job id={} queued for projectId={}", job.getId(), id);
+
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
     }
 
     @Setter
@@ -83,4 +147,28 @@ public class ProjectController {
         private String key;
         private String description;
     }
+
+    @Setter
+    @Getter
+    public static class CloneProjectRequest {
+        private String name;
+        private String key;
+        private String description;
+        private boolean includeSprints = true;
+        private boolean includeTasks = true;
+        private boolean copyAssignees = false;
+        private boolean copyStatuses = false;
+    }
+
+    @Getter
+    public static class CloneProjectResponse {
+        private Project project;
+        // Set while tasks are still being copied in the background
+        private Job job;
+
+        public CloneProjectResponse(Project project, Job job) {
+            this.project = project;
+            this.job = job;
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.legion.project;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.legion.config.TaskConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Workspace-scoped cache of project key to project id, so resolving a task key such
+ * as LEG-42 costs only the task lookup.
+ *
+ * <p>Only keys that exist are cached, up to {@code legion.task.project-key-cache-max-entries}
+ * with Caffeine's size-based eviction. Entries expire after
+ * {@code legion.task.project-key-cache-ttl-ms}, and this instance evicts a workspace
+ * as soon as one of its projects is purged; other instances catch up when their
+ * entries expire. A key only points at a different project after the
+ * old one is deleted and a new one takes its key.</p>
+ */
+@Component
+public class ProjectKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectKeyCache.class);
+
+    private final ProjectRepository projectRepository;
+    private final Cache<Key, Long> cache;
+
+    public ProjectKeyCache(ProjectRepository projectRepository, TaskConfig taskConfig, MeterRegistry meterRegistry) {
+        this.projectRepository = projectRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(taskConfig.getProjectKeyCacheMaxEntries())
+                .expireAfterWrite(Duration.ofMillis(taskConfig.getProjectKeyCacheTtlMs()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "project_keys");
+    }
+
+    public Optional<Long> resolve(Long workspaceId, String key) {
+        return Optional.ofNullable(resolveAll(workspaceId, List.of(key)).get(key));
+    }
+
+    /**
+     * Ids of the given project keys in a workspace, loading all misses with one query.
+     * Keys without a project are left out.
+     */
+    public Map<String, Long> resolveAll(Long workspaceId, Collection<String> keys) {
+        Set<Key> wanted = keys.stream().map(key -> new Key(workspaceId, key)).collect(Collectors.toSet());
+
+        Map<String, Long> resolved = new HashMap<>();
+        cache.getAll(wanted, misses -> load(workspaceId, misses))
+                .forEach((key, projectId) -> resolved.put(key.projectKey(), projectId));
+        return resolved;
+    }
+
+    public void evictWorkspace(Long workspaceId) {
+        cache.asMap().keySet().removeIf(key -> key.workspaceId().equals(workspaceId));
+    }
+
+    private Map<Key, Long> load(Long workspaceId, Set<? extends Key> misses) {
+        List<String> projectKeys = misses.stream().map(Key::projectKey).toList();
+
+        Map<Key, Long> loaded = new HashMap<>();
+        for (ProjectKeyRef ref : projectRepository.findKeyRefs(workspaceId, projectKeys)) {
+            loaded.put(new Key(workspaceId, ref.key()), ref.id());
+        }
+        log.debug("Loaded project keys workspaceId={} requested={} found={}",
+                workspaceId, projectKeys.size(), loaded.size());
+        return loaded;
+    }
+
+    private record Key(Long workspaceId, String projectKey) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.legion.project;
+
+/**
+ * A project's key and id, used to resolve task keys such as LEG-42.
+ */
+public record ProjectKeyRef(String key, Long id) {
+}
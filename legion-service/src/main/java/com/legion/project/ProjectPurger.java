@@ -0,0 +1,97 @@
+package com.legion.project;
+
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
+import com.legion.config.JobConfig;
+import com.legion.job.JobProgress;
+import com.legion.sprint.SprintCompletionRepository;
+import com.legion.sprint.SprintRepository;
+import com.legion.task.TaskKeyRedirectRepository;
+import com.legion.task.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Deletes a project and everything in it with set-based statements.
+ *
+ * <p>Tasks go first in fixed-size chunks, each in its own transaction, so a
+ * huge project never holds long locks or loads rows into memory. Sprint
+ * completion snapshots, sprints and the project row follow in one final transaction.</p>
+ *
+ * <p>While the job runs, {@link ProjectWriteGuard} turns away writes that add rows. The
+ * final transaction locks the project row first, then deletes whatever tasks were
+ * created before the guard saw the job.</p>
+ */
+@Component
+public class ProjectPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectPurger.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskKeyRedirectRepository taskKeyRedirectRepository;
+    private final SprintRepository sprintRepository;
+    private final SprintCompletionRepository sprintCompletionRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectKeyCache projectKeyCache;
+    private final ResponseCache responseCache;
+    private final JobConfig jobConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectPurger(TaskRepository taskRepository,
+                         TaskKeyRedirectRepository taskKeyRedirectRepository,
+                         SprintRepository sprintRepository,
+                         SprintCompletionRepository sprintCompletionRepository,
+                         ProjectRepository projectRepository,
+                         ProjectKeyCache projectKeyCache,
+                         ResponseCache responseCache,
+                         JobConfig jobConfig,
+                         TransactionTemplate transactionTemplate) {
+        this.taskRepository = taskRepository;
+        this.taskKeyRedirectRepository = taskKeyRedirectRepository;
+        this.sprintRepository = sprintRepository;
+        this.sprintCompletionRepository = sprintCompletionRepository;
+        this.projectRepository = projectRepository;
+        this.projectKeyCache = projectKeyCache;
+        this.responseCache = responseCache;
+        this.jobConfig = jobConfig;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void purge(Long workspaceId, Long projectId, JobProgress progress) {
+        long taskCount = taskRepository.countByWorkspaceIdAndProjectId(workspaceId, projectId);
+        long sprintCount = sprintRepository.countByProjectId(projectId);
+        progress.setTotal(taskCount + sprintCount + 1);
+
+        log.info("Purging projectId={} tasks={} sprints={}", projectId, taskCount, sprintCount);
+
+        int chunkSize = jobConfig.getDeleteChunkSize();
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    taskRepository.deleteChunkByProjectId(workspaceId, projectId, chunkSize));
+            progress.advance(deleted);
+        } while (deleted > 0);
+
+        int removed = transactionTemplate.execute(status -> {
+            projectRepository.lockById(projectId);
+            int late = taskRepository.deleteAllByProjectId(workspaceId, projectId);
+            if (late > 0) {
+                log.info("Removed {} tasks created in projectId={} during its purge", late, projectId);
+            }
+            taskKeyRedirectRepository.bulkDeleteByOldProjectId(projectId);
+            sprintCompletionRepository.bulkDeleteByProjectId(projectId);
+            int sprints = sprintRepository.bulkDeleteByProjectId(projectId);
+            projectRepository.deleteAllByIdInBatch(List.of(projectId));
+            return sprints + 1;
+        });
+        progress.advance(removed);
+        projectKeyCache.evictWorkspace(workspaceId);
+        responseCache.invalidate(workspaceId, CacheScope.PROJECTS, CacheScope.SPRINTS);
+
+        log.info("Purged projectId={}", projectId);
+    }
+}
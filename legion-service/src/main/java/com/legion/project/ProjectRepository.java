@@ -1,7 +1,11 @@
 package com.legion.project;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +17,50 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Optional<Project> findByWorkspaceIdAndKey(Long workspaceId, String key);
 
     boolean existsByWorkspaceIdAndKey(Long workspaceId, String key);
+
+    @Query("SELECT new com.legion.project.ProjectKeyRef(p.key, p.id) FROM Project p " +
+            "WHERE p.workspace.id = :workspaceId AND p.key IN :keys")
+    List<ProjectKeyRef> findKeyRefs(@Param("workspaceId") Long workspaceId, @Param("keys") Collection<String> keys);
+
+    // Change counters behind the ETag of a project's task and sprint lists, see ContentVersions:
+    // the project's own, its backlog's and the sum of its sprints', as "project.backlog.sprints"
+    @Query(value = "SELECT p.content_version || '.' || COALESCE(b.content_version, 0) || '.' || " +
+            "(SELECT COALESCE(SUM(s.content_version), 0) FROM sprint s WHERE s.project_id = p.id) " +
+            "FROM project p LEFT JOIN project_backlog b ON b.project_id = p.id " +
+            "WHERE p.id = :id AND p.workspace_id = :workspaceId", nativeQuery = true)
+    Optional<String> findContentVersions(@Param("id") Long id, @Param("workspaceId") Long workspaceId);
+
+    @Modifying
+    @Query("UPDATE Project p SET p.contentVersion = p.contentVersion + 1 WHERE p.id IN :ids")
+    int bumpContentVersions(@Param("ids") Collection<Long> ids);
+
+    // Rows are locked in project id order, so concurrent writers cannot deadlock on them
+    @Modifying
+    @Query(value = "INSERT INTO project_backlog (project_id, content_version) " +
+            "SELECT p.id, 1 FROM project p WHERE p.id IN (:ids) ORDER BY p.id " +
+            "ON CONFLICT (project_id) DO UPDATE SET content_version = project_backlog.content_version + 1",
+            nativeQuery = true)
+    int bumpBacklogVersions(@Param("ids") Collection<Long> ids);
+
+    // Bump the backlogs currently holding any of the given tasks
+    @Modifying
+    @Query(value = "INSERT INTO project_backlog (project_id, content_version) " +
+            "SELECT DISTINCT t.project_id, 1 FROM task t " +
+            "WHERE t.workspace_id = :workspaceId AND t.id IN (:taskIds) AND t.sprint_id IS NULL " +
+            "ORDER BY t.project_id " +
+            "ON CONFLICT (project_id) DO UPDATE SET content_version = project_backlog.content_version + 1",
+            nativeQuery = true)
+    int bumpBacklogVersionsOfTasks(@Param("workspaceId") Long workspaceId, @Param("taskIds") Collection<Long> taskIds);
+
+    // Final step of a purge: waits for in-flight inserts that reference the rows, blocks new ones
+    @Query(value = "SELECT id FROM project WHERE id = :id FOR UPDATE", nativeQuery = true)
+    List<Long> lockById(@Param("id") Long id);
+
+    @Query(value = "SELECT id FROM project WHERE workspace_id = :workspaceId ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+    @Modifying
+    @Query("DELETE FROM Project p WHERE p.workspace.id = :workspaceId")
+    int bulkDeleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
 }
\ No newline at end of file
@@ -1,8 +1,16 @@
 package com.legion.project;
 
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
 import com.legion.common.context.WorkspaceContextHelper;
 import com.legion.common.exception.DuplicateResourceException;
 import com.legion.common.exception.ResourceNotFoundException;
+import com.legion.config.JobConfig;
+import com.legion.job.Job;
+import com.legion.job.JobService;
+import com.legion.job.JobType;
+import com.legion.task.TaskRepository;
+import com.legion.user.User;
 import com.legion.workspace.Workspace;
 import com.legion.workspace.WorkspaceRepository;
 import org.slf4j.Logger;
@@ -19,11 +27,35 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final WorkspaceRepository workspaceRepository;
+    private final JobService jobService;
+    private final ProjectPurger projectPurger;
+    private final ProjectCloner projectCloner;
+    private final ProjectWriteGuard projectWriteGuard;
+    private final ContentVersions contentVersions;
+    private final ResponseCache responseCache;
+    private final TaskRepository taskRepository;
+    private final JobConfig jobConfig;
 
     public ProjectService(ProjectRepository projectRepository,
-                          WorkspaceRepository workspaceRepository) {
+                          WorkspaceRepository workspaceRepository,
+                          JobService jobService,
+                          ProjectPurger projectPurger,
+                          ProjectCloner projectCloner,
+                          ProjectWriteGuard projectWriteGuard,
+                          ContentVersions contentVersions,
+                          ResponseCache responseCache,
+                          TaskRepository taskRepository,
+                          JobConfig jobConfig) {
         this.projectRepository = projectRepository;
         this.workspaceRepository = workspaceRepository;
+        this.jobService = jobService;
+        this.projectPurger = projectPurger;
+        this.projectCloner = projectCloner;
+        this.projectWriteGuard = projectWriteGuard;
+        this.contentVersions = contentVersions;
+        this.responseCache = responseCache;
+        this.taskRepository = taskRepository;
+        this.jobConfig = jobConfig;
     }
 
     @Transactional
@@ -40,6 +72,7 @@ public class ProjectService {
 
         Workspace workspace = workspaceRepository.findById(workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Workspace", workspaceId));
+        projectWriteGuard.requireWorkspaceWritable(workspaceId);
 
         if (projectRepository.existsByWorkspaceIdAndKey(workspaceId, key)) {
             log.warn(
@@ -54,6 +87,7 @@ public class ProjectService {
         project.setWorkspace(workspace);
 
         Project saved = projectRepository.save(project);
+        responseCache.invalidateAfterCommit(workspaceId, CacheScope.PROJECTS);
 
         log.info(
                 "Project created id={} key={} workspaceId={}",
@@ -77,6 +111,7 @@ public class ProjectService {
         return project;
     }
 
+    @Transactional(readOnly = true)
     public List<Project> getProjectsInCurrentWorkspace() {
 
         Long workspaceId = WorkspaceContextHelper.requireWorkspaceId();
@@ -92,6 +127,9 @@ public class ProjectService {
         log.info("Updating project id={}", projectId);
 
         Project project = getProjectById(projectId);
+        contentVersions.projectDetailsChanged(projectId);
+        // Sprints embed their project
+        responseCache.invalidateAfterCommit(project.getWorkspace().getId(), CacheScope.PROJECTS, CacheScope.SPRINTS);
 
         if (name != null) {
             project.setName(name);
@@ -103,12 +141,81 @@ public class ProjectService {
         return projectRepository.save(project);
     }
 
+    /**
+     * Clones a project, its sprints and tasks with server-side INSERT ... SELECT.
+     *
+     * <p>The new project and its sprints are created right away. Tasks are copied in
+     * the same transaction, unless the source has more tasks than the configured
+     * threshold, in which case a background job copies them.</p>
+     */
     @Transactional
-    public void deleteProject(Long projectId) {
+    public CloneResult cloneProject(Long sourceId, String name, String key, String description,
+                                    ProjectCloner.CloneOptions options, User requestedBy) {
+
+        log.info(
+                "Cloning project id={} into key={} options={}",
+                sourceId,
+                key,
+                options
+        );
+
+        getProjectById(sourceId);
+
+        Project created = createProject(name, key, description);
+        Long targetId = created.getId();
+        Long workspaceId = created.getWorkspace().getId();
+
+        if (options.includeSprints()) {
+            projectCloner.copySprints(sourceId, targetId, options.copyStatuses());
+            responseCache.invalidateAfterCommit(workspaceId, CacheScope.SPRINTS);
+        }
+
+        if (!options.includeTasks()) {
+            return new CloneResult(created, null);
+        }
+
+        long taskCount = taskRepository.countByWorkspaceIdAndProjectId(workspaceId, sourceId);
+        if (taskCount <= jobConfig.getCloneAsyncThreshold()) {
+            projectCloner.copyTasks(workspaceId, sourceId, targetId, options, requestedBy.getId());
+            return new CloneResult(created, null);
+        }
+
+        log.info("Project id={} has {} tasks, copying in background", sourceId, taskCount);
+
+        Job job = jobService.submit(
+                JobType.PROJECT_CLONE,
+                workspaceId,
+                targetId,
+                requestedBy,
+                progress -> projectCloner.copyTasks(workspaceId, sourceId, targetId, options,
+                        requestedBy.getId(), progress)
+        );
+        return new CloneResult(created, job);
+    }
+
+    /**
+     * Deletes a project with all its sprints and tasks as a background job.
+     * Children are removed with bulk statements and never loaded.
+     */
+    public Job deleteProject(Long projectId, User requestedBy) {
 
         log.info("Deleting project id={}", projectId);
 
         Project project = getProjectById(projectId);
-        projectRepository.delete(project);
+        Long workspaceId = project.getWorkspace().getId();
+
+        return jobService.submit(
+                JobType.PROJECT_DELETE,
+                workspaceId,
+                projectId,
+                requestedBy,
+                progress -> projectPurger.purge(workspaceId, projectId, progress)
+        );
+    }
+
+    /**
+     * Outcome of a clone: the new project, and the job still copying tasks if any.
+     */
+    public record CloneResult(Project project, Job job) {
     }
 }
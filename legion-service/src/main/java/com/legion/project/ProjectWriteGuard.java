@@ -0,0 +1,65 @@
+package com.legion.project;
+
+import com.legion.common.exception.InvalidOperationException;
+import com.legion.job.JobService;
+import com.legion.job.JobType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Rejects writes that add rows to a project or workspace while a background job works on it.
+ *
+ * <p>An unfinished purge job marks its project or workspace as being deleted; the job row
+ * is committed before the purge starts. A write that passed the check just before that
+ * is removed by the purge's final transaction, which locks the parent rows first.</p>
+ */
+@Component
+public class ProjectWriteGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectWriteGuard.class);
+
+    private final JobService jobService;
+
+    public ProjectWriteGuard(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    public void requireWorkspaceWritable(Long workspaceId) {
+        if (jobService.inProgress(JobType.WORKSPACE_DELETE, workspaceId)) {
+            log.warn("Rejected write to workspaceId={} while it is being deleted", workspaceId);
+            throw new InvalidOperationException("This workspace is being deleted");
+        }
+    }
+
+    public void requireProjectWritable(Long workspaceId, Long projectId) {
+        requireNoJobs(workspaceId, projectId, jobService.inProgressOnProject(workspaceId, projectId));
+    }
+
+    /**
+     * Like {@link #requireProjectWritable}, and also waits out a background clone, which copies
+     * tasks into the project with their source numbers.
+     */
+    public void requireTaskNumbersAvailable(Long workspaceId, Long projectId) {
+        Set<JobType> jobs = jobService.inProgressOnProject(workspaceId, projectId);
+        requireNoJobs(workspaceId, projectId, jobs);
+
+        if (jobs.contains(JobType.PROJECT_CLONE)) {
+            log.warn("Rejected task write to projectId={} while it is being cloned", projectId);
+            throw new InvalidOperationException("This project is still being cloned. Try again when the clone finishes.");
+        }
+    }
+
+    private static void requireNoJobs(Long workspaceId, Long projectId, Set<JobType> jobs) {
+        if (jobs.contains(JobType.WORKSPACE_DELETE)) {
+            log.warn("Rejected write to projectId={} while workspaceId={} is being deleted", projectId, workspaceId);
+            throw new InvalidOperationException("This workspace is being deleted");
+        }
+        if (jobs.contains(JobType.PROJECT_DELETE)) {
+            log.warn("Rejected write to projectId={} while it is being deleted", projectId);
+            throw new InvalidOperationException("This project is being deleted");
+        }
+    }
+}
@@ -14,10 +14,7 @@ import java.util.List;
 @Setter
 @Getter
 @Entity
-@Table(name = "sprint", indexes = {
-        @Index(name = "idx_sprint_project", columnList = "project_id"),
-        @Index(name = "idx_sprint_status", columnList = "status")
-})
+@Table(name = "sprint")
 public class Sprint {
 
     // Getters and Setters
@@ -42,10 +39,20 @@ public class Sprint {
     @Column(nullable = false, length = 20)
     private SprintStatus status;
 
+    // Sprint this one was copied from when its project was cloned; used to remap tasks
+    @JsonIgnore
+    @Column(name = "cloned_from_id")
+    private Long clonedFromId;
+
     @JsonIgnore
     @OneToMany(mappedBy = "sprint")
     private List<Task> tasks = new ArrayList<>();
 
+    // Bumped by ContentVersions with bulk updates only, never written through the entity
+    @JsonIgnore
+    @Column(name = "content_version", nullable = false, insertable = false, updatable = false)
+    private long contentVersion;
+
     // Constructors
     public Sprint() {}
 
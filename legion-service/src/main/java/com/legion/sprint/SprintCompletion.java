@@ -0,0 +1,66 @@
+package com.legion.sprint;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot recorded when a sprint is completed.
+ *
+ * <p>Counts are captured at completion time, before unfinished tasks are carried
+ * over, so the sprint's outcome stays visible after its tasks move on. The target
+ * sprint is kept as a plain id so deleting it later does not rewrite history.</p>
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "sprint_completion")
+public class SprintCompletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sprint_id", nullable = false)
+    private Sprint sprint;
+
+    // Null when unfinished tasks went back to the backlog
+    @Column(name = "target_sprint_id")
+    private Long targetSprintId;
+
+    @Column(name = "total_tasks", nullable = false)
+    private long totalTasks;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private long completedTasks;
+
+    @Column(name = "carried_over_tasks", nullable = false)
+    private long carriedOverTasks;
+
+    @Column(name = "completed_by_id")
+    private Long completedById;
+
+    @Column(name = "completed_at", nullable = false, updatable = false)
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        completedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public SprintCompletion() {}
+
+    public SprintCompletion(Sprint sprint, Long targetSprintId, long totalTasks,
+                            long completedTasks, long carriedOverTasks, Long completedById) {
+        this.sprint = sprint;
+        this.targetSprintId = targetSprintId;
+        this.totalTasks = totalTasks;
+        this.completedTasks = completedTasks;
+        this.carriedOverTasks = carriedOverTasks;
+        this.completedById = completedById;
+    }
+}
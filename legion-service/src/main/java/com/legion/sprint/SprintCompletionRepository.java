@@ -0,0 +1,25 @@
+package com.legion.sprint;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SprintCompletionRepository extends JpaRepository<SprintCompletion, Long> {
+
+    @Modifying
+    @Query("DELETE FROM SprintCompletion c WHERE c.sprint.id = :sprintId")
+    int bulkDeleteBySprintId(@Param("sprintId") Long sprintId);
+
+    @Modifying
+    @Query("DELETE FROM SprintCompletion c WHERE c.sprint.id IN " +
+            "(SELECT s.id FROM Sprint s WHERE s.project.id = :projectId)")
+    int bulkDeleteByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM SprintCompletion c WHERE c.sprint.id IN " +
+            "(SELECT s.id FROM Sprint s WHERE s.project.workspace.id = :workspaceId)")
+    int bulkDeleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
+}
@@ -1,17 +1,25 @@
 package com.legion.sprint;
 
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
+import com.legion.project.ContentVersions;
+import com.legion.user.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/sprints")
@@ -20,9 +28,15 @@ public class SprintController {
     private static final Logger log = LoggerFactory.getLogger(SprintController.class);
 
     private final SprintService sprintService;
+    private final ContentVersions contentVersions;
+    private final ResponseCache responseCache;
 
-    public SprintController(SprintService sprintService) {
+    public SprintController(SprintService sprintService,
+                            ContentVersions contentVersions,
+                            ResponseCache responseCache) {
         this.sprintService = sprintService;
+        this.contentVersions = contentVersions;
+        this.responseCache = responseCache;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -50,11 +64,13 @@ public class SprintController {
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Sprint>> getSprintsByProject(@PathVariable Long projectId) {
+    public ResponseEntity<byte[]> getSprintsByProject(@PathVariable Long projectId, ServletWebRequest request) {
         log.debug("Fetching sprints for projectId={}", projectId);
 
-        List<Sprint> sprints = sprintService.getSprintsByProject(projectId);
-        return ResponseEntity.ok(sprints);
+        Optional<String> etag = contentVersions.projectEtag(projectId);
+        return ContentVersions.conditionalGet(request, etag,
+                () -> responseCache.get(request.getRequest(), "sprints.by_project", CacheScope.SPRINTS,
+                        etag.orElse(null), () -> sprintService.getSprintsByProject(projectId)));
     }
 
     @PatchMapping("/{id}/status")
@@ -68,6 +84,36 @@ public class SprintController {
         return ResponseEntity.ok(sprint);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<CompleteSprintResponse> completeSprint(
+            @PathVariable Long id,
+            @RequestBody CompleteSprintRequest request,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Completing sprint: sprintId={}, targetSprintId={}", id, request.getTargetSprintId());
+
+        SprintCompletion completion = sprintService.completeSprint(
+                id,
+                request.getTargetSprintId(),
+                request.getNewSprintName(),
+                request.getNewSprintStartDate(),
+                request.getNewSprintEndDate(),
+                currentUser
+        );
+
+        CompleteSprintResponse response = new CompleteSprintResponse(
+                id,
+                completion.getTargetSprintId(),
+                completion.getTotalTasks(),
+                completion.getCompletedTasks(),
+                completion.getCarriedOverTasks(),
+                completion.getCompletedAt()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     // DTOs
     @Setter
     @Getter
@@ -83,4 +129,33 @@ public class SprintController {
     public static class UpdateSprintStatusRequest {
         private SprintStatus status;
     }
+
+    @Setter
+    @Getter
+    public static class CompleteSprintRequest {
+        private Long targetSprintId;
+        private String newSprintName;
+        private LocalDate newSprintStartDate;
+        private LocalDate newSprintEndDate;
+    }
+
+    @Getter
+    public static class CompleteSprintResponse {
+        private Long sprintId;
+        private Long targetSprintId;
+        private long totalTasks;
+        private long completedTasks;
+        private long carriedOverTasks;
+        private LocalDateTime completedAt;
+
+        public CompleteSprintResponse(Long sprintId, Long targetSprintId, long totalTasks,
+                                      long completedTasks, long carriedOverTasks, LocalDateTime completedAt) {
+            this.sprintId = sprintId;
+            this.targetSprintId = targetSprintId;
+            this.totalTasks = totalTasks;
+            this.completedTasks = completedTasks;
+            this.carriedOverTasks = carriedOverTasks;
+            this.completedAt = completedAt;
+        }
+    }
 }
@@ -1,9 +1,11 @@
 package com.legion.sprint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +16,59 @@ public interface SprintRepository extends JpaRepository<Sprint, Long> {
 
     List<Sprint> findByProjectIdAndStatus(Long projectId, SprintStatus status);
 
+    List<Sprint> findByProjectWorkspaceIdAndStatus(Long workspaceId, SprintStatus status);
+
+    List<Sprint> findByProjectIdIn(Collection<Long> projectIds);
+
+    List<Sprint> findByProjectIdInAndStatus(Collection<Long> projectIds, SprintStatus status);
+
     @Query("SELECT s FROM Sprint s WHERE s.project.id = :projectId AND s.status = 'ACTIVE'")
     Optional<Sprint> findActiveSprintByProjectId(@Param("projectId") Long projectId);
+
+    long countByProjectId(Long projectId);
+
+    long countByProjectWorkspaceId(Long workspaceId);
+
+    // Change counter behind the ETag of a sprint's task list, see ContentVersions
+    @Query("SELECT s.contentVersion FROM Sprint s WHERE s.id = :id AND s.project.workspace.id = :workspaceId")
+    Optional<Long> findContentVersion(@Param("id") Long id, @Param("workspaceId") Long workspaceId);
+
+    // Rows are locked in sprint id order, so concurrent writers cannot deadlock on them
+    @Modifying
+    @Query(value = "UPDATE sprint SET content_version = content_version + 1 WHERE id IN " +
+            "(SELECT id FROM sprint WHERE id IN (:ids) ORDER BY id FOR UPDATE)", nativeQuery = true)
+    int bumpContentVersions(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE sprint SET content_version = content_version + 1 WHERE id IN " +
+            "(SELECT id FROM sprint WHERE project_id = :projectId ORDER BY id FOR UPDATE)", nativeQuery = true)
+    int bumpContentVersionsByProjectId(@Param("projectId") Long projectId);
+
+    // Bump the sprints currently holding any of the given tasks
+    @Modifying
+    @Query(value = "UPDATE sprint SET content_version = content_version + 1 WHERE id IN " +
+            "(SELECT s.id FROM sprint s WHERE s.id IN " +
+            "(SELECT t.sprint_id FROM task t WHERE t.workspace_id = :workspaceId AND t.id IN (:taskIds)) " +
+            "ORDER BY s.id FOR UPDATE)", nativeQuery = true)
+    int bumpContentVersionsOfTasks(@Param("workspaceId") Long workspaceId, @Param("taskIds") Collection<Long> taskIds);
+
+    // Copy all sprints of one project into another in a single statement
+    @Modifying
+    @Query(value = "INSERT INTO sprint (project_id, cloned_from_id, name, start_date, end_date, status) " +
+            "SELECT :targetId, s.id, s.name, s.start_date, s.end_date, " +
+            "CASE WHEN :copyStatuses THEN s.status ELSE :resetStatus END " +
+            "FROM sprint s WHERE s.project_id = :sourceId", nativeQuery = true)
+    int copySprints(@Param("sourceId") Long sourceId,
+                    @Param("targetId") Long targetId,
+                    @Param("copyStatuses") boolean copyStatuses,
+                    @Param("resetStatus") String resetStatus);
+
+    @Modifying
+    @Query("DELETE FROM Sprint s WHERE s.project.id = :projectId")
+    int bulkDeleteByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM Sprint s WHERE s.project.id IN " +
+            "(SELECT p.id FROM Project p WHERE p.workspace.id = :workspaceId)")
+    int bulkDeleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
 }
\ No newline at end of file
@@ -1,17 +1,29 @@
 package com.legion.sprint;
 
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
 import com.legion.common.context.WorkspaceContextHelper;
 import com.legion.common.exception.InvalidOperationException;
 import com.legion.common.exception.ResourceNotFoundException;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.project.ContentVersions;
 import com.legion.project.Project;
 import com.legion.project.ProjectRepository;
+import com.legion.project.ProjectWriteGuard;
+import com.legion.task.TaskRankAppender;
+import com.legion.task.TaskRepository;
+import com.legion.task.TaskStatus;
+import com.legion.task.TaskStatusCount;
+import com.legion.user.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class SprintService {
@@ -20,11 +32,32 @@ public class SprintService {
 
     private final SprintRepository sprintRepository;
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TaskRankAppender taskRankAppender;
+    private final SprintCompletionRepository sprintCompletionRepository;
+    private final ContentVersions contentVersions;
+    private final ProjectWriteGuard projectWriteGuard;
+    private final ResponseCache responseCache;
+    private final LegionMetrics metrics;
 
     public SprintService(SprintRepository sprintRepository,
-                         ProjectRepository projectRepository) {
+                         ProjectRepository projectRepository,
+                         TaskRepository taskRepository,
+                         TaskRankAppender taskRankAppender,
+                         SprintCompletionRepository sprintCompletionRepository,
+                         ContentVersions contentVersions,
+                         ProjectWriteGuard projectWriteGuard,
+                         ResponseCache responseCache,
+                         LegionMetrics metrics) {
         this.sprintRepository = sprintRepository;
         this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.taskRankAppender = taskRankAppender;
+        this.sprintCompletionRepository = sprintCompletionRepository;
+        this.contentVersions = contentVersions;
+        this.projectWriteGuard = projectWriteGuard;
+        this.responseCache = responseCache;
+        this.metrics = metrics;
     }
 
     @Transactional
@@ -37,16 +70,20 @@ public class SprintService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project", projectId));
 
         WorkspaceContextHelper.validateWorkspace(project.getWorkspace().getId());
+        projectWriteGuard.requireProjectWritable(project.getWorkspace().getId(), projectId);
 
         if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
             log.warn("Invalid sprint dates: startDate={}, endDate={}", startDate, endDate);
             throw new InvalidOperationException("Start date must be before end date");
         }
 
+        contentVersions.projectChanged(projectId);
+
         Sprint sprint = new Sprint(name, startDate, endDate, SprintStatus.PLANNING);
         sprint.setProject(project);
 
         Sprint saved = sprintRepository.save(sprint);
+        responseCache.invalidateAfterCommit(project.getWorkspace().getId(), CacheScope.SPRINTS);
         log.info("Sprint saved with id={}", saved.getId());
 
         return saved;
@@ -62,6 +99,7 @@ public class SprintService {
         return sprint;
     }
 
+    @Transactional(readOnly = true)
     public List<Sprint> getSprintsByProject(Long projectId) {
         log.debug("Getting sprints for projectId={}", projectId);
 
@@ -69,36 +107,141 @@ public class SprintService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project", projectId));
 
         WorkspaceContextHelper.validateWorkspace(project.getWorkspace().getId());
-        return sprintRepository.findByProjectId(projectId);
+        return metrics.rows("sprints.by_project", sprintRepository.findByProjectId(projectId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Sprint> getActiveSprintsInCurrentWorkspace() {
+        Long workspaceId = WorkspaceContextHelper.requireWorkspaceId();
+        log.debug("Getting active sprints for workspaceId={}", workspaceId);
+
+        return metrics.rows("sprints.active_in_workspace",
+                sprintRepository.findByProjectWorkspaceIdAndStatus(workspaceId, SprintStatus.ACTIVE));
     }
 
     @Transactional
     public Sprint updateSprintStatus(Long sprintId, SprintStatus newStatus) {
         log.info("Updating sprint status: sprintId={}, newStatus={}", sprintId, newStatus);
 
+        // Completing carries unfinished tasks over and records the outcome; a status change can't
+        if (newStatus == SprintStatus.COMPLETED) {
+            log.warn("Attempt to complete sprint through a status change: sprintId={}", sprintId);
+            throw new InvalidOperationException(
+                    "Complete a sprint with POST /api/sprints/" + sprintId + "/complete");
+        }
+
         Sprint sprint = getSprintById(sprintId);
 
-        if (sprint.getStatus() == SprintStatus.COMPLETED && newStatus != SprintStatus.COMPLETED) {
+        if (sprint.getStatus() == SprintStatus.COMPLETED) {
             log.warn("Attempt to reopen completed sprint: sprintId={}", sprintId);
             throw new InvalidOperationException("Cannot reopen a completed sprint");
         }
 
+        contentVersions.sprintsChanged(sprint.getProject().getId(), sprintId);
+        responseCache.invalidateAfterCommit(sprint.getProject().getWorkspace().getId(), CacheScope.SPRINTS);
         sprint.setStatus(newStatus);
         return sprintRepository.save(sprint);
     }
 
+    /**
+     * Completes a sprint and carries its unfinished tasks over in one update.
+     *
+     * <p>Unfinished tasks go to {@code targetSprintId} if given, otherwise to a new
+     * sprint if {@code newSprintName} is given, otherwise back to the backlog.</p>
+     */
+    @Transactional
+    public SprintCompletion completeSprint(Long sprintId, Long targetSprintId, String newSprintName,
+                                           LocalDate newSprintStartDate, LocalDate newSprintEndDate,
+                                           User completedBy) {
+        log.info("Completing sprint: sprintId={}, targetSprintId={}, newSprintName={}",
+                sprintId, targetSprintId, newSprintName);
+
+        Sprint sprint = getSprintById(sprintId);
+
+        if (sprint.getStatus() == SprintStatus.COMPLETED) {
+            log.warn("Sprint already completed: sprintId={}", sprintId);
+            throw new InvalidOperationException("Sprint is already completed");
+        }
+
+        Long projectId = sprint.getProject().getId();
+        Long workspaceId = sprint.getProject().getWorkspace().getId();
+        projectWriteGuard.requireProjectWritable(workspaceId, projectId);
+        Sprint target = null;
+
+        if (targetSprintId != null) {
+            target = getSprintById(targetSprintId);
+
+            if (target.getId().equals(sprintId) || !target.getProject().getId().equals(projectId)) {
+                log.warn("Invalid rollover target: sprintId={}, targetSprintId={}", sprintId, targetSprintId);
+                throw new InvalidOperationException("Target sprint must be another sprint in the same project");
+            }
+            if (target.getStatus() == SprintStatus.COMPLETED) {
+                throw new InvalidOperationException("Cannot move tasks into a completed sprint");
+            }
+        } else if (newSprintName != null && !newSprintName.isBlank()) {
+            target = createSprint(projectId, newSprintName.trim(), newSprintStartDate, newSprintEndDate);
+        }
+
+        long total = 0;
+        long done = 0;
+        for (TaskStatusCount count : taskRepository.countBySprintIdGroupByStatus(workspaceId, sprintId)) {
+            total += count.count();
+            if (count.status() == TaskStatus.DONE) {
+                done = count.count();
+            }
+        }
+
+        contentVersions.sprintsChanged(projectId, sprintId, target != null ? target.getId() : null);
+        responseCache.invalidateAfterCommit(workspaceId, CacheScope.SPRINTS);
+
+        LocalDateTime now = LocalDateTime.now();
+        Sprint rolloverTarget = target;
+        int moved = metrics.time("legion.sprint.carryover", () -> {
+            // Carried-over tasks go below what the target columns already hold
+            Map<Long, String> ranks = taskRankAppender.ranksAfterLast(workspaceId, projectId,
+                    rolloverTarget != null ? rolloverTarget.getId() : null,
+                    taskRepository.findUnfinishedRankRefs(workspaceId, sprintId, TaskStatus.DONE));
+
+            int count = rolloverTarget != null
+                    ? taskRepository.moveUnfinishedToSprint(workspaceId, sprintId, rolloverTarget, TaskStatus.DONE, now)
+                    : taskRepository.moveUnfinishedToBacklog(workspaceId, sprintId, TaskStatus.DONE, now);
+            taskRankAppender.write(workspaceId, ranks);
+            return count;
+        });
+
+        sprint.setStatus(SprintStatus.COMPLETED);
+        sprintRepository.save(sprint);
+
+        SprintCompletion completion = sprintCompletionRepository.save(new SprintCompletion(
+                sprint,
+                target != null ? target.getId() : null,
+                total,
+                done,
+                moved,
+                completedBy != null ? completedBy.getId() : null
+        ));
+
+        log.info("Sprint completed: sprintId={}, total={}, done={}, carriedOver={}",
+                sprintId, total, done, moved);
+
+        return completion;
+    }
+
     @Transactional
     public void deleteSprint(Long sprintId) {
         log.info("Deleting sprint id={}", sprintId);
 
         Sprint sprint = getSprintById(sprintId);
 
-        if (!sprint.getTasks().isEmpty()) {
+        if (taskRepository.existsByWorkspaceIdAndSprintId(sprint.getProject().getWorkspace().getId(), sprintId)) {
             log.warn("Cannot delete sprint with tasks: sprintId={}", sprintId);
             throw new InvalidOperationException(
                     "Cannot delete sprint with tasks. Move or delete tasks first.");
         }
 
+        contentVersions.projectChanged(sprint.getProject().getId());
+        responseCache.invalidateAfterCommit(sprint.getProject().getWorkspace().getId(), CacheScope.SPRINTS);
+        sprintCompletionRepository.bulkDeleteBySprintId(sprintId);
         sprintRepository.delete(sprint);
     }
 }
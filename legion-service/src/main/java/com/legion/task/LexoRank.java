@@ -0,0 +1,128 @@
+package com.legion.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic fractional ranks used to order tasks within a board column.
+ *
+ * <p>Ranks are base-36 strings compared character by character. A new rank can
+ * always be generated between two existing ones, so moving a task only rewrites
+ * the moved row. Ranks never end in '0', which keeps that guarantee intact.</p>
+ */
+public final class LexoRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private LexoRank() {
+    }
+
+    /**
+     * Returns a rank strictly between two ranks.
+     *
+     * @param lower rank of the task above, or null for the top of the column
+     * @param upper rank of the task below, or null for the bottom of the column
+     * @throws IllegalArgumentException if lower is not strictly before upper
+     */
+    public static String between(String lower, String upper) {
+        String from = lower == null ? "" : lower;
+        if (upper != null && from.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank " + lower + " is not before " + upper);
+        }
+        return midpoint(from, upper);
+    }
+
+    /**
+     * Returns a rank placed after the given rank, or a first rank if none is given.
+     */
+    public static String after(String rank) {
+        return between(rank, null);
+    }
+
+    /**
+     * Returns {@code count} evenly spaced ranks in ascending order.
+     * Used when rebalancing a column whose ranks have grown too long.
+     */
+    public static List<String> spread(int count) {
+        // Leave roughly one spare digit of room between neighbours
+        int width = 1;
+        long space = BASE;
+        while (space / BASE <= count) {
+            width++;
+            space *= BASE;
+        }
+
+        long step = space / (count + 1);
+        List<String> ranks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ranks.add(encode(step * i, width));
+        }
+        return ranks;
+    }
+
+    /**
+     * Returns {@code count} ascending ranks that all sort after {@code lower}, evenly
+     * spaced below a common prefix. With no lower rank this is {@link #spread(int)}.
+     * Used when a batch of tasks is appended to a column.
+     */
+    public static List<String> spreadAfter(String lower, int count) {
+        List<String> ranks = spread(count);
+        if (lower == null) {
+            return ranks;
+        }
+
+        String prefix = after(lower);
+        List<String> prefixed = new ArrayList<>(count);
+        for (String rank : ranks) {
+            prefixed.add(prefix + rank);
+        }
+        return prefixed;
+    }
+
+    private static String midpoint(String lower, String upper) {
+        if (upper != null) {
+            // Skip the shared prefix, treating missing lower digits as '0'
+            int n = 0;
+            while (n < upper.length() && digitAt(lower, n) == DIGITS.indexOf(upper.charAt(n))) {
+                n++;
+            }
+            if (n > 0) {
+                String rest = lower.length() > n ? lower.substring(n) : "";
+                return upper.substring(0, n) + midpoint(rest, upper.substring(n));
+            }
+        }
+
+        int lowerDigit = digitAt(lower, 0);
+        int upperDigit = upper != null ? DIGITS.indexOf(upper.charAt(0)) : BASE;
+
+        if (upperDigit - lowerDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowerDigit + upperDigit) / 2));
+        }
+
+        if (upper != null && upper.length() > 1) {
+            return upper.substring(0, 1);
+        }
+
+        String rest = lower.length() > 1 ? lower.substring(1) : "";
+        return DIGITS.charAt(lowerDigit) + midpoint(rest, null);
+    }
+
+    private static int digitAt(String rank, int index) {
+        return index < rank.length() ? DIGITS.indexOf(rank.charAt(index)) : 0;
+    }
+
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+
+        int end = width;
+        while (end > 1 && chars[end - 1] == '0') {
+            end--;
+        }
+        return new String(chars, 0, end);
+    }
+}
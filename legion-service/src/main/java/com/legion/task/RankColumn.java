@@ -0,0 +1,8 @@
+package com.legion.task;
+
+/**
+ * A single board column: tasks of one project, sprint (null for backlog) and status.
+ * The workspace id is carried along so column queries hit a single task partition.
+ */
+public record RankColumn(Long workspaceId, Long projectId, Long sprintId, TaskStatus status) {
+}
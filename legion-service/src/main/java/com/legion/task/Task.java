@@ -6,6 +6,7 @@ import com.legion.user.User;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDateTime;
 
@@ -13,13 +14,7 @@ import java.time.LocalDateTime;
 @Getter
 @Entity
 @Table(name = "task",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"project_id", "task_number"}),
-        indexes = {
-                @Index(name = "idx_task_project", columnList = "project_id"),
-                @Index(name = "idx_task_sprint", columnList = "sprint_id"),
-                @Index(name = "idx_task_status", columnList = "status"),
-                @Index(name = "idx_task_assignee", columnList = "assignee_id")
-        })
+        uniqueConstraints = @UniqueConstraint(columnNames = {"workspace_id", "project_id", "task_number"}))
 public class Task {
 
     // Getters and Setters
@@ -27,6 +22,13 @@ public class Task {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Partition key, copied from the project. Tasks never leave their workspace.
+    // Hibernate adds it to the WHERE clause of updates and deletes so they hit one partition;
+    // no index on task has id as its leading column.
+    @PartitionKey
+    @Column(name = "workspace_id", nullable = false, updatable = false)
+    private Long workspaceId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
@@ -60,6 +62,10 @@ public class Task {
     @Column(name = "task_number", nullable = false)
     private Integer taskNumber;
 
+    // Position within the board column, see LexoRank. "C" collation keeps ordering byte-wise.
+    @Column(columnDefinition = "VARCHAR(64) COLLATE \"C\"")
+    private String rank;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,128 @@
+package com.legion.task;
+
+import com.legion.project.Project;
+import com.legion.sprint.Sprint;
+import com.legion.sprint.SprintStatus;
+import com.legion.user.User;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Column-per-field layout of a task list, sent for
+ * {@code Accept: application/vnd.legion.columnar+json}.
+ *
+ * <p>Field names appear once instead of once per task. Statuses and priorities are
+ * indexes into {@code statuses} and {@code priorities}. Projects, sprints and users
+ * are indexes into their own tables, each entry listed once. Missing sprints and
+ * assignees are null. Row {@code i} of every column belongs to the same task.</p>
+ */
+public record TaskColumns(
+        int count,
+        List<TaskStatus> statuses,
+        List<Priority> priorities,
+        List<ProjectRef> projects,
+        List<SprintRef> sprints,
+        List<UserRef> users,
+        long[] id,
+        int[] taskNumber,
+        String[] title,
+        String[] description,
+        int[] status,
+        int[] priority,
+        int[] project,
+        Integer[] sprint,
+        Integer[] assignee,
+        int[] reporter,
+        String[] rank,
+        LocalDateTime[] createdAt,
+        LocalDateTime[] updatedAt
+) {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.legion.columnar+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public static TaskColumns of(List<Task> tasks) {
+        int count = tasks.size();
+        Interner<Project, ProjectRef> projects = new Interner<>(Project::getId,
+                p -> new ProjectRef(p.getId(), p.getKey(), p.getName()));
+        Interner<Sprint, SprintRef> sprints = new Interner<>(Sprint::getId,
+                s -> new SprintRef(s.getId(), s.getName(), s.getStatus()));
+        Interner<User, UserRef> users = new Interner<>(User::getId,
+                u -> new UserRef(u.getId(), u.getEmail(), u.getFullName()));
+
+        long[] id = new long[count];
+        int[] taskNumber = new int[count];
+        String[] title = new String[count];
+        String[] description = new String[count];
+        int[] status = new int[count];
+        int[] priority = new int[count];
+        int[] project = new int[count];
+        Integer[] sprint = new Integer[count];
+        Integer[] assignee = new Integer[count];
+        int[] reporter = new int[count];
+        String[] rank = new String[count];
+        LocalDateTime[] createdAt = new LocalDateTime[count];
+        LocalDateTime[] updatedAt = new LocalDateTime[count];
+
+        for (int i = 0; i < count; i++) {
+            Task task = tasks.get(i);
+            id[i] = task.getId();
+            taskNumber[i] = task.getTaskNumber();
+            title[i] = task.getTitle();
+            description[i] = task.getDescription();
+            status[i] = task.getStatus().ordinal();
+            priority[i] = task.getPriority().ordinal();
+            project[i] = projects.index(task.getProject());
+            sprint[i] = task.getSprint() != null ? sprints.index(task.getSprint()) : null;
+            assignee[i] = task.getAssignee() != null ? users.index(task.getAssignee()) : null;
+            reporter[i] = users.index(task.getReporter());
+            rank[i] = task.getRank();
+            createdAt[i] = task.getCreatedAt();
+            updatedAt[i] = task.getUpdatedAt();
+        }
+
+        return new TaskColumns(count, List.of(TaskStatus.values()), List.of(Priority.values()),
+                projects.refs, sprints.refs, users.refs,
+                id, taskNumber, title, description, status, priority, project, sprint, assignee, reporter,
+                rank, createdAt, updatedAt);
+    }
+
+    public record ProjectRef(Long id, String key, String name) {
+    }
+
+    public record SprintRef(Long id, String name, SprintStatus status) {
+    }
+
+    public record UserRef(Long id, String email, String fullName) {
+    }
+
+    /**
+     * Hands out one index per distinct id. Ids are read through the entity, so lazy
+     * references are only loaded the first time they are seen.
+     */
+    private static final class Interner<E, R> {
+
+        private final Function<E, Long> idOf;
+        private final Function<E, R> refOf;
+        private final Map<Long, Integer> indexes = new HashMap<>();
+        private final List<R> refs = new ArrayList<>();
+
+        Interner(Function<E, Long> idOf, Function<E, R> refOf) {
+            this.idOf = idOf;
+            this.refOf = refOf;
+        }
+
+        int index(E entity) {
+            return indexes.computeIfAbsent(idOf.apply(entity), id -> {
+                refs.add(refOf.apply(entity));
+                return refs.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.legion.task;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * Rewrites task lists as {@link TaskColumns} when the client negotiated the columnar type.
+ * The JSON converter accepts any {@code application/*+json} type, so it writes the result.
+ */
+@RestControllerAdvice(assignableTypes = TaskController.class)
+public class TaskColumnsAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!TaskColumns.MEDIA_TYPE.isCompatibleWith(selectedContentType)
+                || !(body instanceof List<?> list)
+                || !list.stream().allMatch(Task.class::isInstance)) {
+            return body;
+        }
+        return TaskColumns.of((List<Task>) list);
+    }
+}
@@ -1,10 +1,13 @@
 package com.legion.task;
 
+import com.legion.project.ContentVersions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -18,9 +21,11 @@ public class TaskController {
     private static final Logger log = LoggerFactory.getLogger(TaskController.class);
 
     private final TaskService taskService;
+    private final ContentVersions contentVersions;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ContentVersions contentVersions) {
         this.taskService = taskService;
+        this.contentVersions = contentVersions;
     }
 
     @PostMapping
@@ -51,16 +56,36 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getAllTasksInWorkspace());
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Task>> getTasksByIds(@RequestParam List<Long> ids) {
+        log.debug("GET /api/tasks?ids count={}", ids.size());
+        return ResponseEntity.ok(taskService.getTasksByIds(ids));
+    }
+
+    @GetMapping(params = "keys")
+    public ResponseEntity<List<Task>> getTasksByKeys(@RequestParam List<String> keys) {
+        log.debug("GET /api/tasks?keys count={}", keys.size());
+        return ResponseEntity.ok(taskService.getTasksByKeys(keys));
+    }
+
+    @GetMapping("/by-key/{key}")
+    public ResponseEntity<Task> getTaskByKey(@PathVariable String key) {
+        log.debug("GET /api/tasks/by-key/{}", key);
+        return ResponseEntity.ok(taskService.getTaskByKey(key));
+    }
+
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Task>> getTasksByProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<Task>> getTasksByProject(@PathVariable Long projectId, WebRequest request) {
         log.debug("GET /api/tasks/project/{}", projectId);
-        return ResponseEntity.ok(taskService.getTasksByProject(projectId));
+        return ContentVersions.conditionalGet(request, contentVersions.projectEtag(projectId),
+                () -> ResponseEntity.ok(taskService.getTasksByProject(projectId)));
     }
 
     @GetMapping("/sprint/{sprintId}")
-    public ResponseEntity<List<Task>> getTasksBySprint(@PathVariable Long sprintId) {
+    public ResponseEntity<List<Task>> getTasksBySprint(@PathVariable Long sprintId, WebRequest request) {
         log.debug("GET /api/tasks/sprint/{}", sprintId);
-        return ResponseEntity.ok(taskService.getTasksBySprint(sprintId));
+        return ContentVersions.conditionalGet(request, contentVersions.sprintEtag(sprintId),
+                () -> ResponseEntity.ok(taskService.getTasksBySprint(sprintId)));
     }
 
     @GetMapping("/assignee/{assigneeId}")
@@ -85,6 +110,20 @@ public class TaskController {
         return ResponseEntity.ok(taskService.assignTaskToSprint(id, request.getSprintId()));
     }
 
+    @PatchMapping("/{id}/rank")
+    public ResponseEntity<Task> rankTask(
+            @PathVariable Long id,
+            @RequestBody RankTaskRequest request) {
+        log.info("PATCH /api/tasks/{}/rank after={} before={}",
+                id, request.getPreviousTaskId(), request.getNextTaskId());
+        return ResponseEntity.ok(taskService.rankTask(
+                id,
+                request.getStatus(),
+                request.getPreviousTaskId(),
+                request.getNextTaskId()
+        ));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(
             @PathVariable Long id,
@@ -101,6 +140,19 @@ public class TaskController {
         return ResponseEntity.ok(taskService.updateTaskAssignee(id, request.getAssigneeId()));
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PostMapping("/move")
+    public ResponseEntity<TaskMoveResult> moveTasks(@RequestBody MoveTasksRequest request) {
+        log.info("POST /api/tasks/move count={} targetProjectId={}",
+                request.getTaskIds() != null ? request.getTaskIds().size() : 0,
+                request.getTargetProjectId());
+        return ResponseEntity.ok(taskService.moveTasks(
+                request.getTaskIds(),
+                request.getTargetProjectId(),
+                request.getTargetSprintId()
+        ));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
         log.info("DELETE /api/tasks/{}", id);
@@ -129,6 +181,13 @@ public class TaskController {
         private Long sprintId;
     }
 
+    @Setter @Getter
+    public static class RankTaskRequest {
+        private TaskStatus status;
+        private Long previousTaskId;
+        private Long nextTaskId;
+    }
+
     @Setter @Getter
     public static class UpdateTaskRequest {
         private String title;
@@ -136,6 +195,13 @@ public class TaskController {
         private Priority priority;
     }
 
+    @Setter @Getter
+    public static class MoveTasksRequest {
+        private List<Long> taskIds;
+        private Long targetProjectId;
+        private Long targetSprintId;
+    }
+
     @Setter @Getter
     public static class AssignTaskToUserRequest {
         private Long assigneeId;
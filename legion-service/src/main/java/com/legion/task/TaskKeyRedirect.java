@@ -0,0 +1,64 @@
+package com.legion.task;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Remembers a task's previous key after it moved to another project,
+ * so links like OLD-12 keep resolving.
+ *
+ * <p>The old project is a plain id: the redirect must survive that project
+ * being renamed or emptied. Redirects are removed with their task.</p>
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "task_key_redirect",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"old_project_id", "old_task_number"}))
+public class TaskKeyRedirect {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "workspace_id", nullable = false)
+    private Long workspaceId;
+
+    @Column(name = "old_project_id", nullable = false)
+    private Long oldProjectId;
+
+    @Column(name = "old_task_number", nullable = false)
+    private Integer oldTaskNumber;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    // Joined on (workspace_id, task_id) like fk_task_key_redirect_task, so loading the
+    // task reads one task partition. Redirects are written by recordCurrentKeys only.
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "workspace_id", referencedColumnName = "workspace_id",
+                    insertable = false, updatable = false),
+            @JoinColumn(name = "task_id", referencedColumnName = "id",
+                    insertable = false, updatable = false)
+    })
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public TaskKeyRedirect() {}
+}
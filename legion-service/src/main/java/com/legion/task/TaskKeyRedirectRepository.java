@@ -0,0 +1,41 @@
+package com.legion.task;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskKeyRedirectRepository extends JpaRepository<TaskKeyRedirect, Long> {
+
+    Optional<TaskKeyRedirect> findByOldProjectIdAndOldTaskNumber(Long oldProjectId, Integer oldTaskNumber);
+
+    // Redirects for several old keys at once, with their tasks
+    @Query("SELECT r FROM TaskKeyRedirect r JOIN FETCH r.task WHERE r.workspaceId = :workspaceId " +
+            "AND r.oldProjectId IN :projectIds AND r.oldTaskNumber IN :taskNumbers")
+    List<TaskKeyRedirect> findByOldKeys(@Param("workspaceId") Long workspaceId,
+                                        @Param("projectIds") Collection<Long> projectIds,
+                                        @Param("taskNumbers") Collection<Integer> taskNumbers);
+
+    // Record the current keys of the given tasks before they move
+    @Modifying
+    @Query(value = "INSERT INTO task_key_redirect (workspace_id, old_project_id, old_task_number, task_id, created_at) " +
+            "SELECT workspace_id, project_id, task_number, id, LOCALTIMESTAMP FROM task " +
+            "WHERE workspace_id = :workspaceId AND id IN (:taskIds) " +
+            "ON CONFLICT (old_project_id, old_task_number) DO UPDATE SET task_id = EXCLUDED.task_id",
+            nativeQuery = true)
+    int recordCurrentKeys(@Param("workspaceId") Long workspaceId, @Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM TaskKeyRedirect r WHERE r.oldProjectId = :projectId")
+    int bulkDeleteByOldProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM TaskKeyRedirect r WHERE r.workspaceId = :workspaceId")
+    int bulkDeleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
+}
@@ -0,0 +1,86 @@
+package com.legion.task;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+/**
+ * CBOR and Smile converters limited to the task list endpoints of {@link TaskController},
+ * chosen there with {@code Accept: application/cbor} or {@code application/x-jackson-smile}.
+ *
+ * <p>They are registered like any other converter, but only write responses of a
+ * TaskController method returning a list, and never read request bodies. Every other
+ * endpoint keeps answering JSON only.</p>
+ */
+public final class TaskListConverters {
+
+    private TaskListConverters() {
+    }
+
+    public static class Cbor extends JacksonCborHttpMessageConverter {
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canRead(ResolvableType type, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return handlingTaskList() && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(ResolvableType targetType, Class<?> valueClass, MediaType mediaType) {
+            return handlingTaskList() && super.canWrite(targetType, valueClass, mediaType);
+        }
+    }
+
+    public static class Smile extends JacksonSmileHttpMessageConverter {
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canRead(ResolvableType type, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return handlingTaskList() && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(ResolvableType targetType, Class<?> valueClass, MediaType mediaType) {
+            return handlingTaskList() && super.canWrite(targetType, valueClass, mediaType);
+        }
+    }
+
+    /**
+     * Whether the current request was mapped to a TaskController method returning a list.
+     */
+    static boolean handlingTaskList() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        return attributes.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)
+                instanceof HandlerMethod handler
+                && handler.getBeanType() == TaskController.class
+                && List.class.isAssignableFrom(
+                        ResolvableType.forMethodReturnType(handler.getMethod()).getGeneric(0).toClass());
+    }
+}
@@ -0,0 +1,7 @@
+package com.legion.task;
+
+/**
+ * Summary of a bulk move: tasks now hold numbers firstTaskNumber..lastTaskNumber in the target project.
+ */
+public record TaskMoveResult(Long targetProjectId, int movedTasks, int firstTaskNumber, int lastTaskNumber) {
+}
@@ -0,0 +1,7 @@
+package com.legion.task;
+
+/**
+ * Lightweight view of where a task lives, used when moving tasks in bulk.
+ */
+public record TaskNumberRef(Long id, Long projectId, Integer taskNumber) {
+}
@@ -0,0 +1,73 @@
+package com.legion.task;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks tasks that bulk statements move into other board columns.
+ *
+ * <p>Moved tasks go after the target column's current last task, as single-task
+ * moves do, and keep their previous order among themselves. Compute the ranks
+ * before moving the tasks, then write them after the move.</p>
+ */
+@Component
+public class TaskRankAppender {
+
+    private static final int UPDATE_CHUNK = 1000;
+
+    // Board order; unranked tasks go last, like the rebalancer puts them
+    private static final Comparator<TaskRankRef> BOARD_ORDER = Comparator
+            .comparing(TaskRankRef::rank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskRankRef::id);
+
+    private final TaskRepository taskRepository;
+
+    public TaskRankAppender(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * New ranks for tasks about to move into a project's sprint, or backlog if
+     * {@code sprintId} is null, keyed by task id.
+     */
+    public Map<Long, String> ranksAfterLast(Long workspaceId, Long projectId, Long sprintId,
+                                            List<TaskRankRef> tasks) {
+        Map<TaskStatus, List<TaskRankRef>> columns = new EnumMap<>(TaskStatus.class);
+        for (TaskRankRef task : tasks) {
+            columns.computeIfAbsent(task.status(), status -> new ArrayList<>()).add(task);
+        }
+
+        Map<Long, String> ranks = new LinkedHashMap<>();
+        columns.forEach((status, column) -> {
+            column.sort(BOARD_ORDER);
+            String last = sprintId == null
+                    ? taskRepository.findMaxRankInBacklogColumn(workspaceId, projectId, status)
+                    : taskRepository.findMaxRankInSprintColumn(workspaceId, projectId, sprintId, status);
+
+            List<String> columnRanks = LexoRank.spreadAfter(last, column.size());
+            for (int i = 0; i < column.size(); i++) {
+                ranks.put(column.get(i).id(), columnRanks.get(i));
+            }
+        });
+        return ranks;
+    }
+
+    /**
+     * Writes ranks from {@link #ranksAfterLast}, one statement per chunk of tasks.
+     */
+    public void write(Long workspaceId, Map<Long, String> ranks) {
+        List<Map.Entry<Long, String>> entries = new ArrayList<>(ranks.entrySet());
+        for (int from = 0; from < entries.size(); from += UPDATE_CHUNK) {
+            List<Map.Entry<Long, String>> chunk = entries.subList(from, Math.min(from + UPDATE_CHUNK, entries.size()));
+            taskRepository.updateRanks(workspaceId,
+                    chunk.stream().map(Map.Entry::getKey).toArray(Long[]::new),
+                    chunk.stream().map(Map.Entry::getValue).toArray(String[]::new));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.legion.task;
+
+import com.legion.common.shard.ShardContext;
+import com.legion.common.shard.ShardDirectory;
+import com.legion.config.TaskConfig;
+import com.legion.project.ContentVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Respaces board columns whose ranks have grown too long or are missing.
+ *
+ * <p>Repeatedly inserting between the same two tasks lengthens ranks by one
+ * character each time. This job rewrites such columns with short, evenly spaced
+ * ranks. Each column is rebalanced in its own transaction under a row lock.</p>
+ */
+@Component
+public class TaskRankRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRankRebalancer.class);
+
+    private final TaskRepository taskRepository;
+    private final ContentVersions contentVersions;
+    private final TaskConfig taskConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+
+    public TaskRankRebalancer(TaskRepository taskRepository,
+                              ContentVersions contentVersions,
+                              TaskConfig taskConfig,
+                              TransactionTemplate transactionTemplate,
+                              ShardDirectory shardDirectory) {
+        this.taskRepository = taskRepository;
+        this.contentVersions = contentVersions;
+        this.taskConfig = taskConfig;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+    }
+
+    @Scheduled(fixedDelayString = "${legion.task.rank-rebalance-interval-ms:300000}")
+    public void rebalance() {
+        for (String shard : shardDirectory.allShards()) {
+            ShardContext.runOn(shard, () -> rebalanceShard(shard));
+        }
+    }
+
+    private void rebalanceShard(String shard) {
+        Set<RankColumn> columns = new LinkedHashSet<>(taskRepository.findUnrankedColumns());
+        columns.addAll(taskRepository.findColumnsWithRanksLongerThan(taskConfig.getRankRebalanceLength()));
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        log.info("Rebalancing ranks in {} board columns", columns.size());
+
+        for (RankColumn column : columns) {
+            // Rebalancing runs without a workspace context, so routing cannot keep it off
+            // workspaces that are moving, or whose rows here are left over from a move
+            if (shardDirectory.isReadOnly(column.workspaceId())
+                    || !shard.equals(shardDirectory.shardFor(column.workspaceId()))) {
+                log.debug("Skipping column {}: workspace is not writable on shard={}", column, shard);
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalanceColumn(column));
+            } catch (RuntimeException e) {
+                log.error("Failed to rebalance column {}", column, e);
+            }
+        }
+    }
+
+    private void rebalanceColumn(RankColumn column) {
+        contentVersions.sprintsChanged(column.projectId(), column.sprintId());
+
+        List<Task> tasks = column.sprintId() == null
+                ? taskRepository.lockBacklogColumn(column.workspaceId(), column.projectId(), column.status())
+                : taskRepository.lockSprintColumn(column.workspaceId(), column.projectId(),
+                        column.sprintId(), column.status());
+
+        List<String> ranks = LexoRank.spread(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setRank(ranks.get(i));
+        }
+
+        taskRepository.saveAll(tasks);
+        log.debug("Rebalanced {} tasks in column {}", tasks.size(), column);
+    }
+}
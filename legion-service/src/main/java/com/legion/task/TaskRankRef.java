@@ -0,0 +1,7 @@
+package com.legion.task;
+
+/**
+ * Board position of a task, used to re-rank tasks moved in bulk.
+ */
+public record TaskRankRef(Long id, TaskStatus status, String rank) {
+}
@@ -1,38 +1,262 @@
 package com.legion.task;
 
+import com.legion.sprint.Sprint;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    // The task table is hash-partitioned by workspace_id. Workspace-scoped queries filter on it
+    // so that Postgres only scans the one partition holding the workspace.
+
+    // Find a task inside a workspace
+    Optional<Task> findByIdAndWorkspaceId(Long id, Long workspaceId);
+
+    // Multi-get by id
+    List<Task> findByWorkspaceIdAndIdIn(Long workspaceId, Collection<Long> ids);
+
+    // Multi-get by key. Matches every project/number combination; callers keep the pairs they asked for.
+    @Query("SELECT t FROM Task t WHERE t.workspaceId = :workspaceId " +
+            "AND t.project.id IN :projectIds AND t.taskNumber IN :taskNumbers")
+    List<Task> findByProjectIdsAndTaskNumbers(@Param("workspaceId") Long workspaceId,
+                                              @Param("projectIds") Collection<Long> projectIds,
+                                              @Param("taskNumbers") Collection<Integer> taskNumbers);
+
     // Find tasks by project
-    List<Task> findByProjectId(Long projectId);
+    List<Task> findByWorkspaceIdAndProjectId(Long workspaceId, Long projectId);
+
+    // Find tasks by sprint in board order (served by idx_task_sprint_status_rank)
+    List<Task> findByWorkspaceIdAndSprintIdOrderByStatusAscRankAsc(Long workspaceId, Long sprintId);
+
+    // Same for several sprints at once, for batched GraphQL loads
+    List<Task> findByWorkspaceIdAndSprintIdInOrderByStatusAscRankAsc(Long workspaceId, Collection<Long> sprintIds);
+
+    boolean existsByWorkspaceIdAndSprintId(Long workspaceId, Long sprintId);
 
-    // Find tasks by sprint
-    List<Task> findBySprintId(Long sprintId);
+    // Task counts per status in a sprint
+    @Query("SELECT new com.legion.task.TaskStatusCount(t.status, COUNT(t)) FROM Task t " +
+            "WHERE t.workspaceId = :workspaceId AND t.sprint.id = :sprintId GROUP BY t.status")
+    List<TaskStatusCount> countBySprintIdGroupByStatus(@Param("workspaceId") Long workspaceId,
+                                                       @Param("sprintId") Long sprintId);
 
-    // Find tasks by assignee
-    List<Task> findByAssigneeId(Long assigneeId);
+    // Carry all tasks not in the given status over to another sprint in one statement
+    @Modifying
+    @Query("UPDATE Task t SET t.sprint = :target, t.updatedAt = :now " +
+            "WHERE t.workspaceId = :workspaceId AND t.sprint.id = :sprintId AND t.status <> :finished")
+    int moveUnfinishedToSprint(@Param("workspaceId") Long workspaceId,
+                               @Param("sprintId") Long sprintId,
+                               @Param("target") Sprint target,
+                               @Param("finished") TaskStatus finished,
+                               @Param("now") LocalDateTime now);
+
+    // Board positions of the tasks a carry-over is about to move
+    @Query("SELECT new com.legion.task.TaskRankRef(t.id, t.status, t.rank) FROM Task t " +
+            "WHERE t.workspaceId = :workspaceId AND t.sprint.id = :sprintId AND t.status <> :finished")
+    List<TaskRankRef> findUnfinishedRankRefs(@Param("workspaceId") Long workspaceId,
+                                             @Param("sprintId") Long sprintId,
+                                             @Param("finished") TaskStatus finished);
+
+    // Set the ranks of several tasks in one statement, pairing ids[i] with ranks[i]
+    @Modifying
+    @Query(value = "UPDATE task t SET rank = r.rank " +
+            "FROM unnest(CAST(:ids AS BIGINT[]), CAST(:ranks AS VARCHAR[])) AS r(id, rank) " +
+            "WHERE t.workspace_id = :workspaceId AND t.id = r.id", nativeQuery = true)
+    int updateRanks(@Param("workspaceId") Long workspaceId,
+                    @Param("ids") Long[] ids,
+                    @Param("ranks") String[] ranks);
+
+    // Send all tasks not in the given status back to the backlog in one statement
+    @Modifying
+    @Query("UPDATE Task t SET t.sprint = NULL, t.updatedAt = :now " +
+            "WHERE t.workspaceId = :workspaceId AND t.sprint.id = :sprintId AND t.status <> :finished")
+    int moveUnfinishedToBacklog(@Param("workspaceId") Long workspaceId,
+                                @Param("sprintId") Long sprintId,
+                                @Param("finished") TaskStatus finished,
+                                @Param("now") LocalDateTime now);
+
+    // Find tasks by assignee within one workspace (served by idx_task_assignee_project)
+    @Query("SELECT t FROM Task t WHERE t.workspaceId = :workspaceId AND t.assignee.id = :assigneeId")
+    List<Task> findByAssigneeIdAndWorkspaceId(@Param("assigneeId") Long assigneeId,
+                                              @Param("workspaceId") Long workspaceId);
 
     // Find tasks by status
-    List<Task> findByProjectIdAndStatus(Long projectId, TaskStatus status);
+    List<Task> findByWorkspaceIdAndProjectIdAndStatus(Long workspaceId, Long projectId, TaskStatus status);
 
     // Find tasks in sprint by status
-    List<Task> findBySprintIdAndStatus(Long sprintId, TaskStatus status);
+    List<Task> findByWorkspaceIdAndSprintIdAndStatus(Long workspaceId, Long sprintId, TaskStatus status);
+
+    // Find a task only if it belongs to the given project
+    Optional<Task> findByIdAndWorkspaceIdAndProjectId(Long id, Long workspaceId, Long projectId);
+
+    // Last rank in a sprint board column
+    @Query("SELECT MAX(t.rank) FROM Task t " +
+            "WHERE t.workspaceId = :workspaceId AND t.project.id = :projectId " +
+            "AND t.sprint.id = :sprintId AND t.status = :status")
+    String findMaxRankInSprintColumn(@Param("workspaceId") Long workspaceId,
+                                     @Param("projectId") Long projectId,
+                                     @Param("sprintId") Long sprintId,
+                                     @Param("status") TaskStatus status);
+
+    // Last rank in a backlog (no sprint) board column
+    @Query("SELECT MAX(t.rank) FROM Task t " +
+            "WHERE t.workspaceId = :workspaceId AND t.project.id = :projectId " +
+            "AND t.sprint IS NULL AND t.status = :status")
+    String findMaxRankInBacklogColumn(@Param("workspaceId") Long workspaceId,
+                                      @Param("projectId") Long projectId,
+                                      @Param("status") TaskStatus status);
 
-    // Get max task number for auto-increment per project
-    @Query("SELECT COALESCE(MAX(t.taskNumber), 0) FROM Task t WHERE t.project.id = :projectId")
-    Integer findMaxTaskNumberByProjectId(@Param("projectId") Long projectId);
+    // Board columns holding unranked tasks (served by idx_task_unranked)
+    @Query("SELECT DISTINCT new com.legion.task.RankColumn(t.workspaceId, t.project.id, s.id, t.status) " +
+            "FROM Task t LEFT JOIN t.sprint s WHERE t.rank IS NULL")
+    List<RankColumn> findUnrankedColumns();
+
+    // Board columns whose ranks have grown too long. FUNCTION('length') renders as the plain
+    // SQL length(), matching the idx_task_rank_length expression index.
+    @Query("SELECT DISTINCT new com.legion.task.RankColumn(t.workspaceId, t.project.id, s.id, t.status) " +
+            "FROM Task t LEFT JOIN t.sprint s WHERE FUNCTION('length', t.rank) > :maxLength")
+    List<RankColumn> findColumnsWithRanksLongerThan(@Param("maxLength") int maxLength);
+
+    // Lock a sprint board column in rank order for rebalancing
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.workspaceId = :workspaceId AND t.project.id = :projectId " +
+            "AND t.sprint.id = :sprintId AND t.status = :status " +
+            "ORDER BY t.rank ASC NULLS LAST, t.id ASC")
+    List<Task> lockSprintColumn(@Param("workspaceId") Long workspaceId,
+                                @Param("projectId") Long projectId,
+                                @Param("sprintId") Long sprintId,
+                                @Param("status") TaskStatus status);
+
+    // Lock a backlog board column in rank order for rebalancing
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.workspaceId = :workspaceId AND t.project.id = :projectId " +
+            "AND t.sprint IS NULL AND t.status = :status " +
+            "ORDER BY t.rank ASC NULLS LAST, t.id ASC")
+    List<Task> lockBacklogColumn(@Param("workspaceId") Long workspaceId,
+                                 @Param("projectId") Long projectId,
+                                 @Param("status") TaskStatus status);
+
+    // Get max task number for auto-increment per project.
+    // Numbers of tasks that moved away stay reserved so their old keys keep redirecting.
+    @Query(value = "SELECT GREATEST(" +
+            "(SELECT COALESCE(MAX(task_number), 0) FROM task " +
+            "WHERE workspace_id = :workspaceId AND project_id = :projectId), " +
+            "(SELECT COALESCE(MAX(old_task_number), 0) FROM task_key_redirect WHERE old_project_id = :projectId))",
+            nativeQuery = true)
+    Integer findMaxTaskNumber(@Param("workspaceId") Long workspaceId, @Param("projectId") Long projectId);
 
     // Get task by project and task number (for display like LEG-42)
-    Optional<Task> findByProjectIdAndTaskNumber(Long projectId, Integer taskNumber);
+    Optional<Task> findByWorkspaceIdAndProjectIdAndTaskNumber(Long workspaceId, Long projectId, Integer taskNumber);
+
+    long countByWorkspaceIdAndProjectId(Long workspaceId, Long projectId);
+
+    long countByWorkspaceId(Long workspaceId);
+
+    // Copy a range of task numbers from one project into another in a single statement.
+    // Numbers are kept; sprints are remapped through sprint.cloned_from_id.
+    // Both projects live in the same workspace, so rows stay in the same partition.
+    // When statuses are reset, every column of a sprint lands in one; ranks are then prefixed
+    // with the old column's position on the board, which keeps them unique and ordered by
+    // (status, rank) without looking at other chunks.
+    @Modifying
+    @Query(value = "INSERT INTO task (workspace_id, project_id, sprint_id, title, description, status, priority, " +
+            "assignee_id, reporter_id, task_number, rank, created_at, updated_at) " +
+            "SELECT t.workspace_id, :targetId, ns.id, t.title, t.description, " +
+            "CASE WHEN :copyStatuses THEN t.status ELSE :resetStatus END, t.priority, " +
+            "CASE WHEN :copyAssignees THEN t.assignee_id END, :reporterId, t.task_number, " +
+            "CASE WHEN :copyStatuses THEN t.rank ELSE " +
+            "CASE t.status WHEN 'BACKLOG' THEN '1' WHEN 'TODO' THEN '2' WHEN 'IN_PROGRESS' THEN '3' " +
+            "WHEN 'REVIEW' THEN '4' ELSE '5' END || t.rank END, " +
+            "LOCALTIMESTAMP, LOCALTIMESTAMP " +
+            "FROM task t LEFT JOIN sprint ns ON ns.project_id = :targetId AND ns.cloned_from_id = t.sprint_id " +
+            "WHERE t.workspace_id = :workspaceId AND t.project_id = :sourceId " +
+            "AND t.task_number > :afterNumber AND t.task_number <= :upToNumber",
+            nativeQuery = true)
+    int copyTaskRange(@Param("workspaceId") Long workspaceId,
+                      @Param("sourceId") Long sourceId,
+                      @Param("targetId") Long targetId,
+                      @Param("afterNumber") int afterNumber,
+                      @Param("upToNumber") int upToNumber,
+                      @Param("copyStatuses") boolean copyStatuses,
+                      @Param("resetStatus") String resetStatus,
+                      @Param("copyAssignees") boolean copyAssignees,
+                      @Param("reporterId") Long reporterId);
+
+    // Current project and number of the given tasks, in key order
+    @Query("SELECT new com.legion.task.TaskNumberRef(t.id, t.project.id, t.taskNumber) " +
+            "FROM Task t WHERE t.workspaceId = :workspaceId AND t.id IN :ids ORDER BY t.project.id, t.taskNumber")
+    List<TaskNumberRef> findNumberRefsByIdIn(@Param("workspaceId") Long workspaceId,
+                                             @Param("ids") Collection<Long> ids);
+
+    // Board positions of the given tasks
+    @Query("SELECT new com.legion.task.TaskRankRef(t.id, t.status, t.rank) " +
+            "FROM Task t WHERE t.workspaceId = :workspaceId AND t.id IN :ids")
+    List<TaskRankRef> findRankRefsByIdIn(@Param("workspaceId") Long workspaceId,
+                                         @Param("ids") Collection<Long> ids);
+
+    // Move tasks into a sprint of another project, numbering them base+1, base+2, ... in key order
+    @Modifying
+    @Query(value = "UPDATE task t SET project_id = :targetId, sprint_id = :sprintId, " +
+            "task_number = m.new_number, updated_at = LOCALTIMESTAMP " +
+            "FROM (SELECT id, :base + ROW_NUMBER() OVER (ORDER BY project_id, task_number) AS new_number " +
+            "FROM task WHERE workspace_id = :workspaceId AND id IN (:ids)) m " +
+            "WHERE t.workspace_id = :workspaceId AND t.id = m.id", nativeQuery = true)
+    int moveToProjectSprint(@Param("workspaceId") Long workspaceId,
+                            @Param("ids") Collection<Long> ids,
+                            @Param("targetId") Long targetId,
+                            @Param("sprintId") Long sprintId,
+                            @Param("base") int base);
+
+    // Move tasks into the backlog of another project, numbering them base+1, base+2, ... in key order
+    @Modifying
+    @Query(value = "UPDATE task t SET project_id = :targetId, sprint_id = NULL, " +
+            "task_number = m.new_number, updated_at = LOCALTIMESTAMP " +
+            "FROM (SELECT id, :base + ROW_NUMBER() OVER (ORDER BY project_id, task_number) AS new_number " +
+            "FROM task WHERE workspace_id = :workspaceId AND id IN (:ids)) m " +
+            "WHERE t.workspace_id = :workspaceId AND t.id = m.id", nativeQuery = true)
+    int moveToProjectBacklog(@Param("workspaceId") Long workspaceId,
+                             @Param("ids") Collection<Long> ids,
+                             @Param("targetId") Long targetId,
+                             @Param("base") int base);
+
+    // Bulk delete one chunk of a project's tasks without loading them
+    @Modifying
+    @Query(value = "DELETE FROM task WHERE workspace_id = :workspaceId AND id IN " +
+            "(SELECT id FROM task WHERE workspace_id = :workspaceId AND project_id = :projectId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByProjectId(@Param("workspaceId") Long workspaceId,
+                               @Param("projectId") Long projectId,
+                               @Param("limit") int limit);
+
+    // What a purge's final transaction still finds once the parent rows are locked
+    @Modifying
+    @Query(value = "DELETE FROM task WHERE workspace_id = :workspaceId AND project_id = :projectId",
+            nativeQuery = true)
+    int deleteAllByProjectId(@Param("workspaceId") Long workspaceId, @Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM task WHERE workspace_id = :workspaceId", nativeQuery = true)
+    int deleteAllByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+    // Bulk delete one chunk of a workspace's tasks without loading them
+    @Modifying
+    @Query(value = "DELETE FROM task WHERE workspace_id = :workspaceId AND id IN " +
+            "(SELECT id FROM task WHERE workspace_id = :workspaceId LIMIT :limit)", nativeQuery = true)
+    int deleteChunkByWorkspaceId(@Param("workspaceId") Long workspaceId, @Param("limit") int limit);
 
     // Multi-tenancy security: Get all tasks in a workspace
-    @Query("SELECT t FROM Task t WHERE t.project.workspace.id = :workspaceId")
+    @Query("SELECT t FROM Task t WHERE t.workspaceId = :workspaceId")
     List<Task> findAllByWorkspaceId(@Param("workspaceId") Long workspaceId);
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package com.legion.task;
 
-import com.legion.common.context.WorkspaceContext;
+import com.legion.common.context.RequestContext;
 import com.legion.common.context.WorkspaceContextHelper;
 import com.legion.common.exception.*;
+import com.legion.common.jfr.TaskNumberAllocationEvent;
+import com.legion.common.metrics.LegionMetrics;
 import com.legion.config.TaskConfig;
+import com.legion.project.ContentVersions;
 import com.legion.project.Project;
+import com.legion.project.ProjectKeyCache;
 import com.legion.project.ProjectRepository;
+import com.legion.project.ProjectWriteGuard;
 import com.legion.sprint.Sprint;
 import com.legion.sprint.SprintRepository;
 import com.legion.user.User;
@@ -17,32 +22,62 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
     private static final Logger log = LoggerFactory.getLogger(TaskService.class);
 
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
     private final TaskRepository taskRepository;
+    private final TaskKeyRedirectRepository taskKeyRedirectRepository;
+    private final TaskRankAppender taskRankAppender;
     private final ProjectRepository projectRepository;
+    private final ProjectKeyCache projectKeyCache;
     private final SprintRepository sprintRepository;
     private final UserRepository userRepository;
     private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final ContentVersions contentVersions;
+    private final ProjectWriteGuard projectWriteGuard;
     private final TaskConfig taskConfig;
+    private final LegionMetrics metrics;
 
     public TaskService(TaskRepository taskRepository,
+                       TaskKeyRedirectRepository taskKeyRedirectRepository,
+                       TaskRankAppender taskRankAppender,
                        ProjectRepository projectRepository,
+                       ProjectKeyCache projectKeyCache,
                        SprintRepository sprintRepository,
                        UserRepository userRepository,
                        WorkspaceMemberRepository workspaceMemberRepository,
-                       TaskConfig taskConfig) {
+                       ContentVersions contentVersions,
+                       ProjectWriteGuard projectWriteGuard,
+                       TaskConfig taskConfig,
+                       LegionMetrics metrics) {
         this.taskRepository = taskRepository;
+        this.taskKeyRedirectRepository = taskKeyRedirectRepository;
+        this.taskRankAppender = taskRankAppender;
         this.projectRepository = projectRepository;
+        this.projectKeyCache = projectKeyCache;
         this.sprintRepository = sprintRepository;
         this.userRepository = userRepository;
         this.workspaceMemberRepository = workspaceMemberRepository;
+        this.contentVersions = contentVersions;
+        this.projectWriteGuard = projectWriteGuard;
         this.taskConfig = taskConfig;
+        this.metrics = metrics;
     }
 
     @Transactional
@@ -53,16 +88,34 @@ public class TaskService {
         log.info("Creating task for projectId={}, reporterId={}, assigneeId={}",
                 projectId, reporterId, assigneeId);
 
+        return metrics.time("legion.task.create", () -> createTaskWithRetries(projectId, reporterId, title,
+                description, status, priority, assigneeId));
+    }
+
+    private Task createTaskWithRetries(Long projectId, Long reporterId, String title,
+                                       String description, TaskStatus status, Priority priority,
+                                       Long assigneeId) {
+
         int maxRetries = taskConfig.getCreationRetryAttempts();
         long retryDelay = taskConfig.getCreationRetryDelayMs();
         int attempt = 0;
 
         while (attempt < maxRetries) {
+            TaskNumberAllocationEvent event = new TaskNumberAllocationEvent();
+            event.projectId = projectId;
+            event.attempt = attempt + 1;
+            event.begin();
             try {
-                return attemptCreateTask(projectId, reporterId, title, description,
+                Task task = attemptCreateTask(projectId, reporterId, title, description,
                         status, priority, assigneeId);
+                event.taskNumber = task.getTaskNumber();
+                event.succeeded = true;
+                event.commit();
+                return task;
             } catch (DataIntegrityViolationException e) {
+                event.commit();
                 attempt++;
+                metrics.count("legion.task.create.retries");
                 log.warn("Task creation attempt {} failed due to data integrity violation", attempt);
 
                 if (attempt >= maxRetries) {
@@ -94,11 +147,12 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project", projectId));
 
         WorkspaceContextHelper.validateWorkspace(project.getWorkspace().getId());
+        projectWriteGuard.requireTaskNumbersAvailable(project.getWorkspace().getId(), projectId);
 
         User reporter = userRepository.findById(reporterId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", reporterId));
 
-        Long workspaceId = WorkspaceContext.getWorkspaceId();
+        Long workspaceId = RequestContext.currentWorkspaceId();
         if (!workspaceMemberRepository.existsByUserIdAndWorkspaceId(reporter.getId(), workspaceId)) {
             log.warn("Reporter {} is not member of workspace {}", reporterId, workspaceId);
             throw new UnauthorizedException("You must be a member of this workspace");
@@ -115,10 +169,13 @@ public class TaskService {
             }
         }
 
-        Integer maxTaskNumber = taskRepository.findMaxTaskNumberByProjectId(projectId);
+        // Also the project's task number lock, shared with moveTasks
+        contentVersions.backlogChanged(projectId);
+        Integer maxTaskNumber = taskRepository.findMaxTaskNumber(workspaceId, projectId);
         Integer nextTaskNumber = maxTaskNumber + 1;
 
         Task task = new Task();
+        task.setWorkspaceId(workspaceId);
         task.setProject(project);
         task.setReporter(reporter);
         task.setAssignee(assignee);
@@ -127,6 +184,7 @@ public class TaskService {
         task.setStatus(status);
         task.setPriority(priority);
         task.setTaskNumber(nextTaskNumber);
+        task.setRank(LexoRank.after(taskRepository.findMaxRankInBacklogColumn(workspaceId, projectId, status)));
 
         Task saved = taskRepository.save(task);
         log.info("Task created successfully with id={} and taskNumber={}",
@@ -138,33 +196,173 @@ public class TaskService {
     public Task getTaskById(Long taskId) {
         log.debug("Fetching task id={}", taskId);
 
-        Task task = taskRepository.findById(taskId)
+        Long workspaceId = WorkspaceContextHelper.requireWorkspaceId();
+        return taskRepository.findByIdAndWorkspaceId(taskId, workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", taskId));
+    }
+
+    /**
+     * Resolves a task by its display key, e.g. LEG-42.
+     * Keys of tasks that moved to another project resolve through their redirect.
+     */
+    @Transactional(readOnly = true)
+    public Task getTaskByKey(String key) {
+        log.debug("Resolving task key={}", key);
+
+        Long workspaceId = WorkspaceContextHelper.requireWorkspaceId();
+        TaskKey taskKey = TaskKey.parse(key);
+
+        Long projectId = projectKeyCache.resolve(workspaceId, taskKey.projectKey())
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "key", taskKey.projectKey()));
+
+        return taskRepository.findByWorkspaceIdAndProjectIdAndTaskNumber(workspaceId, projectId, taskKey.taskNumber())
+                .or(() -> taskKeyRedirectRepository
+                        .findByOldProjectIdAndOldTaskNumber(projectId, taskKey.taskNumber())
+                        .map(TaskKeyRedirect::getTask))
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "key", key));
+    }
+
+    /**
+     * Fetches several tasks by id with one query, in the order asked for.
+     * Ids that don't exist in the current workspace are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getTasksByIds(List<Long> ids) {
+        Long workspaceId = WorkspaceContextHelper.requireWorkspaceId();
+        List<Long> distinct = ids.stream().distinct().toList();
+        requireMultiGetSize(distinct.size());
+
+        log.debug("Fetching tasks by ids workspaceId={} count={}", workspaceId, distinct.size());
+
+        Map<Long, Task> byId = taskRepository.findByWorkspaceIdAndIdIn(workspaceId, distinct).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        return metrics.rows("tasks.by_ids", distinct.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Resolves several task keys with one project-key lookup (usually cached), one
+     * task query and, only for keys not found, one redirect query.
+     * Results keep the order asked for; unknown keys are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getTasksByKeys(List<String> keys) {
+        Long workspaceId = WorkspaceContextHelper.requireWorkspaceId();
+        // Parsed before deduplicating, so LEG-1 and LEG-01 count as one key
+        List<TaskKey> taskKeys = keys.stream().map(TaskKey::parse).distinct().toList();
+        requireMultiGetSize(taskKeys.size());
+
+        log.debug("Fetching tasks by keys workspaceId={} count={}", workspaceId, taskKeys.size());
+
+        Map<String, Long> projectIds = projectKeyCache.resolveAll(workspaceId,
+                taskKeys.stream().map(TaskKey::projectKey).toList());
+
+        Map<TaskRef, TaskKey> wanted = new HashMap<>();
+        for (TaskKey taskKey : taskKeys) {
+            Long projectId = projectIds.get(taskKey.projectKey());
+            if (projectId != null) {
+                wanted.put(new TaskRef(projectId, taskKey.taskNumber()), taskKey);
+            }
+        }
+
+        Map<TaskKey, Task> found = new HashMap<>();
+        if (!wanted.isEmpty()) {
+            List<Long> wantedProjects = wanted.keySet().stream().map(TaskRef::projectId).distinct().toList();
+            List<Integer> wantedNumbers = wanted.keySet().stream().map(TaskRef::taskNumber).distinct().toList();
+
+            // The query matches every project/number combination, so keep only the exact pairs
+            for (Task task : taskRepository.findByProjectIdsAndTaskNumbers(workspaceId, wantedProjects, wantedNumbers)) {
+                TaskKey taskKey = wanted.get(new TaskRef(task.getProject().getId(), task.getTaskNumber()));
+                if (taskKey != null) {
+                    found.put(taskKey, task);
+                }
+            }
+
+            List<TaskRef> missing = wanted.entrySet().stream()
+                    .filter(entry -> !found.containsKey(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!missing.isEmpty()) {
+                for (TaskKeyRedirect redirect : taskKeyRedirectRepository.findByOldKeys(workspaceId,
+                        missing.stream().map(TaskRef::projectId).distinct().toList(),
+                        missing.stream().map(TaskRef::taskNumber).distinct().toList())) {
+                    TaskKey taskKey = wanted.get(new TaskRef(redirect.getOldProjectId(), redirect.getOldTaskNumber()));
+                    if (taskKey != null) {
+                        found.putIfAbsent(taskKey, redirect.getTask());
+                    }
+                }
+            }
+        }
+
+        // A moved task can be asked for by its old and its new key; it is returned once
+        Set<Long> returned = new HashSet<>();
+        return metrics.rows("tasks.by_keys", taskKeys.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .filter(task -> returned.add(task.getId()))
+                .toList());
+    }
 
-        WorkspaceContextHelper.validateWorkspace(task.getProject().getWorkspace().getId());
-        return task;
+    private void requireMultiGetSize(int count) {
+        if (count == 0) {
+            throw new InvalidOperationException("No tasks requested");
+        }
+        if (count > taskConfig.getMultiGetMaxTasks()) {
+            throw new InvalidOperationException(
+                    "Cannot fetch more than " + taskConfig.getMultiGetMaxTasks() + " tasks at once");
+        }
     }
 
+    /**
+     * A task's display key split into project key and number, e.g. LEG-42.
+     */
+    private record TaskKey(String projectKey, int taskNumber) {
+
+        static TaskKey parse(String key) {
+            int dash = key.lastIndexOf('-');
+            if (dash <= 0 || dash == key.length() - 1) {
+                throw new InvalidOperationException("Invalid task key: " + key);
+            }
+            try {
+                return new TaskKey(key.substring(0, dash), Integer.parseInt(key.substring(dash + 1)));
+            } catch (NumberFormatException e) {
+                throw new InvalidOperationException("Invalid task key: " + key);
+            }
+        }
+    }
+
+    private record TaskRef(Long projectId, Integer taskNumber) {
+    }
+
+    @Transactional(readOnly = true)
     public List<Task> getTasksByProject(Long projectId) {
         log.debug("Fetching tasks for projectId={}", projectId);
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", projectId));
 
-        WorkspaceContextHelper.validateWorkspace(project.getWorkspace().getId());
-        return taskRepository.findByProjectId(projectId);
+        Long workspaceId = project.getWorkspace().getId();
+        WorkspaceContextHelper.validateWorkspace(workspaceId);
+        return metrics.rows("tasks.by_project", taskRepository.findByWorkspaceIdAndProjectId(workspaceId, projectId));
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksBySprint(Long sprintId) {
         log.debug("Fetching tasks for sprintId={}", sprintId);
 
         Sprint sprint = sprintRepository.findById(sprintId)
                 .orElseThrow(() -> new ResourceNotFoundException("Sprint", sprintId));
 
-        WorkspaceContextHelper.validateWorkspace(sprint.getProject().getWorkspace().getId());
-        return taskRepository.findBySprintId(sprintId);
+        Long workspaceId = sprint.getProject().getWorkspace().getId();
+        WorkspaceContextHelper.validateWorkspace(workspaceId);
+        return metrics.rows("tasks.by_sprint",
+                taskRepository.findByWorkspaceIdAndSprintIdOrderByStatusAscRankAsc(workspaceId, sprintId));
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksByAssignee(Long assigneeId) {
         log.debug("Fetching tasks for assigneeId={}", assigneeId);
 
@@ -177,7 +375,7 @@ public class TaskService {
             throw new UnauthorizedException("User is not a member of this workspace");
         }
 
-        return taskRepository.findByAssigneeId(assigneeId);
+        return metrics.rows("tasks.by_assignee", taskRepository.findByAssigneeIdAndWorkspaceId(assigneeId, workspaceId));
     }
 
     @Transactional
@@ -185,15 +383,94 @@ public class TaskService {
         log.info("Updating status of taskId={} to {}", taskId, newStatus);
 
         Task task = getTaskById(taskId);
-        task.setStatus(newStatus);
+        contentVersions.taskChanged(task);
+        if (task.getStatus() != newStatus) {
+            task.setStatus(newStatus);
+            task.setRank(LexoRank.after(findMaxRankInColumn(task)));
+        }
+        return taskRepository.save(task);
+    }
+
+    /**
+     * Moves a task between two neighbours on the board, optionally into another status column.
+     * Only the moved task's rank changes, so exactly one row is written.
+     *
+     * <p>Neighbours must be in the column the task ends up in. Without neighbours the
+     * task goes to the bottom of that column.</p>
+     */
+    @Transactional
+    public Task rankTask(Long taskId, TaskStatus status, Long previousTaskId, Long nextTaskId) {
+        log.info("Ranking taskId={} status={} after={} before={}", taskId, status, previousTaskId, nextTaskId);
+
+        Task task = getTaskById(taskId);
+        contentVersions.taskChanged(task);
+
+        if (status != null) {
+            task.setStatus(status);
+        }
+
+        if (previousTaskId == null && nextTaskId == null) {
+            task.setRank(LexoRank.after(findMaxRankInColumn(task)));
+            return taskRepository.save(task);
+        }
+
+        String lower = previousTaskId != null ? findNeighbourRank(previousTaskId, task) : null;
+        String upper = nextTaskId != null ? findNeighbourRank(nextTaskId, task) : null;
+
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            log.warn("Neighbours out of order for taskId={}: {} >= {}", taskId, lower, upper);
+            throw new InvalidOperationException("Board order changed. Reload the board and try again.");
+        }
+
+        task.setRank(LexoRank.between(lower, upper));
+
         return taskRepository.save(task);
     }
 
+    /**
+     * Rank of a neighbour in the task's (target) column: same project, sprint or backlog, and status.
+     */
+    private String findNeighbourRank(Long neighbourId, Task task) {
+        if (neighbourId.equals(task.getId())) {
+            throw new InvalidOperationException("A task cannot be ranked next to itself");
+        }
+
+        Task neighbour = taskRepository
+                .findByIdAndWorkspaceIdAndProjectId(neighbourId, task.getWorkspaceId(), task.getProject().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Task", neighbourId));
+
+        if (!Objects.equals(sprintIdOf(neighbour), sprintIdOf(task)) || neighbour.getStatus() != task.getStatus()) {
+            log.warn("Neighbour {} of taskId={} is in another board column", neighbourId, task.getId());
+            throw new InvalidOperationException("Task " + neighbourId + " is not in the target board column");
+        }
+
+        if (neighbour.getRank() == null) {
+            throw new InvalidOperationException("Board order is being rebuilt. Please try again shortly.");
+        }
+        return neighbour.getRank();
+    }
+
+    private static Long sprintIdOf(Task task) {
+        return task.getSprint() != null ? task.getSprint().getId() : null;
+    }
+
+    private String findMaxRankInColumn(Task task) {
+        Long workspaceId = task.getWorkspaceId();
+        Long projectId = task.getProject().getId();
+        if (task.getSprint() == null) {
+            return taskRepository.findMaxRankInBacklogColumn(workspaceId, projectId, task.getStatus());
+        }
+        return taskRepository.findMaxRankInSprintColumn(workspaceId, projectId,
+                task.getSprint().getId(), task.getStatus());
+    }
+
     @Transactional
     public Task assignTaskToSprint(Long taskId, Long sprintId) {
         log.info("Assigning taskId={} to sprintId={}", taskId, sprintId);
 
         Task task = getTaskById(taskId);
+        contentVersions.sprintsChanged(task.getProject().getId(),
+                task.getSprint() != null ? task.getSprint().getId() : null, sprintId);
 
         if (sprintId != null) {
             Sprint sprint = sprintRepository.findById(sprintId)
@@ -210,21 +487,123 @@ public class TaskService {
         } else {
             task.setSprint(null);
         }
+        task.setRank(LexoRank.after(findMaxRankInColumn(task)));
 
         return taskRepository.save(task);
     }
 
+    /**
+     * Moves a set of tasks into another project with set-based statements.
+     *
+     * <p>The target's task numbers are locked as createTask locks them, and a contiguous
+     * block of task numbers is reserved after the current maximum. Tasks are renumbered in their old key order,
+     * and each old key is kept as a redirect so existing links still resolve. Moved
+     * tasks are ranked after the last task of their new board column.</p>
+     */
+    @Transactional
+    public TaskMoveResult moveTasks(List<Long> taskIds, Long targetProjectId, Long targetSprintId) {
+        log.info("Moving {} tasks to projectId={} sprintId={}",
+                taskIds != null ? taskIds.size() : 0, targetProjectId, targetSprintId);
+
+        if (taskIds == null || taskIds.isEmpty()) {
+            throw new InvalidOperationException("No tasks to move");
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        if (ids.size() > taskConfig.getMoveMaxTasks()) {
+            throw new InvalidOperationException(
+                    "Cannot move more than " + taskConfig.getMoveMaxTasks() + " tasks at once");
+        }
+
+        // Before anything else, so creates in the target wait for the move and never the other way round
+        contentVersions.backlogChanged(targetProjectId);
+        Project target = projectRepository.findById(targetProjectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", targetProjectId));
+        Long workspaceId = target.getWorkspace().getId();
+        WorkspaceContextHelper.validateWorkspace(workspaceId);
+        projectWriteGuard.requireTaskNumbersAvailable(workspaceId, targetProjectId);
+
+        if (targetSprintId != null) {
+            Sprint sprint = sprintRepository.findById(targetSprintId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Sprint", targetSprintId));
+            if (!sprint.getProject().getId().equals(targetProjectId)) {
+                throw new InvalidOperationException("Target sprint must belong to the target project");
+            }
+        }
+
+        List<TaskNumberRef> refs = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunks(ids)) {
+            refs.addAll(taskRepository.findNumberRefsByIdIn(workspaceId, chunk));
+        }
+
+        if (refs.size() != ids.size()) {
+            log.warn("Move requested {} tasks but found {}", ids.size(), refs.size());
+            throw new ResourceNotFoundException("Task", "id", "one or more of the requested ids");
+        }
+
+        for (TaskNumberRef ref : refs) {
+            if (ref.projectId().equals(targetProjectId)) {
+                throw new InvalidOperationException("Task " + ref.id() + " is already in the target project");
+            }
+        }
+
+        refs.sort(Comparator.comparing(TaskNumberRef::projectId).thenComparing(TaskNumberRef::taskNumber));
+
+        // Source lists while the tasks are still in them, then the target's
+        for (List<Long> chunk : chunks(ids)) {
+            contentVersions.tasksChanged(workspaceId, chunk);
+        }
+        contentVersions.sprintsChanged(targetProjectId, targetSprintId);
+
+        // Moved tasks go below what the target columns already hold
+        List<TaskRankRef> rankRefs = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunks(ids)) {
+            rankRefs.addAll(taskRepository.findRankRefsByIdIn(workspaceId, chunk));
+        }
+        Map<Long, String> ranks = taskRankAppender.ranksAfterLast(workspaceId, targetProjectId, targetSprintId, rankRefs);
+
+        int firstNumber = taskRepository.findMaxTaskNumber(workspaceId, targetProjectId) + 1;
+        int base = firstNumber - 1;
+
+        for (List<TaskNumberRef> chunk : chunks(refs)) {
+            List<Long> chunkIds = chunk.stream().map(TaskNumberRef::id).toList();
+
+            taskKeyRedirectRepository.recordCurrentKeys(workspaceId, chunkIds);
+            if (targetSprintId != null) {
+                taskRepository.moveToProjectSprint(workspaceId, chunkIds, targetProjectId, targetSprintId, base);
+            } else {
+                taskRepository.moveToProjectBacklog(workspaceId, chunkIds, targetProjectId, base);
+            }
+            base += chunk.size();
+        }
+        taskRankAppender.write(workspaceId, ranks);
+
+        log.info("Moved {} tasks to projectId={} in workspaceId={} as numbers {}..{}",
+                refs.size(), targetProjectId, workspaceId, firstNumber, base);
+
+        return new TaskMoveResult(targetProjectId, refs.size(), firstNumber, base);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += IN_CLAUSE_CHUNK) {
+            chunks.add(items.subList(i, Math.min(i + IN_CLAUSE_CHUNK, items.size())));
+        }
+        return chunks;
+    }
+
     @Transactional
     public Task updateTaskAssignee(Long taskId, Long assigneeId) {
         log.info("Updating assignee of taskId={} to {}", taskId, assigneeId);
 
         Task task = getTaskById(taskId);
+        contentVersions.taskChanged(task);
 
         if (assigneeId != null) {
             User assignee = userRepository.findById(assigneeId)
                     .orElseThrow(() -> new ResourceNotFoundException("User", assigneeId));
 
-            Long workspaceId = WorkspaceContext.getWorkspaceId();
+            Long workspaceId = RequestContext.currentWorkspaceId();
             if (!workspaceMemberRepository.existsByUserIdAndWorkspaceId(assignee.getId(), workspaceId)) {
                 log.warn("Assignee {} not member of workspace {}", assigneeId, workspaceId);
                 throw new UnauthorizedException("Assignee must be a member of this workspace");
@@ -243,13 +622,15 @@ public class TaskService {
         log.info("Deleting task id={}", taskId);
 
         Task task = getTaskById(taskId);
+        contentVersions.taskChanged(task);
         taskRepository.delete(task);
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getAllTasksInWorkspace() {
         Long workspaceId = WorkspaceContextHelper.requireWorkspaceId();
         log.debug("Fetching all tasks for workspaceId={}", workspaceId);
-        return taskRepository.findAllByWorkspaceId(workspaceId);
+        return metrics.rows("tasks.in_workspace", taskRepository.findAllByWorkspaceId(workspaceId));
     }
 
     @Transactional
@@ -257,6 +638,7 @@ public class TaskService {
         log.info("Updating task details for taskId={}", taskId);
 
         Task task = getTaskById(taskId);
+        contentVersions.taskChanged(task);
 
         if (request.getTitle() != null && !request.getTitle().trim().isEmpty()) {
             task.setTitle(request.getTitle().trim());
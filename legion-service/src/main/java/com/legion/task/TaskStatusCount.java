@@ -0,0 +1,7 @@
+package com.legion.task;
+
+/**
+ * Number of tasks in one status, used for sprint summaries.
+ */
+public record TaskStatusCount(TaskStatus status, long count) {
+}
@@ -10,9 +10,7 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
-@Table(name = "users", indexes = {
-        @Index(name = "idx_user_email", columnList = "email")
-})
+@Table(name = "users")
 public class User {
 
     @Id
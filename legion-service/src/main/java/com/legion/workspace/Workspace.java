@@ -27,8 +27,9 @@ public class Workspace {
     @Column(nullable = false, unique = true, length = 50)
     private String slug;
 
+    // No cascade: deleting a workspace goes through WorkspacePurger's bulk statements
     @JsonIgnore
-    @OneToMany(mappedBy = "workspace", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "workspace")
     private List<Project> projects = new ArrayList<>();
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -1,10 +1,15 @@
 package com.legion.workspace;
 
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
+import com.legion.job.Job;
 import com.legion.user.User;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,9 +23,11 @@ import java.util.List;
 public class WorkspaceController {
 
     private final WorkspaceService workspaceService;
+    private final ResponseCache responseCache;
 
-    public WorkspaceController(WorkspaceService workspaceService) {
+    public WorkspaceController(WorkspaceService workspaceService, ResponseCache responseCache) {
         this.workspaceService = workspaceService;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -72,9 +79,22 @@ public class WorkspaceController {
      * Get all members of a workspace.
      */
     @GetMapping("/{workspaceId}/members")
-    public ResponseEntity<List<WorkspaceMember>> getWorkspaceMembers(@PathVariable Long workspaceId) {
-        List<WorkspaceMember> members = workspaceService.getWorkspaceMembers(workspaceId);
-        return ResponseEntity.ok(members);
+    public ResponseEntity<byte[]> getWorkspaceMembers(@PathVariable Long workspaceId, HttpServletRequest request) {
+        return responseCache.get(request, "members.by_workspace", CacheScope.MEMBERS,
+                () -> workspaceService.getWorkspaceMembers(workspaceId));
+    }
+
+    /**
+     * Delete a workspace and everything in it (ADMIN only).
+     * Runs as a background job; poll /api/jobs/{id} for progress.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Job> deleteWorkspace(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+        Job job = workspaceService.deleteWorkspace(id, currentUser);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
     }
 
     // DTO
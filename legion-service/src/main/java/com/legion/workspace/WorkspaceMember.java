@@ -19,12 +19,7 @@ import java.time.LocalDateTime;
 @Getter
 @Entity
 @Table(name = "workspace_member",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "workspace_id"}),
-        indexes = {
-                @Index(name = "idx_member_workspace", columnList = "workspace_id"),
-                @Index(name = "idx_member_user", columnList = "user_id"),
-                @Index(name = "idx_member_role", columnList = "role")
-        })
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "workspace_id"}))
 public class WorkspaceMember {
 
     @Id
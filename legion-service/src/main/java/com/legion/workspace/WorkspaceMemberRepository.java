@@ -2,6 +2,7 @@ package com.legion.workspace;
 
 import com.legion.user.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -39,4 +40,9 @@ public interface WorkspaceMemberRepository extends JpaRepository<WorkspaceMember
             "WHERE wm.user.id = :userId AND wm.workspace.id = :workspaceId")
     Optional<Role> findRoleByUserIdAndWorkspaceId(@Param("userId") Long userId,
                                                   @Param("workspaceId") Long workspaceId);
+
+    // Remove all memberships of a workspace in one statement
+    @Modifying
+    @Query("DELETE FROM WorkspaceMember wm WHERE wm.workspace.id = :workspaceId")
+    int bulkDeleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
 }
\ No newline at end of file
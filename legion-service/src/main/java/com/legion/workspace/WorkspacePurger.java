@@ -0,0 +1,118 @@
+package com.legion.workspace;
+
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
+import com.legion.common.shard.ShardContext;
+import com.legion.config.JobConfig;
+import com.legion.invitation.InvitationRepository;
+import com.legion.job.JobProgress;
+import com.legion.project.ProjectKeyCache;
+import com.legion.project.ProjectRepository;
+import com.legion.sprint.SprintCompletionRepository;
+import com.legion.sprint.SprintRepository;
+import com.legion.task.TaskKeyRedirectRepository;
+import com.legion.task.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Deletes a workspace and all of its data with set-based statements.
+ *
+ * <p>Same approach as {@link com.legion.project.ProjectPurger}: tasks in chunks,
+ * then the remaining rows in dependency order in a single transaction, which first locks
+ * the workspace and its projects and deletes any tasks created while the job ran.</p>
+ */
+@Component
+public class WorkspacePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspacePurger.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskKeyRedirectRepository taskKeyRedirectRepository;
+    private final SprintRepository sprintRepository;
+    private final SprintCompletionRepository sprintCompletionRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectKeyCache projectKeyCache;
+    private final ResponseCache responseCache;
+    private final InvitationRepository invitationRepository;
+    private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final JobConfig jobConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public WorkspacePurger(TaskRepository taskRepository,
+                           TaskKeyRedirectRepository taskKeyRedirectRepository,
+                           SprintRepository sprintRepository,
+                           SprintCompletionRepository sprintCompletionRepository,
+                           ProjectRepository projectRepository,
+                           ProjectKeyCache projectKeyCache,
+                           ResponseCache responseCache,
+                           InvitationRepository invitationRepository,
+                           WorkspaceMemberRepository workspaceMemberRepository,
+                           WorkspaceRepository workspaceRepository,
+                           JobConfig jobConfig,
+                           TransactionTemplate transactionTemplate) {
+        this.taskRepository = taskRepository;
+        this.taskKeyRedirectRepository = taskKeyRedirectRepository;
+        this.sprintRepository = sprintRepository;
+        this.sprintCompletionRepository = sprintCompletionRepository;
+        this.projectRepository = projectRepository;
+        this.projectKeyCache = projectKeyCache;
+        this.responseCache = responseCache;
+        this.invitationRepository = invitationRepository;
+        this.workspaceMemberRepository = workspaceMemberRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.jobConfig = jobConfig;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void purge(Long workspaceId, JobProgress progress) {
+        long taskCount = taskRepository.countByWorkspaceId(workspaceId);
+        long sprintCount = sprintRepository.countByProjectWorkspaceId(workspaceId);
+        progress.setTotal(taskCount + sprintCount + 1);
+
+        log.info("Purging workspaceId={} tasks={} sprints={}", workspaceId, taskCount, sprintCount);
+
+        int chunkSize = jobConfig.getDeleteChunkSize();
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    taskRepository.deleteChunkByWorkspaceId(workspaceId, chunkSize));
+            progress.advance(deleted);
+        } while (deleted > 0);
+
+        int removed = transactionTemplate.execute(status -> {
+            workspaceRepository.lockById(workspaceId);
+            projectRepository.lockByWorkspaceId(workspaceId);
+            int late = taskRepository.deleteAllByWorkspaceId(workspaceId);
+            if (late > 0) {
+                log.info("Removed {} tasks created in workspaceId={} during its purge", late, workspaceId);
+            }
+            taskKeyRedirectRepository.bulkDeleteByWorkspaceId(workspaceId);
+            sprintCompletionRepository.bulkDeleteByWorkspaceId(workspaceId);
+            int sprints = sprintRepository.bulkDeleteByWorkspaceId(workspaceId);
+            projectRepository.bulkDeleteByWorkspaceId(workspaceId);
+            invitationRepository.bulkDeleteByWorkspaceId(workspaceId);
+            workspaceMemberRepository.bulkDeleteByWorkspaceId(workspaceId);
+            workspaceRepository.deleteAllByIdInBatch(List.of(workspaceId));
+            return sprints + 1;
+        });
+
+        // The rows above were the shard's copies when the workspace lives on a shard.
+        // The directory's own rows go last; on the directory itself this finds nothing left.
+        ShardContext.runOn(ShardContext.DIRECTORY, () -> transactionTemplate.executeWithoutResult(status -> {
+            invitationRepository.bulkDeleteByWorkspaceId(workspaceId);
+            workspaceMemberRepository.bulkDeleteByWorkspaceId(workspaceId);
+            workspaceRepository.deleteAllByIdInBatch(List.of(workspaceId));
+        }));
+        progress.advance(removed);
+        projectKeyCache.evictWorkspace(workspaceId);
+        responseCache.invalidate(workspaceId, CacheScope.values());
+
+        log.info("Purged workspaceId={}", workspaceId);
+    }
+}
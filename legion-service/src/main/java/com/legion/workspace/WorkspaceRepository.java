@@ -1,8 +1,11 @@
 package com.legion.workspace;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,8 @@ public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
     Optional<Workspace> findBySlug(String slug);
 
     boolean existsBySlug(String slug);
+
+    // Final step of a purge: waits for in-flight inserts that reference the row, blocks new ones
+    @Query(value = "SELECT id FROM workspace WHERE id = :id FOR UPDATE", nativeQuery = true)
+    List<Long> lockById(@Param("id") Long id);
 }
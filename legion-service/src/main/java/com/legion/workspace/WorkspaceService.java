@@ -1,9 +1,17 @@
 package com.legion.workspace;
 
+import com.legion.common.cache.CacheScope;
+import com.legion.common.cache.ResponseCache;
 import com.legion.common.context.WorkspaceContextHelper;
 import com.legion.common.exception.DuplicateResourceException;
 import com.legion.common.exception.InvalidOperationException;
 import com.legion.common.exception.ResourceNotFoundException;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.common.shard.DirectorySync;
+import com.legion.common.shard.ShardContext;
+import com.legion.job.Job;
+import com.legion.job.JobService;
+import com.legion.job.JobType;
 import com.legion.user.Role;
 import com.legion.user.User;
 import org.slf4j.Logger;
@@ -20,11 +28,26 @@ public class WorkspaceService {
 
     private final WorkspaceRepository workspaceRepository;
     private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final JobService jobService;
+    private final WorkspacePurger workspacePurger;
+    private final DirectorySync directorySync;
+    private final ResponseCache responseCache;
+    private final LegionMetrics metrics;
 
     public WorkspaceService(WorkspaceRepository workspaceRepository,
-                            WorkspaceMemberRepository workspaceMemberRepository) {
+                            WorkspaceMemberRepository workspaceMemberRepository,
+                            JobService jobService,
+                            WorkspacePurger workspacePurger,
+                            DirectorySync directorySync,
+                            ResponseCache responseCache,
+                            LegionMetrics metrics) {
         this.workspaceRepository = workspaceRepository;
         this.workspaceMemberRepository = workspaceMemberRepository;
+        this.jobService = jobService;
+        this.workspacePurger = workspacePurger;
+        this.directorySync = directorySync;
+        this.responseCache = responseCache;
+        this.metrics = metrics;
     }
 
     /**
@@ -33,6 +56,7 @@ public class WorkspaceService {
     @Transactional
     public Workspace createWorkspace(String name, String slug, User creator) {
         log.info("Creating workspace with slug={} by userId={}", slug, creator.getId());
+        ShardContext.useDirectoryForCurrentTransaction();
 
         if (workspaceRepository.existsBySlug(slug)) {
             log.warn("Workspace creation failed: slug already exists [{}]", slug);
@@ -72,27 +96,33 @@ public class WorkspaceService {
     /**
      * Gets all workspaces.
      */
+    @Transactional(readOnly = true)
     public List<Workspace> getAllWorkspaces() {
         log.debug("Fetching all workspaces");
+        ShardContext.useDirectoryForCurrentTransaction();
         return workspaceRepository.findAll();
     }
 
     /**
      * Gets all workspaces a user is a member of.
      */
+    @Transactional(readOnly = true)
     public List<WorkspaceMember> getUserWorkspaces(Long userId) {
         log.debug("Fetching workspaces for userId={}", userId);
-        return workspaceMemberRepository.findByUserId(userId);
+        // Shards only hold the memberships of their own workspaces
+        ShardContext.useDirectoryForCurrentTransaction();
+        return metrics.rows("workspaces.by_user", workspaceMemberRepository.findByUserId(userId));
     }
 
     /**
      * Gets all members of a workspace with validation.
      */
+    @Transactional(readOnly = true)
     public List<WorkspaceMember> getWorkspaceMembers(Long workspaceId) {
         log.debug("Fetching members for workspaceId={}", workspaceId);
 
         WorkspaceContextHelper.validateWorkspace(workspaceId);
-        return workspaceMemberRepository.findByWorkspaceId(workspaceId);
+        return metrics.rows("members.by_workspace", workspaceMemberRepository.findByWorkspaceId(workspaceId));
     }
 
     /**
@@ -103,6 +133,7 @@ public class WorkspaceService {
         log.info("Removing userId={} from workspaceId={}", userId, workspaceId);
 
         WorkspaceContextHelper.validateWorkspace(workspaceId);
+        ShardContext.useDirectoryForCurrentTransaction();
 
         List<WorkspaceMember> admins = workspaceMemberRepository
                 .findByWorkspaceIdAndRole(workspaceId, Role.ADMIN);
@@ -119,6 +150,8 @@ public class WorkspaceService {
                         "userId", userId + " in workspace " + workspaceId));
 
         workspaceMemberRepository.delete(member);
+        directorySync.syncAfterCommit(workspaceId);
+        responseCache.invalidateAfterCommit(workspaceId, CacheScope.MEMBERS);
         log.info("UserId={} removed from workspaceId={}", userId, workspaceId);
     }
 
@@ -130,6 +163,7 @@ public class WorkspaceService {
         log.info("Updating role for userId={} in workspaceId={} to {}", userId, workspaceId, newRole);
 
         WorkspaceContextHelper.validateWorkspace(workspaceId);
+        ShardContext.useDirectoryForCurrentTransaction();
 
         if (newRole != Role.ADMIN) {
             List<WorkspaceMember> admins = workspaceMemberRepository
@@ -149,8 +183,28 @@ public class WorkspaceService {
 
         member.setRole(newRole);
         WorkspaceMember saved = workspaceMemberRepository.save(member);
+        directorySync.syncAfterCommit(workspaceId);
+        responseCache.invalidateAfterCommit(workspaceId, CacheScope.MEMBERS);
 
         log.info("Role updated for userId={} in workspaceId={}", userId, workspaceId);
         return saved;
     }
+
+    /**
+     * Deletes a workspace with all its projects, members and invitations as a background job.
+     */
+    public Job deleteWorkspace(Long workspaceId, User requestedBy) {
+        log.info("Deleting workspaceId={} requested by userId={}", workspaceId, requestedBy.getId());
+
+        WorkspaceContextHelper.validateWorkspace(workspaceId);
+        getWorkspaceById(workspaceId);
+
+        return jobService.submit(
+                JobType.WORKSPACE_DELETE,
+                workspaceId,
+                workspaceId,
+                requestedBy,
+                progress -> workspacePurger.purge(workspaceId, progress)
+        );
+    }
 }
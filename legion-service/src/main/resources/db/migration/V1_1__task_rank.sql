@@ -0,0 +1,6 @@
+-- Board rank of each task within its (project, sprint, status) column.
+-- Existing tasks start unranked; the rank rebalancer gives their columns ranks.
+-- IF NOT EXISTS: databases that ran these features under ddl-auto=update already have them.
+ALTER TABLE task ADD COLUMN IF NOT EXISTS rank VARCHAR(64) COLLATE "C";
+
+CREATE INDEX IF NOT EXISTS idx_task_sprint_status_rank ON task (sprint_id, status, rank);
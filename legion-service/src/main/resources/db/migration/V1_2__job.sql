@@ -0,0 +1,18 @@
+-- Background jobs: bulk project and workspace deletes, large project clones.
+CREATE TABLE IF NOT EXISTS job (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type            VARCHAR(30)  NOT NULL CHECK (type IN ('PROJECT_DELETE', 'WORKSPACE_DELETE', 'PROJECT_CLONE')),
+    status          VARCHAR(20)  NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    workspace_id    BIGINT       NOT NULL,
+    target_id       BIGINT       NOT NULL,
+    requested_by_id BIGINT,
+    total_items     BIGINT       NOT NULL,
+    processed_items BIGINT       NOT NULL,
+    error           TEXT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    finished_at     TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_workspace ON job (workspace_id);
+CREATE INDEX IF NOT EXISTS idx_job_target ON job (type, target_id, status);
@@ -0,0 +1,13 @@
+-- Snapshot of each completed sprint, taken before its unfinished tasks are carried over.
+CREATE TABLE IF NOT EXISTS sprint_completion (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sprint_id          BIGINT       NOT NULL REFERENCES sprint (id),
+    target_sprint_id   BIGINT,
+    total_tasks        BIGINT       NOT NULL,
+    completed_tasks    BIGINT       NOT NULL,
+    carried_over_tasks BIGINT       NOT NULL,
+    completed_by_id    BIGINT,
+    completed_at       TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_sprint_completion_sprint ON sprint_completion (sprint_id);
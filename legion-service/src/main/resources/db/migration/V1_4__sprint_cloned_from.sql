@@ -0,0 +1,2 @@
+-- Source sprint of a cloned sprint, used to map cloned tasks onto the new sprints.
+ALTER TABLE sprint ADD COLUMN IF NOT EXISTS cloned_from_id BIGINT;
@@ -0,0 +1,11 @@
+-- Old keys of tasks moved to another project, so links to them keep resolving.
+CREATE TABLE IF NOT EXISTS task_key_redirect (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    old_project_id  BIGINT       NOT NULL,
+    old_task_number INTEGER      NOT NULL,
+    task_id         BIGINT       NOT NULL REFERENCES task (id) ON DELETE CASCADE,
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_task_key_redirect_old_key UNIQUE (old_project_id, old_task_number)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_key_redirect_task ON task_key_redirect (task_id);
@@ -0,0 +1,94 @@
+-- Baseline: the schema as previously generated by hibernate.ddl-auto=update, before
+-- board ranks, jobs, sprint completion, clone lineage and key redirects (V1_1 to V1_5).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    full_name  VARCHAR(100),
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE workspace (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(100) NOT NULL,
+    slug       VARCHAR(50)  NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_workspace_slug UNIQUE (slug)
+);
+
+CREATE TABLE workspace_member (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      BIGINT       NOT NULL REFERENCES users (id),
+    workspace_id BIGINT       NOT NULL REFERENCES workspace (id),
+    role         VARCHAR(20)  NOT NULL CHECK (role IN ('ADMIN', 'MANAGER', 'DEVELOPER')),
+    joined_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_member_user_workspace UNIQUE (user_id, workspace_id)
+);
+
+CREATE TABLE invitation (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email         VARCHAR(255) NOT NULL,
+    token         VARCHAR(36)  NOT NULL,
+    workspace_id  BIGINT       NOT NULL REFERENCES workspace (id),
+    role          VARCHAR(20)  NOT NULL CHECK (role IN ('ADMIN', 'MANAGER', 'DEVELOPER')),
+    invited_by_id BIGINT       NOT NULL REFERENCES users (id),
+    expires_at    TIMESTAMP(6) NOT NULL,
+    used          BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_invitation_token UNIQUE (token)
+);
+
+CREATE TABLE project (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    workspace_id BIGINT       NOT NULL REFERENCES workspace (id),
+    name         VARCHAR(100) NOT NULL,
+    key          VARCHAR(10)  NOT NULL,
+    description  TEXT,
+    created_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_project_workspace_key UNIQUE (workspace_id, key)
+);
+
+CREATE TABLE sprint (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id BIGINT       NOT NULL REFERENCES project (id),
+    name       VARCHAR(100) NOT NULL,
+    start_date DATE,
+    end_date   DATE,
+    status     VARCHAR(20)  NOT NULL CHECK (status IN ('PLANNING', 'ACTIVE', 'COMPLETED'))
+);
+
+CREATE TABLE task (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id  BIGINT       NOT NULL REFERENCES project (id),
+    sprint_id   BIGINT       REFERENCES sprint (id),
+    title       VARCHAR(200) NOT NULL,
+    description TEXT,
+    status      VARCHAR(20)  NOT NULL CHECK (status IN ('BACKLOG', 'TODO', 'IN_PROGRESS', 'REVIEW', 'DONE')),
+    priority    VARCHAR(20)  NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    assignee_id BIGINT       REFERENCES users (id),
+    reporter_id BIGINT       NOT NULL REFERENCES users (id),
+    task_number INTEGER      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_task_project_number UNIQUE (project_id, task_number)
+);
+
+-- Indexes previously declared through @Index
+CREATE INDEX idx_user_email ON users (email);
+CREATE INDEX idx_member_workspace ON workspace_member (workspace_id);
+CREATE INDEX idx_member_user ON workspace_member (user_id);
+CREATE INDEX idx_member_role ON workspace_member (role);
+CREATE INDEX idx_invitation_token ON invitation (token);
+CREATE INDEX idx_invitation_email ON invitation (email);
+CREATE INDEX idx_invitation_workspace ON invitation (workspace_id);
+CREATE INDEX idx_project_workspace ON project (workspace_id);
+CREATE INDEX idx_project_key ON project (key);
+CREATE INDEX idx_sprint_project ON sprint (project_id);
+CREATE INDEX idx_sprint_status ON sprint (status);
+CREATE INDEX idx_task_project ON task (project_id);
+CREATE INDEX idx_task_sprint ON task (sprint_id);
+CREATE INDEX idx_task_status ON task (status);
+CREATE INDEX idx_task_assignee ON task (assignee_id);
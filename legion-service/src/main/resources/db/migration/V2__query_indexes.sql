@@ -0,0 +1,56 @@
+-- Index set derived from the repository query patterns.
+-- Runs outside a transaction (see .conf) so large tables are indexed CONCURRENTLY.
+
+-- task: board and list reads
+-- findByProjectIdAndStatus, findByProjectId (prefix)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_project_status ON task (project_id, status);
+-- Backlog board column: max rank / ordered reads for tasks without a sprint
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_backlog_rank
+    ON task (project_id, status, rank) WHERE sprint_id IS NULL;
+-- findByAssigneeIdAndWorkspaceId: assignee first, then project to join to the workspace
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_assignee_project
+    ON task (assignee_id, project_id) WHERE assignee_id IS NOT NULL;
+-- Rank rebalancer: find unranked tasks and overlong ranks without a full scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_unranked ON task (project_id) WHERE rank IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_rank_length ON task ((LENGTH(rank)));
+
+-- Covered by idx_task_project_status / uk_task_project_number,
+-- idx_task_sprint_status_rank, or too unselective to be used
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_project;
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_sprint;
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_status;
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_assignee;
+
+-- sprint: findByProjectIdAndStatus, findActiveSprintByProjectId, findByProjectId (prefix)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sprint_project_status ON sprint (project_id, status);
+-- Project cloning: remap source sprint ids to their copies
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sprint_project_cloned_from
+    ON sprint (project_id, cloned_from_id) WHERE cloned_from_id IS NOT NULL;
+DROP INDEX CONCURRENTLY IF EXISTS idx_sprint_project;
+DROP INDEX CONCURRENTLY IF EXISTS idx_sprint_status;
+
+-- project: the (workspace_id, key) unique index serves findByWorkspaceId and key lookups
+DROP INDEX CONCURRENTLY IF EXISTS idx_project_workspace;
+DROP INDEX CONCURRENTLY IF EXISTS idx_project_key;
+
+-- workspace_member: findByWorkspaceId, findByWorkspaceIdAndRole.
+-- The (user_id, workspace_id) unique index serves membership checks and findByUserId.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_member_workspace_role ON workspace_member (workspace_id, role);
+DROP INDEX CONCURRENTLY IF EXISTS idx_member_workspace;
+DROP INDEX CONCURRENTLY IF EXISTS idx_member_user;
+DROP INDEX CONCURRENTLY IF EXISTS idx_member_role;
+
+-- invitation: existsByEmailAndWorkspaceIdAndUsedFalse only ever looks at pending invitations
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invitation_pending
+    ON invitation (workspace_id, email) WHERE used = FALSE;
+-- Duplicates the unique constraint on token
+DROP INDEX CONCURRENTLY IF EXISTS idx_invitation_token;
+
+-- users: duplicates the unique constraint on email
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_email;
+
+-- job: existsByTypeAndTargetIdAndStatusIn is only asked about unfinished jobs
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_job_unfinished
+    ON job (type, target_id) WHERE status IN ('PENDING', 'RUNNING');
+DROP INDEX CONCURRENTLY IF EXISTS idx_job_target;
+DROP INDEX CONCURRENTLY IF EXISTS idx_job_workspace;
@@ -0,0 +1,165 @@
+-- Hash-partition task by workspace_id.
+--
+-- Every tenant-scoped task query carries workspace_id, so the planner touches a single
+-- partition and each partition's indexes stay a fraction of the size of one global index.
+--
+-- The table is rebuilt online:
+--   1. task_partitioned is created next to task, with all indexes already in place.
+--   2. A trigger mirrors every write on task into task_partitioned.
+--   3. Existing rows are copied in id ranges, one committed transaction per range,
+--      so no lock is held on task for longer than one range.
+--   4. One short transaction locks task, swaps the tables and repoints task_key_redirect.
+-- Runs outside a transaction (see .conf) so step 3 can commit as it goes.
+--
+-- Application instances built before this migration do not write workspace_id;
+-- drain them before the swap completes.
+
+ALTER INDEX IF EXISTS idx_task_sprint_status_rank RENAME TO idx_task_sprint_status_rank_unpartitioned;
+ALTER INDEX IF EXISTS idx_task_project_status RENAME TO idx_task_project_status_unpartitioned;
+ALTER INDEX IF EXISTS idx_task_backlog_rank RENAME TO idx_task_backlog_rank_unpartitioned;
+ALTER INDEX IF EXISTS idx_task_assignee_project RENAME TO idx_task_assignee_project_unpartitioned;
+ALTER INDEX IF EXISTS idx_task_unranked RENAME TO idx_task_unranked_unpartitioned;
+ALTER INDEX IF EXISTS idx_task_rank_length RENAME TO idx_task_rank_length_unpartitioned;
+
+-- Unique keys of a partitioned table must contain the partition key. A project never
+-- leaves its workspace, so (workspace_id, project_id, task_number) is as strict as before.
+CREATE TABLE task_partitioned (
+    id           BIGINT       NOT NULL,
+    workspace_id BIGINT       NOT NULL REFERENCES workspace (id),
+    project_id   BIGINT       NOT NULL REFERENCES project (id),
+    sprint_id    BIGINT       REFERENCES sprint (id),
+    title        VARCHAR(200) NOT NULL,
+    description  TEXT,
+    status       VARCHAR(20)  NOT NULL CHECK (status IN ('BACKLOG', 'TODO', 'IN_PROGRESS', 'REVIEW', 'DONE')),
+    priority     VARCHAR(20)  NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    assignee_id  BIGINT       REFERENCES users (id),
+    reporter_id  BIGINT       NOT NULL REFERENCES users (id),
+    task_number  INTEGER      NOT NULL,
+    rank         VARCHAR(64) COLLATE "C",
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_task PRIMARY KEY (workspace_id, id),
+    CONSTRAINT uk_task_workspace_project_number UNIQUE (workspace_id, project_id, task_number)
+) PARTITION BY HASH (workspace_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+                'CREATE TABLE task_p%s PARTITION OF task_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                i, i);
+    END LOOP;
+END $$;
+
+-- Same index set as V2, now built per partition
+CREATE INDEX idx_task_sprint_status_rank ON task_partitioned (sprint_id, status, rank);
+CREATE INDEX idx_task_project_status ON task_partitioned (project_id, status);
+CREATE INDEX idx_task_backlog_rank ON task_partitioned (project_id, status, rank) WHERE sprint_id IS NULL;
+CREATE INDEX idx_task_assignee_project ON task_partitioned (assignee_id, project_id) WHERE assignee_id IS NOT NULL;
+CREATE INDEX idx_task_unranked ON task_partitioned (project_id) WHERE rank IS NULL;
+CREATE INDEX idx_task_rank_length ON task_partitioned ((LENGTH(rank)));
+
+CREATE FUNCTION task_mirror_to_partitioned() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM task_partitioned
+        WHERE workspace_id = (SELECT workspace_id FROM project WHERE id = OLD.project_id)
+          AND id = OLD.id;
+        RETURN OLD;
+    END IF;
+
+    INSERT INTO task_partitioned (id, workspace_id, project_id, sprint_id, title, description, status,
+                                  priority, assignee_id, reporter_id, task_number, rank, created_at, updated_at)
+    SELECT NEW.id, p.workspace_id, NEW.project_id, NEW.sprint_id, NEW.title, NEW.description, NEW.status,
+           NEW.priority, NEW.assignee_id, NEW.reporter_id, NEW.task_number, NEW.rank, NEW.created_at, NEW.updated_at
+    FROM project p WHERE p.id = NEW.project_id
+    ON CONFLICT (workspace_id, id) DO UPDATE SET
+        project_id  = EXCLUDED.project_id,
+        sprint_id   = EXCLUDED.sprint_id,
+        title       = EXCLUDED.title,
+        description = EXCLUDED.description,
+        status      = EXCLUDED.status,
+        priority    = EXCLUDED.priority,
+        assignee_id = EXCLUDED.assignee_id,
+        reporter_id = EXCLUDED.reporter_id,
+        task_number = EXCLUDED.task_number,
+        rank        = EXCLUDED.rank,
+        updated_at  = EXCLUDED.updated_at;
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER task_mirror_to_partitioned
+    AFTER INSERT OR UPDATE OR DELETE ON task
+    FOR EACH ROW EXECUTE FUNCTION task_mirror_to_partitioned();
+
+-- Rows already mirrored by the trigger are newer than the copy, so they win.
+-- Each batch reads its source rows FOR SHARE. A row deleted while the batch waits for
+-- it is skipped rather than copied from the batch's snapshot, where it would outlive
+-- the delete; a delete that comes later waits for the batch, and its mirrored delete
+-- then finds the copied row.
+CREATE PROCEDURE copy_tasks_to_partitioned(batch_size INTEGER)
+LANGUAGE plpgsql AS $$
+DECLARE
+    last_id BIGINT := 0;
+    max_id  BIGINT;
+BEGIN
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM task;
+
+    WHILE last_id < max_id LOOP
+        INSERT INTO task_partitioned (id, workspace_id, project_id, sprint_id, title, description, status,
+                                      priority, assignee_id, reporter_id, task_number, rank, created_at, updated_at)
+        SELECT t.id, p.workspace_id, t.project_id, t.sprint_id, t.title, t.description, t.status,
+               t.priority, t.assignee_id, t.reporter_id, t.task_number, t.rank, t.created_at, t.updated_at
+        FROM task t JOIN project p ON p.id = t.project_id
+        WHERE t.id > last_id AND t.id <= last_id + batch_size
+        FOR SHARE OF t
+        ON CONFLICT (workspace_id, id) DO NOTHING;
+
+        last_id := last_id + batch_size;
+        COMMIT;
+    END LOOP;
+END $$;
+
+CALL copy_tasks_to_partitioned(10000);
+
+ALTER TABLE task_key_redirect ADD COLUMN IF NOT EXISTS workspace_id BIGINT;
+
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    LOCK TABLE task IN ACCESS EXCLUSIVE MODE;
+    LOCK TABLE task_key_redirect IN ACCESS EXCLUSIVE MODE;
+
+    DROP TRIGGER task_mirror_to_partitioned ON task;
+
+    FOR fk IN SELECT conname FROM pg_constraint
+              WHERE conrelid = 'task_key_redirect'::regclass AND contype = 'f'
+                AND confrelid = 'task'::regclass LOOP
+        EXECUTE format('ALTER TABLE task_key_redirect DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+
+    -- Tasks only move within a workspace, so the old project names the workspace
+    UPDATE task_key_redirect r SET workspace_id = p.workspace_id
+    FROM project p WHERE p.id = r.old_project_id AND r.workspace_id IS NULL;
+
+    CREATE SEQUENCE task_id_seq_partitioned;
+    PERFORM setval('task_id_seq_partitioned', COALESCE((SELECT MAX(id) FROM task), 0) + 1, false);
+
+    ALTER TABLE task RENAME TO task_unpartitioned;
+    ALTER TABLE task_partitioned RENAME TO task;
+    ALTER TABLE task ALTER COLUMN id SET DEFAULT nextval('task_id_seq_partitioned');
+    ALTER SEQUENCE task_id_seq_partitioned OWNED BY task.id;
+
+    ALTER TABLE task_key_redirect ALTER COLUMN workspace_id SET NOT NULL;
+    ALTER TABLE task_key_redirect ADD CONSTRAINT fk_task_key_redirect_task
+        FOREIGN KEY (workspace_id, task_id) REFERENCES task (workspace_id, id) ON DELETE CASCADE;
+END $$;
+
+DROP INDEX IF EXISTS idx_task_key_redirect_task;
+CREATE INDEX idx_task_key_redirect_task ON task_key_redirect (workspace_id, task_id);
+
+DROP TABLE task_unpartitioned;
+DROP PROCEDURE copy_tasks_to_partitioned(INTEGER);
+DROP FUNCTION task_mirror_to_partitioned();
@@ -0,0 +1,26 @@
+-- Which database holds each workspace's projects, sprints and tasks.
+-- Workspaces without a row live in the directory database, which also owns
+-- users, workspaces, memberships and invitations. Read from the directory only.
+CREATE TABLE workspace_shard (
+    workspace_id BIGINT       PRIMARY KEY REFERENCES workspace (id) ON DELETE CASCADE,
+    shard        VARCHAR(64)  NOT NULL,
+    read_only    BOOLEAN      NOT NULL DEFAULT FALSE,
+    updated_at   TIMESTAMP(6) NOT NULL
+);
+
+-- Rows created on a shard take ids from that shard's own range (0 for the directory),
+-- so a workspace can be copied to another database without renumbering anything.
+DO $$
+DECLARE
+    id_base CONSTANT BIGINT := ${shardIdBase};
+    t TEXT;
+BEGIN
+    IF id_base = 0 THEN
+        RETURN;
+    END IF;
+
+    FOREACH t IN ARRAY ARRAY['project', 'sprint', 'sprint_completion', 'task', 'task_key_redirect', 'job'] LOOP
+        EXECUTE format('SELECT setval(pg_get_serial_sequence(%L, ''id''), GREATEST(%s, (SELECT COALESCE(MAX(id), 0) FROM %I)))',
+                       t, id_base, t);
+    END LOOP;
+END $$;
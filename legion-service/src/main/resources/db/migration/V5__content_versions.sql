@@ -0,0 +1,4 @@
+-- Change counters behind the ETags of the project and sprint collection endpoints.
+-- Bumped in the same transaction as every write that changes what those endpoints return.
+ALTER TABLE project ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE sprint ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Change counter of each project's backlog, the tasks not in any sprint. Kept off the
+-- project row so task writes lock a sprint or backlog row rather than the project.
+-- A project's ETag combines this with its own counter and its sprints' counters.
+-- Rows are created by the first bump; a missing row counts as 0.
+CREATE TABLE project_backlog (
+    project_id      BIGINT PRIMARY KEY REFERENCES project (id) ON DELETE CASCADE,
+    content_version BIGINT NOT NULL DEFAULT 0
+);
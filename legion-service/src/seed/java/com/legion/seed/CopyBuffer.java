@@ -0,0 +1,64 @@
+package com.legion.seed;
+
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+
+/**
+ * Collects rows in COPY text format and sends them with one COPY per batch.
+ * Values must not contain tabs, newlines or backslashes; generated values never do.
+ */
+class CopyBuffer implements AutoCloseable {
+
+    private static final int BATCH_ROWS = 50_000;
+
+    private final CopyManager copyManager;
+    private final String copySql;
+    private final StringBuilder rows = new StringBuilder(1 << 20);
+    private int pending;
+    private long written;
+
+    CopyBuffer(CopyManager copyManager, String table, String columns) {
+        this.copyManager = copyManager;
+        this.copySql = "COPY " + table + " (" + columns + ") FROM STDIN";
+    }
+
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                rows.append('\t');
+            }
+            rows.append(values[i] == null ? "\\N" : values[i].toString());
+        }
+        rows.append('\n');
+        if (++pending >= BATCH_ROWS) {
+            flush();
+        }
+    }
+
+    long written() {
+        return written + pending;
+    }
+
+    private void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        try {
+            copyManager.copyIn(copySql, new StringReader(rows.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        written += pending;
+        pending = 0;
+        rows.setLength(0);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+    }
+}
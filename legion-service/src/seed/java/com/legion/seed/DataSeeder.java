@@ -0,0 +1,357 @@
+package com.legion.seed;
+
+import com.legion.sprint.SprintStatus;
+import com.legion.task.LexoRank;
+import com.legion.task.Priority;
+import com.legion.task.TaskStatus;
+import com.legion.user.Role;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates workspaces full of realistic data with COPY, for load and scale testing.
+ *
+ * <p>Rows go straight into the tables, bypassing the services, so millions of tasks
+ * take seconds rather than hours. The data still looks like the services wrote it:
+ * task numbers are contiguous per project, ranks are valid and ordered per board
+ * column, completed sprints only hold done tasks and have a completion snapshot, and
+ * task volume is skewed towards a few large projects.</p>
+ *
+ * <p>Everything is derived from the plan's seed, so a plan always produces the same
+ * data. Dates are relative to a fixed {@link #REFERENCE_DATE} for the same reason.
+ * Seeding the same plan twice into one database fails on the unique workspace slug;
+ * use another seed for more data.</p>
+ *
+ * <pre>
+ * SeedResult result = new DataSeeder(dataSource).seed(SeedPlan.largeWorkspace(42));
+ * </pre>
+ */
+public class DataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    // Start of the active sprint; everything else is dated relative to it
+    public static final LocalDate REFERENCE_DATE = LocalDate.of(2026, 1, 5);
+
+    // Every seeded account can log in with this password
+    public static final String PASSWORD = "seed-password";
+
+    private static final int SPRINT_DAYS = 14;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    // Status mix of tasks in the active sprint, by TaskStatus ordinal
+    private static final double[] ACTIVE_SPRINT_STATUS = {0, 0.30, 0.30, 0.15, 0.25};
+
+    // Status mix of tasks not in a sprint
+    private static final double[] BACKLOG_STATUS = {0.75, 0.20, 0, 0, 0.05};
+
+    // By Priority ordinal
+    private static final double[] PRIORITY = {0.25, 0.45, 0.22, 0.08};
+
+    private static final int NO_SPRINT = -1;
+
+    private final DataSource dataSource;
+
+    public DataSeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public SeedResult seed(SeedPlan plan) {
+        long start = System.currentTimeMillis();
+        log.info("Seeding plan={}", plan);
+
+        SplittableRandom random = new SplittableRandom(plan.seed());
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        List<Long> workspaceIds = new ArrayList<>();
+        long users = 0;
+        long projects = 0;
+        long sprints = 0;
+        long tasks = 0;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            for (int w = 0; w < plan.workspaces(); w++) {
+                // Each workspace gets its own stream, so its data does not depend on the others' sizes
+                WorkspaceSeed seed = new WorkspaceSeed(plan, w, random.split(), passwordHash);
+                seed.write(connection, copy);
+                connection.commit();
+
+                workspaceIds.add(seed.workspaceId);
+                users += plan.membersPerWorkspace();
+                projects += plan.projectsPerWorkspace();
+                sprints += (long) plan.projectsPerWorkspace() * plan.sprintsPerProject();
+                tasks += seed.tasks;
+                log.info("Seeded workspaceId={} ({}/{}) tasks={}", seed.workspaceId, w + 1, plan.workspaces(), seed.tasks);
+            }
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                // Fresh planner statistics, as a database that grew this way would have
+                statement.execute("ANALYZE users, workspace, workspace_member, project, sprint, sprint_completion, task");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Seeding failed", e);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Seeded workspaces={} users={} projects={} sprints={} tasks={} in {} ms",
+                workspaceIds.size(), users, projects, sprints, tasks, elapsed);
+        return new SeedResult(workspaceIds, users, projects, sprints, tasks, elapsed);
+    }
+
+    /**
+     * One workspace and everything in it.
+     */
+    private static final class WorkspaceSeed {
+
+        private final SeedPlan plan;
+        private final int index;
+        private final SplittableRandom random;
+        private final String passwordHash;
+
+        private long workspaceId;
+        private long[] memberIds;
+        private long tasks;
+
+        WorkspaceSeed(SeedPlan plan, int index, SplittableRandom random, String passwordHash) {
+            this.plan = plan;
+            this.index = index;
+            this.random = random;
+            this.passwordHash = passwordHash;
+        }
+
+        void write(Connection connection, CopyManager copy) throws SQLException {
+            String slug = "seed-" + plan.seed() + "-" + index;
+            LocalDateTime createdAt = REFERENCE_DATE.minusDays(400).atStartOfDay();
+
+            workspaceId = reserveIds(connection, "workspace", 1)[0];
+            try (CopyBuffer rows = new CopyBuffer(copy, "workspace", "id, name, slug, created_at")) {
+                rows.row(workspaceId, "Seed workspace " + plan.seed() + "-" + index, slug, createdAt);
+            }
+
+            memberIds = reserveIds(connection, "users", plan.membersPerWorkspace());
+            LocalDateTime[] joinedAt = new LocalDateTime[memberIds.length];
+            try (CopyBuffer users = new CopyBuffer(copy, "users", "id, email, password, full_name, created_at")) {
+                for (int m = 0; m < memberIds.length; m++) {
+                    joinedAt[m] = createdAt.plusDays(random.nextInt(300));
+                    users.row(memberIds[m], "user" + m + "@" + slug + ".test", passwordHash, "Seed User " + m, joinedAt[m]);
+                }
+            }
+            try (CopyBuffer members = new CopyBuffer(copy, "workspace_member", "user_id, workspace_id, role, joined_at")) {
+                for (int m = 0; m < memberIds.length; m++) {
+                    members.row(memberIds[m], workspaceId, roleFor(m), joinedAt[m]);
+                }
+            }
+
+            long[] projectIds = reserveIds(connection, "project", plan.projectsPerWorkspace());
+            long[] taskCounts = projectTaskCounts();
+            try (CopyBuffer projects = new CopyBuffer(copy, "project",
+                    "id, workspace_id, name, key, description, created_at")) {
+                for (int p = 0; p < projectIds.length; p++) {
+                    projects.row(projectIds[p], workspaceId, "Project " + p, "P" + Integer.toString(p, 36).toUpperCase(),
+                            "Seeded project " + p, createdAt.plusDays(p));
+                }
+            }
+
+            // Tasks of one project can fill several COPY batches; their sprints are written first
+            for (int p = 0; p < projectIds.length; p++) {
+                try (CopyBuffer taskRows = new CopyBuffer(copy, "task",
+                        "workspace_id, project_id, sprint_id, title, description, status, priority, assignee_id, " +
+                                "reporter_id, task_number, rank, created_at, updated_at")) {
+                    writeProject(connection, copy, projectIds[p], (int) taskCounts[p], taskRows);
+                    tasks += taskRows.written();
+                }
+            }
+        }
+
+        private void writeProject(Connection connection, CopyManager copy, long projectId, int taskCount,
+                                  CopyBuffer taskRows) throws SQLException {
+            int sprintCount = plan.sprintsPerProject();
+            long[] sprintIds = reserveIds(connection, "sprint", sprintCount);
+            int active = sprintCount - 1;
+
+            // First pass: where each task lives and its status, to size board columns
+            int[] sprintOf = new int[taskCount];
+            byte[] statusOf = new byte[taskCount];
+            Map<Integer, Integer> columnSizes = new HashMap<>();
+            long[] sprintTotals = new long[sprintCount];
+
+            for (int t = 0; t < taskCount; t++) {
+                double placement = random.nextDouble();
+                int sprint;
+                TaskStatus status;
+                if (sprintCount > 1 && placement < 0.50) {
+                    // Completed sprints only keep done tasks; unfinished ones were carried over
+                    sprint = random.nextInt(active);
+                    status = TaskStatus.DONE;
+                } else if (sprintCount > 0 && placement < 0.58) {
+                    sprint = active;
+                    status = STATUSES[pick(ACTIVE_SPRINT_STATUS)];
+                } else {
+                    sprint = NO_SPRINT;
+                    status = STATUSES[pick(BACKLOG_STATUS)];
+                }
+                sprintOf[t] = sprint;
+                statusOf[t] = (byte) status.ordinal();
+                columnSizes.merge(column(sprint, status.ordinal()), 1, Integer::sum);
+                if (sprint != NO_SPRINT) {
+                    sprintTotals[sprint]++;
+                }
+            }
+
+            try (CopyBuffer sprintRows = new CopyBuffer(copy, "sprint",
+                    "id, project_id, name, start_date, end_date, status")) {
+                for (int s = 0; s < sprintCount; s++) {
+                    LocalDate startDate = sprintStart(s, active);
+                    SprintStatus status = s == active ? SprintStatus.ACTIVE : SprintStatus.COMPLETED;
+                    sprintRows.row(sprintIds[s], projectId, "Sprint " + (s + 1), startDate,
+                            startDate.plusDays(SPRINT_DAYS - 1), status);
+                }
+            }
+            try (CopyBuffer completionRows = new CopyBuffer(copy, "sprint_completion",
+                    "sprint_id, total_tasks, completed_tasks, carried_over_tasks, completed_by_id, completed_at")) {
+                for (int s = 0; s < active; s++) {
+                    completionRows.row(sprintIds[s], sprintTotals[s], sprintTotals[s], 0,
+                            memberIds[0], sprintStart(s, active).plusDays(SPRINT_DAYS).atTime(17, 0));
+                }
+            }
+
+            // Second pass: ranks in task-number order within each column, then the rows
+            Map<Integer, List<String>> columnRanks = new HashMap<>();
+            columnSizes.forEach((column, size) -> columnRanks.put(column, LexoRank.spread(size)));
+            Map<Integer, Integer> columnNext = new HashMap<>();
+
+            LocalDateTime first = REFERENCE_DATE.minusDays(365).atTime(9, 0);
+            long spanMinutes = 365L * 24 * 60;
+
+            for (int t = 0; t < taskCount; t++) {
+                int sprint = sprintOf[t];
+                TaskStatus status = STATUSES[statusOf[t]];
+                int column = column(sprint, status.ordinal());
+                int position = columnNext.merge(column, 1, Integer::sum) - 1;
+                String rank = columnRanks.get(column).get(position);
+
+                // Later task numbers were created later, as they are in practice
+                LocalDateTime created = first.plusMinutes(spanMinutes * t / Math.max(1, taskCount)
+                        + random.nextInt(60));
+                LocalDateTime updated = created.plusHours(random.nextInt(24 * 30));
+
+                boolean started = status != TaskStatus.BACKLOG && status != TaskStatus.TODO;
+                Long assignee = started || random.nextDouble() < 0.5 ? randomMember() : null;
+
+                taskRows.row(
+                        workspaceId,
+                        projectId,
+                        sprint == NO_SPRINT ? null : sprintIds[sprint],
+                        "Seeded task " + (t + 1),
+                        random.nextDouble() < 0.6 ? "Generated description for task " + (t + 1) : null,
+                        status,
+                        Priority.values()[pick(PRIORITY)],
+                        assignee,
+                        randomMember(),
+                        t + 1,
+                        rank,
+                        created,
+                        updated
+                );
+            }
+        }
+
+        /**
+         * Splits the workspace's tasks over its projects so a few projects hold most of them.
+         */
+        private long[] projectTaskCounts() {
+            int projects = plan.projectsPerWorkspace();
+            double[] weights = new double[projects];
+            double total = 0;
+            for (int p = 0; p < projects; p++) {
+                weights[p] = 1.0 / Math.pow(p + 1, 0.8);
+                total += weights[p];
+            }
+
+            long[] counts = new long[projects];
+            long assigned = 0;
+            for (int p = 0; p < projects; p++) {
+                counts[p] = (long) (plan.tasksPerWorkspace() * weights[p] / total);
+                assigned += counts[p];
+            }
+            counts[0] += plan.tasksPerWorkspace() - assigned;
+
+            for (long count : counts) {
+                if (count > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many tasks for one project: " + count);
+                }
+            }
+            return counts;
+        }
+
+        private Role roleFor(int member) {
+            if (member == 0) {
+                return Role.ADMIN;
+            }
+            return random.nextDouble() < 0.1 ? Role.MANAGER : Role.DEVELOPER;
+        }
+
+        private long randomMember() {
+            return memberIds[random.nextInt(memberIds.length)];
+        }
+
+        private int pick(double[] weights) {
+            double roll = random.nextDouble();
+            for (int i = 0; i < weights.length; i++) {
+                roll -= weights[i];
+                if (roll < 0) {
+                    return i;
+                }
+            }
+            return weights.length - 1;
+        }
+
+        private static LocalDate sprintStart(int sprint, int active) {
+            return REFERENCE_DATE.minusDays((long) (active - sprint) * SPRINT_DAYS);
+        }
+
+        private static int column(int sprint, int status) {
+            return (sprint + 1) * STATUSES.length + status;
+        }
+    }
+
+    /**
+     * Takes ids from a table's sequence so rows written by COPY can reference each other.
+     */
+    private static long[] reserveIds(Connection connection, String table, int count) throws SQLException {
+        long[] ids = new long[count];
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)")) {
+            statement.setString(1, table);
+            statement.setInt(2, count);
+            try (ResultSet rs = statement.executeQuery()) {
+                for (int i = 0; rs.next(); i++) {
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+}
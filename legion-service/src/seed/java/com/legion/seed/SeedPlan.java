@@ -0,0 +1,42 @@
+package com.legion.seed;
+
+/**
+ * What {@link DataSeeder} generates. The same plan and seed always produce the same data.
+ *
+ * @param seed                 random seed
+ * @param workspaces           workspaces to create
+ * @param membersPerWorkspace  users per workspace, each with their own account
+ * @param projectsPerWorkspace projects per workspace
+ * @param sprintsPerProject    sprints per project; the last is active, earlier ones completed
+ * @param tasksPerWorkspace    tasks per workspace, spread unevenly over its projects
+ */
+public record SeedPlan(long seed,
+                       int workspaces,
+                       int membersPerWorkspace,
+                       int projectsPerWorkspace,
+                       int sprintsPerProject,
+                       long tasksPerWorkspace) {
+
+    public SeedPlan {
+        if (workspaces < 1 || membersPerWorkspace < 1 || projectsPerWorkspace < 1) {
+            throw new IllegalArgumentException("A plan needs at least one workspace, member and project");
+        }
+        if (sprintsPerProject < 0 || tasksPerWorkspace < 0) {
+            throw new IllegalArgumentException("Sprint and task counts cannot be negative");
+        }
+    }
+
+    /**
+     * A single workspace the size of a large customer.
+     */
+    public static SeedPlan largeWorkspace(long seed) {
+        return new SeedPlan(seed, 1, 500, 40, 26, 2_000_000);
+    }
+
+    /**
+     * Many workspaces of the size most customers have.
+     */
+    public static SeedPlan typicalWorkspaces(long seed, int workspaces) {
+        return new SeedPlan(seed, workspaces, 12, 4, 8, 3_000);
+    }
+}
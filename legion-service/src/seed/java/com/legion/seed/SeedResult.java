@@ -0,0 +1,10 @@
+package com.legion.seed;
+
+import java.util.List;
+
+/**
+ * What a seeding run created.
+ */
+public record SeedResult(List<Long> workspaceIds, long users, long projects, long sprints, long tasks,
+                         long elapsedMs) {
+}
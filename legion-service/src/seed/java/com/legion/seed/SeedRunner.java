@@ -0,0 +1,66 @@
+package com.legion.seed;
+
+import org.postgresql.ds.PGSimpleDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+
+/**
+ * Command line entry point for seeding synthetic data into a database the service
+ * has already migrated. Runs from the test classpath, as the seeder is not part of
+ * the service jar:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.legion.seed.SeedRunner \
+ *     -Dexec.args="--url=jdbc:postgresql://localhost:5432/legion_db --username=legion_admin --password=... \
+ *                  --seed=42 --seed-workspaces=1 --seed-members=500 --seed-projects=40 \
+ *                  --seed-sprints=26 --seed-tasks=2000000"
+ * </pre>
+ *
+ * <p>{@code --url} and {@code --seed} are required. Counts that are left out come from
+ * {@link SeedPlan#largeWorkspace(long)}.</p>
+ */
+public final class SeedRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedRunner.class);
+
+    private SeedRunner() {
+    }
+
+    public static void main(String[] arguments) {
+        ApplicationArguments args = new DefaultApplicationArguments(arguments);
+        if (!args.containsOption("url") || !args.containsOption("seed")) {
+            throw new IllegalArgumentException("Usage: SeedRunner --url=<jdbc url> [--username=] [--password=] " +
+                    "--seed=<n> [--seed-workspaces=] [--seed-members=] [--seed-projects=] [--seed-sprints=] [--seed-tasks=]");
+        }
+
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(args.getOptionValues("url").getFirst());
+        if (args.containsOption("username")) {
+            dataSource.setUser(args.getOptionValues("username").getFirst());
+        }
+        if (args.containsOption("password")) {
+            dataSource.setPassword(args.getOptionValues("password").getFirst());
+        }
+
+        long seed = Long.parseLong(args.getOptionValues("seed").getFirst());
+        SeedPlan defaults = SeedPlan.largeWorkspace(seed);
+        SeedPlan plan = new SeedPlan(
+                seed,
+                (int) option(args, "seed-workspaces", defaults.workspaces()),
+                (int) option(args, "seed-members", defaults.membersPerWorkspace()),
+                (int) option(args, "seed-projects", defaults.projectsPerWorkspace()),
+                (int) option(args, "seed-sprints", defaults.sprintsPerProject()),
+                option(args, "seed-tasks", defaults.tasksPerWorkspace())
+        );
+
+        SeedResult result = new DataSeeder(dataSource).seed(plan);
+        log.info("Seeded workspaceIds={}", result.workspaceIds());
+    }
+
+    private static long option(ApplicationArguments args, String name, long defaultValue) {
+        return args.containsOption(name) ? Long.parseLong(args.getOptionValues(name).getFirst()) : defaultValue;
+    }
+}
@@ -0,0 +1,101 @@
+package com.legion;
+
+import com.legion.auth.JwtUtil;
+import com.legion.seed.DataSeeder;
+import com.legion.seed.SeedPlan;
+import com.legion.seed.SeedResult;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base for tests that need the whole service. Boots it with MockMvc against an embedded
+ * Postgres that every test class in the run shares; Flyway migrates it as the service
+ * starts, and classes add their own data with {@link #seed(SeedPlan)}.
+ *
+ * <p>Seeding the same plan twice fails on the workspace slug, so each class seeds with
+ * its own seed number.</p>
+ */
+@SpringBootTest(properties = {
+		"legion.jfr.enabled=false",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.format_sql=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class IntegrationTest {
+
+	protected static final EmbeddedPostgres DIRECTORY = start();
+
+	@Autowired
+	protected MockMvc mockMvc;
+
+	@Autowired
+	protected JwtUtil jwtUtil;
+
+	@DynamicPropertySource
+	static void directoryDatabase(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> DIRECTORY.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	/**
+	 * Starts a Postgres that lives until the test JVM exits.
+	 */
+	protected static EmbeddedPostgres start() {
+		try {
+			EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					postgres.close();
+				} catch (IOException ignored) {
+				}
+			}));
+			return postgres;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	protected static JdbcTemplate directory() {
+		return new JdbcTemplate(DIRECTORY.getPostgresDatabase());
+	}
+
+	/**
+	 * Seeds the directory database, bypassing the service.
+	 */
+	protected static SeedResult seed(SeedPlan plan) {
+		return new DataSeeder(DIRECTORY.getPostgresDatabase()).seed(plan);
+	}
+
+	/**
+	 * Login email of the n-th member DataSeeder created in the plan's w-th workspace.
+	 */
+	protected static String seededEmail(SeedPlan plan, int workspace, int member) {
+		return "user" + member + "@seed-" + plan.seed() + "-" + workspace + ".test";
+	}
+
+	protected static long userId(String email) {
+		return directory().queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+	}
+
+	/**
+	 * Adds the headers of a request made by the user in the workspace.
+	 */
+	protected MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, String email, long workspaceId) {
+		return request
+				.header("Authorization", "Bearer " + jwtUtil.generateToken(email))
+				.header("X-Workspace-Id", workspaceId);
+	}
+}
@@ -1,10 +1,8 @@
 package com.legion;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class LegionTaskServiceApplicationTests {
+class LegionTaskServiceApplicationTests extends IntegrationTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,196 @@
+package com.legion.batch;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/batch on a running server, as its items are forwarded through the servlet
+ * container, which MockMvc only records.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"legion.jfr.enabled=false",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.format_sql=false"
+})
+class BatchApiTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(46, 1, 4, 2, 2, 120);
+
+	@Value("${local.server.port}")
+	private int port;
+
+	private String email;
+	private long workspaceId;
+	private List<Long> taskIds;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		taskIds = directory().queryForList(
+				"SELECT id FROM task WHERE workspace_id = ? ORDER BY id LIMIT 20", Long.class, workspaceId);
+	}
+
+	@Test
+	void itemsRunInOrderAndSeeTheWritesBeforeThem() {
+		long taskId = taskIds.get(0);
+
+		JsonNode batch = batch(false, List.of(
+				item("set-review", "PATCH", "/api/tasks/" + taskId + "/status", Map.of("status", "REVIEW")),
+				item("read-review", "GET", "/api/tasks/" + taskId, null),
+				item("set-done", "PATCH", "/api/tasks/" + taskId + "/status", Map.of("status", "DONE")),
+				item("read-done", "GET", "/api/tasks/" + taskId, null)));
+
+		assertEquals(List.of("set-review", "read-review", "set-done", "read-done"), ids(batch));
+		assertEquals(List.of(200, 200, 200, 200), statuses(batch));
+		assertEquals("REVIEW", batch.path("responses").get(1).path("body").path("status").asString());
+		assertEquals("DONE", batch.path("responses").get(3).path("body").path("status").asString());
+		assertEquals("DONE", taskStatus(taskId));
+	}
+
+	@Test
+	void failingItemRollsBackATransactionalBatch() {
+		long taskId = taskIds.get(1);
+		String before = taskStatus(taskId);
+		String target = "IN_PROGRESS".equals(before) ? "REVIEW" : "IN_PROGRESS";
+
+		JsonNode batch = batch(true, List.of(
+				item("move", "PATCH", "/api/tasks/" + taskId + "/status", Map.of("status", target)),
+				item("missing", "GET", "/api/tasks/0", null),
+				item("after", "GET", "/api/tasks/" + taskId, null)));
+
+		assertTrue(batch.path("transactional").asBoolean());
+		assertFalse(batch.path("committed").asBoolean());
+		assertEquals(List.of(200, 404, 424), statuses(batch));
+		assertTrue(batch.path("responses").get(2).path("body").isNull());
+		assertEquals(before, taskStatus(taskId));
+	}
+
+	@Test
+	void transactionalBatchCommitsWhenEveryItemSucceeds() {
+		long first = taskIds.get(2);
+		long second = taskIds.get(3);
+
+		JsonNode batch = batch(true, List.of(
+				item("first", "PATCH", "/api/tasks/" + first + "/status", Map.of("status", "TODO")),
+				item("second", "PATCH", "/api/tasks/" + second + "/status", Map.of("status", "TODO"))));
+
+		assertTrue(batch.path("committed").asBoolean());
+		assertEquals(List.of(200, 200), statuses(batch));
+		assertEquals("TODO", taskStatus(first));
+		assertEquals("TODO", taskStatus(second));
+	}
+
+	@Test
+	void consecutiveReadsEachGetTheirOwnResponse() {
+		// Run side by side, each read must still answer for its own path
+		List<Map<String, Object>> reads = new ArrayList<>();
+		for (long taskId : taskIds) {
+			reads.add(item("read-" + taskId, "GET", "/api/tasks/" + taskId, null));
+		}
+		reads.add(10, item("missing", "GET", "/api/tasks/0", null));
+
+		JsonNode batch = batch(false, reads);
+
+		JsonNode responses = batch.path("responses");
+		assertEquals(reads.size(), responses.size());
+		for (int i = 0; i < reads.size(); i++) {
+			JsonNode response = responses.get(i);
+			assertEquals(reads.get(i).get("id"), response.path("id").asString());
+			if (i == 10) {
+				assertEquals(404, response.path("status").asInt());
+			} else {
+				assertEquals(200, response.path("status").asInt());
+				assertEquals(response.path("id").asString(), "read-" + response.path("body").path("id").asLong());
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"/api/batch",
+			"/api/./batch",
+			"/api/tasks/../batch",
+			"/api/../actuator/jfr",
+			"/api/%2e%2e/actuator/jfr",
+			"/api/..;/actuator/jfr",
+			"/api//batch",
+			"/actuator/jfr",
+			"http://localhost/api/tasks"
+	})
+	void pathsOutsideTheApiAreRejectedBeforeAnyItemRuns(String path) throws Exception {
+		long taskId = taskIds.get(4);
+		String before = taskStatus(taskId);
+		String target = "DONE".equals(before) ? "TODO" : "DONE";
+
+		mockMvc.perform(as(post("/api/batch"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"requests": [
+								  {"id": "write", "method": "PATCH", "path": "/api/tasks/%d/status", "body": {"status": "%s"}},
+								  {"id": "escape", "method": "GET", "path": "%s"}
+								]}
+								""".formatted(taskId, target, path)))
+				.andExpect(status().isBadRequest());
+
+		assertEquals(before, taskStatus(taskId));
+	}
+
+	private JsonNode batch(boolean transactional, List<Map<String, Object>> items) {
+		return RestClient.create("http://localhost:" + port).post()
+				.uri("/api/batch")
+				.header("Authorization", "Bearer " + jwtUtil.generateToken(email))
+				.header("X-Workspace-Id", String.valueOf(workspaceId))
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(Map.of("transactional", transactional, "requests", items))
+				.retrieve()
+				.body(JsonNode.class);
+	}
+
+	private static Map<String, Object> item(String id, String method, String path, Object body) {
+		Map<String, Object> item = new LinkedHashMap<>();
+		item.put("id", id);
+		item.put("method", method);
+		item.put("path", path);
+		if (body != null) {
+			item.put("body", body);
+		}
+		return item;
+	}
+
+	private static List<String> ids(JsonNode batch) {
+		List<String> ids = new ArrayList<>();
+		batch.path("responses").forEach(response -> ids.add(response.path("id").asString()));
+		return ids;
+	}
+
+	private static List<Integer> statuses(JsonNode batch) {
+		List<Integer> statuses = new ArrayList<>();
+		batch.path("responses").forEach(response -> statuses.add(response.path("status").asInt()));
+		return statuses;
+	}
+
+	private static String taskStatus(long taskId) {
+		return directory().queryForObject("SELECT status FROM task WHERE id = ?", String.class, taskId);
+	}
+}
@@ -0,0 +1,64 @@
+package com.legion.bootstrap;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/bootstrap answers with every part it could load within the deadline.
+ */
+@TestPropertySource(properties = "legion.bootstrap.part-timeout-ms=500")
+class BootstrapApiTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(44, 1, 3, 2, 2, 60);
+
+	private String email;
+	private long workspaceId;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+	}
+
+	@Test
+	void allPartsLoad() throws Exception {
+		mockMvc.perform(as(get("/api/bootstrap"), email, workspaceId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.user.email").value(email))
+				.andExpect(jsonPath("$.workspaces.length()").value(1))
+				.andExpect(jsonPath("$.projects.length()").value(2))
+				.andExpect(jsonPath("$.activeSprints.length()").value(2))
+				.andExpect(jsonPath("$.myTasks").isArray())
+				.andExpect(jsonPath("$.errors").value(anEmptyMap()));
+	}
+
+	@Test
+	void partPastTheDeadlineIsReportedAndTheRestIsServed() throws Exception {
+		try (Connection connection = DIRECTORY.getPostgresDatabase().getConnection()) {
+			connection.setAutoCommit(false);
+			// Blocks even plain reads of sprints
+			try (Statement lock = connection.createStatement()) {
+				lock.execute("LOCK TABLE sprint IN ACCESS EXCLUSIVE MODE");
+			}
+
+			mockMvc.perform(as(get("/api/bootstrap"), email, workspaceId))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.workspaces.length()").value(1))
+					.andExpect(jsonPath("$.projects.length()").value(2))
+					.andExpect(jsonPath("$.activeSprints").doesNotExist())
+					.andExpect(jsonPath("$.errors.activeSprints").value("Timed out"));
+			connection.rollback();
+		}
+	}
+}
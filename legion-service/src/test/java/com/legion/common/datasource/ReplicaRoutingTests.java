@@ -0,0 +1,150 @@
+package com.legion.common.datasource;
+
+import com.legion.IntegrationTest;
+import com.legion.config.ReplicaConfig;
+import com.legion.user.User;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing between the primary and a read replica. The "replica" is a second Postgres with
+ * the same schema, which reports no lag as it is not in recovery; queries tell the two apart
+ * by the port of the server that answered.
+ */
+class ReplicaRoutingTests extends IntegrationTest {
+
+	private static final EmbeddedPostgres REPLICA = start();
+
+	static {
+		Flyway.configure()
+				.dataSource(REPLICA.getPostgresDatabase())
+				.locations("classpath:db/migration")
+				.placeholders(Map.of("shardIdBase", "0"))
+				.load()
+				.migrate();
+	}
+
+	@DynamicPropertySource
+	static void replica(DynamicPropertyRegistry registry) {
+		registry.add("legion.datasource.replicas[0].url", () -> REPLICA.getJdbcUrl("postgres", "postgres"));
+		registry.add("legion.datasource.replicas[0].username", () -> "postgres");
+		registry.add("legion.datasource.replicas[0].password", () -> "");
+		// The tests run the lag check themselves
+		registry.add("legion.datasource.lag-check-interval-ms", () -> "3600000");
+	}
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ReplicaLagMonitor lagMonitor;
+
+	@Autowired
+	private ReplicaConfig replicaConfig;
+
+	@Autowired
+	private ReadYourWrites readYourWrites;
+
+	@Autowired
+	private ReadYourWritesFilter readYourWritesFilter;
+
+	private long maxLagMs;
+
+	@BeforeEach
+	void replicaInRotation() {
+		maxLagMs = replicaConfig.getMaxLagMs();
+		lagMonitor.check();
+	}
+
+	@AfterEach
+	void restore() {
+		replicaConfig.setMaxLagMs(maxLagMs);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsUseTheReplica() {
+		assertEquals(REPLICA.getPort(), serverPort(true));
+	}
+
+	@Test
+	void writeTransactionsUseThePrimary() {
+		assertEquals(DIRECTORY.getPort(), serverPort(false));
+	}
+
+	@Test
+	void laggingReplicaIsSkippedUntilItCatchesUp() {
+		replicaConfig.setMaxLagMs(-1);
+		lagMonitor.check();
+		assertEquals(DIRECTORY.getPort(), serverPort(true));
+
+		replicaConfig.setMaxLagMs(maxLagMs);
+		lagMonitor.check();
+		assertEquals(REPLICA.getPort(), serverPort(true));
+	}
+
+	@Test
+	void recentWriterReadsFromThePrimary() {
+		User user = signIn(900_001L);
+		assertEquals(REPLICA.getPort(), serverPort(true));
+
+		readYourWrites.recordWrite(user.getId());
+		assertEquals(DIRECTORY.getPort(), serverPort(true));
+
+		// Other users still read from the replica
+		signIn(900_002L);
+		assertEquals(REPLICA.getPort(), serverPort(true));
+	}
+
+	@Test
+	void writeRequestsStartTheReadYourWritesWindow() throws Exception {
+		User reader = signIn(900_003L);
+		readYourWritesFilter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"),
+				new MockHttpServletResponse(), new MockFilterChain());
+		assertFalse(readYourWrites.requiresPrimary(reader.getId()));
+
+		User writer = signIn(900_004L);
+		readYourWritesFilter.doFilter(new MockHttpServletRequest("POST", "/api/tasks"),
+				new MockHttpServletResponse(), new MockFilterChain());
+		assertTrue(readYourWrites.requiresPrimary(writer.getId()));
+	}
+
+	private static User signIn(long userId) {
+		User user = new User("user" + userId + "@replica.test", "unused", "Replica Test");
+		user.setId(userId);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+		return user;
+	}
+
+	private int serverPort(boolean readOnly) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(readOnly);
+		return transaction.execute(status -> new JdbcTemplate(dataSource)
+				.queryForObject("SELECT current_setting('port')::int", Integer.class));
+	}
+}
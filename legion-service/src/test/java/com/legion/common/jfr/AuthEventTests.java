@@ -0,0 +1,156 @@
+package com.legion.common.jfr;
+
+import com.legion.auth.JwtAuthenticationFilter;
+import com.legion.auth.JwtUtil;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.common.shard.ShardContext;
+import com.legion.common.shard.ShardDirectory;
+import com.legion.config.OperatorConfig;
+import com.legion.user.Role;
+import com.legion.user.User;
+import com.legion.user.UserRepository;
+import com.legion.workspace.WorkspaceMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class AuthEventTests {
+
+	private static final String EMAIL = "events@legion.dev";
+
+	private JwtUtil jwtUtil;
+	private JwtAuthenticationFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", "events-test-secret-events-test-secret-events-test-secret");
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3_600_000L);
+
+		User user = new User(EMAIL, "$2a$10$eventseventseventseventseventseventseventseventseve", "Event Test");
+		user.setId(1L);
+		UserRepository userRepository = Mockito.mock(UserRepository.class);
+		when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+		WorkspaceMemberRepository memberRepository = Mockito.mock(WorkspaceMemberRepository.class);
+		when(memberRepository.findRoleByUserIdAndWorkspaceId(anyLong(), anyLong())).thenReturn(Optional.empty());
+		when(memberRepository.findRoleByUserIdAndWorkspaceId(1L, 7L)).thenReturn(Optional.of(Role.DEVELOPER));
+
+		ShardDirectory shardDirectory = Mockito.mock(ShardDirectory.class);
+		when(shardDirectory.shardFor(anyLong())).thenReturn(ShardContext.DIRECTORY);
+
+		filter = new JwtAuthenticationFilter(jwtUtil, userRepository, memberRepository, new OperatorConfig(),
+				new LegionMetrics(new SimpleMeterRegistry(), shardDirectory));
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void validTokenRecordsParseAndValidateStages() throws Exception {
+		List<RecordedEvent> events = record(JwtVerificationEvent.class,
+				() -> authenticate("Bearer " + jwtUtil.generateToken(EMAIL), null));
+
+		assertEquals(2, events.size());
+		assertEquals("parse", events.get(0).getString("stage"));
+		assertEquals("accepted", events.get(0).getString("outcome"));
+		assertEquals("validate", events.get(1).getString("stage"));
+		assertEquals("accepted", events.get(1).getString("outcome"));
+	}
+
+	@Test
+	void malformedTokenRecordsParseError() throws Exception {
+		List<RecordedEvent> events = record(JwtVerificationEvent.class,
+				() -> assertThrows(RuntimeException.class, () -> authenticate("Bearer not-a-token", null)));
+
+		assertEquals(1, events.size());
+		assertEquals("parse", events.getFirst().getString("stage"));
+		assertEquals("error", events.getFirst().getString("outcome"));
+	}
+
+	@Test
+	void workspaceHeaderRecordsMembership() throws Exception {
+		String header = "Bearer " + jwtUtil.generateToken(EMAIL);
+		List<RecordedEvent> events = record(MembershipResolutionEvent.class, () -> {
+			authenticate(header, "7");
+			SecurityContextHolder.clearContext();
+			authenticate(header, "8");
+		});
+
+		assertEquals(2, events.size());
+		assertEquals(7, events.get(0).getLong("workspaceId"));
+		assertTrue(events.get(0).getBoolean("member"));
+		assertEquals(8, events.get(1).getLong("workspaceId"));
+		assertFalse(events.get(1).getBoolean("member"));
+	}
+
+	@Test
+	void requestWithoutWorkspaceRecordsNoMembership() throws Exception {
+		List<RecordedEvent> events = record(MembershipResolutionEvent.class,
+				() -> authenticate("Bearer " + jwtUtil.generateToken(EMAIL), null));
+
+		assertTrue(events.isEmpty());
+	}
+
+	private void authenticate(String authorization, String workspaceId) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+		request.addHeader("Authorization", authorization);
+		if (workspaceId != null) {
+			request.addHeader("X-Workspace-Id", workspaceId);
+		}
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+	}
+
+	interface Work {
+
+		void run() throws Exception;
+	}
+
+	static List<RecordedEvent> record(Class<? extends Event> eventType, Work work) throws Exception {
+		Path file = Files.createTempFile("auth-events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(eventType).withoutThreshold();
+			recording.start();
+
+			work.run();
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		String name = eventType.getAnnotation(Name.class).value();
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals(name))
+				.sorted(Comparator.comparing(RecordedEvent::getStartTime))
+				.toList();
+		Files.delete(file);
+		return events;
+	}
+}
@@ -0,0 +1,72 @@
+package com.legion.common.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RepositoryCallEventTests {
+
+	interface SampleRepository {
+
+		List<String> findAll();
+
+		int deleteStale();
+
+		long countAll();
+	}
+
+	@Test
+	void repositoryCallsAreRecordedWithRowCounts() throws Exception {
+		ProxyFactory proxyFactory = new ProxyFactory(new SampleRepository() {
+			public List<String> findAll() {
+				return List.of("a", "b", "c");
+			}
+
+			public int deleteStale() {
+				return 7;
+			}
+
+			public long countAll() {
+				return 1000;
+			}
+		});
+		proxyFactory.addInterface(SampleRepository.class);
+		proxyFactory.addAdvice(new RepositoryCallInterceptor(SampleRepository.class));
+		SampleRepository repository = (SampleRepository) proxyFactory.getProxy();
+
+		Path file = Files.createTempFile("repository-events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(RepositoryCallEvent.class).withoutThreshold();
+			recording.start();
+
+			repository.findAll();
+			repository.deleteStale();
+			repository.countAll();
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals("legion.RepositoryCall"))
+				.collect(Collectors.toMap(event -> event.getString("method"), event -> event));
+		Files.delete(file);
+
+		assertEquals(3, events.size());
+		assertEquals("SampleRepository", events.get("findAll").getString("repository"));
+		assertEquals(3, events.get("findAll").getLong("rows"));
+		assertEquals(7, events.get("deleteStale").getLong("rows"));
+		// Count queries read one row whatever they count
+		assertEquals(1, events.get("countAll").getLong("rows"));
+	}
+}
@@ -0,0 +1,103 @@
+package com.legion.common.jfr;
+
+import com.legion.common.context.RequestContext;
+import com.legion.common.metrics.LegionMetrics;
+import com.legion.common.shard.ShardContext;
+import com.legion.common.shard.ShardDirectory;
+import com.legion.config.TaskConfig;
+import com.legion.project.ContentVersions;
+import com.legion.project.Project;
+import com.legion.project.ProjectKeyCache;
+import com.legion.project.ProjectRepository;
+import com.legion.project.ProjectWriteGuard;
+import com.legion.sprint.SprintRepository;
+import com.legion.task.Priority;
+import com.legion.task.Task;
+import com.legion.task.TaskKeyRedirectRepository;
+import com.legion.task.TaskRankAppender;
+import com.legion.task.TaskRepository;
+import com.legion.task.TaskService;
+import com.legion.task.TaskStatus;
+import com.legion.user.Role;
+import com.legion.user.User;
+import com.legion.user.UserRepository;
+import com.legion.workspace.Workspace;
+import com.legion.workspace.WorkspaceMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class TaskNumberAllocationEventTests {
+
+	private static final long WORKSPACE_ID = 7L;
+	private static final long PROJECT_ID = 3L;
+
+	@Test
+	void everyAttemptIsRecorded() throws Exception {
+		Workspace workspace = new Workspace("Events", "events");
+		workspace.setId(WORKSPACE_ID);
+		Project project = new Project("Events", "EVT", "Project used by the event tests");
+		project.setId(PROJECT_ID);
+		project.setWorkspace(workspace);
+		User reporter = new User("events@legion.dev", "secret", "Event Test");
+		reporter.setId(1L);
+
+		ProjectRepository projectRepository = Mockito.mock(ProjectRepository.class);
+		when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+		UserRepository userRepository = Mockito.mock(UserRepository.class);
+		when(userRepository.findById(1L)).thenReturn(Optional.of(reporter));
+		WorkspaceMemberRepository memberRepository = Mockito.mock(WorkspaceMemberRepository.class);
+		when(memberRepository.existsByUserIdAndWorkspaceId(1L, WORKSPACE_ID)).thenReturn(true);
+
+		// The first insert loses the race for number 42, the retry takes 43
+		TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+		when(taskRepository.findMaxTaskNumber(WORKSPACE_ID, PROJECT_ID)).thenReturn(41, 42);
+		when(taskRepository.save(any(Task.class)))
+				.thenThrow(new DataIntegrityViolationException("duplicate task number"))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+
+		ShardDirectory shardDirectory = Mockito.mock(ShardDirectory.class);
+		when(shardDirectory.shardFor(anyLong())).thenReturn(ShardContext.DIRECTORY);
+
+		TaskConfig taskConfig = new TaskConfig();
+		taskConfig.setCreationRetryDelayMs(0);
+
+		TaskService taskService = new TaskService(taskRepository,
+				Mockito.mock(TaskKeyRedirectRepository.class),
+				Mockito.mock(TaskRankAppender.class),
+				projectRepository,
+				Mockito.mock(ProjectKeyCache.class),
+				Mockito.mock(SprintRepository.class),
+				userRepository,
+				memberRepository,
+				Mockito.mock(ContentVersions.class),
+				Mockito.mock(ProjectWriteGuard.class),
+				taskConfig,
+				new LegionMetrics(new SimpleMeterRegistry(), shardDirectory));
+
+		List<RecordedEvent> events = AuthEventTests.record(TaskNumberAllocationEvent.class, () ->
+				RequestContext.run(new RequestContext(1L, WORKSPACE_ID, Role.DEVELOPER), () ->
+						taskService.createTask(PROJECT_ID, 1L, "Recorded", null, TaskStatus.BACKLOG,
+								Priority.MEDIUM, null)));
+
+		assertEquals(2, events.size());
+		assertEquals(PROJECT_ID, events.get(0).getLong("projectId"));
+		assertEquals(1, events.get(0).getInt("attempt"));
+		assertFalse(events.get(0).getBoolean("succeeded"));
+		assertEquals(2, events.get(1).getInt("attempt"));
+		assertEquals(43, events.get(1).getInt("taskNumber"));
+		assertTrue(events.get(1).getBoolean("succeeded"));
+	}
+}
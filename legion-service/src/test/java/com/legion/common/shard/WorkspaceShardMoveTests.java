@@ -0,0 +1,149 @@
+package com.legion.common.shard;
+
+import com.legion.IntegrationTest;
+import com.legion.common.exception.InvalidOperationException;
+import com.legion.seed.SeedPlan;
+import com.legion.seed.SeedResult;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Moving a seeded workspace from the directory database to a second shard.
+ */
+class WorkspaceShardMoveTests extends IntegrationTest {
+
+	private static final EmbeddedPostgres SHARD = start();
+
+	private static final SeedPlan PLAN = new SeedPlan(34, 2, 4, 3, 3, 400);
+
+	// Every row of the workspace, by table, as the move must leave them
+	private static final Map<String, String> WORKSPACE_ROWS = new LinkedHashMap<>();
+
+	static {
+		WORKSPACE_ROWS.put("project", "SELECT * FROM project WHERE workspace_id = ? ORDER BY id");
+		WORKSPACE_ROWS.put("project_backlog", "SELECT b.* FROM project_backlog b JOIN project p ON p.id = b.project_id " +
+				"WHERE p.workspace_id = ? ORDER BY b.project_id");
+		WORKSPACE_ROWS.put("sprint", "SELECT s.* FROM sprint s JOIN project p ON p.id = s.project_id " +
+				"WHERE p.workspace_id = ? ORDER BY s.id");
+		WORKSPACE_ROWS.put("sprint_completion", "SELECT c.* FROM sprint_completion c JOIN sprint s ON s.id = c.sprint_id " +
+				"JOIN project p ON p.id = s.project_id WHERE p.workspace_id = ? ORDER BY c.id");
+		WORKSPACE_ROWS.put("task", "SELECT * FROM task WHERE workspace_id = ? ORDER BY id");
+		WORKSPACE_ROWS.put("job", "SELECT * FROM job WHERE workspace_id = ? ORDER BY id");
+	}
+
+	@DynamicPropertySource
+	static void shard(DynamicPropertyRegistry registry) {
+		registry.add("legion.sharding.shards.shard-1.index", () -> "1");
+		registry.add("legion.sharding.shards.shard-1.url", () -> SHARD.getJdbcUrl("postgres", "postgres"));
+		registry.add("legion.sharding.shards.shard-1.username", () -> "postgres");
+		registry.add("legion.sharding.shards.shard-1.password", () -> "");
+		// Keeps the waits for other instances short
+		registry.add("legion.sharding.refresh-interval-ms", () -> "100");
+		registry.add("legion.sharding.job-drain-timeout-ms", () -> "300");
+	}
+
+	@Autowired
+	private WorkspaceShardMigrator migrator;
+
+	@Autowired
+	private ShardDirectory shardDirectory;
+
+	private long movedWorkspaceId;
+	private long busyWorkspaceId;
+
+	@BeforeAll
+	void seedWorkspaces() {
+		SeedResult seeded = seed(PLAN);
+		movedWorkspaceId = seeded.workspaceIds().get(0);
+		busyWorkspaceId = seeded.workspaceIds().get(1);
+	}
+
+	@Test
+	void movedWorkspaceKeepsItsRowsAndIdsAndIsServedFromTheShard() throws Exception {
+		Map<String, List<Map<String, Object>>> before = rows(directory(), movedWorkspaceId);
+		assertFalse(before.get("task").isEmpty());
+
+		migrator.move(movedWorkspaceId, "shard-1");
+
+		assertEquals("shard-1", shardDirectory.shardFor(movedWorkspaceId));
+		assertFalse(shardDirectory.isReadOnly(movedWorkspaceId));
+		assertEquals(before, rows(shard(), movedWorkspaceId));
+		rows(directory(), movedWorkspaceId).forEach((table, left) -> assertTrue(left.isEmpty(), table + " left behind"));
+
+		// The workspace itself and its members stay in the directory
+		assertEquals(1, count(directory(), "SELECT COUNT(*) FROM workspace WHERE id = ?", movedWorkspaceId));
+		assertEquals(PLAN.membersPerWorkspace(),
+				count(directory(), "SELECT COUNT(*) FROM workspace_member WHERE workspace_id = ?", movedWorkspaceId));
+
+		String email = seededEmail(PLAN, 0, 0);
+		long projectId = (Long) before.get("project").getFirst().get("id");
+		long projectTasks = before.get("task").stream().filter(task -> task.get("project_id").equals(projectId)).count();
+
+		mockMvc.perform(as(get("/api/tasks/project/" + projectId), email, movedWorkspaceId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(projectTasks));
+
+		mockMvc.perform(as(post("/api/tasks"), email, movedWorkspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"projectId": %d, "reporterId": %d, "title": "Written after the move",
+								 "status": "BACKLOG", "priority": "MEDIUM"}
+								""".formatted(projectId, userId(email))))
+				.andExpect(status().isCreated())
+				// New rows take ids from the shard's own range
+				.andExpect(jsonPath("$.id").value(greaterThanOrEqualTo(1_000_000_000_000L)));
+
+		assertEquals(before.get("task").size() + 1,
+				count(shard(), "SELECT COUNT(*) FROM task WHERE workspace_id = ?", movedWorkspaceId));
+		assertEquals(0, count(directory(), "SELECT COUNT(*) FROM task WHERE workspace_id = ?", movedWorkspaceId));
+	}
+
+	@Test
+	void moveWaitsForUnfinishedJobsAndGivesUp() {
+		directory().update("INSERT INTO job (type, status, workspace_id, target_id, total_items, processed_items, " +
+				"created_at, updated_at) VALUES ('PROJECT_DELETE', 'RUNNING', ?, 0, 10, 5, LOCALTIMESTAMP, LOCALTIMESTAMP)",
+				busyWorkspaceId);
+		long tasks = count(directory(), "SELECT COUNT(*) FROM task WHERE workspace_id = ?", busyWorkspaceId);
+
+		assertThrows(InvalidOperationException.class, () -> migrator.move(busyWorkspaceId, "shard-1"));
+
+		assertEquals(ShardContext.DIRECTORY, shardDirectory.shardFor(busyWorkspaceId));
+		assertFalse(shardDirectory.isReadOnly(busyWorkspaceId));
+		assertEquals(tasks, count(directory(), "SELECT COUNT(*) FROM task WHERE workspace_id = ?", busyWorkspaceId));
+		assertEquals(0, count(shard(), "SELECT COUNT(*) FROM task WHERE workspace_id = ?", busyWorkspaceId));
+	}
+
+	private static JdbcTemplate shard() {
+		return new JdbcTemplate(SHARD.getPostgresDatabase());
+	}
+
+	private static Map<String, List<Map<String, Object>>> rows(JdbcTemplate database, long workspaceId) {
+		Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+		WORKSPACE_ROWS.forEach((table, sql) -> rows.put(table, database.queryForList(sql, workspaceId)));
+		return rows;
+	}
+
+	private static long count(JdbcTemplate database, String sql, long workspaceId) {
+		return database.queryForObject(sql, Long.class, workspaceId);
+	}
+}
@@ -0,0 +1,100 @@
+package com.legion.common.sql;
+
+import com.legion.IntegrationTest;
+import com.legion.config.SqlStatsConfig;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.legion.common.sql.SqlStatsResultMatchers.noRepeatedStatements;
+import static com.legion.common.sql.SqlStatsResultMatchers.snapshot;
+import static com.legion.common.sql.SqlStatsResultMatchers.statementsAtMost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List endpoints against a seeded workspace stay within the statement budgets the
+ * service reports on, and issue no statement once per row.
+ */
+// Cached responses issue no statements at all
+@TestPropertySource(properties = "legion.response-cache.enabled=false")
+class ListEndpointSqlBudgetTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(35, 1, 8, 3, 3, 600);
+
+	@Autowired
+	private SqlStatsConfig sqlStatsConfig;
+
+	private String email;
+	private long workspaceId;
+	private long userId;
+	private long largestProjectId;
+	private long smallestProjectId;
+	private long activeSprintId;
+	private List<Long> taskIds;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		userId = userId(email);
+
+		// DataSeeder puts the most tasks in the first project and the fewest in the last
+		largestProjectId = directory().queryForObject(
+				"SELECT MIN(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		smallestProjectId = directory().queryForObject(
+				"SELECT MAX(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		activeSprintId = directory().queryForObject(
+				"SELECT id FROM sprint WHERE project_id = ? AND status = 'ACTIVE'", Long.class, largestProjectId);
+		taskIds = directory().queryForList(
+				"SELECT id FROM task WHERE workspace_id = ? ORDER BY id LIMIT 50", Long.class, workspaceId);
+	}
+
+	Stream<Arguments> listEndpoints() {
+		String ids = taskIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+		return Stream.of(
+				Arguments.of("GET /api/tasks", "/api/tasks"),
+				Arguments.of("GET /api/tasks", "/api/tasks?ids=" + ids),
+				Arguments.of("GET /api/tasks/project/{projectId}", "/api/tasks/project/" + largestProjectId),
+				Arguments.of("GET /api/tasks/sprint/{sprintId}", "/api/tasks/sprint/" + activeSprintId),
+				Arguments.of("GET /api/tasks/assignee/{assigneeId}", "/api/tasks/assignee/" + userId),
+				Arguments.of("GET /api/projects/workspace/{workspaceId}", "/api/projects/workspace/" + workspaceId),
+				Arguments.of("GET /api/sprints/project/{projectId}", "/api/sprints/project/" + largestProjectId),
+				Arguments.of("GET /api/workspaces/my-workspaces", "/api/workspaces/my-workspaces"),
+				Arguments.of("GET /api/workspaces/{workspaceId}/members", "/api/workspaces/" + workspaceId + "/members")
+		);
+	}
+
+	@ParameterizedTest(name = "{1}")
+	@MethodSource("listEndpoints")
+	void listEndpointStaysWithinItsBudget(String endpoint, String url) throws Exception {
+		int budget = sqlStatsConfig.getBudgets().getOrDefault(endpoint, sqlStatsConfig.getDefaultBudget());
+
+		mockMvc.perform(as(get(url), email, workspaceId))
+				.andExpect(status().isOk())
+				.andExpect(statementsAtMost(budget))
+				.andExpect(noRepeatedStatements(sqlStatsConfig.getRepeatedQueryThreshold()));
+	}
+
+	@Test
+	void projectTaskListIssuesTheSameStatementsWhateverItsSize() throws Exception {
+		SqlStats.Snapshot largest = snapshot(mockMvc.perform(as(get("/api/tasks/project/" + largestProjectId),
+				email, workspaceId)).andExpect(status().isOk()).andReturn());
+		SqlStats.Snapshot smallest = snapshot(mockMvc.perform(as(get("/api/tasks/project/" + smallestProjectId),
+				email, workspaceId)).andExpect(status().isOk()).andReturn());
+
+		assertTrue(largest.rows() > smallest.rows());
+		assertEquals(smallest.shapes(), largest.shapes());
+	}
+}
@@ -0,0 +1,42 @@
+package com.legion.common.sql;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * MockMvc expectations on the statements a request issued, as recorded by
+ * {@link SqlBudgetFilter}:
+ * <pre>
+ * mockMvc.perform(get("/api/tasks/sprint/" + sprintId))
+ *         .andExpect(statementsAtMost(4))
+ *         .andExpect(noRepeatedStatements(2));
+ * </pre>
+ */
+public final class SqlStatsResultMatchers {
+
+	private SqlStatsResultMatchers() {
+	}
+
+	/**
+	 * The request's snapshot. Fails if SQL stats are disabled or the filter did not run.
+	 */
+	public static SqlStats.Snapshot snapshot(MvcResult result) {
+		SqlStats.Snapshot snapshot = (SqlStats.Snapshot) result.getRequest().getAttribute(SqlBudgetFilter.SNAPSHOT_ATTRIBUTE);
+		assertNotNull(snapshot, "No SQL stats recorded for " + result.getRequest().getRequestURI());
+		return snapshot;
+	}
+
+	public static ResultMatcher statementsAtMost(int max) {
+		return result -> snapshot(result).assertStatementsAtMost(max);
+	}
+
+	/**
+	 * No statement shape was issued {@code threshold} or more times. A threshold of 2
+	 * means every statement shape ran once.
+	 */
+	public static ResultMatcher noRepeatedStatements(int threshold) {
+		return result -> snapshot(result).assertNoRepeatedShapes(threshold);
+	}
+}
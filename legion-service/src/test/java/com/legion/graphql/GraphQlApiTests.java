@@ -0,0 +1,139 @@
+package com.legion.graphql;
+
+import com.legion.IntegrationTest;
+import com.legion.common.sql.SqlStats;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.legion.common.sql.SqlStatsResultMatchers.noRepeatedStatements;
+import static com.legion.common.sql.SqlStatsResultMatchers.snapshot;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /graphql against a seeded workspace: batched relation loading, the depth and
+ * complexity limits, and persisted queries.
+ */
+class GraphQlApiTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(45, 1, 6, 2, 2, 300);
+
+	private static final String UNKNOWN_HASH = "0".repeat(64);
+
+	@Autowired
+	private JsonMapper jsonMapper;
+
+	private String email;
+	private long workspaceId;
+	private long sprintId;
+	private String boardQuery;
+
+	@BeforeAll
+	void seedWorkspace() throws Exception {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		sprintId = directory().queryForObject("SELECT s.id FROM sprint s JOIN project p ON p.id = s.project_id " +
+				"WHERE p.workspace_id = ? AND s.status = 'ACTIVE' ORDER BY p.id LIMIT 1", Long.class, workspaceId);
+		boardQuery = new ClassPathResource("graphql/persisted/board.graphql").getContentAsString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void boardLoadsEachRelationWithOneQuery() throws Exception {
+		MvcResult result = graphQl(boardQuery, Map.of("sprintId", sprintId), null)
+				.andExpect(jsonPath("$.errors").doesNotExist())
+				.andExpect(jsonPath("$.data.sprint.tasks.length()").value(greaterThan(1)))
+				// Tasks, their projects (for keys) and assignees: one statement each
+				.andExpect(noRepeatedStatements(2))
+				.andReturn();
+
+		SqlStats.Snapshot sql = snapshot(result);
+		assertTrue(sql.shapes().keySet().stream().anyMatch(shape -> shape.contains("?...")),
+				"Relations should load with IN lists: " + sql.shapes());
+	}
+
+	@Test
+	void tooDeepQueryIsRejectedBeforeFetching() throws Exception {
+		// sprint > tasks > sprint > ... twelve levels down
+		String query = "{ sprint(id: " + sprintId + ") { tasks { sprint { tasks { sprint { tasks { sprint " +
+				"{ tasks { sprint { tasks { sprint { id } } } } } } } } } } } }";
+
+		graphQl(query, Map.of(), null)
+				.andExpect(jsonPath("$.data").doesNotExist())
+				.andExpect(jsonPath("$.errors[0].message").value(containsString("depth")));
+	}
+
+	@Test
+	void tooComplexQueryIsRejectedBeforeFetching() throws Exception {
+		// Seven levels deep, but four nested lists at a list factor of 10 make it 22112 points
+		String query = "{ workspace(id: " + workspaceId + ") { projects { sprints { tasks { sprint " +
+				"{ tasks { id title } } } } } } }";
+
+		graphQl(query, Map.of(), null)
+				.andExpect(jsonPath("$.data").doesNotExist())
+				.andExpect(jsonPath("$.errors[0].message").value(containsString("complexity")));
+	}
+
+	@Test
+	void knownHashRunsThePersistedQuery() throws Exception {
+		graphQl(null, Map.of("sprintId", sprintId), sha256(boardQuery))
+				.andExpect(jsonPath("$.errors").doesNotExist())
+				.andExpect(jsonPath("$.data.sprint.id").value(String.valueOf(sprintId)));
+	}
+
+	@Test
+	void unknownHashIsNeverRemembered() throws Exception {
+		graphQl(null, Map.of(), UNKNOWN_HASH)
+				.andExpect(jsonPath("$.errors[0].message").value("PersistedQueryNotFound"));
+
+		// Sent with its text, the query runs like any other
+		graphQl("{ me { email } }", Map.of(), UNKNOWN_HASH)
+				.andExpect(jsonPath("$.errors").doesNotExist())
+				.andExpect(jsonPath("$.data.me.email").value(email));
+
+		graphQl(null, Map.of(), UNKNOWN_HASH)
+				.andExpect(jsonPath("$.errors[0].message").value("PersistedQueryNotFound"));
+	}
+
+	private ResultActions graphQl(String query, Map<String, Object> variables, String persistedHash) throws Exception {
+		Map<String, Object> body = new LinkedHashMap<>();
+		if (query != null) {
+			body.put("query", query);
+		}
+		body.put("variables", variables);
+		if (persistedHash != null) {
+			body.put("extensions", Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", persistedHash)));
+		}
+
+		ResultActions actions = mockMvc.perform(as(post("/graphql"), email, workspaceId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(jsonMapper.writeValueAsString(body)));
+		MvcResult result = actions.andReturn();
+		if (result.getRequest().isAsyncStarted()) {
+			actions = mockMvc.perform(asyncDispatch(result));
+		}
+		return actions.andExpect(status().isOk());
+	}
+
+	private static String sha256(String query) throws Exception {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+	}
+}
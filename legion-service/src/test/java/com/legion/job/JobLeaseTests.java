@@ -0,0 +1,71 @@
+package com.legion.job;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Jobs left unfinished by an instance that stopped give up their target once their lease
+ * runs out.
+ */
+class JobLeaseTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(27, 1, 2, 2, 1, 40);
+
+	@Autowired
+	private JobService jobService;
+
+	private String email;
+	private long workspaceId;
+	private long projectId;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		projectId = directory().queryForObject(
+				"SELECT MAX(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+	}
+
+	@Test
+	void expiredJobIsFailedAndReleasesItsTarget() throws Exception {
+		long abandoned = insertRunningJob(projectId, LocalDateTime.now().minusHours(1));
+		long live = insertRunningJob(0, LocalDateTime.now());
+
+		mockMvc.perform(as(delete("/api/projects/" + projectId), email, workspaceId))
+				.andExpect(status().isBadRequest());
+
+		jobService.maintainLeases();
+
+		assertEquals("FAILED", jobStatus(abandoned));
+		assertTrue(directory().queryForObject("SELECT error FROM job WHERE id = ?", String.class, abandoned)
+				.startsWith("Abandoned"));
+		assertEquals("RUNNING", jobStatus(live), "a job within its lease is left alone");
+
+		mockMvc.perform(as(delete("/api/projects/" + projectId), email, workspaceId))
+				.andExpect(status().isAccepted());
+	}
+
+	/**
+	 * A job as an instance that stopped mid-job leaves it, last renewed at the given time.
+	 */
+	private long insertRunningJob(long targetId, LocalDateTime renewedAt) {
+		return directory().queryForObject("INSERT INTO job (type, status, workspace_id, target_id, total_items, " +
+						"processed_items, created_at, updated_at) VALUES ('PROJECT_DELETE', 'RUNNING', ?, ?, 10, 3, ?, ?) " +
+						"RETURNING id",
+				Long.class, workspaceId, targetId, renewedAt, renewedAt);
+	}
+
+	private static String jobStatus(long jobId) {
+		return directory().queryForObject("SELECT status FROM job WHERE id = ?", String.class, jobId);
+	}
+}
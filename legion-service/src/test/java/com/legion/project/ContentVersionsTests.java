@@ -0,0 +1,111 @@
+package com.legion.project;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Project list ETags follow task writes in its sprints and backlog, which no longer lock
+ * the project row.
+ */
+@TestPropertySource(properties = "legion.response-cache.enabled=false")
+class ContentVersionsTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(48, 1, 3, 1, 3, 200);
+
+	private String email;
+	private long workspaceId;
+	private long projectId;
+	private long sprintTaskId;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		projectId = directory().queryForObject(
+				"SELECT id FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		sprintTaskId = directory().queryForObject("SELECT MIN(id) FROM task WHERE workspace_id = ? " +
+				"AND sprint_id IS NOT NULL", Long.class, workspaceId);
+	}
+
+	@Test
+	void projectEtagChangesWithSprintAndBacklogWrites() throws Exception {
+		String initial = projectEtag();
+		assertNotModified(initial);
+
+		setStatus(sprintTaskId, "REVIEW");
+		String afterSprintWrite = projectEtag();
+		assertNotEquals(initial, afterSprintWrite);
+		assertNotModified(afterSprintWrite);
+
+		createBacklogTask("Lands in the backlog");
+		String afterBacklogWrite = projectEtag();
+		assertNotEquals(afterSprintWrite, afterBacklogWrite);
+		assertNotModified(afterBacklogWrite);
+	}
+
+	@Test
+	void taskWritesDoNotWaitForTheProjectRow() throws Exception {
+		try (Connection connection = DIRECTORY.getPostgresDatabase().getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement lock = connection.prepareStatement(
+					"SELECT id FROM project WHERE id = ? FOR NO KEY UPDATE")) {
+				lock.setLong(1, projectId);
+				lock.executeQuery().close();
+			}
+
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+				setStatus(sprintTaskId, "TODO");
+				createBacklogTask("Created while the project row is locked");
+			});
+			connection.rollback();
+		}
+	}
+
+	private String projectEtag() throws Exception {
+		String etag = mockMvc.perform(as(get("/api/tasks/project/" + projectId), email, workspaceId))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(etag);
+		return etag;
+	}
+
+	private void assertNotModified(String etag) throws Exception {
+		mockMvc.perform(as(get("/api/tasks/project/" + projectId), email, workspaceId)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+	}
+
+	private void setStatus(long taskId, String status) throws Exception {
+		mockMvc.perform(as(patch("/api/tasks/" + taskId + "/status"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"status\": \"" + status + "\"}"))
+				.andExpect(status().isOk());
+	}
+
+	private void createBacklogTask(String title) throws Exception {
+		mockMvc.perform(as(post("/api/tasks"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"projectId": %d, "reporterId": %d, "title": "%s",
+								 "status": "BACKLOG", "priority": "MEDIUM"}
+								""".formatted(projectId, userId(email), title)))
+				.andExpect(status().isCreated());
+	}
+}
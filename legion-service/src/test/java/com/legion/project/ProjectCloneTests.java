@@ -0,0 +1,164 @@
+package com.legion.project;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/projects/{id}/clone: what the copied tasks look like on the new project's board,
+ * and the new project while a background job is still copying them.
+ */
+@TestPropertySource(properties = {
+		"legion.jobs.clone-async-threshold=20",
+		"legion.jobs.clone-chunk-size=25"
+})
+class ProjectCloneTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(29, 1, 2, 2, 2, 120);
+
+	private String email;
+	private long workspaceId;
+	private long sourceId;
+	private long otherProjectId;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		sourceId = directory().queryForObject(
+				"SELECT MIN(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		otherProjectId = directory().queryForObject(
+				"SELECT MAX(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+	}
+
+	@Test
+	void cloneWithoutStatusesGivesEachSprintColumnDistinctRanks() throws Exception {
+		long targetId = cloneProject("CLNRANK", false);
+
+		List<Map<String, Object>> columns = directory().queryForList("SELECT sprint_id, COUNT(*) AS tasks, " +
+				"COUNT(DISTINCT rank) AS ranks FROM task WHERE project_id = ? GROUP BY sprint_id", targetId);
+		for (Map<String, Object> column : columns) {
+			assertEquals(column.get("tasks"), column.get("ranks"), "duplicate ranks in " + column);
+		}
+
+		// The clone of the active sprint, which merged tasks from every source column
+		long sprintId = directory().queryForObject(
+				"SELECT MAX(id) FROM sprint WHERE project_id = ?", Long.class, targetId);
+		List<Long> column = columnOrder(targetId, sprintId);
+		// Last task between the first two
+		long moved = column.getLast();
+
+		mockMvc.perform(as(patch("/api/tasks/" + moved + "/rank"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"previousTaskId": %d, "nextTaskId": %d}
+								""".formatted(column.get(0), column.get(1))))
+				.andExpect(status().isOk());
+
+		assertEquals(List.of(column.get(0), moved, column.get(1)), columnOrder(targetId, sprintId).subList(0, 3));
+	}
+
+	@Test
+	void tasksCannotTakeNumbersWhileTheCloneJobCopies() throws Exception {
+		int sourceMax = directory().queryForObject(
+				"SELECT MAX(task_number) FROM task WHERE project_id = ?", Integer.class, sourceId);
+		long otherTaskId = directory().queryForObject(
+				"SELECT MIN(id) FROM task WHERE project_id = ?", Long.class, otherProjectId);
+
+		long targetId;
+		try (Connection connection = DIRECTORY.getPostgresDatabase().getConnection()) {
+			connection.setAutoCommit(false);
+			// Holds the job's first chunk, while reads go on
+			try (Statement lock = connection.createStatement()) {
+				lock.execute("LOCK TABLE task IN SHARE MODE");
+			}
+
+			mockMvc.perform(as(post("/api/projects/" + sourceId + "/clone"), email, workspaceId)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("""
+									{"name": "Clone in progress", "key": "CLNJOB"}
+									"""))
+					.andExpect(status().isAccepted())
+					.andExpect(jsonPath("$.job.id").isNumber());
+			targetId = directory().queryForObject("SELECT id FROM project WHERE workspace_id = ? AND key = 'CLNJOB'",
+					Long.class, workspaceId);
+
+			createTask(targetId).andExpect(status().isBadRequest());
+			mockMvc.perform(as(post("/api/tasks/move"), email, workspaceId)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("""
+									{"taskIds": [%d], "targetProjectId": %d}
+									""".formatted(otherTaskId, targetId)))
+					.andExpect(status().isBadRequest());
+			connection.rollback();
+		}
+
+		awaitJobs();
+		assertEquals("COMPLETED", directory().queryForObject("SELECT status FROM job " +
+				"WHERE type = 'PROJECT_CLONE' AND target_id = ?", String.class, targetId));
+
+		createTask(targetId)
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.taskNumber").value(sourceMax + 1));
+	}
+
+	private ResultActions createTask(long projectId) throws Exception {
+		return mockMvc.perform(as(post("/api/tasks"), email, workspaceId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"projectId": %d, "reporterId": %d, "title": "Created in a clone",
+						 "status": "BACKLOG", "priority": "MEDIUM"}
+						""".formatted(projectId, userId(email))));
+	}
+
+	private long cloneProject(String key, boolean copyStatuses) throws Exception {
+		mockMvc.perform(as(post("/api/projects/" + sourceId + "/clone"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"name": "Clone %s", "key": "%s", "copyStatuses": %b}
+								""".formatted(key, key, copyStatuses)))
+				.andExpect(status().is2xxSuccessful());
+		awaitJobs();
+		return directory().queryForObject("SELECT id FROM project WHERE workspace_id = ? AND key = ?",
+				Long.class, workspaceId, key);
+	}
+
+	/**
+	 * Waits for clones above the async threshold to finish copying in the background.
+	 */
+	private void awaitJobs() throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			if (directory().queryForObject("SELECT COUNT(*) FROM job WHERE workspace_id = ? " +
+					"AND status IN ('PENDING', 'RUNNING')", Integer.class, workspaceId) == 0) {
+				return;
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("clone job did not finish");
+	}
+
+	private static List<Long> columnOrder(long projectId, long sprintId) {
+		List<Long> ids = directory().queryForList("SELECT id FROM task WHERE project_id = ? AND sprint_id = ? " +
+				"AND status = 'BACKLOG' ORDER BY rank", Long.class, projectId, sprintId);
+		assertTrue(ids.size() >= 3, "column too small to reorder");
+		assertEquals(ids.size(), new HashSet<>(ids).size());
+		return ids;
+	}
+}
@@ -0,0 +1,107 @@
+package com.legion.project;
+
+import com.legion.IntegrationTest;
+import com.legion.job.JobProgress;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Writes to a project that is being purged: turned away while the job runs, and removed
+ * by the final transaction when they slipped in before the job was seen.
+ */
+@TestPropertySource(properties = "legion.jobs.delete-chunk-size=10")
+class ProjectPurgeTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(37, 1, 2, 3, 1, 90);
+
+	@Autowired
+	private ProjectPurger projectPurger;
+
+	private String email;
+	private long workspaceId;
+	private long reporterId;
+	private long rejectingProjectId;
+	private long purgedProjectId;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		reporterId = userId(email);
+		rejectingProjectId = directory().queryForObject(
+				"SELECT MIN(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		purgedProjectId = directory().queryForObject(
+				"SELECT MAX(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+	}
+
+	@Test
+	void writesAreRejectedWhileTheProjectIsBeingDeleted() throws Exception {
+		long jobId = directory().queryForObject("INSERT INTO job (type, status, workspace_id, target_id, " +
+						"total_items, processed_items, created_at, updated_at) " +
+						"VALUES ('PROJECT_DELETE', 'RUNNING', ?, ?, 0, 0, ?, ?) RETURNING id",
+				Long.class, workspaceId, rejectingProjectId, LocalDateTime.now(), LocalDateTime.now());
+		try {
+			mockMvc.perform(as(post("/api/tasks"), email, workspaceId)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("""
+									{"projectId": %d, "reporterId": %d, "title": "Too late",
+									 "status": "BACKLOG", "priority": "MEDIUM"}
+									""".formatted(rejectingProjectId, reporterId)))
+					.andExpect(status().isBadRequest());
+			mockMvc.perform(as(post("/api/sprints"), email, workspaceId)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("""
+									{"projectId": %d, "name": "Too late"}
+									""".formatted(rejectingProjectId)))
+					.andExpect(status().isBadRequest());
+		} finally {
+			directory().update("UPDATE job SET status = 'FAILED' WHERE id = ?", jobId);
+		}
+	}
+
+	@Test
+	void taskCreatedDuringThePurgeIsRemovedWithTheProject() {
+		AtomicBoolean created = new AtomicBoolean();
+
+		projectPurger.purge(workspaceId, purgedProjectId, new JobProgress() {
+			@Override
+			public Long jobId() {
+				return null;
+			}
+
+			@Override
+			public void setTotal(long total) {
+			}
+
+			@Override
+			public void advance(long processed) {
+				// Chunks are done; a create that checked for the job just before it was recorded commits
+				if (processed == 0 && created.compareAndSet(false, true)) {
+					directory().update("INSERT INTO task (workspace_id, project_id, title, status, priority, " +
+									"reporter_id, task_number, created_at, updated_at) " +
+									"VALUES (?, ?, 'Created mid-purge', 'BACKLOG', 'MEDIUM', ?, 100000, " +
+									"LOCALTIMESTAMP, LOCALTIMESTAMP)",
+							workspaceId, purgedProjectId, reporterId);
+				}
+			}
+		});
+
+		assertTrue(created.get(), "no task was created mid-purge");
+		assertEquals(0, directory().queryForObject(
+				"SELECT COUNT(*) FROM project WHERE id = ?", Integer.class, purgedProjectId));
+		assertEquals(0, directory().queryForObject(
+				"SELECT COUNT(*) FROM task WHERE project_id = ?", Integer.class, purgedProjectId));
+	}
+}
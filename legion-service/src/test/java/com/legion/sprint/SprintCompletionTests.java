@@ -0,0 +1,130 @@
+package com.legion.sprint;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/sprints/{id}/complete: the recorded outcome, and where unfinished tasks go.
+ */
+class SprintCompletionTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(28, 1, 2, 3, 3, 240);
+
+	private String email;
+	private long workspaceId;
+	private List<Long> projectIds;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		projectIds = directory().queryForList(
+				"SELECT id FROM project WHERE workspace_id = ? ORDER BY id", Long.class, workspaceId);
+	}
+
+	@Test
+	void unfinishedTasksMoveToANewSprintAfterItsTasks() throws Exception {
+		long sprintId = activeSprint(projectIds.get(0));
+		long total = countTasks("sprint_id = ?", sprintId);
+		long done = countTasks("sprint_id = ? AND status = 'DONE'", sprintId);
+
+		complete(sprintId, """
+				{"newSprintName": "Next up"}
+				""")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalTasks").value(total))
+				.andExpect(jsonPath("$.completedTasks").value(done))
+				.andExpect(jsonPath("$.carriedOverTasks").value(total - done));
+
+		long targetId = directory().queryForObject("SELECT id FROM sprint WHERE project_id = ? AND name = 'Next up'",
+				Long.class, projectIds.get(0));
+		assertEquals("COMPLETED", sprintStatus(sprintId));
+		assertEquals(done, countTasks("sprint_id = ?", sprintId));
+		assertEquals(total - done, countTasks("sprint_id = ?", targetId));
+		assertEquals(total - done, directory().queryForObject("SELECT COUNT(DISTINCT (status, rank)) FROM task " +
+				"WHERE sprint_id = ? AND rank IS NOT NULL", Long.class, targetId), "carried-over ranks collide");
+		assertEquals(1, directory().queryForObject("SELECT COUNT(*) FROM sprint_completion WHERE sprint_id = ? " +
+				"AND target_sprint_id = ?", Integer.class, sprintId, targetId));
+
+		complete(sprintId, "{}").andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void unfinishedTasksGoToTheBacklogWithoutATarget() throws Exception {
+		long projectId = projectIds.get(1);
+		long sprintId = activeSprint(projectId);
+		long unfinished = countTasks("sprint_id = ? AND status <> 'DONE'", sprintId);
+		long backlog = countTasks("project_id = ? AND sprint_id IS NULL", projectId);
+
+		complete(sprintId, "{}")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.targetSprintId").doesNotExist())
+				.andExpect(jsonPath("$.carriedOverTasks").value(unfinished));
+
+		assertEquals(0, countTasks("sprint_id = ? AND status <> 'DONE'", sprintId));
+		assertEquals(backlog + unfinished, countTasks("project_id = ? AND sprint_id IS NULL", projectId));
+	}
+
+	@Test
+	void targetMustBeAnotherOpenSprintOfTheProject() throws Exception {
+		long sprintId = activeSprint(projectIds.get(2));
+		long otherProjectSprint = directory().queryForObject(
+				"SELECT MIN(id) FROM sprint WHERE project_id = ?", Long.class, projectIds.get(0));
+
+		complete(sprintId, """
+				{"targetSprintId": %d}
+				""".formatted(otherProjectSprint))
+				.andExpect(status().isBadRequest());
+		complete(sprintId, """
+				{"targetSprintId": %d}
+				""".formatted(sprintId))
+				.andExpect(status().isBadRequest());
+		assertEquals("ACTIVE", sprintStatus(sprintId));
+	}
+
+	@Test
+	void statusChangeCannotCompleteASprint() throws Exception {
+		long sprintId = directory().queryForObject("SELECT MIN(id) FROM sprint WHERE project_id = ? " +
+				"AND status <> 'COMPLETED'", Long.class, projectIds.get(2));
+		String before = sprintStatus(sprintId);
+
+		mockMvc.perform(as(patch("/api/sprints/" + sprintId + "/status"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"status\": \"COMPLETED\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Complete a sprint with POST /api/sprints/" + sprintId + "/complete"));
+		assertEquals(before, sprintStatus(sprintId));
+	}
+
+	private ResultActions complete(long sprintId, String body) throws Exception {
+		return mockMvc.perform(as(post("/api/sprints/" + sprintId + "/complete"), email, workspaceId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body));
+	}
+
+	private static long activeSprint(long projectId) {
+		return directory().queryForObject("SELECT id FROM sprint WHERE project_id = ? AND status = 'ACTIVE'",
+				Long.class, projectId);
+	}
+
+	private static String sprintStatus(long sprintId) {
+		return directory().queryForObject("SELECT status FROM sprint WHERE id = ?", String.class, sprintId);
+	}
+
+	private long countTasks(String condition, long id) {
+		return directory().queryForObject("SELECT COUNT(*) FROM task WHERE workspace_id = ? AND " + condition,
+				Long.class, workspaceId, id);
+	}
+}
@@ -0,0 +1,84 @@
+package com.legion.sprint;
+
+import com.legion.IntegrationTest;
+import com.legion.common.cache.ResponseCache;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The cached sprint list of a project against writes this instance never hears about,
+ * as when they go through another instance.
+ */
+class SprintListCacheTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(49, 1, 3, 1, 4, 50);
+
+	@Autowired
+	private ResponseCache responseCache;
+
+	private String email;
+	private long workspaceId;
+	private long projectId;
+	private long sprintId;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		projectId = directory().queryForObject(
+				"SELECT id FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		sprintId = directory().queryForObject(
+				"SELECT MIN(id) FROM sprint WHERE project_id = ?", Long.class, projectId);
+	}
+
+	@Test
+	void writeElsewhereIsServedWithItsOwnEtag() throws Exception {
+		String before = sprintList().andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		long hits = hits();
+		sprintList().andExpect(header().string(HttpHeaders.ETAG, before));
+		assertEquals(hits + 1, hits(), "an unchanged list is served from the cache");
+
+		// What SprintService does on another instance, whose invalidation never reaches this one
+		directory().update("UPDATE sprint SET name = 'Renamed elsewhere', content_version = content_version + 1 " +
+				"WHERE id = ?", sprintId);
+
+		MvcResult after = mockMvc.perform(as(get("/api/sprints/project/" + projectId), email, workspaceId)
+						.header(HttpHeaders.IF_NONE_MATCH, before))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].name").value(hasItem("Renamed elsewhere")))
+				.andReturn();
+		String etag = after.getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(before, etag);
+
+		mockMvc.perform(as(get("/api/sprints/project/" + projectId), email, workspaceId)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+	}
+
+	private ResultActions sprintList() throws Exception {
+		return mockMvc.perform(as(get("/api/sprints/project/" + projectId), email, workspaceId))
+				.andExpect(status().isOk());
+	}
+
+	@SuppressWarnings("unchecked")
+	private long hits() {
+		Map<String, Object> endpoints = (Map<String, Object>) responseCache.stats().get("endpoints");
+		Map<String, Object> sprints = (Map<String, Object>) endpoints.getOrDefault("sprints.by_project", Map.of());
+		return (Long) sprints.getOrDefault("hits", 0L);
+	}
+}
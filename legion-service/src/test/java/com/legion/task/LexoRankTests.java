@@ -0,0 +1,116 @@
+package com.legion.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LexoRankTests {
+
+	@Test
+	void betweenOpenBoundsIsTheMiddleDigit() {
+		assertEquals("i", LexoRank.between(null, null));
+		assertEquals("i", LexoRank.after(null));
+		assertEquals("t", LexoRank.after("m"));
+		assertEquals("5", LexoRank.between(null, "a"));
+	}
+
+	@Test
+	void betweenAdjacentDigitsGoesOneDigitDeeper() {
+		assertBetween("a", "b", "ai");
+		assertBetween("az", "b", "azi");
+		assertBetween("zz", null, "zzi");
+		assertBetween(null, "1", "0i");
+	}
+
+	@Test
+	void betweenARankAndItsExtensionStaysUnderThePrefix() {
+		assertBetween("a", "a1", "a0i");
+		assertBetween("a", "ab", "a5");
+		assertBetween("a1", "a2", "a1i");
+	}
+
+	@Test
+	void boundsOutOfOrderAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> LexoRank.between("b", "a"));
+		assertThrows(IllegalArgumentException.class, () -> LexoRank.between("a", "a"));
+		assertThrows(IllegalArgumentException.class, () -> LexoRank.between("ab", "a"));
+	}
+
+	@Test
+	void repeatedInsertsAtOneSpotKeepOrder() {
+		String top = LexoRank.between(null, null);
+		String lower = "a";
+		String upper = "b";
+		for (int i = 0; i < 200; i++) {
+			top = assertBetween(null, top, null);
+			lower = assertBetween(lower, upper, null);
+			upper = assertBetween(lower, upper, null);
+		}
+	}
+
+	@Test
+	void randomInsertsKeepAColumnSorted() {
+		Random random = new Random(26);
+		List<String> column = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			int at = random.nextInt(column.size() + 1);
+			String lower = at > 0 ? column.get(at - 1) : null;
+			String upper = at < column.size() ? column.get(at) : null;
+			column.add(at, assertBetween(lower, upper, null));
+		}
+		assertEquals(column.size(), new HashSet<>(column).size());
+	}
+
+	@Test
+	void spreadIsAscendingAndLeavesRoomBetweenNeighbours() {
+		for (int count : new int[]{1, 2, 35, 36, 100, 5000}) {
+			List<String> ranks = LexoRank.spread(count);
+			assertEquals(count, ranks.size());
+			for (int i = 0; i < ranks.size(); i++) {
+				assertFalse(ranks.get(i).endsWith("0"), ranks.get(i));
+				if (i > 0) {
+					assertTrue(ranks.get(i - 1).compareTo(ranks.get(i)) < 0, ranks.get(i - 1) + " >= " + ranks.get(i));
+					assertBetween(ranks.get(i - 1), ranks.get(i), null);
+				}
+			}
+		}
+		assertEquals(List.of("i"), LexoRank.spread(1));
+	}
+
+	@Test
+	void spreadAfterSortsAfterTheLowerRank() {
+		assertEquals(LexoRank.spread(4), LexoRank.spreadAfter(null, 4));
+
+		for (String lower : new String[]{"0i", "m", "zzz"}) {
+			List<String> ranks = LexoRank.spreadAfter(lower, 50);
+			assertEquals(50, ranks.size());
+			assertTrue(lower.compareTo(ranks.getFirst()) < 0);
+			for (int i = 1; i < ranks.size(); i++) {
+				assertTrue(ranks.get(i - 1).compareTo(ranks.get(i)) < 0);
+				assertFalse(ranks.get(i).endsWith("0"), ranks.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Checks the rank between two bounds, and its value when one is expected.
+	 */
+	private static String assertBetween(String lower, String upper, String expected) {
+		String rank = LexoRank.between(lower, upper);
+		if (expected != null) {
+			assertEquals(expected, rank);
+		}
+		assertTrue(lower == null || lower.compareTo(rank) < 0, lower + " >= " + rank);
+		assertTrue(upper == null || rank.compareTo(upper) < 0, rank + " >= " + upper);
+		assertFalse(rank.endsWith("0"), rank);
+		return rank;
+	}
+}
@@ -0,0 +1,74 @@
+package com.legion.task;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * CBOR and Smile are offered by the task list endpoints only; everything else falls back
+ * to JSON for a client that prefers them.
+ */
+@TestPropertySource(properties = "legion.response-cache.enabled=false")
+class TaskListConvertersTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(50, 1, 2, 1, 2, 40);
+
+	private String email;
+	private long workspaceId;
+	private long projectId;
+	private long taskCount;
+	private long taskId;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		projectId = directory().queryForObject(
+				"SELECT id FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		taskCount = directory().queryForObject(
+				"SELECT COUNT(*) FROM task WHERE project_id = ?", Long.class, projectId);
+		taskId = directory().queryForObject(
+				"SELECT MIN(id) FROM task WHERE project_id = ?", Long.class, projectId);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"application/cbor", "application/x-jackson-smile"})
+	void taskListIsSentInTheBinaryEncoding(String mediaType) throws Exception {
+		byte[] body = mockMvc.perform(as(get("/api/tasks/project/" + projectId), email, workspaceId)
+						.header(HttpHeaders.ACCEPT, mediaType))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(mediaType))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		JsonNode tasks = mediaType.equals("application/cbor")
+				? CBORMapper.builder().build().readTree(body)
+				: SmileMapper.builder().build().readTree(body);
+		assertEquals(taskCount, tasks.size());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"/api/tasks/%d", "/api/projects/%d"})
+	void otherEndpointsAnswerJson(String path) throws Exception {
+		long id = path.startsWith("/api/tasks") ? taskId : projectId;
+
+		mockMvc.perform(as(get(path.formatted(id)), email, workspaceId)
+						.header(HttpHeaders.ACCEPT, "application/cbor, application/x-jackson-smile, application/json;q=0.5"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.id").value(id));
+	}
+}
@@ -0,0 +1,158 @@
+package com.legion.task;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/tasks/move: renumbering in the target, redirects from the old keys, and the
+ * task number lock it shares with task creation.
+ */
+class TaskMoveTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(30, 1, 3, 3, 2, 150);
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	private String email;
+	private long workspaceId;
+	private List<Long> projectIds;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		projectIds = directory().queryForList(
+				"SELECT id FROM project WHERE workspace_id = ? ORDER BY id", Long.class, workspaceId);
+	}
+
+	@AfterAll
+	void stopExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void movedTasksAreRenumberedInKeyOrderAndOldKeysRedirect() throws Exception {
+		long source = projectIds.get(0);
+		long target = projectIds.get(1);
+		// The source's highest numbers, so only the reservation keeps a new task off them
+		List<Long> ids = directory().queryForList("SELECT id FROM task WHERE project_id = ? " +
+				"ORDER BY task_number DESC LIMIT 3", Long.class, source).reversed();
+		List<Integer> oldNumbers = ids.stream().map(TaskMoveTests::taskNumber).toList();
+		int targetMax = maxTaskNumber(target);
+
+		// Asked for in reverse, numbered in old key order
+		move(ids.reversed(), target, null)
+				.andExpect(jsonPath("$.movedTasks").value(3))
+				.andExpect(jsonPath("$.firstTaskNumber").value(targetMax + 1))
+				.andExpect(jsonPath("$.lastTaskNumber").value(targetMax + 3));
+
+		String sourceKey = projectKey(source);
+		for (int i = 0; i < ids.size(); i++) {
+			assertEquals(targetMax + 1 + i, taskNumber(ids.get(i)));
+			mockMvc.perform(as(get("/api/tasks/by-key/" + sourceKey + "-" + oldNumbers.get(i)), email, workspaceId))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.id").value(ids.get(i)));
+		}
+
+		createTask(source, "After the move")
+				.andExpect(jsonPath("$.taskNumber").value(oldNumbers.getLast() + 1));
+	}
+
+	@Test
+	void moveIntoASprintAndCreateShareTheNumberLock() throws Exception {
+		long source = projectIds.get(2);
+		long target = projectIds.get(1);
+		long sprintId = directory().queryForObject(
+				"SELECT MAX(id) FROM sprint WHERE project_id = ?", Long.class, target);
+		List<Long> ids = directory().queryForList("SELECT id FROM task WHERE project_id = ? " +
+				"ORDER BY task_number LIMIT 4", Long.class, source);
+
+		Future<MvcResult> moved;
+		Future<MvcResult> created;
+		try (Connection connection = DIRECTORY.getPostgresDatabase().getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement lock = connection.prepareStatement("INSERT INTO project_backlog (project_id) " +
+					"VALUES (?) ON CONFLICT (project_id) DO UPDATE SET content_version = project_backlog.content_version")) {
+				lock.setLong(1, target);
+				lock.executeUpdate();
+			}
+
+			moved = executor.submit(() -> move(ids, target, sprintId).andReturn());
+			created = executor.submit(() -> createTask(target, "Created during a move").andReturn());
+
+			// Both wait for the target's number lock
+			TimeUnit.MILLISECONDS.sleep(500);
+			assertFalse(moved.isDone(), "move did not take the task number lock");
+			assertFalse(created.isDone(), "create did not take the task number lock");
+			connection.rollback();
+		}
+
+		moved.get(10, TimeUnit.SECONDS);
+		created.get(10, TimeUnit.SECONDS);
+
+		List<Integer> numbers = directory().queryForList(
+				"SELECT task_number FROM task WHERE project_id = ? ORDER BY task_number", Integer.class, target);
+		assertEquals(numbers.size(), numbers.stream().collect(Collectors.toSet()).size());
+		assertEquals(4, directory().queryForObject("SELECT COUNT(*) FROM task WHERE project_id = ? AND sprint_id = ? " +
+				"AND id IN (" + ids.stream().map(String::valueOf).collect(Collectors.joining(",")) + ")",
+				Integer.class, target, sprintId));
+	}
+
+	private ResultActions move(List<Long> ids, long target, Long sprintId)
+			throws Exception {
+		return mockMvc.perform(as(post("/api/tasks/move"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"taskIds": %s, "targetProjectId": %d, "targetSprintId": %s}
+								""".formatted(ids, target, sprintId)))
+				.andExpect(status().isOk());
+	}
+
+	private ResultActions createTask(long projectId, String title)
+			throws Exception {
+		return mockMvc.perform(as(post("/api/tasks"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"projectId": %d, "reporterId": %d, "title": "%s",
+								 "status": "BACKLOG", "priority": "MEDIUM"}
+								""".formatted(projectId, userId(email), title)))
+				.andExpect(status().isCreated());
+	}
+
+	private static int taskNumber(long taskId) {
+		return directory().queryForObject("SELECT task_number FROM task WHERE id = ?", Integer.class, taskId);
+	}
+
+	private static int maxTaskNumber(long projectId) {
+		return directory().queryForObject("SELECT GREATEST(" +
+				"(SELECT COALESCE(MAX(task_number), 0) FROM task WHERE project_id = ?), " +
+				"(SELECT COALESCE(MAX(old_task_number), 0) FROM task_key_redirect WHERE old_project_id = ?))",
+				Integer.class, projectId, projectId);
+	}
+
+	private static String projectKey(long projectId) {
+		return directory().queryForObject("SELECT key FROM project WHERE id = ?", String.class, projectId);
+	}
+}
@@ -0,0 +1,135 @@
+package com.legion.task;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/tasks?keys=: order, unknown and duplicate keys, old keys of moved tasks, and
+ * the size cap.
+ */
+@TestPropertySource(properties = "legion.task.multi-get-max-tasks=5")
+class TaskMultiGetTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(47, 1, 2, 2, 1, 40);
+
+	private String email;
+	private long workspaceId;
+	private long sourceId;
+	private long targetId;
+	private String sourceKey;
+	private String targetKey;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		sourceId = directory().queryForObject(
+				"SELECT MIN(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		targetId = directory().queryForObject(
+				"SELECT MAX(id) FROM project WHERE workspace_id = ?", Long.class, workspaceId);
+		sourceKey = projectKey(sourceId);
+		targetKey = projectKey(targetId);
+	}
+
+	@Test
+	void tasksComeBackInTheOrderAskedForWithoutUnknownKeys() throws Exception {
+		List<Long> ids = tasks(sourceId, 3);
+
+		getByKeys(key(ids.get(2)), "NOPE-1", key(ids.get(0)), sourceKey + "-999999", key(ids.get(1)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(jsonPath("$[0].id").value(ids.get(2)))
+				.andExpect(jsonPath("$[1].id").value(ids.get(0)))
+				.andExpect(jsonPath("$[2].id").value(ids.get(1)));
+	}
+
+	@Test
+	void keysNamingTheSameTaskReturnItOnce() throws Exception {
+		long id = tasks(sourceId, 1).getFirst();
+		String key = key(id);
+		String padded = sourceKey + "-0" + taskNumber(id);
+
+		getByKeys(key, padded, key)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].id").value(id));
+	}
+
+	@Test
+	void oldKeysOfMovedTasksResolveThroughTheirRedirect() throws Exception {
+		// The source's highest numbers, so no other test asks for these keys
+		List<Long> ids = directory().queryForList("SELECT id FROM task WHERE project_id = ? " +
+				"ORDER BY task_number DESC LIMIT 2", Long.class, sourceId);
+		String oldKey = key(ids.get(0));
+		String otherOldKey = key(ids.get(1));
+
+		mockMvc.perform(as(post("/api/tasks/move"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"taskIds": %s, "targetProjectId": %d}
+								""".formatted(ids, targetId)))
+				.andExpect(status().isOk());
+
+		getByKeys(otherOldKey, oldKey, key(ids.get(0)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].id").value(ids.get(1)))
+				.andExpect(jsonPath("$[0].taskNumber").value(taskNumber(ids.get(1))))
+				.andExpect(jsonPath("$[1].id").value(ids.get(0)));
+	}
+
+	@Test
+	void tooManyKeysAreRejected() throws Exception {
+		List<Long> ids = tasks(targetId, 6);
+		String[] keys = ids.stream().map(TaskMultiGetTests::key).toArray(String[]::new);
+
+		getByKeys(keys).andExpect(status().isBadRequest());
+		// Duplicates do not count against the cap
+		getByKeys(keys[0], keys[1], keys[2], keys[3], keys[4], keys[0], targetKey + "-0" + taskNumber(ids.get(1)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(5));
+	}
+
+	@Test
+	void malformedKeyIsRejected() throws Exception {
+		getByKeys(sourceKey + "-1", "NODASH").andExpect(status().isBadRequest());
+		getByKeys(sourceKey + "-x").andExpect(status().isBadRequest());
+	}
+
+	private ResultActions getByKeys(String... keys) throws Exception {
+		return mockMvc.perform(as(get("/api/tasks").param("keys", String.join(",", keys)), email, workspaceId));
+	}
+
+	/**
+	 * The lowest-numbered tasks of a project, which the move test leaves in place.
+	 */
+	private static List<Long> tasks(long projectId, int count) {
+		return directory().queryForList("SELECT id FROM task WHERE project_id = ? ORDER BY task_number LIMIT ?",
+				Long.class, projectId, count);
+	}
+
+	private static String key(long taskId) {
+		return directory().queryForObject("SELECT p.key || '-' || t.task_number FROM task t " +
+				"JOIN project p ON p.id = t.project_id WHERE t.id = ?", String.class, taskId);
+	}
+
+	private static int taskNumber(long taskId) {
+		return directory().queryForObject("SELECT task_number FROM task WHERE id = ?", Integer.class, taskId);
+	}
+
+	private static String projectKey(long projectId) {
+		return directory().queryForObject("SELECT key FROM project WHERE id = ?", String.class, projectId);
+	}
+}
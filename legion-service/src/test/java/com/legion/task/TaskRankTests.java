@@ -0,0 +1,146 @@
+package com.legion.task;
+
+import com.legion.IntegrationTest;
+import com.legion.seed.SeedPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH /api/tasks/{id}/rank: placement between neighbours, and neighbours that cannot be
+ * used.
+ */
+class TaskRankTests extends IntegrationTest {
+
+	private static final SeedPlan PLAN = new SeedPlan(26, 1, 2, 2, 2, 240);
+
+	private String email;
+	private long workspaceId;
+	private long projectId;
+	private long otherProjectId;
+	private long sprintId;
+	private String columnStatus;
+
+	@BeforeAll
+	void seedWorkspace() {
+		workspaceId = seed(PLAN).workspaceIds().getFirst();
+		email = seededEmail(PLAN, 0, 0);
+		// The largest sprint column, so every test has room to reorder
+		Map<String, Object> column = directory().queryForMap("SELECT project_id, sprint_id, status FROM task " +
+				"WHERE workspace_id = ? AND sprint_id IS NOT NULL AND rank IS NOT NULL " +
+				"GROUP BY project_id, sprint_id, status ORDER BY COUNT(*) DESC LIMIT 1", workspaceId);
+		projectId = ((Number) column.get("project_id")).longValue();
+		sprintId = ((Number) column.get("sprint_id")).longValue();
+		columnStatus = (String) column.get("status");
+		otherProjectId = directory().queryForObject("SELECT MIN(id) FROM project WHERE workspace_id = ? " +
+				"AND id <> ?", Long.class, workspaceId, projectId);
+	}
+
+	@Test
+	void taskLandsBetweenItsNeighbours() throws Exception {
+		List<Long> column = columnOrder();
+		long moved = column.getLast();
+
+		rank(moved, column.get(0), column.get(1)).andExpect(status().isOk());
+		assertEquals(List.of(column.get(0), moved, column.get(1)), columnOrder().subList(0, 3));
+
+		rank(moved, null, column.get(0)).andExpect(status().isOk());
+		assertEquals(moved, columnOrder().getFirst());
+
+		rank(moved, null, null).andExpect(status().isOk());
+		assertEquals(moved, columnOrder().getLast());
+	}
+
+	@Test
+	void taskFromAnotherColumnMovesInWithItsNewStatus() throws Exception {
+		long moved = directory().queryForObject("SELECT MIN(id) FROM task WHERE sprint_id = ? AND status <> ?",
+				Long.class, sprintId, columnStatus);
+		List<Long> column = columnOrder();
+
+		mockMvc.perform(as(patch("/api/tasks/" + moved + "/rank"), email, workspaceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"status": "%s", "previousTaskId": %d, "nextTaskId": %d}
+								""".formatted(columnStatus, column.get(0), column.get(1))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value(columnStatus));
+		assertEquals(List.of(column.get(0), moved, column.get(1)), columnOrder().subList(0, 3));
+	}
+
+	@Test
+	void taskCannotBeRankedNextToItself() throws Exception {
+		long task = columnOrder().get(1);
+		String before = rankOf(task);
+
+		rank(task, task, null)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("A task cannot be ranked next to itself"));
+		assertEquals(before, rankOf(task));
+	}
+
+	@Test
+	void neighbourMustBeInTheTargetColumn() throws Exception {
+		long task = columnOrder().getFirst();
+		long elsewhere = directory().queryForObject("SELECT MIN(id) FROM task WHERE project_id = ? " +
+				"AND (sprint_id IS NULL OR sprint_id <> ? OR status <> ?)", Long.class, projectId, sprintId, columnStatus);
+		String before = rankOf(task);
+
+		rank(task, elsewhere, null)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Task " + elsewhere + " is not in the target board column"));
+		assertEquals(before, rankOf(task));
+	}
+
+	@Test
+	void neighboursOutOfOrderAreRejected() throws Exception {
+		List<Long> column = columnOrder();
+		long task = column.getLast();
+		String before = rankOf(task);
+
+		rank(task, column.get(1), column.get(0))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Board order changed. Reload the board and try again."));
+		assertEquals(before, rankOf(task));
+	}
+
+	@Test
+	void unknownNeighbourOrOneFromAnotherProjectIsNotFound() throws Exception {
+		long task = columnOrder().getFirst();
+		long otherProjectTask = directory().queryForObject(
+				"SELECT MIN(id) FROM task WHERE project_id = ?", Long.class, otherProjectId);
+		String before = rankOf(task);
+
+		rank(task, null, -1L).andExpect(status().isNotFound());
+		rank(task, otherProjectTask, null).andExpect(status().isNotFound());
+		assertEquals(before, rankOf(task));
+	}
+
+	private ResultActions rank(long taskId, Long previousTaskId, Long nextTaskId) throws Exception {
+		return mockMvc.perform(as(patch("/api/tasks/" + taskId + "/rank"), email, workspaceId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"previousTaskId": %s, "nextTaskId": %s}
+						""".formatted(previousTaskId, nextTaskId)));
+	}
+
+	private List<Long> columnOrder() {
+		List<Long> ids = directory().queryForList("SELECT id FROM task WHERE project_id = ? AND sprint_id = ? " +
+				"AND status = ? ORDER BY rank", Long.class, projectId, sprintId, columnStatus);
+		assertTrue(ids.size() >= 3, "column too small to reorder");
+		return ids;
+	}
+
+	private static String rankOf(long taskId) {
+		return directory().queryForObject("SELECT rank FROM task WHERE id = ?", String.class, taskId);
+	}
+}